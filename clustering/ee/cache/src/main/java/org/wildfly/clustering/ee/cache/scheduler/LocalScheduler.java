@@ -24,7 +24,10 @@ package org.wildfly.clustering.ee.cache.scheduler;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -32,6 +35,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.as.clustering.context.DefaultExecutorService;
@@ -48,20 +52,48 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
     private final ScheduledExecutorService executor;
     private final ScheduledEntries<T, Instant> entries;
     private final Predicate<T> task;
+    private final Function<List<T>, Collection<T>> batchTask;
+    private final int batchSize;
     private final Duration closeTimeout;
 
     private volatile Future<?> future = null;
 
     public LocalScheduler(ScheduledEntries<T, Instant> entries, Predicate<T> task, Duration closeTimeout) {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
-        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        executor.setRemoveOnCancelPolicy(entries.isSorted());
+        this(createExecutor(LocalScheduler.class, entries.isSorted()), entries, task, closeTimeout);
+    }
+
+    /**
+     * Creates a scheduler that runs its task using the specified executor, e.g. one shared by the stripes of a {@link StripedLocalScheduler}.
+     */
+    LocalScheduler(ScheduledExecutorService executor, ScheduledEntries<T, Instant> entries, Predicate<T> task, Duration closeTimeout) {
+        this(executor, entries, task, null, 1, closeTimeout);
+    }
+
+    /**
+     * Creates a scheduler that executes its task for batches of expired entries, using the specified executor.
+     * @param batchTask the task to execute for a batch of expired identifiers, returning those identifiers for which the task was successful
+     * @param batchSize the maximum number of identifiers per batch
+     */
+    LocalScheduler(ScheduledExecutorService executor, ScheduledEntries<T, Instant> entries, Function<List<T>, Collection<T>> batchTask, int batchSize, Duration closeTimeout) {
+        this(executor, entries, null, batchTask, batchSize, closeTimeout);
+    }
+
+    private LocalScheduler(ScheduledExecutorService executor, ScheduledEntries<T, Instant> entries, Predicate<T> task, Function<List<T>, Collection<T>> batchTask, int batchSize, Duration closeTimeout) {
         this.executor = executor;
         this.entries = entries;
         this.task = task;
+        this.batchTask = batchTask;
+        this.batchSize = batchSize;
         this.closeTimeout = closeTimeout;
     }
 
+    static ScheduledExecutorService createExecutor(Class<?> targetClass, boolean sorted) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(targetClass));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(sorted);
+        return executor;
+    }
+
     @Override
     public void schedule(T id, Instant instant) {
         this.entries.add(id, instant);
@@ -128,9 +160,31 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
 
     @Override
     public void run() {
+        if ((this.batchTask != null) ? this.executeBatches() : this.execute()) {
+            synchronized (this) {
+                this.future = this.scheduleFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries whose scheduled time has passed, but for which the task has not yet completed successfully.
+     * @return a number of entries
+     */
+    public long getOverdueCount() {
+        Instant now = Instant.now();
+        long count = 0;
+        for (Map.Entry<T, Instant> entry : this.entries) {
+            if (entry.getValue().isAfter(now)) break;
+            count += 1;
+        }
+        return count;
+    }
+
+    private boolean execute() {
         Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
         while (entries.hasNext()) {
-            if (Thread.currentThread().isInterrupted() || this.executor.isShutdown()) return;
+            if (Thread.currentThread().isInterrupted() || this.executor.isShutdown()) return false;
             Map.Entry<T, Instant> entry = entries.next();
             if (entry.getValue().isAfter(Instant.now())) break;
             T key = entry.getKey();
@@ -139,9 +193,31 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
                 entries.remove();
             }
         }
-        synchronized (this) {
-            this.future = this.scheduleFirst();
+        return true;
+    }
+
+    private boolean executeBatches() {
+        Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
+        List<T> batch = new ArrayList<>(this.batchSize);
+        while (entries.hasNext()) {
+            Map.Entry<T, Instant> entry = entries.next();
+            if (entry.getValue().isAfter(Instant.now())) break;
+            batch.add(entry.getKey());
+            if (batch.size() == this.batchSize) {
+                if (!this.executeBatch(batch)) return false;
+                batch.clear();
+            }
+        }
+        return batch.isEmpty() || this.executeBatch(batch);
+    }
+
+    private boolean executeBatch(List<T> batch) {
+        if (Thread.currentThread().isInterrupted() || this.executor.isShutdown()) return false;
+        // Remove only those entries for which the task was successful
+        for (T key : this.batchTask.apply(batch)) {
+            this.entries.remove(key);
         }
+        return true;
     }
 
     private Future<?> scheduleFirst() {
@@ -170,7 +246,9 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
     }
 
     private void cancelIfPresent(T id) {
-        if (this.future != null) {
+        // Only the first entry has a scheduled task, so avoid the monitor unless the specified entry is first
+        Map.Entry<T, Instant> first = this.entries.peek();
+        if ((first != null) && first.getKey().equals(id) && (this.future != null)) {
             synchronized (this) {
                 if (this.future != null) {
                     Map.Entry<T, Instant> entry = this.entries.peek();
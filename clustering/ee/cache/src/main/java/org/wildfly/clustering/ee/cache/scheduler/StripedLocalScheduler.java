@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Scheduler that partitions its entries by identifier hash into a number of independent {@link LocalScheduler} stripes.
+ * Each stripe has its own {@link ScheduledEntries} and its own scheduled task, so concurrent schedule/cancel operations
+ * for distinct identifiers rarely contend for the same monitor.
+ * All stripes share a single thread, thus tasks are still executed one at a time.
+ */
+public class StripedLocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T> {
+
+    private static final int DEFAULT_STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final ScheduledExecutorService executor;
+    private final LocalScheduler<T>[] stripes;
+    private final Duration closeTimeout;
+
+    /**
+     * Creates a scheduler using a stripe per available processor.
+     * @param entriesFactory creates the scheduled entries of each stripe
+     * @param task the task to execute for an expired identifier, returning true if it was successful
+     * @param closeTimeout the duration to wait for running tasks on {@link #close()}
+     */
+    public StripedLocalScheduler(Supplier<ScheduledEntries<T, Instant>> entriesFactory, Predicate<T> task, Duration closeTimeout) {
+        this(entriesFactory, task, closeTimeout, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a scheduler using the specified number of stripes, which is rounded up to a power of 2.
+     * @param entriesFactory creates the scheduled entries of each stripe
+     * @param task the task to execute for an expired identifier, returning true if it was successful
+     * @param closeTimeout the duration to wait for running tasks on {@link #close()}
+     * @param stripes the number of stripes
+     */
+    public StripedLocalScheduler(Supplier<ScheduledEntries<T, Instant>> entriesFactory, Predicate<T> task, Duration closeTimeout, int stripes) {
+        this(entriesFactory, (executor, entries) -> new LocalScheduler<>(executor, entries, task, closeTimeout), closeTimeout, stripes);
+    }
+
+    /**
+     * Creates a scheduler, using a stripe per available processor, that executes its task for batches of expired identifiers.
+     * @param entriesFactory creates the scheduled entries of each stripe
+     * @param batchTask the task to execute for a batch of expired identifiers, returning those identifiers for which the task was successful
+     * @param batchSize the maximum number of identifiers per batch
+     * @param closeTimeout the duration to wait for running tasks on {@link #close()}
+     */
+    public StripedLocalScheduler(Supplier<ScheduledEntries<T, Instant>> entriesFactory, Function<List<T>, Collection<T>> batchTask, int batchSize, Duration closeTimeout) {
+        this(entriesFactory, (executor, entries) -> new LocalScheduler<>(executor, entries, batchTask, batchSize, closeTimeout), closeTimeout, DEFAULT_STRIPES);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StripedLocalScheduler(Supplier<ScheduledEntries<T, Instant>> entriesFactory, BiFunction<ScheduledExecutorService, ScheduledEntries<T, Instant>, LocalScheduler<T>> stripeFactory, Duration closeTimeout, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException(Integer.toString(stripes));
+        }
+        int size = (stripes > 1) ? Integer.highestOneBit(stripes - 1) << 1 : 1;
+        ScheduledEntries<T, Instant> entries = entriesFactory.get();
+        this.executor = LocalScheduler.createExecutor(this.getClass(), entries.isSorted());
+        this.stripes = new LocalScheduler[size];
+        this.stripes[0] = stripeFactory.apply(this.executor, entries);
+        for (int i = 1; i < size; ++i) {
+            this.stripes[i] = stripeFactory.apply(this.executor, entriesFactory.get());
+        }
+        this.closeTimeout = closeTimeout;
+    }
+
+    @Override
+    public void schedule(T id, Instant instant) {
+        this.stripe(id).schedule(id, instant);
+    }
+
+    @Override
+    public void cancel(T id) {
+        this.stripe(id).cancel(id);
+    }
+
+    /**
+     * Returns the number of identifiers whose scheduled time has passed, but for which the task has not yet completed successfully.
+     * @return a number of identifiers
+     */
+    public long getOverdueCount() {
+        long count = 0;
+        for (LocalScheduler<T> stripe : this.stripes) {
+            count += stripe.getOverdueCount();
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        LocalScheduler<T>[] stripes = this.stripes;
+        return new Iterator<T>() {
+            private int index = 0;
+            private Iterator<T> current = stripes[0].iterator();
+            private Iterator<T> last = null;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.current.hasNext()) {
+                    if (++this.index == stripes.length) return false;
+                    this.current = stripes[this.index].iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T next = this.current.next();
+                this.last = this.current;
+                return next;
+            }
+
+            @Override
+            public void remove() {
+                if (this.last == null) {
+                    throw new IllegalStateException();
+                }
+                this.last.remove();
+                this.last = null;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        // The stripes share our executor, so shut it down once, rather than closing each stripe
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_ACTION);
+        if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+            try {
+                this.executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private LocalScheduler<T> stripe(T id) {
+        int hash = id.hashCode();
+        return this.stripes[(hash ^ (hash >>> 16)) & (this.stripes.length - 1)];
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.wildfly.clustering.ee.Scheduler;
+
+/**
+ * Measures the schedule/cancel throughput of {@link LocalScheduler} and {@link StripedLocalScheduler} from concurrent threads,
+ * mimicking the rescheduling of session expiration on every request.
+ * It is not run as part of the test suite, run its main method to compare the schedulers.
+ */
+public class LocalSchedulerBenchmark {
+
+    private static final int KEYS = 100_000;
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        Predicate<Integer> task = id -> true;
+        benchmark("local", threads, entries -> new LocalScheduler<>(entries.get(), task, Duration.ZERO));
+        benchmark("striped", threads, entries -> new StripedLocalScheduler<>(entries::get, task, Duration.ZERO));
+    }
+
+    private static void benchmark(String name, int threads, Function<Supplier<ScheduledEntries<Integer, Instant>>, Scheduler<Integer, Instant>> factory) throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; ++i) {
+            try (Scheduler<Integer, Instant> scheduler = factory.apply(SortedScheduledEntries::new)) {
+                best = Math.min(best, run(scheduler, threads));
+            }
+        }
+        long operations = (long) threads * OPERATIONS_PER_THREAD;
+        System.out.printf("%-8s %2d threads: %,12d operations/s%n", name, threads, operations * 1_000_000_000L / best);
+    }
+
+    private static long run(Scheduler<Integer, Instant> scheduler, int threads) throws InterruptedException {
+        // Schedule far enough in the future that no task executes during the measurement
+        Instant expiration = Instant.now().plus(Duration.ofHours(1));
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; ++j) {
+                        Integer id = random.nextInt(KEYS);
+                        // A request cancels the expiration of its session, and reschedules it once complete
+                        scheduler.cancel(id);
+                        scheduler.schedule(id, expiration.plusNanos(random.nextInt(1_000_000)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
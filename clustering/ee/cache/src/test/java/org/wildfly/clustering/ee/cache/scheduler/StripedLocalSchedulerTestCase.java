@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedLocalScheduler}.
+ */
+public class StripedLocalSchedulerTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        try (StripedLocalScheduler<Integer> scheduler = new StripedLocalScheduler<>(SortedScheduledEntries::new, expired::add, Duration.ZERO, 4)) {
+            Instant now = Instant.now();
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, now.plusMillis(100 + i));
+            }
+            for (int i = 0; i < 100; i += 2) {
+                scheduler.cancel(i);
+            }
+
+            // Verify that iteration spans all stripes
+            Set<Integer> scheduled = new HashSet<>();
+            for (Integer id : scheduler) {
+                scheduled.add(id);
+            }
+            Assert.assertEquals(50, scheduled.size());
+            Assert.assertTrue(scheduled.stream().allMatch(id -> id % 2 != 0));
+
+            Thread.sleep(1000);
+
+            // Verify that only the entries that were not cancelled expired
+            Assert.assertEquals(scheduled, expired);
+            Assert.assertFalse(scheduler.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void batch() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        List<Integer> batchSizes = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        int batchSize = 10;
+        // Fails the first attempt to expire a given entry
+        Function<List<Integer>, Collection<Integer>> task = ids -> {
+            synchronized (batchSizes) {
+                batchSizes.add(ids.size());
+            }
+            List<Integer> result = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                if ((id != 42) || failed.getAndSet(true)) {
+                    expired.add(id);
+                    result.add(id);
+                }
+            }
+            return result;
+        };
+        try (StripedLocalScheduler<Integer> scheduler = new StripedLocalScheduler<>(SortedScheduledEntries::new, task, batchSize, Duration.ZERO)) {
+            Instant now = Instant.now();
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, now.plusMillis(100));
+            }
+            Assert.assertEquals(0L, scheduler.getOverdueCount());
+
+            Thread.sleep(1000);
+
+            // Verify that all entries eventually expired, including the one whose initial attempt failed
+            Assert.assertEquals(100, expired.size());
+            Assert.assertFalse(scheduler.iterator().hasNext());
+            Assert.assertEquals(0L, scheduler.getOverdueCount());
+            synchronized (batchSizes) {
+                Assert.assertTrue(batchSizes.stream().allMatch(size -> size <= batchSize));
+            }
+        }
+    }
+}
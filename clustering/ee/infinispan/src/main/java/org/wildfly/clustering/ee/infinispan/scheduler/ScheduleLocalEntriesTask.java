@@ -24,11 +24,12 @@ package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.Key;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -40,7 +41,7 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <K> cache key type
  * @param <V> cache value type
  */
-public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> implements BiConsumer<Locality, Locality> {
+public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> implements ScheduleLocalTask {
     private final Cache<K, V> cache;
     private final Predicate<Map.Entry<? super K, ? super V>> filter;
     private final Scheduler<I, M> scheduler;
@@ -53,17 +54,31 @@ public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> imple
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        try (Stream<Map.Entry<K, V>> stream = this.localEntries().filter(this.filter)) {
+            this.schedule(stream.iterator(), oldLocality, newLocality);
+        }
+    }
+
+    @Override
+    public void accept(Locality oldLocality, Locality newLocality, int segment) {
+        try (Stream<Map.Entry<K, V>> stream = this.localEntries().filterKeySegments(IntSets.immutableSet(segment)).filter(this.filter)) {
+            this.schedule(stream.iterator(), oldLocality, newLocality);
+        }
+    }
+
+    private CacheStream<Map.Entry<K, V>> localEntries() {
         // Iterate over local entries, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<Map.Entry<K, V>> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream().filter(this.filter)) {
-            Iterator<Map.Entry<K, V>> entries = stream.iterator();
-            while (entries.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                Map.Entry<K, V> entry = entries.next();
-                K key = entry.getKey();
-                // If we are the new primary owner of this bean then schedule expiration of this bean locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId(), entry.getValue());
-                }
+        return this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream();
+    }
+
+    private void schedule(Iterator<Map.Entry<K, V>> entries, Locality oldLocality, Locality newLocality) {
+        while (entries.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) break;
+            Map.Entry<K, V> entry = entries.next();
+            K key = entry.getKey();
+            // If we are the new primary owner of this bean then schedule expiration of this bean locally
+            if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
+                this.scheduler.schedule(key.getId(), entry.getValue());
             }
         }
     }
@@ -23,11 +23,12 @@
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.util.Iterator;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.Key;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -38,7 +39,7 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <I> identifier type
  * @param <K> cache key type
  */
-public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Locality, Locality> {
+public class ScheduleLocalKeysTask<I, K extends Key<I>> implements ScheduleLocalTask {
     private final Cache<K, ?> cache;
     private final Predicate<? super K> filter;
     private final Scheduler<I, ?> scheduler;
@@ -51,17 +52,31 @@ public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Lo
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        try (Stream<K> stream = this.localKeys().filter(this.filter)) {
+            this.schedule(stream.iterator(), oldLocality, newLocality);
+        }
+    }
+
+    @Override
+    public void accept(Locality oldLocality, Locality newLocality, int segment) {
+        try (Stream<K> stream = this.localKeys().filterKeySegments(IntSets.immutableSet(segment)).filter(this.filter)) {
+            this.schedule(stream.iterator(), oldLocality, newLocality);
+        }
+    }
+
+    private CacheStream<K> localKeys() {
         // Iterate over local keys, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter)) {
-            Iterator<K> keys = stream.iterator();
-            while (keys.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                K key = keys.next();
-                // If we are the new primary owner of this entry then schedule it locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId());
-                }
+        return this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream();
+    }
+
+    private void schedule(Iterator<K> keys, Locality oldLocality, Locality newLocality) {
+        while (keys.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) break;
+            K key = keys.next();
+            // If we are the new primary owner of this entry then schedule it locally
+            if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
+                this.scheduler.schedule(key.getId());
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -27,6 +27,12 @@ package org.wildfly.clustering.ee.infinispan.scheduler;
  */
 public interface SchedulerListener extends AutoCloseable {
 
+    /**
+     * Returns the number of newly owned segments whose entries are not yet scheduled following a topology change.
+     * @return a number of segments
+     */
+    int getPendingSegmentCount();
+
     @Override
     void close();
 }
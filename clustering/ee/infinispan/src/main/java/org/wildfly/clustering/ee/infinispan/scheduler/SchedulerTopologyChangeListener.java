@@ -22,17 +22,20 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.infinispan.Cache;
@@ -50,25 +53,34 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
+ * Cancels entries that are no longer owned and schedules entries that are newly owned following a topology change.
+ * Newly owned segments are scanned concurrently, one task per segment, using a bounded number of threads.
+ * These scans only start once any cancellation triggered by the same topology change has completed.
  * @author Paul Ferraro
  */
 @Listener
 public class SchedulerTopologyChangeListener<I, K extends Key<I>, V> implements SchedulerListener {
 
     private final Cache<K, V> cache;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(new DefaultThreadFactory(SchedulerTopologyChangeListener.class));
-    private final AtomicReference<Future<?>> scheduleTaskFuture = new AtomicReference<>();
+    private final ExecutorService executor;
+    private final AtomicReference<List<Future<?>>> scheduleTaskFutures = new AtomicReference<>(Collections.emptyList());
+    private final AtomicReference<CompletableFuture<Void>> cancelTaskFuture = new AtomicReference<>(CompletableFuture.completedFuture(null));
     private final Consumer<Locality> cancelTask;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalTask scheduleTask;
 
-    public SchedulerTopologyChangeListener(Cache<K, V> cache, Scheduler<I, ?> scheduler, BiConsumer<Locality, Locality> scheduleTask) {
+    public SchedulerTopologyChangeListener(Cache<K, V> cache, Scheduler<I, ?> scheduler, ScheduleLocalTask scheduleTask) {
         this(cache, scheduler::cancel, scheduleTask);
     }
 
-    public SchedulerTopologyChangeListener(Cache<K, V> cache, Consumer<Locality> cancelTask, BiConsumer<Locality, Locality> scheduleTask) {
+    public SchedulerTopologyChangeListener(Cache<K, V> cache, Consumer<Locality> cancelTask, ScheduleLocalTask scheduleTask) {
         this.cache = cache;
         this.cancelTask = cancelTask;
         this.scheduleTask = scheduleTask;
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(SchedulerTopologyChangeListener.class));
+        // Release threads between topology changes
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
         this.cache.addListener(this);
     }
 
@@ -94,27 +106,63 @@ public class SchedulerTopologyChangeListener<I, K extends Key<I>, V> implements
         if (event.isPre()) {
             // If there are segments that we no longer own, then run cancellation task
             if (!newSegments.containsAll(oldSegments)) {
-                Future<?> future = this.scheduleTaskFuture.getAndSet(null);
-                if (future != null) {
-                    future.cancel(true);
-                }
-                return CompletableFuture.runAsync(() -> this.cancelTask.accept(new ConsistentHashLocality(cache, newHash)), this.executor);
+                cancel(this.scheduleTaskFutures.getAndSet(Collections.emptyList()));
+                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> this.cancelTask.accept(new ConsistentHashLocality(cache, newHash)), this.executor);
+                this.cancelTaskFuture.set(future);
+                return future;
             }
         } else {
-            // If we have newly owned segments, then run schedule task
+            // If we have newly owned segments, then schedule each of them independently
             if (!oldSegments.containsAll(newSegments)) {
                 Locality oldLocality = new ConsistentHashLocality(cache, oldHash);
                 Locality newLocality = new ConsistentHashLocality(cache, newHash);
-                try {
-                    Future<?> future = this.scheduleTaskFuture.getAndSet(this.executor.submit(() -> this.scheduleTask.accept(oldLocality, newLocality)));
-                    if (future != null) {
-                        future.cancel(true);
+                List<FutureTask<Void>> futures = new ArrayList<>(newSegments.size());
+                for (Integer segment : newSegments) {
+                    if (!oldSegments.contains(segment)) {
+                        futures.add(new FutureTask<>(() -> this.scheduleTask.accept(oldLocality, newLocality, segment), null));
                     }
-                } catch (RejectedExecutionException e) {
-                    // Executor was shutdown
                 }
+                // Scanning must not start until the cancellation task of this topology change, which may run concurrently on our executor, has completed
+                this.cancelTaskFuture.get().whenComplete((result, exception) -> {
+                    for (FutureTask<Void> future : futures) {
+                        try {
+                            this.executor.execute(future);
+                        } catch (RejectedExecutionException e) {
+                            // Executor was shutdown
+                            future.cancel(false);
+                        }
+                    }
+                });
+                // Retain any incomplete tasks for segments gained by a previous topology
+                this.scheduleTaskFutures.getAndUpdate(previous -> {
+                    List<Future<?>> result = new ArrayList<>(previous.size() + futures.size());
+                    for (Future<?> future : previous) {
+                        if (!future.isDone()) {
+                            result.add(future);
+                        }
+                    }
+                    result.addAll(futures);
+                    return result;
+                });
             }
         }
         return CompletableFutures.completedNull();
     }
+
+    @Override
+    public int getPendingSegmentCount() {
+        int count = 0;
+        for (Future<?> future : this.scheduleTaskFutures.get()) {
+            if (!future.isDone()) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    private static void cancel(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
 }
@@ -22,6 +22,7 @@
 package org.wildfly.clustering.ejb.infinispan;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
@@ -41,6 +42,22 @@ public interface BeanGroupEntry<I, T, C> {
      */
     MarshalledValue<Map<I, T>, C> getBeans();
 
+    /**
+     * Returns the identifiers of the beans in this group, without unmarshalling the beans themselves.
+     * @return a set of bean identifiers, or null, if unknown (e.g. if this entry was written by a legacy member)
+     */
+    default Set<I> getBeanIds() {
+        return null;
+    }
+
+    /**
+     * Indicates that the beans of this group were unmarshalled.
+     * @return true, if this is the first time the beans of this entry were materialized, false otherwise
+     */
+    default boolean materialize() {
+        return false;
+    }
+
     /**
      * Increments the usage count of the specified bean.
      * @param id a bean identifier
@@ -47,5 +47,17 @@ public interface BeanGroupFactory<I, T, C> extends Creator<I, BeanGroupEntry<I,
 
     int getPassiveCount();
 
+    /**
+     * Returns the mean number of beans in the group of an accessed bean.
+     * @return a mean bean group size
+     */
+    double getMeanBeanGroupSize();
+
+    /**
+     * Returns the number of beans unmarshalled per accessed bean.
+     * @return a ratio of materialized to accessed beans
+     */
+    double getMaterializedBeanRatio();
+
     void close();
 }
@@ -23,7 +23,6 @@ package org.wildfly.clustering.ejb.infinispan;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -44,6 +43,7 @@ import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalEntriesTask;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerListener;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerTopologyChangeListener;
@@ -58,7 +58,6 @@ import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
@@ -119,7 +118,7 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         String dispatcherName = String.join("/", this.cache.getName(), this.filter.toString());
         this.scheduler = (localScheduler != null) ? (this.dispatcherFactory.getGroup().isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(this.dispatcherFactory, dispatcherName, localScheduler, this.primaryOwnerLocator, InfinispanBeanKey::new)) : null;
 
-        BiConsumer<Locality, Locality> scheduleTask = new ScheduleLocalEntriesTask<>(this.cache, this.filter, localScheduler);
+        ScheduleLocalTask scheduleTask = new ScheduleLocalEntriesTask<>(this.cache, this.filter, localScheduler);
         this.listener = (localScheduler != null) ? new SchedulerTopologyChangeListener<>(this.cache, localScheduler, scheduleTask) : null;
         if (this.listener != null) {
             scheduleTask.accept(new SimpleLocality(false), new CacheLocality(this.cache));
@@ -225,6 +224,16 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         return this.groupFactory.getPassiveCount();
     }
 
+    @Override
+    public double getMeanBeanGroupSize() {
+        return this.groupFactory.getMeanBeanGroupSize();
+    }
+
+    @Override
+    public double getMaterializedBeanRatio() {
+        return this.groupFactory.getMaterializedBeanRatio();
+    }
+
     private static class SchedulableBean<I, T> implements Bean<I, T> {
 
         private final Bean<I, T> bean;
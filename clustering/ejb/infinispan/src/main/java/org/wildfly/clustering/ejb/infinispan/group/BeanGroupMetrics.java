@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the number of beans per bean group accessed, and the number of those beans that required unmarshalling.
+ */
+class BeanGroupMetrics {
+
+    private final LongAdder accessedBeans = new LongAdder();
+    private final LongAdder accessedGroupBeans = new LongAdder();
+    private final LongAdder materializedBeans = new LongAdder();
+
+    void accessed(int groupSize) {
+        this.accessedBeans.increment();
+        this.accessedGroupBeans.add(groupSize);
+    }
+
+    void materialized(int beans) {
+        this.materializedBeans.add(beans);
+    }
+
+    /**
+     * Returns the mean number of beans in the group of an accessed bean.
+     * @return a mean group size
+     */
+    double getMeanBeanGroupSize() {
+        return ratio(this.accessedGroupBeans.sum(), this.accessedBeans.sum());
+    }
+
+    /**
+     * Returns the number of beans unmarshalled per accessed bean.
+     * @return a ratio
+     */
+    double getMaterializedBeanRatio() {
+        return ratio(this.materializedBeans.sum(), this.accessedBeans.sum());
+    }
+
+    private static double ratio(long dividend, long divisor) {
+        return (divisor > 0) ? (double) dividend / divisor : 0d;
+    }
+}
@@ -22,14 +22,10 @@
 
 package org.wildfly.clustering.ejb.infinispan.group;
 
-import java.util.Map;
-
 import org.infinispan.protostream.SerializationContext;
 import org.wildfly.clustering.ejb.infinispan.EJBClientMarshallingProvider;
 import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
 import org.wildfly.clustering.marshalling.protostream.FunctionalMarshaller;
-import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
-import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
 /**
  * {@link org.infinispan.protostream.SerializationContextInitializer} for this package.
@@ -37,10 +33,9 @@ import org.wildfly.clustering.marshalling.spi.MarshalledValue;
  */
 public class BeanGroupSerializationContextInitializer extends AbstractSerializationContextInitializer {
 
-    @SuppressWarnings("unchecked")
     @Override
     public void registerMarshallers(SerializationContext context) {
         context.registerMarshaller(new FunctionalMarshaller<>(InfinispanBeanGroupKey.class, EJBClientMarshallingProvider.SESSION_ID, InfinispanBeanGroupKey::getId, InfinispanBeanGroupKey::new));
-        context.registerMarshaller(new FunctionalMarshaller<>(InfinispanBeanGroupEntry.class, (Class<MarshalledValue<Map<Object, Object>, Object>>) (Class<?>) ByteBufferMarshalledValue.class, InfinispanBeanGroupEntry<Object, Object, Object>::getBeans, InfinispanBeanGroupEntry<Object, Object, Object>::new));
+        context.registerMarshaller(new InfinispanBeanGroupEntryMarshaller());
     }
 }
@@ -48,13 +48,19 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
     private final C context;
     private final Mutator mutator;
     private final Remover<I> remover;
+    private final BeanGroupMetrics metrics;
 
     public InfinispanBeanGroup(I id, BeanGroupEntry<I, T, C> entry, C context, Mutator mutator, Remover<I> remover) {
+        this(id, entry, context, mutator, remover, new BeanGroupMetrics());
+    }
+
+    InfinispanBeanGroup(I id, BeanGroupEntry<I, T, C> entry, C context, Mutator mutator, Remover<I> remover, BeanGroupMetrics metrics) {
         this.id = id;
         this.entry = entry;
         this.context = context;
         this.mutator = mutator;
         this.remover = remover;
+        this.metrics = metrics;
     }
 
     @Override
@@ -64,7 +70,11 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
 
     private Map<I, T> beans() {
         try {
-            return this.entry.getBeans().get(this.context);
+            Map<I, T> beans = this.entry.getBeans().get(this.context);
+            if (this.entry.materialize()) {
+                this.metrics.materialized(beans.size());
+            }
+            return beans;
         } catch (IOException e) {
             throw InfinispanEjbLogger.ROOT_LOGGER.deserializationFailure(e, this.id);
         }
@@ -72,13 +82,17 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
 
     @Override
     public Set<I> getBeans() {
-        return this.beans().keySet();
+        // Avoid unmarshalling the beans of this group, if possible
+        Set<I> beanIds = this.entry.getBeanIds();
+        return (beanIds != null) ? beanIds : this.beans().keySet();
     }
 
     @Override
     public T getBean(I id, PassivationListener<T> listener) {
-        T bean = this.beans().get(id);
+        Map<I, T> beans = this.beans();
+        T bean = beans.get(id);
         if (bean != null) {
+            this.metrics.accessed(beans.size());
             int usage = this.entry.incrementUsage(id);
             if ((usage == 0) && (listener != null)) {
                 listener.postActivate(bean);
@@ -92,6 +106,10 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
         int usage = this.entry.decrementUsage(id);
         T bean = this.beans().remove(id);
         if (bean != null) {
+            Set<I> beanIds = this.entry.getBeanIds();
+            if (beanIds != null) {
+                beanIds.remove(id);
+            }
             if ((usage == 0) && (listener != null)) {
                 listener.postActivate(bean);
             }
@@ -101,7 +119,13 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
 
     @Override
     public void addBean(I id, T bean) {
-        this.beans().put(id, bean);
+        Map<I, T> beans = this.beans();
+        beans.put(id, bean);
+        Set<I> beanIds = this.entry.getBeanIds();
+        if (beanIds != null) {
+            beanIds.add(id);
+        }
+        this.metrics.accessed(beans.size());
         this.entry.incrementUsage(id);
     }
 
@@ -122,7 +146,9 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
 
     @Override
     public void close() {
-        if (!this.beans().isEmpty()) {
+        Set<I> beanIds = this.entry.getBeanIds();
+        boolean empty = (beanIds != null) ? beanIds.isEmpty() : this.beans().isEmpty();
+        if (!empty) {
             this.mutator.mutate();
         } else {
             this.remover.remove(this.id);
@@ -22,7 +22,9 @@
 package org.wildfly.clustering.ejb.infinispan.group;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -40,10 +42,27 @@ import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 public class InfinispanBeanGroupEntry<I, T, C> implements BeanGroupEntry<I, T, C>, Function<I, AtomicInteger> {
 
     private final MarshalledValue<Map<I, T>, C> beans;
+    private final Set<I> beanIds;
+    private final AtomicBoolean materialized;
     private final Map<I, AtomicInteger> usage = new ConcurrentHashMap<>();
 
     public InfinispanBeanGroupEntry(MarshalledValue<Map<I, T>, C> beans) {
+        this(beans, null);
+    }
+
+    /**
+     * Creates a group entry whose beans are not yet unmarshalled.
+     * @param beans the marshalled beans of this group
+     * @param beanIds the identifiers of the beans of this group, or null, if unknown
+     */
+    public InfinispanBeanGroupEntry(MarshalledValue<Map<I, T>, C> beans, Set<I> beanIds) {
+        this(beans, beanIds, false);
+    }
+
+    InfinispanBeanGroupEntry(MarshalledValue<Map<I, T>, C> beans, Set<I> beanIds, boolean materialized) {
         this.beans = beans;
+        this.beanIds = beanIds;
+        this.materialized = new AtomicBoolean(materialized);
     }
 
     @Override
@@ -51,6 +70,16 @@ public class InfinispanBeanGroupEntry<I, T, C> implements BeanGroupEntry<I, T, C
         return this.beans;
     }
 
+    @Override
+    public Set<I> getBeanIds() {
+        return this.beanIds;
+    }
+
+    @Override
+    public boolean materialize() {
+        return this.materialized.compareAndSet(false, true);
+    }
+
     @Override
     public int incrementUsage(I id) {
         return this.usage.computeIfAbsent(id, this).getAndIncrement();
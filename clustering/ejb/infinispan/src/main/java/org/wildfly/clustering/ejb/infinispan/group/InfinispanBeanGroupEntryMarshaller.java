@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.jboss.ejb.client.SessionID;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+import org.wildfly.clustering.marshalling.protostream.Scalar;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Marshaller for a {@link InfinispanBeanGroupEntry}.
+ * In addition to the marshalled beans, writes the identifiers of the beans of the group, so that these can be enumerated without unmarshalling the group.
+ * Entries written by members that do not write bean identifiers are still readable, though their bean identifiers will be unknown.
+ */
+public class InfinispanBeanGroupEntryMarshaller implements ProtoStreamMarshaller<InfinispanBeanGroupEntry<SessionID, Object, ByteBufferMarshaller>> {
+
+    private static final int BEANS_INDEX = 1;
+    private static final int BEAN_ID_INDEX = 2;
+
+    @Override
+    public InfinispanBeanGroupEntry<SessionID, Object, ByteBufferMarshaller> readFrom(ProtoStreamReader reader) throws IOException {
+        MarshalledValue<Map<SessionID, Object>, ByteBufferMarshaller> beans = new ByteBufferMarshalledValue<>();
+        Set<SessionID> beanIds = null;
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case BEANS_INDEX:
+                    beans = new ByteBufferMarshalledValue<>(reader.readByteBuffer());
+                    break;
+                case BEAN_ID_INDEX:
+                    if (beanIds == null) {
+                        beanIds = ConcurrentHashMap.newKeySet();
+                    }
+                    beanIds.add(SessionID.createSessionID(reader.readByteArray()));
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new InfinispanBeanGroupEntry<>(beans, beanIds);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, InfinispanBeanGroupEntry<SessionID, Object, ByteBufferMarshaller> entry) throws IOException {
+        ByteBuffer buffer = ((ByteBufferMarshalledValue<Map<SessionID, Object>>) entry.getBeans()).getBuffer();
+        if (buffer != null) {
+            writer.writeTag(BEANS_INDEX, Scalar.BYTE_BUFFER.getWireType());
+            Scalar.BYTE_BUFFER.writeTo(writer, buffer);
+        }
+        Set<SessionID> beanIds = entry.getBeanIds();
+        if (beanIds != null) {
+            for (SessionID beanId : beanIds) {
+                writer.writeBytes(BEAN_ID_INDEX, beanId.getEncodedForm());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<? extends InfinispanBeanGroupEntry<SessionID, Object, ByteBufferMarshaller>> getJavaClass() {
+        return (Class<InfinispanBeanGroupEntry<SessionID, Object, ByteBufferMarshaller>>) (Class<?>) InfinispanBeanGroupEntry.class;
+    }
+}
@@ -84,6 +84,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
     private final PassivationListener<T> passivationListener;
     private final MutatorFactory<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> mutatorFactory;
     private final ExecutorService executor = new DefaultExecutorService(this.getClass(), ExecutorServiceFactory.CACHED_THREAD);
+    private final BeanGroupMetrics metrics = new BeanGroupMetrics();
 
     public InfinispanBeanGroupFactory(Cache<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> cache, Cache<BeanKey<I>, BeanEntry<I>> beanCache, Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter, MarshalledValueFactory<C> factory, CacheProperties properties, PassivationConfiguration<T> passivation) {
         this.cache = cache;
@@ -112,6 +113,16 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         return this.cache.getCacheConfiguration().persistence().passivation() ? this.count(EnumSet.noneOf(Flag.class)) - this.count(EnumSet.of(Flag.SKIP_CACHE_LOAD)) : 0;
     }
 
+    @Override
+    public double getMeanBeanGroupSize() {
+        return this.metrics.getMeanBeanGroupSize();
+    }
+
+    @Override
+    public double getMaterializedBeanRatio() {
+        return this.metrics.getMaterializedBeanRatio();
+    }
+
     private int count(Set<Flag> flags) {
         Cache<BeanKey<I>, BeanEntry<I>> cache = flags.isEmpty() ? this.beanCache : this.beanCache.getAdvancedCache().withFlags(flags);
         try (Stream<?> keys = cache.keySet().stream()) {
@@ -126,7 +137,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
 
     @Override
     public BeanGroupEntry<I, T, C> createValue(I id, Void context) {
-        BeanGroupEntry<I, T, C> entry = new InfinispanBeanGroupEntry<>(this.factory.createMarshalledValue(new ConcurrentHashMap<>()));
+        BeanGroupEntry<I, T, C> entry = new InfinispanBeanGroupEntry<>(this.factory.createMarshalledValue(new ConcurrentHashMap<>()), ConcurrentHashMap.newKeySet(), true);
         this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(this.createKey(id), entry);
         return entry;
     }
@@ -153,7 +164,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
     }
 
     private BeanGroup<I, T> createGroup(I id, BeanGroupEntry<I, T, C> entry, Mutator mutator) {
-        return new InfinispanBeanGroup<>(id, entry, this.factory.getMarshallingContext(), mutator, this);
+        return new InfinispanBeanGroup<>(id, entry, this.factory.getMarshallingContext(), mutator, this, this.metrics);
     }
 
     @Override
@@ -171,10 +182,11 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.beanCache;
         PassivationListener<T> passivationListener = this.passivationListener;
         Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter = this.beanFilter;
+        BeanGroupMetrics metrics = this.metrics;
         Runnable task = new Runnable() {
             @Override
             public void run() {
-                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover)) {
+                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover, metrics)) {
                     Set<I> beans = group.getBeans();
                     List<I> notified = new ArrayList<>(beans.size());
                     try {
@@ -217,10 +229,11 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.beanCache;
         PassivationListener<T> passivationListener = this.passivationListener;
         Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter = this.beanFilter;
+        BeanGroupMetrics metrics = this.metrics;
         Runnable task = new Runnable() {
             @Override
             public void run() {
-                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover)) {
+                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover, metrics)) {
                     for (I beanId : group.getBeans()) {
                         BeanKey<I> beanKey = new InfinispanBeanKey<>(beanId);
                         BeanEntry<I> beanEntry = beanCache.get(beanKey);
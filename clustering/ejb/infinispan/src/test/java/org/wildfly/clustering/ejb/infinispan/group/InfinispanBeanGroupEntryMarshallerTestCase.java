@@ -25,7 +25,9 @@ package org.wildfly.clustering.ejb.infinispan.group;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.ejb.client.SessionID;
 import org.jboss.ejb.client.UUIDSessionID;
@@ -50,9 +52,15 @@ public class InfinispanBeanGroupEntryMarshallerTestCase {
         InfinispanBeanGroupEntry<SessionID, String, ByteBufferMarshaller> entry = new InfinispanBeanGroupEntry<>(new ByteBufferMarshalledValue<>(beans, JavaByteBufferMarshaller.INSTANCE));
         Tester<InfinispanBeanGroupEntry<SessionID, String, ByteBufferMarshaller>> tester = ProtoStreamTesterFactory.INSTANCE.createTester();
         tester.test(entry, InfinispanBeanGroupEntryMarshallerTestCase::assertEquals);
+
+        Set<SessionID> beanIds = ConcurrentHashMap.newKeySet();
+        beanIds.add(id);
+        entry = new InfinispanBeanGroupEntry<>(new ByteBufferMarshalledValue<>(beans, JavaByteBufferMarshaller.INSTANCE), beanIds);
+        tester.test(entry, InfinispanBeanGroupEntryMarshallerTestCase::assertEquals);
     }
 
     static void assertEquals(InfinispanBeanGroupEntry<SessionID, String, ByteBufferMarshaller> entry1, InfinispanBeanGroupEntry<SessionID, String, ByteBufferMarshaller> entry2) {
+        Assert.assertEquals(entry1.getBeanIds(), entry2.getBeanIds());
         try {
             Assert.assertEquals(entry1.getBeans().get(JavaByteBufferMarshaller.INSTANCE), entry2.getBeans().get(JavaByteBufferMarshaller.INSTANCE));
         } catch (IOException e) {
@@ -31,6 +31,7 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -77,6 +78,17 @@ public class InfinispanBeanGroupTestCase {
         Assert.assertSame(beans.keySet(), this.group.getBeans());
     }
 
+    @Test
+    public void getBeanIds() {
+        Set<String> beanIds = Collections.singleton("id");
+
+        when(this.entry.getBeanIds()).thenReturn(beanIds);
+
+        Assert.assertSame(beanIds, this.group.getBeans());
+
+        verify(this.entry, never()).getBeans();
+    }
+
     @Test
     public void addBean() throws IOException {
         MarshalledValue<Map<String, Object>, Object> value = mock(MarshalledValue.class);
@@ -231,4 +243,45 @@ public class InfinispanBeanGroupTestCase {
         verify(this.mutator).mutate();
         verify(this.remover, never()).remove(this.id);
     }
+
+    @Test
+    public void closeWithBeanIds() {
+        when(this.entry.getBeanIds()).thenReturn(Collections.emptySet());
+
+        this.group.close();
+
+        verify(this.remover).remove(this.id);
+        verify(this.mutator, never()).mutate();
+
+        reset(this.remover, this.mutator);
+
+        when(this.entry.getBeanIds()).thenReturn(Collections.singleton("id"));
+
+        this.group.close();
+
+        verify(this.mutator).mutate();
+        verify(this.remover, never()).remove(this.id);
+        verify(this.entry, never()).getBeans();
+    }
+
+    @Test
+    public void metrics() throws IOException {
+        BeanGroupMetrics metrics = new BeanGroupMetrics();
+        BeanGroup<String, Object> group = new InfinispanBeanGroup<>(this.id, this.entry, this.context, this.mutator, this.remover, metrics);
+        MarshalledValue<Map<String, Object>, Object> value = mock(MarshalledValue.class);
+        Map<String, Object> beans = mock(Map.class);
+        Object bean = new Object();
+
+        when(this.entry.getBeans()).thenReturn(value);
+        when(value.get(this.context)).thenReturn(beans);
+        when(beans.size()).thenReturn(4);
+        when(beans.get("id")).thenReturn(bean);
+        when(this.entry.materialize()).thenReturn(true, false);
+
+        group.getBean("id", null);
+        group.getBean("id", null);
+
+        Assert.assertEquals(4d, metrics.getMeanBeanGroupSize(), 0d);
+        Assert.assertEquals(2d, metrics.getMaterializedBeanRatio(), 0d);
+    }
 }
@@ -25,4 +25,20 @@ public interface BeanManagerStatistics {
     int getActiveCount();
 
     int getPassiveCount();
+
+    /**
+     * Returns the mean number of beans in the group of an accessed bean.
+     * @return a mean bean group size
+     */
+    default double getMeanBeanGroupSize() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of beans unmarshalled per accessed bean.
+     * @return a ratio of materialized to accessed beans
+     */
+    default double getMaterializedBeanRatio() {
+        return 0;
+    }
 }
@@ -32,6 +32,8 @@ import org.infinispan.commons.marshall.BufferSizePredictor;
 import org.infinispan.commons.marshall.MarshallableTypeHints;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.StreamAwareMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 /**
  * Abstract marshaller implementation.
@@ -69,31 +71,12 @@ public abstract class AbstractMarshaller implements Marshaller, StreamAwareMarsh
 
     @Override
     public byte[] objectToByteBuffer(Object object) throws IOException, InterruptedException {
-        if (object == null) {
-            return this.objectToByteBuffer(null, 1);
-        }
-        int estimatedSize = this.sizeEstimate(object);
-        byte[] bytes = this.objectToByteBuffer(object, estimatedSize);
-        int actualSize = bytes.length - Byte.BYTES;
-        this.getBufferSizePredictor(object).recordSize(actualSize);
-        return bytes;
+        return this.write(object);
     }
 
     @Override
     public ByteBuffer objectToBuffer(Object object) throws IOException {
-        if (object == null) {
-            return this.objectToBuffer(null, 1);
-        }
-        int estimatedSize = this.sizeEstimate(object);
-        ByteBuffer buffer = this.objectToBuffer(object, estimatedSize);
-        int actualSize = buffer.getLength() - Byte.BYTES;
-        // If the prediction is way off, then trim it
-        if (estimatedSize > (actualSize * 4)) {
-            byte[] bytes = trim(buffer);
-            buffer = ByteBufferImpl.create(bytes);
-        }
-        this.getBufferSizePredictor(object).recordSize(actualSize);
-        return buffer;
+        return ByteBufferImpl.create(this.write(object));
     }
 
     @Override
@@ -108,6 +91,28 @@ public abstract class AbstractMarshaller implements Marshaller, StreamAwareMarsh
         return ByteBufferImpl.create(output.getRawBuffer(), 0, output.size());
     }
 
+    private byte[] write(Object object) throws IOException {
+        if (object == null) {
+            return this.write(null, 1);
+        }
+        BufferSizePredictor predictor = this.getBufferSizePredictor(object);
+        byte[] bytes = this.write(object, predictor.nextSize(object));
+        int actualSize = bytes.length - Byte.BYTES;
+        predictor.recordSize(actualSize);
+        return bytes;
+    }
+
+    // Marshals into pooled scratch space in a single pass, unless the predicted size exceeds the capacity retained by the pool
+    private byte[] write(Object object, int estimatedSize) throws IOException {
+        ByteBufferOutputStream output = ByteBufferOutputStreamPool.acquire(estimatedSize + Byte.BYTES);
+        try {
+            this.writeObject(object, output);
+            return output.toByteArray();
+        } finally {
+            ByteBufferOutputStreamPool.release(output);
+        }
+    }
+
     private static byte[] trim(ByteBuffer buffer) {
         byte[] bytes = buffer.getBuf();
         int offset = buffer.getOffset();
@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.infinispan.spi.affinity;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.affinity.KeyAffinityService;
+import org.infinispan.affinity.KeyGenerator;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.remoting.transport.Address;
+
+/**
+ * {@link KeyAffinityService} for caches with a consistent hash, whose pooled keys are primarily owned by the local member.
+ * Keys are pooled per segment primarily owned by the local member, and requested keys are distributed across these segments.
+ * Unlike the default Infinispan implementation, requesting a key never waits for the key pool to be filled.
+ * If the pool is exhausted, or a pooled key is no longer primarily owned by the requested member, a key is generated on demand.
+ * Following a topology change, only the pools of those segments no longer primarily owned by the local member are discarded.
+ */
+@Listener
+public class ConsistentHashKeyAffinityService<K> implements KeyAffinityService<K>, Runnable {
+
+    // Bounds the number of keys to generate in search of a key with a given primary owner, e.g. if that member owns few or no segments
+    static final int MAX_ATTEMPTS = 64;
+
+    private final Cache<K, ?> cache;
+    private final KeyGenerator<K> generator;
+    private final Executor executor;
+    private final int bufferSize;
+    private final Map<Integer, BlockingQueue<K>> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicBoolean filling = new AtomicBoolean(false);
+
+    private volatile boolean started = false;
+
+    public ConsistentHashKeyAffinityService(Executor executor, Cache<K, ?> cache, KeyGenerator<K> generator, int bufferSize) {
+        this.executor = executor;
+        this.cache = cache;
+        this.generator = generator;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void start() {
+        this.started = true;
+        this.cache.addListener(this);
+        this.fill();
+    }
+
+    @Override
+    public void stop() {
+        this.started = false;
+        this.cache.removeListener(this);
+        this.keys.clear();
+    }
+
+    @Override
+    public boolean isStarted() {
+        return this.started;
+    }
+
+    @Override
+    public K getKeyForAddress(Address address) {
+        LocalizedCacheTopology topology = this.getCacheTopology();
+        if (address.equals(topology.getLocalAddress())) {
+            try {
+                K key = this.poll(topology);
+                if (key != null) {
+                    return key;
+                }
+            } finally {
+                this.fill();
+            }
+        }
+        return this.generateKey(address, topology);
+    }
+
+    @Override
+    public K getCollocatedKey(K otherKey) {
+        return this.getKeyForAddress(this.getCacheTopology().getDistribution(otherKey).primary());
+    }
+
+    @Override
+    public void run() {
+        try {
+            LocalizedCacheTopology topology = this.getCacheTopology();
+            int segments = topology.getNumSegments();
+            int primarySegments = 0;
+            for (int segment = 0; segment < segments; ++segment) {
+                if (topology.getSegmentDistribution(segment).isPrimary()) {
+                    primarySegments += 1;
+                }
+            }
+            // Local member owns no segments, try again on next request
+            if (primarySegments == 0) return;
+            // Divide the buffer among the segments primarily owned by the local member
+            int capacity = Math.max(this.bufferSize / primarySegments, 1);
+            int pooled = 0;
+            for (BlockingQueue<K> queue : this.keys.values()) {
+                pooled += queue.size();
+            }
+            int misses = 0;
+            // Stop once each segment is full, or if a run of generated keys could not be pooled, e.g. if the local member owns few segments
+            while (this.started && !Thread.currentThread().isInterrupted() && (pooled < capacity * primarySegments) && (misses < MAX_ATTEMPTS)) {
+                K key = this.generator.getKey();
+                int segment = topology.getSegment(key);
+                if (topology.getSegmentDistribution(segment).isPrimary() && this.keys.computeIfAbsent(segment, k -> new ArrayBlockingQueue<>(capacity)).offer(key)) {
+                    pooled += 1;
+                    misses = 0;
+                } else {
+                    misses += 1;
+                }
+            }
+        } finally {
+            this.filling.set(false);
+        }
+    }
+
+    @TopologyChanged
+    public void topologyChanged(TopologyChangedEvent<K, ?> event) {
+        if (!event.isPre()) {
+            // Discard the pooled keys of those segments no longer primarily owned by the local member
+            LocalizedCacheTopology topology = this.getCacheTopology();
+            this.keys.keySet().removeIf(segment -> !topology.getSegmentDistribution(segment).isPrimary());
+            this.fill();
+        }
+    }
+
+    private K poll(LocalizedCacheTopology topology) {
+        int segments = topology.getNumSegments();
+        // Rotate through the segments, so that keys are distributed evenly across the segments owned by the local member
+        int offset = Math.floorMod(this.cursor.getAndIncrement(), segments);
+        for (int i = 0; i < segments; ++i) {
+            int segment = (offset + i) % segments;
+            BlockingQueue<K> queue = this.keys.get(segment);
+            if (queue != null) {
+                // Ignore a pooled key if its segment is no longer primarily owned by the local member, i.e. pending topology change notification
+                if (!topology.getSegmentDistribution(segment).isPrimary()) continue;
+                K key = queue.poll();
+                if (key != null) {
+                    return key;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void fill() {
+        if (this.started && this.filling.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Executor was shutdown
+                this.filling.set(false);
+            }
+        }
+    }
+
+    private K generateKey(Address address, LocalizedCacheTopology topology) {
+        for (int i = 0; i < MAX_ATTEMPTS; ++i) {
+            K key = this.generator.getKey();
+            if (address.equals(topology.getDistribution(key).primary())) {
+                return key;
+            }
+        }
+        return this.generator.getKey();
+    }
+
+    private LocalizedCacheTopology getCacheTopology() {
+        return this.cache.getAdvancedCache().getDistributionManager().getCacheTopology();
+    }
+}
@@ -22,13 +22,11 @@
 
 package org.wildfly.clustering.infinispan.spi.affinity;
 
-import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 
 import org.infinispan.Cache;
 import org.infinispan.affinity.KeyAffinityService;
 import org.infinispan.affinity.KeyGenerator;
-import org.infinispan.affinity.impl.KeyAffinityServiceImpl;
 
 /**
  * Factory for a {@link KeyAffinityService} whose implementation varies depending on cache mode.
@@ -46,6 +44,7 @@ public class DefaultKeyAffinityServiceFactory implements KeyAffinityServiceFacto
 
     @Override
     public <K> KeyAffinityService<K> createService(Cache<K, ?> cache, KeyGenerator<K> generator) {
-        return cache.getCacheConfiguration().clustering().cacheMode().isClustered() ? new KeyAffinityServiceImpl<>(this.executor, cache, generator, this.bufferSize, Collections.singleton(cache.getCacheManager().getAddress()), false) : new SimpleKeyAffinityService<>(generator);
+        // Only caches with a consistent hash have a notion of primary ownership
+        return cache.getCacheConfiguration().clustering().cacheMode().needsStateTransfer() ? new ConsistentHashKeyAffinityService<>(this.executor, cache, generator, this.bufferSize) : new SimpleKeyAffinityService<>(generator);
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.infinispan.spi.affinity;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.topology.CacheTopology;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConsistentHashKeyAffinityService}.
+ */
+public class ConsistentHashKeyAffinityServiceTestCase {
+    private static final int SEGMENTS = 4;
+    private static final int BUFFER_SIZE = 4;
+
+    private final Address localAddress = mock(Address.class);
+    private final Address remoteAddress = mock(Address.class);
+    private final AdvancedCache<Integer, Object> cache = mock(AdvancedCache.class);
+    private final DistributionManager dist = mock(DistributionManager.class);
+    private final KeyPartitioner partitioner = mock(KeyPartitioner.class);
+    private final AtomicInteger generated = new AtomicInteger();
+    private final Queue<Runnable> tasks = new LinkedList<>();
+
+    private ConsistentHashKeyAffinityService<Integer> service;
+
+    @Before
+    public void init() {
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.getDistributionManager()).thenReturn(this.dist);
+        when(this.partitioner.getSegment(any())).thenAnswer(invocation -> invocation.<Integer>getArgument(0) % SEGMENTS);
+        this.service = new ConsistentHashKeyAffinityService<>(this.tasks::add, this.cache, this.generated::incrementAndGet, BUFFER_SIZE);
+    }
+
+    @After
+    public void destroy() {
+        this.service.stop();
+        assertFalse(this.service.isStarted());
+    }
+
+    @Test
+    public void pooledPerSegment() {
+        // Local member is primary owner of segments 0 and 1
+        this.setTopology(this.localAddress, this.localAddress, this.remoteAddress, this.remoteAddress);
+        this.service.start();
+        this.runTasks();
+
+        int generated = this.generated.get();
+        // Pooled keys are distributed across the segments primarily owned by the local member
+        Map<Integer, Integer> segments = this.getSegments(this.getKeys(BUFFER_SIZE));
+        assertEquals(2, segments.size());
+        assertEquals(Integer.valueOf(BUFFER_SIZE / 2), segments.get(0));
+        assertEquals(Integer.valueOf(BUFFER_SIZE / 2), segments.get(1));
+        // No keys were generated on demand
+        assertEquals(generated, this.generated.get());
+
+        // Once exhausted, a key is generated on demand
+        Integer key = this.service.getKeyForAddress(this.localAddress);
+        assertTrue(this.generated.get() > generated);
+        assertTrue(this.getCacheTopology().getDistribution(key).isPrimary());
+
+        // A single task refills the pool
+        assertEquals(1, this.tasks.size());
+        this.runTasks();
+        generated = this.generated.get();
+        assertEquals(2, this.getSegments(this.getKeys(BUFFER_SIZE)).size());
+        assertEquals(generated, this.generated.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void topologyChanged() {
+        this.setTopology(this.localAddress, this.localAddress, this.remoteAddress, this.remoteAddress);
+        this.service.start();
+        this.runTasks();
+
+        // Local member is no longer primary owner of segment 0, but is now primary owner of segment 2
+        this.setTopology(this.remoteAddress, this.localAddress, this.localAddress, this.remoteAddress);
+        TopologyChangedEvent<Integer, Object> event = mock(TopologyChangedEvent.class);
+        when(event.isPre()).thenReturn(false);
+        this.service.topologyChanged(event);
+        this.runTasks();
+
+        int generated = this.generated.get();
+        Map<Integer, Integer> segments = this.getSegments(this.getKeys(BUFFER_SIZE));
+        assertFalse(segments.containsKey(0));
+        assertTrue(segments.containsKey(1));
+        assertTrue(segments.containsKey(2));
+        assertEquals(generated, this.generated.get());
+    }
+
+    @Test
+    public void noLocalSegments() {
+        // Local member is not primary owner of any segment
+        this.setTopology(this.remoteAddress, this.remoteAddress, this.remoteAddress, this.remoteAddress);
+        this.service.start();
+        this.runTasks();
+
+        // Falls back to an unaffiliated key, without blocking
+        int generated = this.generated.get();
+        assertNotNull(this.service.getKeyForAddress(this.localAddress));
+        assertEquals(generated + ConsistentHashKeyAffinityService.MAX_ATTEMPTS + 1, this.generated.get());
+
+        // Keys for other members are generated on demand
+        Integer key = this.service.getKeyForAddress(this.remoteAddress);
+        assertSame(this.remoteAddress, this.getCacheTopology().getDistribution(key).primary());
+    }
+
+    private List<Integer> getKeys(int count) {
+        List<Integer> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            keys.add(this.service.getKeyForAddress(this.localAddress));
+        }
+        return keys;
+    }
+
+    private Map<Integer, Integer> getSegments(List<Integer> keys) {
+        LocalizedCacheTopology topology = this.getCacheTopology();
+        Map<Integer, Integer> segments = new HashMap<>();
+        for (Integer key : keys) {
+            assertSame(this.localAddress, topology.getDistribution(key).primary());
+            segments.merge(topology.getSegment(key), 1, Integer::sum);
+        }
+        return segments;
+    }
+
+    private void runTasks() {
+        Runnable task = this.tasks.poll();
+        while (task != null) {
+            task.run();
+            task = this.tasks.poll();
+        }
+    }
+
+    private LocalizedCacheTopology getCacheTopology() {
+        return this.dist.getCacheTopology();
+    }
+
+    private void setTopology(Address... primaryOwners) {
+        List<Address> members = Arrays.asList(this.localAddress, this.remoteAddress);
+        ConsistentHash hash = mock(ConsistentHash.class);
+        when(hash.getMembers()).thenReturn(members);
+        when(hash.getNumSegments()).thenReturn(SEGMENTS);
+        for (int segment = 0; segment < SEGMENTS; ++segment) {
+            Address primary = primaryOwners[segment];
+            when(hash.locatePrimaryOwnerForSegment(segment)).thenReturn(primary);
+            when(hash.locateOwnersForSegment(segment)).thenReturn((primary == this.localAddress) ? members : Arrays.asList(this.remoteAddress, this.localAddress));
+        }
+        CacheTopology topology = new CacheTopology(1, 1, hash, null, CacheTopology.Phase.NO_REBALANCE, members, null);
+        when(this.dist.getCacheTopology()).thenReturn(new LocalizedCacheTopology(CacheMode.DIST_SYNC, topology, this.partitioner, this.localAddress, true));
+    }
+}
@@ -32,6 +32,7 @@ import org.infinispan.protostream.TagWriter;
 import org.infinispan.protostream.ProtobufTagMarshaller.WriteContext;
 import org.infinispan.protostream.impl.TagWriterImpl;
 import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 /**
  * {@link ProtoStreamWriter} implementation that writes to a {@link CodedOutputStream}.
@@ -49,7 +50,9 @@ public class DefaultProtoStreamWriter extends AbstractProtoStreamWriter {
         ImmutableSerializationContext context = this.getSerializationContext();
         @SuppressWarnings("unchecked")
         OptionalInt size = (marshaller instanceof Marshallable) ? ((Marshallable<Object>) marshaller).size(context, value) : OptionalInt.empty();
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
+        // Nested objects are marshalled into pooled scratch space, since the length prefix must precede the content
+        ByteBufferOutputStream output = size.isPresent() ? ByteBufferOutputStreamPool.acquire(size.getAsInt()) : ByteBufferOutputStreamPool.acquire();
+        try {
             TagWriter writer = size.isPresent() ? TagWriterImpl.newInstance(context, output, size.getAsInt()) : TagWriterImpl.newInstance(context,  output);
             marshaller.write(new WriteContext() {
                 @Override
@@ -78,6 +81,8 @@ public class DefaultProtoStreamWriter extends AbstractProtoStreamWriter {
             int length = buffer.limit() - offset;
             this.getWriter().writeVarint32(length);
             this.getWriter().writeRawBytes(buffer.array(), offset, length);
+        } finally {
+            ByteBufferOutputStreamPool.release(output);
         }
     }
 }
\ No newline at end of file
@@ -28,14 +28,11 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.OptionalInt;
 
-import org.jboss.logging.Logger;
-
 /**
  * Marshals an object to and from a {@link ByteBuffer}.
  * @author Paul Ferraro
  */
 public interface ByteBufferMarshaller extends Marshaller<Object, ByteBuffer> {
-    Logger LOGGER = Logger.getLogger(ByteBufferMarshaller.class);
 
     Object readFrom(InputStream input) throws IOException;
 
@@ -51,19 +48,20 @@ public interface ByteBufferMarshaller extends Marshaller<Object, ByteBuffer> {
     @Override
     default ByteBuffer write(Object object) throws IOException {
         OptionalInt size = this.size(object);
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
-            this.writeTo(output, object);
-            ByteBuffer buffer = output.getBuffer();
-            if (size.isPresent()) {
-                int predictedSize = size.getAsInt();
-                int actualSize = buffer.limit() - buffer.arrayOffset();
-                if (predictedSize < actualSize) {
-                    LOGGER.debugf("Buffer size prediction too small for %s (%s), predicted = %d, actual = %d", object, (object != null) ? object.getClass().getCanonicalName() : null, predictedSize, actualSize);
-                }
-            } else {
-                LOGGER.tracef("Buffer size prediction missing for %s (%s)", object, (object != null) ? object.getClass().getCanonicalName() : null);
+        if (size.isPresent()) {
+            // Marshal directly into a buffer of the computed size
+            try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
+                this.writeTo(output, object);
+                return output.getBuffer();
             }
-            return buffer;
+        }
+        // Otherwise, marshal into pooled scratch space, then copy into an exactly sized buffer
+        ByteBufferOutputStream output = ByteBufferOutputStreamPool.acquire();
+        try {
+            this.writeTo(output, object);
+            return ByteBuffer.wrap(output.toByteArray());
+        } finally {
+            ByteBufferOutputStreamPool.release(output);
         }
     }
 
@@ -24,10 +24,13 @@ package org.wildfly.clustering.marshalling.spi;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.OptionalInt;
 
 /**
  * A specialized ByteArrayOutputStream that exposes the internal buffer.
+ * Unlike {@link ByteArrayOutputStream}, this stream is not thread-safe, since it is only ever written by a single thread.
+ * This avoids monitor acquisition per write for streams that escape their creating method, e.g. those retained by {@link ByteBufferOutputStreamPool}.
  * @author Paul Ferraro
  */
 public final class ByteBufferOutputStream extends ByteArrayOutputStream {
@@ -44,6 +47,43 @@ public final class ByteBufferOutputStream extends ByteArrayOutputStream {
         super(size);
     }
 
+    @Override
+    public void write(int b) {
+        this.ensureCapacity(this.count + 1);
+        this.buf[this.count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        if ((offset < 0) || (length < 0) || (length > bytes.length - offset)) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.ensureCapacity(this.count + length);
+        System.arraycopy(bytes, offset, this.buf, this.count, length);
+        this.count += length;
+    }
+
+    @Override
+    public void reset() {
+        this.count = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buf, this.count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.buf.length) {
+            this.buf = Arrays.copyOf(this.buf, Math.max(this.buf.length << 1, capacity));
+        }
+    }
+
     /**
      * Returns the internal buffer of this output stream.
      * @return the internal byte buffer.
@@ -51,4 +91,12 @@ public final class ByteBufferOutputStream extends ByteArrayOutputStream {
     public ByteBuffer getBuffer() {
         return ByteBuffer.wrap(this.buf, 0, this.count);
     }
+
+    /**
+     * Returns the capacity of the internal buffer of this output stream.
+     * @return the capacity of the internal byte buffer.
+     */
+    int capacity() {
+        return this.buf.length;
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+/**
+ * Thread-local pool of {@link ByteBufferOutputStream} instances, used as scratch space when marshalling.
+ * Marshalling into a reused stream requires a single pass over the object graph and no intermediate allocations; the caller copies the result into an exactly sized buffer.
+ * Each thread retains at most one small idle stream, so nested marshalling, e.g. of a pre-marshalled value within another object, acquires a newly allocated stream.
+ * Objects expected to exceed the retained capacity are marshalled into a dedicated stream of the expected size, which is never retained.
+ */
+public final class ByteBufferOutputStreamPool {
+
+    // Streams that grew beyond this capacity are not retained, to bound the memory pinned by each thread
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final int INITIAL_CAPACITY = 512;
+
+    // Holds the idle stream of each thread, if any, in a single element array, to avoid churning thread-local map entries on every acquire/release
+    private static final ThreadLocal<ByteBufferOutputStream[]> POOL = ThreadLocal.withInitial(() -> new ByteBufferOutputStream[1]);
+
+    /**
+     * Acquires an empty stream for the current thread.
+     * @return an empty stream, which must be returned via {@link #release(ByteBufferOutputStream)}
+     */
+    public static ByteBufferOutputStream acquire() {
+        ByteBufferOutputStream[] slot = POOL.get();
+        ByteBufferOutputStream output = slot[0];
+        if (output == null) {
+            return new ByteBufferOutputStream(INITIAL_CAPACITY);
+        }
+        slot[0] = null;
+        return output;
+    }
+
+    /**
+     * Acquires an empty stream for the current thread, suitable for marshalling an object of the specified expected size.
+     * @param size the expected number of bytes to be written
+     * @return an empty stream, which must be returned via {@link #release(ByteBufferOutputStream)}
+     */
+    public static ByteBufferOutputStream acquire(int size) {
+        return (size > MAX_RETAINED_CAPACITY) ? new ByteBufferOutputStream(size) : acquire();
+    }
+
+    /**
+     * Returns the specified stream to the pool of the current thread.
+     * The content of the stream, including any buffer previously returned by {@link ByteBufferOutputStream#getBuffer()}, must no longer be referenced.
+     * @param output a stream obtained via {@link #acquire()}
+     */
+    public static void release(ByteBufferOutputStream output) {
+        if (output.capacity() <= MAX_RETAINED_CAPACITY) {
+            ByteBufferOutputStream[] slot = POOL.get();
+            if (slot[0] == null) {
+                output.reset();
+                slot[0] = output;
+            }
+        }
+    }
+
+    private ByteBufferOutputStreamPool() {
+        // Hide
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput and allocation rate of {@link ByteBufferMarshaller#write(Object)} for various payload sizes,
+ * comparing marshalling into pooled scratch space, into a buffer of the computed size, and into a newly allocated default sized buffer.
+ * It is not run as part of the test suite, run its main method to compare the strategies.
+ */
+public class ByteBufferMarshallerBenchmark {
+
+    private static final int[] SIZES = { 64, 1024, 8 * 1024, 64 * 1024 };
+    private static final int OPERATIONS = 200_000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws IOException {
+        for (int size : SIZES) {
+            byte[] payload = new byte[size];
+            benchmark("pooled", payload, PayloadMarshaller::new);
+            benchmark("sized", payload, SizedPayloadMarshaller::new);
+            benchmark("unpooled", payload, UnpooledPayloadMarshaller::new);
+        }
+    }
+
+    private static void benchmark(String name, byte[] payload, Function<byte[], ByteBufferMarshaller> factory) throws IOException {
+        ByteBufferMarshaller marshaller = factory.apply(payload);
+        int operations = Math.max(OPERATIONS / Math.max(payload.length / 1024, 1), 1_000);
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; ++i) {
+            long begin = System.nanoTime();
+            for (int j = 0; j < operations; ++j) {
+                ByteBuffer buffer = marshaller.write(payload);
+                bytes += buffer.capacity();
+            }
+            best = Math.min(best, System.nanoTime() - begin);
+        }
+        System.out.printf("%-8s %6d bytes: %,12d operations/s, %,8d bytes retained/operation%n", name, payload.length, operations * 1_000_000_000L / best, bytes / ((long) ITERATIONS * operations));
+    }
+
+    // Writes the payload with no size computation, i.e. via the pool
+    static class PayloadMarshaller implements ByteBufferMarshaller {
+        private final byte[] payload;
+
+        PayloadMarshaller(byte[] payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return true;
+        }
+
+        @Override
+        public Object readFrom(InputStream input) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeTo(OutputStream output, Object object) throws IOException {
+            // Emulate a marshaller writing a field at a time
+            for (int i = 0; i < this.payload.length; i += 16) {
+                output.write(this.payload, i, Math.min(16, this.payload.length - i));
+            }
+        }
+    }
+
+    // Writes the payload into a buffer of the computed size
+    static class SizedPayloadMarshaller extends PayloadMarshaller {
+        private final int size;
+
+        SizedPayloadMarshaller(byte[] payload) {
+            super(payload);
+            this.size = payload.length;
+        }
+
+        @Override
+        public OptionalInt size(Object object) {
+            return OptionalInt.of(this.size);
+        }
+    }
+
+    // Writes the payload into a newly allocated default sized buffer, i.e. the behavior prior to pooling
+    static class UnpooledPayloadMarshaller extends PayloadMarshaller {
+
+        UnpooledPayloadMarshaller(byte[] payload) {
+            super(payload);
+        }
+
+        @Override
+        public ByteBuffer write(Object object) throws IOException {
+            try (ByteBufferOutputStream output = new ByteBufferOutputStream()) {
+                this.writeTo(output, object);
+                return output.getBuffer();
+            }
+        }
+    }
+}
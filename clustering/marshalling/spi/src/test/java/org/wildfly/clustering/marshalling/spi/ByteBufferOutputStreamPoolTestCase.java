@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ByteBufferOutputStreamPool}.
+ */
+public class ByteBufferOutputStreamPoolTestCase {
+
+    @Test
+    public void test() throws IOException {
+        ByteBufferOutputStream output = ByteBufferOutputStreamPool.acquire();
+        ByteBufferOutputStream nested = null;
+        try {
+            output.write(new byte[] { 1, 2, 3 });
+
+            // Nested acquisition must not return the stream in use
+            nested = ByteBufferOutputStreamPool.acquire();
+            try {
+                assertNotSame(output, nested);
+                assertEquals(0, nested.size());
+            } finally {
+                ByteBufferOutputStreamPool.release(nested);
+            }
+        } finally {
+            ByteBufferOutputStreamPool.release(output);
+        }
+
+        // Only the first released stream should be retained, and reused empty
+        ByteBufferOutputStream reused = ByteBufferOutputStreamPool.acquire();
+        try {
+            assertSame(nested, reused);
+            assertEquals(0, reused.size());
+
+            // A retained stream can only be acquired once
+            ByteBufferOutputStream other = ByteBufferOutputStreamPool.acquire();
+            try {
+                assertNotSame(reused, other);
+                assertNotSame(output, other);
+            } finally {
+                ByteBufferOutputStreamPool.release(other);
+            }
+        } finally {
+            ByteBufferOutputStreamPool.release(reused);
+        }
+
+        reused = ByteBufferOutputStreamPool.acquire();
+        try {
+            // Grow stream beyond retained capacity
+            reused.write(new byte[1024 * 1024]);
+        } finally {
+            ByteBufferOutputStreamPool.release(reused);
+        }
+
+        ByteBufferOutputStream result = ByteBufferOutputStreamPool.acquire();
+        try {
+            assertNotSame(reused, result);
+            assertEquals(0, result.size());
+        } finally {
+            ByteBufferOutputStreamPool.release(result);
+        }
+
+        // Small expected sizes should use the retained stream
+        ByteBufferOutputStream small = ByteBufferOutputStreamPool.acquire(1024);
+        try {
+            assertSame(result, small);
+        } finally {
+            ByteBufferOutputStreamPool.release(small);
+        }
+
+        // Large expected sizes should use a dedicated stream of that size, which is never retained
+        ByteBufferOutputStream large = ByteBufferOutputStreamPool.acquire(64 * 1024);
+        try {
+            assertNotSame(result, large);
+            assertEquals(64 * 1024, large.capacity());
+        } finally {
+            ByteBufferOutputStreamPool.release(large);
+        }
+
+        ByteBufferOutputStream retained = ByteBufferOutputStreamPool.acquire();
+        try {
+            assertSame(result, retained);
+        } finally {
+            ByteBufferOutputStreamPool.release(retained);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.wildfly.clustering.ee.Mutator;
+
+/**
+ * Mutator for session access meta data that coalesces updates of the last access time.
+ * The mutation is only triggered if the last access end time moved into a different interval of the specified granularity than it occupied when this mutator was created.
+ * Consequently, the persisted last access end time of a session may trail its actual last access end time by less than the specified granularity.
+ */
+public class CoalescingSessionAccessMetaDataMutator implements Mutator {
+
+    private final Mutator mutator;
+    private final Instant creationTime;
+    private final ImmutableSessionAccessMetaData metaData;
+    private final long granularity;
+    private final long interval;
+
+    /**
+     * Creates a mutator for the specified access meta data.
+     * @param mutator the mutator used to persist the access meta data
+     * @param creationTime the creation time of the session
+     * @param metaData the access meta data of the session, as persisted
+     * @param granularity a non-zero granularity of last access times
+     */
+    public CoalescingSessionAccessMetaDataMutator(Mutator mutator, Instant creationTime, ImmutableSessionAccessMetaData metaData, Duration granularity) {
+        this.mutator = mutator;
+        this.creationTime = creationTime;
+        this.metaData = metaData;
+        this.granularity = granularity.toMillis();
+        this.interval = this.getInterval();
+    }
+
+    @Override
+    public void mutate() {
+        if (this.getInterval() != this.interval) {
+            this.mutator.mutate();
+        }
+    }
+
+    private long getInterval() {
+        Instant lastAccessEndTime = this.creationTime.plus(this.metaData.getSinceCreationDuration()).plus(this.metaData.getLastAccessDuration());
+        return lastAccessEndTime.toEpochMilli() / this.granularity;
+    }
+}
@@ -32,10 +32,22 @@ public class CompositeSessionMetaData implements InvalidatableSessionMetaData {
 
     private final SessionCreationMetaData creationMetaData;
     private final SessionAccessMetaData accessMetaData;
+    private final Duration accessTimeGranularity;
 
     public CompositeSessionMetaData(SessionCreationMetaData creationMetaData, SessionAccessMetaData accessMetaData) {
+        this(creationMetaData, accessMetaData, Duration.ZERO);
+    }
+
+    /**
+     * Creates a composite view of the meta data of a session whose persisted last access time may trail its actual last access time.
+     * @param creationMetaData the creation meta data of a session
+     * @param accessMetaData the access meta data of a session
+     * @param accessTimeGranularity the maximum duration by which the last access time may trail the actual last access time
+     */
+    public CompositeSessionMetaData(SessionCreationMetaData creationMetaData, SessionAccessMetaData accessMetaData, Duration accessTimeGranularity) {
         this.creationMetaData = creationMetaData;
         this.accessMetaData = accessMetaData;
+        this.accessTimeGranularity = accessTimeGranularity;
     }
 
     @Override
@@ -53,6 +65,13 @@ public class CompositeSessionMetaData implements InvalidatableSessionMetaData {
         return this.creationMetaData.invalidate();
     }
 
+    @Override
+    public boolean isExpired() {
+        Duration maxInactiveInterval = this.getMaxInactiveInterval();
+        // Allow for a last access time that trails the actual last access time
+        return !maxInactiveInterval.isZero() ? this.getLastAccessEndTime().plus(maxInactiveInterval).plus(this.accessTimeGranularity).isBefore(Instant.now()) : false;
+    }
+
     @Override
     public Instant getCreationTime() {
         return this.creationMetaData.getCreationTime();
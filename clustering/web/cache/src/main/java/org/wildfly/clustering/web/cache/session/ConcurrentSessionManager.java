@@ -111,6 +111,41 @@ public class ConcurrentSessionManager<L, B extends Batch> implements SessionMana
         return this.manager.getActiveSessionCount();
     }
 
+    @Override
+    public long getExpirationBacklogCount() {
+        return this.manager.getExpirationBacklogCount();
+    }
+
+    @Override
+    public Duration getLastExpirationSweepDuration() {
+        return this.manager.getLastExpirationSweepDuration();
+    }
+
+    @Override
+    public int getPendingRescanSegmentCount() {
+        return this.manager.getPendingRescanSegmentCount();
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.manager.getNearCacheHitCount();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.manager.getNearCacheMissCount();
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.manager.getAppliedAttributeWriteCount();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.manager.getCoalescedAttributeWriteCount();
+    }
+
     @Override
     public Duration getDefaultMaxInactiveInterval() {
         return this.manager.getDefaultMaxInactiveInterval();
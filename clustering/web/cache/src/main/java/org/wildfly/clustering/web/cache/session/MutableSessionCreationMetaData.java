@@ -24,6 +24,7 @@ package org.wildfly.clustering.web.cache.session;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.wildfly.clustering.ee.Mutator;
 
@@ -34,6 +35,7 @@ public class MutableSessionCreationMetaData implements SessionCreationMetaData {
 
     private final SessionCreationMetaData metaData;
     private final Mutator mutator;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
 
     public MutableSessionCreationMetaData(SessionCreationMetaData metaData, Mutator mutator) {
         this.metaData = metaData;
@@ -59,7 +61,8 @@ public class MutableSessionCreationMetaData implements SessionCreationMetaData {
     public void setMaxInactiveInterval(Duration duration) {
         if (!this.metaData.getMaxInactiveInterval().equals(duration)) {
             this.metaData.setMaxInactiveInterval(duration);
-            this.mutator.mutate();
+            // Defer mutation until close, so that repeated changes within a request result in a single write
+            this.dirty.set(true);
         }
     }
 
@@ -75,6 +78,9 @@ public class MutableSessionCreationMetaData implements SessionCreationMetaData {
 
     @Override
     public void close() {
+        if (this.dirty.compareAndSet(true, false)) {
+            this.mutator.mutate();
+        }
         this.metaData.close();
     }
 }
@@ -31,6 +31,14 @@ import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
 
 /**
+ * Marshaller for {@link SimpleSessionAccessMetaData}, written on every request, using the following compact encoding:
+ * <ol>
+ * <li>Marshal duration since creation as unsigned varint milliseconds, omitted for new sessions</li>
+ * <li>Marshal duration of last access as unsigned varint seconds, omitted for sub-second requests</li>
+ * </ol>
+ * Entries written using the legacy encoding, i.e. nested {@link Duration} messages, are still readable.
+ * During a rolling upgrade from a version that predates the compact encoding, the legacy encoding can be written instead,
+ * see {@link SessionSerializationContextInitializer#LEGACY_META_DATA_FORMAT}.
  * @author Paul Ferraro
  */
 public class SessionAccessMetaDataMarshaller implements ProtoStreamMarshaller<SimpleSessionAccessMetaData> {
@@ -40,8 +48,24 @@ public class SessionAccessMetaDataMarshaller implements ProtoStreamMarshaller<Si
     // Optimize for sub-second request duration
     private static final Duration DEFAULT_LAST_ACCESS = Duration.ofSeconds(1);
 
-    private static final int SINCE_CREATION_INDEX = 1;
-    private static final int LAST_ACCESS_INDEX = 2;
+    private static final int LEGACY_SINCE_CREATION_INDEX = 1;
+    private static final int LEGACY_LAST_ACCESS_INDEX = 2;
+    private static final int SINCE_CREATION_MILLIS_INDEX = 3;
+    private static final int LAST_ACCESS_SECONDS_INDEX = 4;
+
+    private final boolean legacy;
+
+    public SessionAccessMetaDataMarshaller() {
+        this(false);
+    }
+
+    /**
+     * Creates a marshaller for session access meta data.
+     * @param legacy indicates whether to write the legacy encoding, readable by members that predate the compact encoding
+     */
+    public SessionAccessMetaDataMarshaller(boolean legacy) {
+        this.legacy = legacy;
+    }
 
     @Override
     public SimpleSessionAccessMetaData readFrom(ProtoStreamReader reader) throws IOException {
@@ -50,12 +74,18 @@ public class SessionAccessMetaDataMarshaller implements ProtoStreamMarshaller<Si
         while (!reader.isAtEnd()) {
             int tag = reader.readTag();
             switch (WireType.getTagFieldNumber(tag)) {
-                case SINCE_CREATION_INDEX:
+                case LEGACY_SINCE_CREATION_INDEX:
                     sinceCreation = reader.readObject(Duration.class);
                     break;
-                case LAST_ACCESS_INDEX:
+                case LEGACY_LAST_ACCESS_INDEX:
                     lastAccess = reader.readObject(Duration.class);
                     break;
+                case SINCE_CREATION_MILLIS_INDEX:
+                    sinceCreation = Duration.ofMillis(reader.readUInt64());
+                    break;
+                case LAST_ACCESS_SECONDS_INDEX:
+                    lastAccess = Duration.ofSeconds(reader.readUInt64());
+                    break;
                 default:
                     reader.skipField(tag);
             }
@@ -67,14 +97,24 @@ public class SessionAccessMetaDataMarshaller implements ProtoStreamMarshaller<Si
 
     @Override
     public void writeTo(ProtoStreamWriter writer, SimpleSessionAccessMetaData metaData) throws IOException {
+        // Durations are already truncated to the precision encoded here, see SimpleSessionAccessMetaData.setLastAccessDuration(...)
         Duration sinceCreation = metaData.getSinceCreationDuration();
-        if (!sinceCreation.equals(DEFAULT_SINCE_CREATION)) {
-            writer.writeObject(SINCE_CREATION_INDEX, sinceCreation);
-        }
-
         Duration lastAccess = metaData.getLastAccessDuration();
-        if (!lastAccess.equals(DEFAULT_LAST_ACCESS)) {
-            writer.writeObject(LAST_ACCESS_INDEX, lastAccess);
+
+        if (this.legacy) {
+            if (!sinceCreation.equals(DEFAULT_SINCE_CREATION)) {
+                writer.writeObject(LEGACY_SINCE_CREATION_INDEX, sinceCreation);
+            }
+            if (!lastAccess.equals(DEFAULT_LAST_ACCESS)) {
+                writer.writeObject(LEGACY_LAST_ACCESS_INDEX, lastAccess);
+            }
+        } else {
+            if (!sinceCreation.equals(DEFAULT_SINCE_CREATION)) {
+                writer.writeUInt64(SINCE_CREATION_MILLIS_INDEX, sinceCreation.toMillis());
+            }
+            if (!lastAccess.equals(DEFAULT_LAST_ACCESS)) {
+                writer.writeUInt64(LAST_ACCESS_SECONDS_INDEX, lastAccess.getSeconds());
+            }
         }
     }
 
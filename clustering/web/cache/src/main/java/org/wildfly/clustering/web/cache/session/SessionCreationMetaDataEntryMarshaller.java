@@ -32,6 +32,14 @@ import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
 
 /**
+ * Marshaller for a {@link SessionCreationMetaDataEntry}, using the following compact encoding:
+ * <ol>
+ * <li>Marshal creation time as unsigned varint milliseconds since epoch</li>
+ * <li>Marshal max inactive interval as signed varint seconds, plus unsigned varint sub-second milliseconds (or nanoseconds, if necessary) if non-zero, omitted for the specification default</li>
+ * </ol>
+ * Entries written using the legacy encoding, i.e. nested {@link Instant} and {@link Duration} messages, are still readable.
+ * During a rolling upgrade from a version that predates the compact encoding, the legacy encoding can be written instead,
+ * see {@link SessionSerializationContextInitializer#LEGACY_META_DATA_FORMAT}.
  * @author Paul Ferraro
  */
 public class SessionCreationMetaDataEntryMarshaller implements ProtoStreamMarshaller<SessionCreationMetaDataEntry<Object>> {
@@ -40,8 +48,26 @@ public class SessionCreationMetaDataEntryMarshaller implements ProtoStreamMarsha
     // Optimize for specification default
     private static final Duration DEFAULT_MAX_INACTIVE_INTERVAL = Duration.ofMinutes(30L);
 
-    private static final int CREATION_TIME_INDEX = 1;
-    private static final int MAX_INACTIVE_INTERVAL_INDEX = 2;
+    private static final int LEGACY_CREATION_TIME_INDEX = 1;
+    private static final int LEGACY_MAX_INACTIVE_INTERVAL_INDEX = 2;
+    private static final int CREATION_TIME_MILLIS_INDEX = 3;
+    private static final int MAX_INACTIVE_INTERVAL_SECONDS_INDEX = 4;
+    private static final int MAX_INACTIVE_INTERVAL_MILLIS_INDEX = 5;
+    private static final int MAX_INACTIVE_INTERVAL_NANOS_INDEX = 6;
+
+    private final boolean legacy;
+
+    public SessionCreationMetaDataEntryMarshaller() {
+        this(false);
+    }
+
+    /**
+     * Creates a marshaller for session creation meta data.
+     * @param legacy indicates whether to write the legacy encoding, readable by members that predate the compact encoding
+     */
+    public SessionCreationMetaDataEntryMarshaller(boolean legacy) {
+        this.legacy = legacy;
+    }
 
     @Override
     public SessionCreationMetaDataEntry<Object> readFrom(ProtoStreamReader reader) throws IOException {
@@ -50,12 +76,24 @@ public class SessionCreationMetaDataEntryMarshaller implements ProtoStreamMarsha
         while (!reader.isAtEnd()) {
             int tag = reader.readTag();
             switch (WireType.getTagFieldNumber(tag)) {
-                case CREATION_TIME_INDEX:
+                case LEGACY_CREATION_TIME_INDEX:
                     creationTime = reader.readObject(Instant.class);
                     break;
-                case MAX_INACTIVE_INTERVAL_INDEX:
+                case LEGACY_MAX_INACTIVE_INTERVAL_INDEX:
                     maxInactiveInterval = reader.readObject(Duration.class);
                     break;
+                case CREATION_TIME_MILLIS_INDEX:
+                    creationTime = Instant.ofEpochMilli(reader.readUInt64());
+                    break;
+                case MAX_INACTIVE_INTERVAL_SECONDS_INDEX:
+                    maxInactiveInterval = Duration.ofSeconds(reader.readSInt64());
+                    break;
+                case MAX_INACTIVE_INTERVAL_MILLIS_INDEX:
+                    maxInactiveInterval = maxInactiveInterval.withNanos(reader.readUInt32() * 1_000_000);
+                    break;
+                case MAX_INACTIVE_INTERVAL_NANOS_INDEX:
+                    maxInactiveInterval = maxInactiveInterval.withNanos(reader.readUInt32());
+                    break;
                 default:
                     reader.skipField(tag);
             }
@@ -69,14 +107,34 @@ public class SessionCreationMetaDataEntryMarshaller implements ProtoStreamMarsha
     public void writeTo(ProtoStreamWriter writer, SessionCreationMetaDataEntry<Object> entry) throws IOException {
         SessionCreationMetaData metaData = entry.getMetaData();
 
+        // Only millisecond precision is retained, see SimpleSessionCreationMetaData(Instant)
         Instant creationTime = metaData.getCreationTime();
-        if (!creationTime.equals(DEFAULT_CREATION_TIME)) {
-            writer.writeObject(CREATION_TIME_INDEX, creationTime);
-        }
-
         Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
-        if (!maxInactiveInterval.equals(DEFAULT_MAX_INACTIVE_INTERVAL)) {
-            writer.writeObject(MAX_INACTIVE_INTERVAL_INDEX, maxInactiveInterval);
+
+        if (this.legacy) {
+            if (!creationTime.equals(DEFAULT_CREATION_TIME)) {
+                writer.writeObject(LEGACY_CREATION_TIME_INDEX, creationTime);
+            }
+            if (!maxInactiveInterval.equals(DEFAULT_MAX_INACTIVE_INTERVAL)) {
+                writer.writeObject(LEGACY_MAX_INACTIVE_INTERVAL_INDEX, maxInactiveInterval);
+            }
+        } else {
+            if (!creationTime.equals(DEFAULT_CREATION_TIME)) {
+                writer.writeUInt64(CREATION_TIME_MILLIS_INDEX, creationTime.toEpochMilli());
+            }
+            if (!maxInactiveInterval.equals(DEFAULT_MAX_INACTIVE_INTERVAL)) {
+                // Always write seconds, even if zero, to distinguish from the default
+                writer.writeSInt64(MAX_INACTIVE_INTERVAL_SECONDS_INDEX, maxInactiveInterval.getSeconds());
+                int nanos = maxInactiveInterval.getNano();
+                if (nanos > 0) {
+                    // Optimize for ms precision, if possible
+                    if (nanos % 1_000_000 == 0) {
+                        writer.writeUInt32(MAX_INACTIVE_INTERVAL_MILLIS_INDEX, nanos / 1_000_000);
+                    } else {
+                        writer.writeUInt32(MAX_INACTIVE_INTERVAL_NANOS_INDEX, nanos);
+                    }
+                }
+            }
         }
     }
 
@@ -26,6 +26,7 @@ import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author Paul Ferraro
@@ -33,9 +34,25 @@ import org.wildfly.clustering.marshalling.protostream.AbstractSerializationConte
 @MetaInfServices(SerializationContextInitializer.class)
 public class SessionSerializationContextInitializer extends AbstractSerializationContextInitializer {
 
+    /**
+     * System property that, when true, writes session meta data using the legacy encoding, readable by members that predate the compact encoding.
+     * This should only be enabled for the duration of a rolling upgrade from such a version.
+     */
+    public static final String LEGACY_META_DATA_FORMAT = "org.wildfly.clustering.web.session.legacy-meta-data-format";
+
+    private final boolean legacy;
+
+    public SessionSerializationContextInitializer() {
+        this(Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(LEGACY_META_DATA_FORMAT, Boolean.FALSE.toString())));
+    }
+
+    SessionSerializationContextInitializer(boolean legacy) {
+        this.legacy = legacy;
+    }
+
     @Override
     public void registerMarshallers(SerializationContext context) {
-        context.registerMarshaller(new SessionCreationMetaDataEntryMarshaller());
-        context.registerMarshaller(new SessionAccessMetaDataMarshaller());
+        context.registerMarshaller(new SessionCreationMetaDataEntryMarshaller(this.legacy));
+        context.registerMarshaller(new SessionAccessMetaDataMarshaller(this.legacy));
     }
 }
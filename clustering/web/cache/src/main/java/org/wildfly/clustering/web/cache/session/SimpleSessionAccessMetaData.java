@@ -46,7 +46,7 @@ public class SimpleSessionAccessMetaData implements SessionAccessMetaData {
     public void setLastAccessDuration(Duration sinceCreation, Duration lastAccess) {
         int nano = sinceCreation.getNano();
         // Only retain millisecond precision
-        this.sinceCreation = (nano % 1_000_000) > 0 ? sinceCreation.withNanos((nano / 1_000_000) + 1) : sinceCreation;
+        this.sinceCreation = (nano % 1_000_000) > 0 ? sinceCreation.withNanos(0).plusMillis((nano / 1_000_000) + 1) : sinceCreation;
         // Only retain second precision
         this.lastAccess = (lastAccess.getNano() > 0) ? Duration.ofSeconds(lastAccess.getSeconds() + 1) : lastAccess;
     }
@@ -65,7 +65,7 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
         try {
             return this.marshaller.read(value);
         } catch (IOException e) {
-            // This should not happen here, since attributes were pre-activated when session was constructed
+            // Attributes are not necessarily validated during session construction, as they may be unmarshalled on demand
             throw new IllegalStateException(e);
         }
     }
@@ -55,9 +55,10 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionAttributeActivationNotifier notifier;
+    private final SessionAttributeWriteRecorder recorder;
     private final AtomicReference<Map<String, UUID>> names;
 
-    public FineSessionAttributes(NK key, AtomicReference<Map<String, UUID>> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier) {
+    public FineSessionAttributes(NK key, AtomicReference<Map<String, UUID>> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier, SessionAttributeWriteRecorder recorder) {
         this.key = key;
         this.names = names;
         this.namesCache = namesCache;
@@ -68,6 +69,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.recorder = recorder;
     }
 
     @Override
@@ -80,13 +82,14 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
             K key = this.keyFactory.apply(attributeId);
 
+            Optional<Object> pendingValue = this.mutations.remove(key);
             Object result = this.read(this.attributeCache.remove(key));
-            if (result != null) {
-                this.mutations.remove(key);
-
-                if (this.properties.isPersistent()) {
-                    this.notifier.postActivate(result);
-                }
+            if ((pendingValue != null) && pendingValue.isPresent()) {
+                // Value of a deferred write supersedes the cached value, and was already activated
+                return pendingValue.get();
+            }
+            if ((result != null) && this.properties.isPersistent()) {
+                this.notifier.postActivate(result);
             }
             return result;
         }
@@ -104,13 +107,35 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         UUID attributeId = this.names.get().get(name);
 
         synchronized (this.mutations) {
+            boolean newAttribute = false;
             if (attributeId == null) {
                 UUID newAttributeId = createUUID();
                 this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteSessionAttributeMapPutFunction(name, newAttributeId) : new ConcurrentSessionAttributeMapPutFunction(name, newAttributeId)));
                 attributeId = this.names.get().get(name);
+                newAttribute = newAttributeId.equals(attributeId);
             }
 
             K key = this.keyFactory.apply(attributeId);
+
+            if (this.properties.isPersistent() && !newAttribute) {
+                // Defer the write until close, so that all mutations of this attribute within a request result in a single write
+                Optional<Object> pendingValue = this.mutations.put(key, Optional.of(attribute));
+                boolean pending = (pendingValue != null) && pendingValue.isPresent();
+                if (pending) {
+                    // The pending write is superseded by this write
+                    this.recorder.recordCoalesced();
+                }
+                // Any pending value was already activated
+                Object result = pending ? pendingValue.get() : this.read(this.attributeCache.get(key));
+
+                this.notifier.postActivate(attribute);
+                if (!pending && (result != null) && (result != attribute)) {
+                    this.notifier.postActivate(result);
+                }
+                return result;
+            }
+
+            // Write the value of a new attribute immediately, so that its name is never visible without its value
             V value = this.write(attribute);
 
             if (this.properties.isPersistent()) {
@@ -181,14 +206,17 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     public void close() {
         synchronized (this.mutations) {
             this.notifier.close();
+            int writes = 0;
             for (Map.Entry<K, Optional<Object>> entry : this.mutations.entrySet()) {
                 Optional<Object> optional = entry.getValue();
                 if (optional.isPresent()) {
                     K key = entry.getKey();
                     V value = this.write(optional.get());
                     this.mutatorFactory.createMutator(key, value).mutate();
+                    writes += 1;
                 }
             }
+            this.recorder.recordApplied(writes);
             this.mutations.clear();
         }
     }
@@ -209,7 +237,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         try {
             return this.marshaller.read(value);
         } catch (IOException e) {
-            // This should not happen here, since attributes were pre-activated during session construction
+            // Attributes are not necessarily validated during session construction, as they may be unmarshalled on demand
             throw new IllegalStateException(e);
         }
     }
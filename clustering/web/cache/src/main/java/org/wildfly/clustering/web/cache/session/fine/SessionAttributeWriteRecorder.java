@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.web.session.SessionAttributeWriteStatistics;
+
+/**
+ * Records the session attribute writes applied, or coalesced, by {@link FineSessionAttributes}.
+ */
+public class SessionAttributeWriteRecorder implements SessionAttributeWriteStatistics {
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Records the specified number of attribute writes applied to the cache.
+     * @param writes a number of writes
+     */
+    public void recordApplied(int writes) {
+        this.applied.add(writes);
+    }
+
+    /**
+     * Records an attribute write superseded by a subsequent write of the same attribute.
+     */
+    public void recordCoalesced() {
+        this.coalesced.increment();
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.applied.sum();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.coalesced.sum();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+
+/**
+ * Unit test for {@link CoalescingSessionAccessMetaDataMutator}.
+ */
+public class CoalescingSessionAccessMetaDataMutatorTestCase {
+
+    @Test
+    public void test() {
+        Mutator mutator = mock(Mutator.class);
+        // Align creation time with the start of an interval
+        Instant creationTime = Instant.ofEpochSecond(Instant.now().getEpochSecond() / 60 * 60);
+        SessionAccessMetaData metaData = new SimpleSessionAccessMetaData();
+        metaData.setLastAccessDuration(Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        Mutator coalescing = new CoalescingSessionAccessMetaDataMutator(mutator, creationTime, metaData, Duration.ofMinutes(1));
+
+        // Last access within the same interval
+        metaData.setLastAccessDuration(Duration.ofSeconds(30), Duration.ofSeconds(1));
+        coalescing.mutate();
+
+        verify(mutator, never()).mutate();
+
+        // Last access within a subsequent interval
+        metaData.setLastAccessDuration(Duration.ofSeconds(65), Duration.ofSeconds(1));
+        coalescing.mutate();
+
+        verify(mutator).mutate();
+    }
+}
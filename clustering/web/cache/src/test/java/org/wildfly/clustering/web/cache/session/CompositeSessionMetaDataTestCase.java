@@ -72,6 +72,23 @@ public class CompositeSessionMetaDataTestCase {
         assertFalse(this.metaData.isExpired());
     }
 
+    @Test
+    public void isExpiredWithAccessTimeGranularity() {
+        SessionMetaData metaData = new CompositeSessionMetaData(this.creationMetaData, this.accessMetaData, Duration.ofMinutes(1L));
+
+        when(this.creationMetaData.getCreationTime()).thenReturn(Instant.now().minus(Duration.ofMinutes(10L)));
+        when(this.creationMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(5L).minus(Duration.ofSeconds(1, 1)));
+        when(this.accessMetaData.getSinceCreationDuration()).thenReturn(Duration.ofMinutes(5L));
+        when(this.accessMetaData.getLastAccessDuration()).thenReturn(Duration.ofSeconds(1));
+
+        // Persisted last access time may trail the actual last access time by up to the granularity
+        assertFalse(metaData.isExpired());
+
+        when(this.creationMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(4L).minus(Duration.ofSeconds(1, 1)));
+
+        assertTrue(metaData.isExpired());
+    }
+
     @Test
     public void getCreationTime() {
         Instant expected = Instant.now();
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+
+/**
+ * Unit test for {@link MutableSessionCreationMetaData}.
+ */
+public class MutableSessionCreationMetaDataTestCase {
+
+    @Test
+    public void setMaxInactiveInterval() {
+        Mutator mutator = mock(Mutator.class);
+        SessionCreationMetaData metaData = new MutableSessionCreationMetaData(new SimpleSessionCreationMetaData(), mutator);
+
+        metaData.setMaxInactiveInterval(Duration.ofMinutes(10));
+        metaData.setMaxInactiveInterval(Duration.ofMinutes(20));
+
+        // Verify that mutations are deferred until close
+        verify(mutator, never()).mutate();
+        Assert.assertEquals(Duration.ofMinutes(20), metaData.getMaxInactiveInterval());
+
+        metaData.close();
+
+        // Verify that mutations were coalesced into a single write
+        verify(mutator).mutate();
+
+        metaData.close();
+
+        verify(mutator).mutate();
+    }
+}
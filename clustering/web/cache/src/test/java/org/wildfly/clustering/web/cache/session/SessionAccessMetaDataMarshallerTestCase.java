@@ -28,7 +28,11 @@ import java.time.Duration;
 import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.marshalling.MarshallingTester;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.protostream.SimpleClassLoaderMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 
 /**
  * Unit test for {@link SessionAccessMetaDataExternalizer}.
@@ -53,6 +57,42 @@ public class SessionAccessMetaDataMarshallerTestCase {
         // Existing session, +1 second response time
         metaData.setLastAccessDuration(Duration.ofSeconds(60 * 5), Duration.ofSeconds(1, 100_000_000));
         tester.test(metaData, SessionAccessMetaDataMarshallerTestCase::assertEquals);
+
+        // Existing session, sub-millisecond duration since creation
+        metaData.setLastAccessDuration(Duration.ofSeconds(60 * 5, 123_456_789), Duration.ofSeconds(1, 100_000_000));
+        Assert.assertEquals(Duration.ofSeconds(60 * 5, 124_000_000), metaData.getSinceCreationDuration());
+        tester.test(metaData, SessionAccessMetaDataMarshallerTestCase::assertEquals);
+    }
+
+    @Test
+    public void compact() throws IOException {
+        ByteBufferMarshaller compactMarshaller = createMarshaller(false);
+        ByteBufferMarshaller legacyMarshaller = createMarshaller(true);
+
+        SimpleSessionAccessMetaData metaData = new SimpleSessionAccessMetaData();
+
+        // Existing session, sub-second response time
+        metaData.setLastAccessDuration(Duration.ofSeconds(60 * 5), Duration.ofNanos(100_000_000));
+        assertCompact(metaData, compactMarshaller, legacyMarshaller);
+
+        // Existing session, +1 second response time
+        metaData.setLastAccessDuration(Duration.ofSeconds(60 * 5, 123_456_789), Duration.ofSeconds(1, 100_000_000));
+        assertCompact(metaData, compactMarshaller, legacyMarshaller);
+    }
+
+    private static void assertCompact(SimpleSessionAccessMetaData metaData, ByteBufferMarshaller compactMarshaller, ByteBufferMarshaller legacyMarshaller) throws IOException {
+        // Compact encoding must be smaller than the legacy encoding
+        Assert.assertTrue(compactMarshaller.size(metaData).getAsInt() < legacyMarshaller.size(metaData).getAsInt());
+        Assert.assertTrue(compactMarshaller.write(metaData).remaining() < legacyMarshaller.write(metaData).remaining());
+
+        // Legacy encoding, e.g. written by a member during a rolling upgrade, must remain readable
+        assertEquals(metaData, (SimpleSessionAccessMetaData) compactMarshaller.read(legacyMarshaller.write(metaData)));
+        assertEquals(metaData, (SimpleSessionAccessMetaData) legacyMarshaller.read(compactMarshaller.write(metaData)));
+    }
+
+    private static ByteBufferMarshaller createMarshaller(boolean legacy) {
+        ClassLoader loader = SessionAccessMetaDataMarshallerTestCase.class.getClassLoader();
+        return new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder(new SimpleClassLoaderMarshaller(loader)).register(new SessionSerializationContextInitializer(legacy)).build());
     }
 
     static void assertEquals(SimpleSessionAccessMetaData metaData1, SimpleSessionAccessMetaData metaData2) {
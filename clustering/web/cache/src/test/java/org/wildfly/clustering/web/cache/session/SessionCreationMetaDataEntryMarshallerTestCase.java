@@ -29,7 +29,11 @@ import java.time.Instant;
 import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.marshalling.MarshallingTester;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.protostream.SimpleClassLoaderMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 
 /**
  * Unit test for {@link SessionCreationMetaDataEntryExternalizer}.
@@ -51,6 +55,55 @@ public class SessionCreationMetaDataEntryMarshallerTestCase {
         // Custom max-inactive-interval
         metaData.setMaxInactiveInterval(Duration.ofMinutes(10));
         tester.test(entry, SessionCreationMetaDataEntryMarshallerTestCase::assertEquals);
+
+        // Sub-second max-inactive-interval
+        metaData.setMaxInactiveInterval(Duration.ofSeconds(10, 500_000_000));
+        tester.test(entry, SessionCreationMetaDataEntryMarshallerTestCase::assertEquals);
+
+        // Zero max-inactive-interval
+        metaData.setMaxInactiveInterval(Duration.ZERO);
+        tester.test(entry, SessionCreationMetaDataEntryMarshallerTestCase::assertEquals);
+
+        // Negative max-inactive-interval, i.e. session never expires
+        metaData.setMaxInactiveInterval(Duration.ofSeconds(-1));
+        tester.test(entry, SessionCreationMetaDataEntryMarshallerTestCase::assertEquals);
+    }
+
+    @Test
+    public void compact() throws IOException {
+        ByteBufferMarshaller compactMarshaller = createMarshaller(false);
+        ByteBufferMarshaller legacyMarshaller = createMarshaller(true);
+
+        SessionCreationMetaData metaData = new SimpleSessionCreationMetaData(Instant.now());
+        SessionCreationMetaDataEntry<Object> entry = new SessionCreationMetaDataEntry<>(metaData);
+
+        // Default max-inactive-interval
+        metaData.setMaxInactiveInterval(Duration.ofMinutes(30));
+        assertCompact(entry, compactMarshaller, legacyMarshaller);
+
+        // Custom max-inactive-interval
+        metaData.setMaxInactiveInterval(Duration.ofMinutes(10));
+        assertCompact(entry, compactMarshaller, legacyMarshaller);
+
+        // Sub-second max-inactive-interval
+        metaData.setMaxInactiveInterval(Duration.ofSeconds(10, 500_000_000));
+        assertCompact(entry, compactMarshaller, legacyMarshaller);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertCompact(SessionCreationMetaDataEntry<Object> entry, ByteBufferMarshaller compactMarshaller, ByteBufferMarshaller legacyMarshaller) throws IOException {
+        // Compact encoding must be smaller than the legacy encoding
+        Assert.assertTrue(compactMarshaller.size(entry).getAsInt() < legacyMarshaller.size(entry).getAsInt());
+        Assert.assertTrue(compactMarshaller.write(entry).remaining() < legacyMarshaller.write(entry).remaining());
+
+        // Legacy encoding, e.g. written by a member during a rolling upgrade, must remain readable
+        assertEquals(entry, (SessionCreationMetaDataEntry<Object>) compactMarshaller.read(legacyMarshaller.write(entry)));
+        assertEquals(entry, (SessionCreationMetaDataEntry<Object>) legacyMarshaller.read(compactMarshaller.write(entry)));
+    }
+
+    private static ByteBufferMarshaller createMarshaller(boolean legacy) {
+        ClassLoader loader = SessionCreationMetaDataEntryMarshallerTestCase.class.getClassLoader();
+        return new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder(new SimpleClassLoaderMarshaller(loader)).register(new SessionSerializationContextInitializer(legacy)).build());
     }
 
     static void assertEquals(SessionCreationMetaDataEntry<Object> entry1, SessionCreationMetaDataEntry<Object> entry2) {
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+
+/**
+ * Unit test for {@link FineSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+    private final String name = "name";
+    private final UUID attributeId = UUID.randomUUID();
+    private final Map<String, Map<String, UUID>> namesCache = mock(Map.class);
+    private final Map<UUID, Object> attributeCache = new HashMap<>();
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final MutatorFactory<UUID, Object> mutatorFactory = mock(MutatorFactory.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeActivationNotifier notifier = mock(SessionAttributeActivationNotifier.class);
+    private final SessionAttributeWriteRecorder recorder = new SessionAttributeWriteRecorder();
+
+    private SessionAttributes attributes;
+
+    @Before
+    public void init() throws IOException {
+        when(this.properties.isPersistent()).thenReturn(true);
+        when(this.properties.isMarshalling()).thenReturn(true);
+        when(this.properties.isTransactional()).thenReturn(true);
+        when(this.marshaller.isMarshallable(any())).thenReturn(true);
+        when(this.marshaller.read(any())).then(invocation -> invocation.getArgument(0));
+        when(this.marshaller.write(any())).then(invocation -> invocation.getArgument(0));
+
+        this.attributeCache.put(this.attributeId, "initial");
+        AtomicReference<Map<String, UUID>> names = new AtomicReference<>(Collections.singletonMap(this.name, this.attributeId));
+        this.attributes = new FineSessionAttributes<>("session", names, this.namesCache, Function.identity(), this.attributeCache, this.marshaller, this.mutatorFactory, this.immutability, this.properties, this.notifier, this.recorder);
+    }
+
+    @Test
+    public void coalesceWrites() {
+        Mutator mutator = mock(Mutator.class);
+        when(this.mutatorFactory.createMutator(this.attributeId, "third")).thenReturn(mutator);
+
+        assertEquals("initial", this.attributes.setAttribute(this.name, "first"));
+        assertEquals("first", this.attributes.setAttribute(this.name, "second"));
+        assertEquals("second", this.attributes.setAttribute(this.name, "third"));
+        assertEquals("third", this.attributes.getAttribute(this.name));
+
+        // Writes are deferred until close
+        verify(this.mutatorFactory, never()).createMutator(any(), any());
+        assertEquals("initial", this.attributeCache.get(this.attributeId));
+
+        this.attributes.close();
+
+        // Only the last value is written, via a single mutation
+        verify(this.mutatorFactory).createMutator(this.attributeId, "third");
+        verify(this.mutatorFactory, times(1)).createMutator(any(), any());
+        verify(mutator).mutate();
+
+        assertEquals(1L, this.recorder.getAppliedAttributeWriteCount());
+        assertEquals(2L, this.recorder.getCoalescedAttributeWriteCount());
+    }
+
+    @Test
+    public void noWrites() {
+        when(this.immutability.test("initial")).thenReturn(true);
+
+        assertEquals("initial", this.attributes.getAttribute(this.name));
+
+        this.attributes.close();
+
+        verify(this.mutatorFactory, never()).createMutator(any(), any());
+
+        assertEquals(0L, this.recorder.getAppliedAttributeWriteCount());
+        assertEquals(0L, this.recorder.getCoalescedAttributeWriteCount());
+    }
+}
@@ -26,11 +26,14 @@ import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
@@ -61,6 +64,24 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
                         ;
             }
         },
+        ACCESS_TIME_GRANULARITY("access-time-granularity", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(ModelNode.ZERO_LONG)
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
+        NEAR_CACHE_LIFESPAN("near-cache-lifespan", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(ModelNode.ZERO_LONG)
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
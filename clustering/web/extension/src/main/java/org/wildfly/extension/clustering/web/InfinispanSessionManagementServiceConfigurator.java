@@ -22,8 +22,12 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.ACCESS_TIME_GRANULARITY;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_LIFESPAN;
+
+import java.time.Duration;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -42,6 +46,8 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
 
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile Duration accessTimeGranularity;
+    private volatile Duration nearCacheLifespan;
 
     public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +57,8 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        this.accessTimeGranularity = Duration.ofMillis(ACCESS_TIME_GRANULARITY.resolveModelAttribute(context, model).asLong());
+        this.nearCacheLifespan = Duration.ofMillis(NEAR_CACHE_LIFESPAN.resolveModelAttribute(context, model).asLong());
         return super.configure(context, model);
     }
 
@@ -68,4 +76,14 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public Duration getAccessTimeGranularity() {
+        return this.accessTimeGranularity;
+    }
+
+    @Override
+    public Duration getNearCacheLifespan() {
+        return this.nearCacheLifespan;
+    }
 }
@@ -27,6 +27,8 @@ import java.util.List;
 
 import org.jboss.as.clustering.subsystem.AdditionalInitialization;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
@@ -165,6 +167,43 @@ public class DistributableWebTransformerTestCase extends AbstractSubsystemTest {
         Assert.assertTrue(legacyServices.isSuccessfulBoot());
 
         List<ModelNode> operations = builder.parseXmlResource("wildfly-distributable-web-transform-reject.xml");
-        ModelTestUtils.checkFailedTransformedBootOperations(services, this.version, operations, new FailedOperationTransformationConfig());
+        ModelTestUtils.checkFailedTransformedBootOperations(services, this.version, operations, this.createFailedOperationTransformationConfig());
+    }
+
+    private FailedOperationTransformationConfig createFailedOperationTransformationConfig() {
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH);
+
+        if (DistributableWebModel.VERSION_3_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "delta")), new CorrectGranularityConfig(SessionManagementResourceDefinition.Attribute.GRANULARITY.getName()));
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "attribute")), new FailedOperationTransformationConfig.NewAttributesConfig(InfinispanSessionManagementResourceDefinition.Attribute.ACCESS_TIME_GRANULARITY.getDefinition(), InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_LIFESPAN.getDefinition()));
+        }
+
+        return config;
+    }
+
+    /**
+     * Replaces a DELTA granularity, which is not understood by legacy models, with SESSION granularity.
+     */
+    private static class CorrectGranularityConfig extends FailedOperationTransformationConfig.AttributesPathAddressConfig<CorrectGranularityConfig> {
+
+        CorrectGranularityConfig(String... attributes) {
+            super(attributes);
+        }
+
+        @Override
+        protected boolean isAttributeWritable(String attributeName) {
+            return true;
+        }
+
+        @Override
+        protected boolean checkValue(String attrName, ModelNode attribute, boolean isWriteAttribute) {
+            return attribute.isDefined() && attribute.asString().equals(SessionGranularity.DELTA.name());
+        }
+
+        @Override
+        protected ModelNode correctValue(ModelNode toResolve, boolean isWriteAttribute) {
+            return new ModelNode(SessionGranularity.SESSION.name());
+        }
     }
 }
@@ -39,6 +39,7 @@ import org.wildfly.clustering.web.hotrod.logging.Logger;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.Session;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionNearCacheStatistics;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.common.function.Functions;
 
@@ -58,6 +59,7 @@ public class HotRodSessionManager<SC, MV, AV, LC> implements SessionManager<LC,
     private final SC context;
     private final Batcher<TransactionBatch> batcher;
     private final Duration stopTimeout;
+    private final SessionNearCacheStatistics nearCacheStatistics;
     private final Consumer<ImmutableSession> closeTask = Functions.discardingConsumer();
 
     private volatile Duration defaultMaxInactiveInterval = Duration.ofMinutes(30L);
@@ -71,6 +73,7 @@ public class HotRodSessionManager<SC, MV, AV, LC> implements SessionManager<LC,
         this.identifierFactory = configuration.getIdentifierFactory();
         this.batcher = configuration.getBatcher();
         this.stopTimeout = configuration.getStopTimeout();
+        this.nearCacheStatistics = configuration.getNearCacheStatistics();
     }
 
     @Override
@@ -154,4 +157,41 @@ public class HotRodSessionManager<SC, MV, AV, LC> implements SessionManager<LC,
     public long getActiveSessionCount() {
         return this.getActiveSessions().size();
     }
+
+    @Override
+    public long getExpirationBacklogCount() {
+        // Sessions are expired by the remote server
+        return 0L;
+    }
+
+    @Override
+    public Duration getLastExpirationSweepDuration() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public int getPendingRescanSegmentCount() {
+        // Remote cache entries are not rescanned on topology change
+        return 0;
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.nearCacheStatistics.getNearCacheHitCount();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.nearCacheStatistics.getNearCacheMissCount();
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getAppliedAttributeWriteCount();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getCoalescedAttributeWriteCount();
+    }
 }
@@ -28,6 +28,7 @@ import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.web.IdentifierFactory;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionNearCacheStatistics;
 
 /**
  * Configuration for an {@link HotRodSessionManager}.
@@ -41,4 +42,5 @@ public interface HotRodSessionManagerConfiguration<C> {
     IdentifierFactory<String> getIdentifierFactory();
     Batcher<TransactionBatch> getBatcher();
     Duration getStopTimeout();
+    SessionNearCacheStatistics getNearCacheStatistics();
 }
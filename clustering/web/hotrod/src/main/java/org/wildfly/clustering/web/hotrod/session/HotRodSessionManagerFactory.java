@@ -43,6 +43,7 @@ import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
+import org.wildfly.clustering.web.session.SessionNearCacheStatistics;
 
 /**
  * Factory for creating session managers.
@@ -58,6 +59,7 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
     private final Registrar<SessionExpirationListener> expirationRegistrar;
     private final Batcher<TransactionBatch> batcher;
     private final Duration transactionTimeout;
+    private final SessionNearCacheStatistics nearCacheStatistics;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> factory;
 
     public HotRodSessionManagerFactory(HotRodSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
@@ -67,6 +69,7 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
         this.expirationRegistrar = sessionFactory;
         this.batcher = new HotRodBatcher(config.getCache());
         this.transactionTimeout = Duration.ofMillis(config.getCache().getRemoteCacheManager().getConfiguration().transactionTimeout());
+        this.nearCacheStatistics = new RemoteCacheNearCacheStatistics(config.getCache());
     }
 
     @Override
@@ -74,6 +77,7 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
         Registrar<SessionExpirationListener> expirationRegistrar = this.expirationRegistrar;
         Batcher<TransactionBatch> batcher = this.batcher;
         Duration transactionTimeout = this.transactionTimeout;
+        SessionNearCacheStatistics nearCacheStatistics = this.nearCacheStatistics;
         HotRodSessionManagerConfiguration<SC> config = new HotRodSessionManagerConfiguration<SC>() {
             @Override
             public SessionExpirationListener getExpirationListener() {
@@ -104,6 +108,11 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
             public Duration getStopTimeout() {
                 return transactionTimeout;
             }
+
+            @Override
+            public SessionNearCacheStatistics getNearCacheStatistics() {
+                return nearCacheStatistics;
+            }
         };
         return new ConcurrentSessionManager<>(new HotRodSessionManager<>(this.factory, config), ConcurrentManager::new);
     }
@@ -118,7 +127,9 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
             case FINE: {
                 return new FineSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
-            case COARSE: {
+            case COARSE:
+            case DELTA: {
+                // Remote caches cannot apply deltas server-side, so delta granularity behaves like coarse granularity
                 return new CoarseSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
             default: {
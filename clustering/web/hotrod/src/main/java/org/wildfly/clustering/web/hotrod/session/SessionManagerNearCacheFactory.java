@@ -95,7 +95,8 @@ public class SessionManagerNearCacheFactory<K, V> implements NearCacheFactory<K,
             List<Object> keys = new LinkedList<>();
             keys.add(new SessionAccessMetaDataKey(id));
             switch (this.strategy) {
-                case COARSE: {
+                case COARSE:
+                case DELTA: {
                     keys.add(new SessionAttributesKey(id));
                     break;
                 }
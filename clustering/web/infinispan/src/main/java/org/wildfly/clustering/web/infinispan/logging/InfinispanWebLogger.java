@@ -24,6 +24,8 @@ package org.wildfly.clustering.web.infinispan.logging;
 import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.util.List;
+
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
 import org.jboss.logging.annotations.Cause;
@@ -93,4 +95,12 @@ public interface InfinispanWebLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 13, value = "Disabling expiration for cache '%s'. Web session expiration should be configured per \u00A77.5 of the servlet specification.")
     void expirationDisabled(String cacheName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 14, value = "Ignoring near cache configuration for cache '%s'. A near cache is only supported for distributed caches.")
+    void nearCacheIgnored(String cacheName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 15, value = "Failed to expire sessions %s within a single batch, expiring each session individually")
+    void failedToExpireSessions(@Cause Throwable cause, List<String> sessionIds);
 }
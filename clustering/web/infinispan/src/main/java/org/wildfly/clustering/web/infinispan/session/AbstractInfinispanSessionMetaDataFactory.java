@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,7 @@ import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
 import org.wildfly.clustering.infinispan.spi.PredicateKeyFilter;
 import org.wildfly.clustering.infinispan.spi.listener.PrePassivateListener;
+import org.wildfly.clustering.web.cache.session.CoalescingSessionAccessMetaDataMutator;
 import org.wildfly.clustering.web.cache.session.CompositeSessionMetaData;
 import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
 import org.wildfly.clustering.web.cache.session.InvalidatableSessionMetaData;
@@ -76,11 +78,13 @@ public abstract class AbstractInfinispanSessionMetaDataFactory<L> implements Ses
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
     private final CacheProperties properties;
+    private final Duration accessTimeGranularity;
     private final Object evictListener;
 
     public AbstractInfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
         this.cache = configuration.getCache();
         this.properties = configuration.getCacheProperties();
+        this.accessTimeGranularity = configuration.getAccessTimeGranularity();
         this.creationMetaDataCache = configuration.getCache();
         this.creationMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.creationMetaDataCache, this.properties);
         this.accessMetaDataCache = configuration.getCache();
@@ -125,14 +129,17 @@ public abstract class AbstractInfinispanSessionMetaDataFactory<L> implements Ses
 
         SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
         Mutator accessMutator = this.properties.isTransactional() && newSession ? Mutator.PASSIVE : this.accessMetaDataMutatorFactory.createMutator(accessMetaDataKey, entry.getAccessMetaData());
+        if (!this.accessTimeGranularity.isZero()) {
+            accessMutator = new CoalescingSessionAccessMetaDataMutator(accessMutator, entry.getCreationMetaData().getCreationTime(), entry.getAccessMetaData(), this.accessTimeGranularity);
+        }
         SessionAccessMetaData accessMetaData = new MutableSessionAccessMetaData(entry.getAccessMetaData(), accessMutator);
 
-        return new CompositeSessionMetaData(creationMetaData, accessMetaData);
+        return new CompositeSessionMetaData(creationMetaData, accessMetaData, this.accessTimeGranularity);
     }
 
     @Override
     public ImmutableSessionMetaData createImmutableSessionMetaData(String id, CompositeSessionMetaDataEntry<L> entry) {
-        return new CompositeSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData());
+        return new CompositeSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData(), this.accessTimeGranularity);
     }
 
     @Override
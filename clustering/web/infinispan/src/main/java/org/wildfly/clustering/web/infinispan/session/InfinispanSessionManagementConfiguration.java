@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
+
 import org.wildfly.clustering.web.infinispan.InfinispanCacheConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 
@@ -30,4 +32,21 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration extends DistributableSessionManagementConfiguration, InfinispanCacheConfiguration {
+
+    /**
+     * Returns the granularity with which the last access time of a session is persisted.
+     * Updates to the last access time of a session are coalesced such that they are persisted at most once per interval.
+     * @return a duration, or zero, if the last access time is persisted on every request.
+     */
+    default Duration getAccessTimeGranularity() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the lifespan of near cache entries for sessions owned by other members of a distributed cache.
+     * @return a duration, or zero, if the near cache is disabled.
+     */
+    default Duration getNearCacheLifespan() {
+        return Duration.ZERO;
+    }
 }
@@ -59,6 +59,7 @@ import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.Session;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionExpirationStatistics;
 import org.wildfly.clustering.web.session.SessionManager;
 
 /**
@@ -80,6 +81,8 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
     private final SessionFactory<SC, MV, AV, LC> factory;
     private final IdentifierFactory<String> identifierFactory;
     private final Scheduler<String, ImmutableSessionMetaData> expirationScheduler;
+    private final SessionExpirationStatistics expirationStatistics;
+    private final SessionNearCacheRecorder nearCacheRecorder;
     private final Recordable<ImmutableSessionMetaData> recorder;
     private final SC context;
     private final Runnable startTask;
@@ -99,6 +102,8 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
         this.identifierFactory = configuration.getIdentifierFactory();
         this.batcher = configuration.getBatcher();
         this.expirationScheduler = configuration.getExpirationScheduler();
+        this.expirationStatistics = configuration.getExpirationStatistics();
+        this.nearCacheRecorder = configuration.getNearCacheRecorder();
         this.recorder = configuration.getInactiveSessionRecorder();
         this.context = configuration.getServletContext();
         this.contextRegistrar = configuration.getContextRegistrar();
@@ -171,6 +176,7 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
 
     @Override
     public Session<LC> findSession(String id) {
+        this.nearCacheRecorder.record(id);
         Map.Entry<MV, AV> value = this.factory.findValue(id);
         if (value == null) {
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s not found", id);
@@ -199,6 +205,7 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
 
     @Override
     public ImmutableSession readSession(String id) {
+        this.nearCacheRecorder.record(id);
         Map.Entry<MV, AV> value = this.factory.findValue(id);
         return (value != null) ? new SimpleImmutableSession(this.factory.createImmutableSession(id, value)) : null;
     }
@@ -227,6 +234,41 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
         return this.getActiveSessions().size();
     }
 
+    @Override
+    public long getExpirationBacklogCount() {
+        return this.expirationStatistics.getExpirationBacklogCount();
+    }
+
+    @Override
+    public Duration getLastExpirationSweepDuration() {
+        return this.expirationStatistics.getLastExpirationSweepDuration();
+    }
+
+    @Override
+    public int getPendingRescanSegmentCount() {
+        return this.expirationStatistics.getPendingRescanSegmentCount();
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.nearCacheRecorder.getNearCacheHitCount();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.nearCacheRecorder.getNearCacheMissCount();
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getAppliedAttributeWriteCount();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getCoalescedAttributeWriteCount();
+    }
+
     @CacheEntryRemoved
     public CompletionStage<Void> removed(CacheEntryRemovedEvent<SessionCreationMetaDataKey, ?> event) {
         if (event.isPre()) {
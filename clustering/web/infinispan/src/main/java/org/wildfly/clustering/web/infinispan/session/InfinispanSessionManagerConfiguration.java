@@ -34,6 +34,7 @@ import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.web.IdentifierFactory;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionExpirationStatistics;
 import org.wildfly.clustering.web.session.SessionManager;
 
 /**
@@ -50,6 +51,8 @@ public interface InfinispanSessionManagerConfiguration<SC, LC> {
     IdentifierFactory<String> getIdentifierFactory();
     Batcher<TransactionBatch> getBatcher();
     Scheduler<String, ImmutableSessionMetaData> getExpirationScheduler();
+    SessionExpirationStatistics getExpirationStatistics();
+    SessionNearCacheRecorder getNearCacheRecorder();
     Recordable<ImmutableSessionMetaData> getInactiveSessionRecorder();
     Registrar<SessionExpirationListener> getExpirationRegistar();
     Runnable getStartTask();
@@ -27,7 +27,6 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.infinispan.Cache;
@@ -44,15 +43,15 @@ import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalKeysTask;
-import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerListener;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerTopologyChangeListener;
 import org.wildfly.clustering.ee.infinispan.tx.InfinispanBatcher;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.web.IdentifierFactory;
@@ -66,9 +65,11 @@ import org.wildfly.clustering.web.cache.session.SessionFactory;
 import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.DeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionExpirationStatistics;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
@@ -91,13 +92,15 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
     final CacheProperties properties;
     final Cache<Key<String>, ?> cache;
     final org.wildfly.clustering.ee.Scheduler<String, ImmutableSessionMetaData> scheduler;
+    final SessionExpirationStatistics expirationStatistics;
+    final SessionNearCacheRecorder nearCacheRecorder;
     final SpecificationProvider<S, SC, AL> provider;
     final ExecutorService executor = Executors.newCachedThreadPool(new DefaultThreadFactory(this.getClass()));
     final SessionAttributeActivationNotifierFactory<S, SC, AL, LC, TransactionBatch> notifierFactory;
 
     private final KeyAffinityServiceFactory affinityFactory;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> factory;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalTask scheduleTask;
     private final SchedulerListener listener;
 
     public InfinispanSessionManagerFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
@@ -117,18 +120,41 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
             public Executor getExecutor() {
                 return InfinispanSessionManagerFactory.this.executor;
             }
+
+            @Override
+            public Duration getAccessTimeGranularity() {
+                return config.getAccessTimeGranularity();
+            }
         };
         SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = this.properties.isLockOnRead() ? new LockOnReadInfinispanSessionMetaDataFactory<>(metaDataFactoryConfig) : new InfinispanSessionMetaDataFactory<>(metaDataFactoryConfig);
         this.factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
         ExpiredSessionRemover<SC, ?, ?, LC> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
+        SessionExpirationScheduler<CompositeSessionMetaDataEntry<LC>> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, config.getAccessTimeGranularity(), Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
+        this.nearCacheRecorder = new SessionNearCacheRecorder(this.cache);
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         Group group = dispatcherFactory.getGroup();
         this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, this.cache.getName(), localScheduler, new PrimaryOwnerLocator<>(this.cache, config.getMemberFactory(), group), SessionCreationMetaDataKey::new);
 
         this.scheduleTask = new ScheduleLocalKeysTask<>(this.cache, SessionCreationMetaDataKeyFilter.INSTANCE, localScheduler);
-        this.listener = new SchedulerTopologyChangeListener<>(this.cache, localScheduler, this.scheduleTask);
+        SchedulerListener listener = new SchedulerTopologyChangeListener<>(this.cache, localScheduler, this.scheduleTask);
+        this.listener = listener;
+        this.expirationStatistics = new SessionExpirationStatistics() {
+            @Override
+            public long getExpirationBacklogCount() {
+                return localScheduler.getExpirationBacklogCount();
+            }
+
+            @Override
+            public Duration getLastExpirationSweepDuration() {
+                return localScheduler.getLastExpirationSweepDuration();
+            }
+
+            @Override
+            public int getPendingRescanSegmentCount() {
+                return listener.getPendingSegmentCount();
+            }
+        };
     }
 
     @Override
@@ -185,6 +211,16 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
                 return InfinispanSessionManagerFactory.this.scheduler;
             }
 
+            @Override
+            public SessionExpirationStatistics getExpirationStatistics() {
+                return InfinispanSessionManagerFactory.this.expirationStatistics;
+            }
+
+            @Override
+            public SessionNearCacheRecorder getNearCacheRecorder() {
+                return InfinispanSessionManagerFactory.this.nearCacheRecorder;
+            }
+
             @Override
             public Runnable getStartTask() {
                 return InfinispanSessionManagerFactory.this;
@@ -206,6 +242,14 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
             case COARSE: {
                 return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory, this.executor));
             }
+            case DELTA: {
+                MC context = configuration.getMarshalledValueFactory().getMarshallingContext();
+                // Deltas are computed from the serialized form of the session attributes, which requires a byte buffer based marshaller
+                if (context instanceof ByteBufferMarshaller) {
+                    return new DeltaSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory, this.executor), (ByteBufferMarshaller) context);
+                }
+                return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory, this.executor));
+            }
             default: {
                 // Impossible
                 throw new IllegalStateException();
@@ -21,6 +21,8 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
+
 import org.infinispan.remoting.transport.Address;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.spi.NodeFactory;
@@ -43,4 +45,8 @@ public interface InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC>
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    Duration getAccessTimeGranularity();
+
+    Duration getNearCacheLifespan();
 }
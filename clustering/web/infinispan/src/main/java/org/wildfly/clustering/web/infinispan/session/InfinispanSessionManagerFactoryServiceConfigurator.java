@@ -21,6 +21,7 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.LinkedList;
@@ -148,6 +149,16 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
             // We will cascade eviction to the remaining entries for a given session
             builder.addModule(DataContainerConfigurationBuilder.class).evictable(SessionCreationMetaDataKey.class::isInstance);
         }
+
+        Duration nearCacheLifespan = this.configuration.getNearCacheLifespan();
+        if (!nearCacheLifespan.isZero()) {
+            if (builder.clustering().cacheMode().isDistributed()) {
+                // Use L1 cache as a near cache for sessions owned by other members, invalidated by the owners on write
+                builder.clustering().l1().enable().lifespan(nearCacheLifespan.toMillis());
+            } else {
+                InfinispanWebLogger.ROOT_LOGGER.nearCacheIgnored(InfinispanCacheRequirement.CONFIGURATION.resolve(this.configuration.getContainerName(), this.configuration.getCacheName()));
+            }
+        }
     }
 
     @Override
@@ -190,6 +201,16 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.group.get();
     }
 
+    @Override
+    public Duration getAccessTimeGranularity() {
+        return this.configuration.getAccessTimeGranularity();
+    }
+
+    @Override
+    public Duration getNearCacheLifespan() {
+        return this.configuration.getNearCacheLifespan();
+    }
+
     @Override
     public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
         return this.configuration.getAttributePersistenceStrategy();
@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 /**
@@ -30,4 +31,10 @@ import java.util.concurrent.Executor;
 public interface InfinispanSessionMetaDataFactoryConfiguration extends InfinispanConfiguration {
 
     Executor getExecutor();
+
+    /**
+     * Returns the granularity with which the last access time of a session is persisted.
+     * @return a duration, or zero, if the last access time is persisted on every request.
+     */
+    Duration getAccessTimeGranularity();
 }
@@ -22,13 +22,18 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.StripedLocalScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -40,20 +45,35 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 /**
  * Session expiration scheduler that eagerly expires sessions as soon as they are eligible.
  * If/When Infinispan implements expiration notifications (ISPN-694), this will be obsolete.
+ * Sessions that expire at the same time are removed in bounded batches, sharing a single batch per sweep.
  * @author Paul Ferraro
  */
-public class SessionExpirationScheduler<MV> implements Scheduler<String, ImmutableSessionMetaData>, Predicate<String> {
+public class SessionExpirationScheduler<MV> implements Scheduler<String, ImmutableSessionMetaData>, Predicate<String>, Function<List<String>, Collection<String>> {
 
-    private final LocalScheduler<String> scheduler;
+    // Bounds the size of the transaction used to expire a batch of sessions
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final StripedLocalScheduler<String> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final Remover<String> remover;
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
+    private final Duration accessTimeGranularity;
+    private volatile Duration lastSweepDuration = Duration.ZERO;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this(batcher, metaDataFactory, remover, Duration.ZERO, closeTimeout);
+    }
+
+    /**
+     * Creates a session expiration scheduler for sessions whose persisted last access time may trail the actual last access time by up to the specified granularity.
+     * Expiration of such sessions is deferred by the granularity, so that sessions are never expired prematurely.
+     */
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration accessTimeGranularity, Duration closeTimeout) {
+        this.scheduler = new StripedLocalScheduler<>(SortedScheduledEntries::new, (Function<List<String>, Collection<String>>) this, MAX_BATCH_SIZE, closeTimeout);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
+        this.accessTimeGranularity = accessTimeGranularity;
     }
 
     @Override
@@ -69,7 +89,7 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
     public void schedule(String sessionId, ImmutableSessionMetaData metaData) {
         Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
         if (!maxInactiveInterval.isZero()) {
-            this.scheduler.schedule(sessionId, metaData.getLastAccessEndTime().plus(maxInactiveInterval));
+            this.scheduler.schedule(sessionId, metaData.getLastAccessEndTime().plus(maxInactiveInterval).plus(this.accessTimeGranularity));
         }
     }
 
@@ -93,6 +113,55 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
         this.scheduler.close();
     }
 
+    public long getExpirationBacklogCount() {
+        return this.scheduler.getOverdueCount();
+    }
+
+    public Duration getLastExpirationSweepDuration() {
+        return this.lastSweepDuration;
+    }
+
+    @Override
+    public Collection<String> apply(List<String> sessionIds) {
+        long start = System.nanoTime();
+        Collection<String> expired = this.expire(sessionIds);
+        this.lastSweepDuration = Duration.ofNanos(System.nanoTime() - start);
+        InfinispanWebLogger.ROOT_LOGGER.debugf("Expired %d of %d web sessions in %s", expired.size(), sessionIds.size(), this.lastSweepDuration);
+        return expired;
+    }
+
+    private Collection<String> expire(List<String> sessionIds) {
+        if (sessionIds.size() == 1) {
+            return this.test(sessionIds.get(0)) ? sessionIds : Collections.emptyList();
+        }
+        InfinispanWebLogger.ROOT_LOGGER.debugf("Expiring web sessions %s", sessionIds);
+        try {
+            try (Batch batch = this.batcher.createBatch()) {
+                try {
+                    for (String sessionId : sessionIds) {
+                        this.remover.remove(sessionId);
+                    }
+                } catch (RuntimeException e) {
+                    batch.discard();
+                    throw e;
+                }
+            }
+            return sessionIds;
+        } catch (RuntimeException e) {
+            // Includes failure to commit the batch, which must not propagate to the scheduler
+            InfinispanWebLogger.ROOT_LOGGER.failedToExpireSessions(e, sessionIds);
+        }
+        // Fall back to expiring each session within its own batch, so that a single failure does not prevent expiration of the rest
+        Collection<String> expired = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            if (Thread.currentThread().isInterrupted()) break;
+            if (this.test(sessionId)) {
+                expired.add(sessionId);
+            }
+        }
+        return expired;
+    }
+
     @Override
     public boolean test(String sessionId) {
         InfinispanWebLogger.ROOT_LOGGER.debugf("Expiring web session %s", sessionId);
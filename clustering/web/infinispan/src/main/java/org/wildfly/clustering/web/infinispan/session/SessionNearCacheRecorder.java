@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.DistributionManager;
+import org.wildfly.clustering.ee.Recordable;
+import org.wildfly.clustering.web.session.SessionNearCacheStatistics;
+
+/**
+ * Records hits and misses of the near cache, i.e. the L1 cache of a distributed cache, for lookups of sessions not owned by the local member.
+ * A lookup is a hit if the session meta data is already present in the local data container as an L1 entry.
+ */
+public class SessionNearCacheRecorder implements Recordable<String>, SessionNearCacheStatistics {
+
+    private final Cache<? super SessionCreationMetaDataKey, ?> cache;
+    private final boolean enabled;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SessionNearCacheRecorder(Cache<? super SessionCreationMetaDataKey, ?> cache) {
+        this.cache = cache;
+        this.enabled = cache.getCacheConfiguration().clustering().l1().enabled();
+    }
+
+    @Override
+    public void record(String id) {
+        if (this.enabled) {
+            SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
+            DistributionManager distribution = this.cache.getAdvancedCache().getDistributionManager();
+            if ((distribution != null) && !distribution.getCacheTopology().getDistribution(key).isReadOwner()) {
+                InternalCacheEntry<?, ?> entry = this.cache.getAdvancedCache().getDataContainer().peek(key);
+                LongAdder counter = ((entry != null) && entry.isL1Entry()) ? this.hits : this.misses;
+                counter.increment();
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.misses.sum();
+    }
+}
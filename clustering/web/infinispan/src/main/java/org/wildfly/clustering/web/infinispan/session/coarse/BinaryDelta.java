@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Computes and applies binary deltas between two serialized forms of the same object.
+ * A delta encodes the target buffer as a sequence of ranges copied from the source buffer and of literal bytes.
+ * Matching ranges are located using a rolling hash over fixed size blocks of the source buffer, so that fields that change length do not defeat the delta.
+ * A delta can only be applied to the source from which it was computed, which is verified via the length and a checksum of that source.
+ * Buffers follow the convention of {@link org.wildfly.clustering.marshalling.spi.ByteBufferInputStream}, i.e. their content spans from their array offset to their limit.
+ */
+final class BinaryDelta {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int HASH_BASE = 31;
+    private static final int HASH_POWER = power(HASH_BASE, BLOCK_SIZE - 1);
+    private static final int COPY = 0;
+    private static final int INSERT = 1;
+
+    /**
+     * Returns the size of the content of the specified buffer.
+     * @param buffer a buffer
+     * @return the number of content bytes
+     */
+    static int size(ByteBuffer buffer) {
+        return buffer.limit() - buffer.arrayOffset();
+    }
+
+    /**
+     * Computes a delta that transforms the specified source into the specified target.
+     * @param source the previous serialized form
+     * @param target the current serialized form
+     * @return a delta, to be applied via {@link #apply(ByteBuffer, ByteBuffer)}
+     */
+    static ByteBuffer diff(ByteBuffer source, ByteBuffer target) {
+        byte[] s = source.array();
+        int sourceStart = source.arrayOffset();
+        int sourceEnd = source.limit();
+        byte[] t = target.array();
+        int targetStart = target.arrayOffset();
+        int targetEnd = target.limit();
+
+        ByteBufferOutputStream output = new ByteBufferOutputStream(Math.min(size(target), 256));
+        writeVarInt(output, sourceEnd - sourceStart);
+        writeInt(output, checksum(source));
+        writeVarInt(output, targetEnd - targetStart);
+
+        // Trim common prefix and suffix, which covers the common case of a single modified region cheaply
+        int prefix = 0;
+        int limit = Math.min(sourceEnd - sourceStart, targetEnd - targetStart);
+        while ((prefix < limit) && (s[sourceStart + prefix] == t[targetStart + prefix])) {
+            prefix += 1;
+        }
+        int suffix = 0;
+        while ((suffix < limit - prefix) && (s[sourceEnd - suffix - 1] == t[targetEnd - suffix - 1])) {
+            suffix += 1;
+        }
+        if (prefix > 0) {
+            writeCopy(output, 0, prefix);
+        }
+
+        int sourceMiddleStart = sourceStart + prefix;
+        int sourceMiddleEnd = sourceEnd - suffix;
+        int targetMiddleStart = targetStart + prefix;
+        int targetMiddleEnd = targetEnd - suffix;
+
+        int literalStart = targetMiddleStart;
+        int blocks = (sourceMiddleEnd - sourceMiddleStart) / BLOCK_SIZE;
+        if ((blocks > 0) && (targetMiddleEnd - targetMiddleStart >= BLOCK_SIZE)) {
+            // Index the blocks of the modified region of the source, retaining the first block for a given hash
+            int capacity = Integer.highestOneBit(blocks) << 2;
+            int shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            int[] table = new int[capacity];
+            for (int offset = sourceMiddleStart + (blocks - 1) * BLOCK_SIZE; offset >= sourceMiddleStart; offset -= BLOCK_SIZE) {
+                table[index(hash(s, offset), shift)] = offset + 1;
+            }
+
+            int position = targetMiddleStart;
+            int hash = hash(t, position);
+            while (true) {
+                int candidate = table[index(hash, shift)] - 1;
+                if ((candidate >= 0) && equals(s, candidate, t, position, BLOCK_SIZE)) {
+                    int matchSource = candidate;
+                    int matchTarget = position;
+                    // Extend the match backwards into pending literals, and forwards as far as possible
+                    while ((matchSource > sourceMiddleStart) && (matchTarget > literalStart) && (s[matchSource - 1] == t[matchTarget - 1])) {
+                        matchSource -= 1;
+                        matchTarget -= 1;
+                    }
+                    int matchEnd = position + BLOCK_SIZE;
+                    int matchSourceEnd = candidate + BLOCK_SIZE;
+                    while ((matchEnd < targetMiddleEnd) && (matchSourceEnd < sourceMiddleEnd) && (s[matchSourceEnd] == t[matchEnd])) {
+                        matchEnd += 1;
+                        matchSourceEnd += 1;
+                    }
+                    if (matchTarget > literalStart) {
+                        writeInsert(output, t, literalStart, matchTarget - literalStart);
+                    }
+                    writeCopy(output, matchSource - sourceStart, matchEnd - matchTarget);
+                    literalStart = matchEnd;
+                    position = matchEnd;
+                    if (position + BLOCK_SIZE > targetMiddleEnd) break;
+                    hash = hash(t, position);
+                } else {
+                    if (position + BLOCK_SIZE >= targetMiddleEnd) break;
+                    hash = (hash - (t[position] & 0xFF) * HASH_POWER) * HASH_BASE + (t[position + BLOCK_SIZE] & 0xFF);
+                    position += 1;
+                }
+            }
+        }
+        if (targetMiddleEnd > literalStart) {
+            writeInsert(output, t, literalStart, targetMiddleEnd - literalStart);
+        }
+        if (suffix > 0) {
+            writeCopy(output, sourceMiddleEnd - sourceStart, suffix);
+        }
+        return output.getBuffer();
+    }
+
+    /**
+     * Applies the specified delta to the specified source.
+     * @param source the serialized form from which the delta was computed
+     * @param delta a delta computed via {@link #diff(ByteBuffer, ByteBuffer)}
+     * @return the target serialized form
+     * @throws IllegalArgumentException if the delta was not computed from the specified source, or is malformed
+     */
+    static ByteBuffer apply(ByteBuffer source, ByteBuffer delta) {
+        byte[] s = source.array();
+        int sourceStart = source.arrayOffset();
+        int sourceSize = size(source);
+        byte[] d = delta.array();
+        int[] position = new int[] { delta.arrayOffset() };
+        int end = delta.limit();
+
+        if ((readVarInt(d, position) != sourceSize) || (readInt(d, position) != checksum(source))) {
+            throw new IllegalArgumentException();
+        }
+        byte[] target = new byte[readVarInt(d, position)];
+        int offset = 0;
+        while (position[0] < end) {
+            int header = readVarInt(d, position);
+            int length = header >>> 1;
+            if (offset + length > target.length) {
+                throw new IllegalArgumentException();
+            }
+            if ((header & 1) == COPY) {
+                int sourceOffset = readVarInt(d, position);
+                if (sourceOffset + length > sourceSize) {
+                    throw new IllegalArgumentException();
+                }
+                System.arraycopy(s, sourceStart + sourceOffset, target, offset, length);
+            } else {
+                if (position[0] + length > end) {
+                    throw new IllegalArgumentException();
+                }
+                System.arraycopy(d, position[0], target, offset, length);
+                position[0] += length;
+            }
+            offset += length;
+        }
+        if (offset != target.length) {
+            throw new IllegalArgumentException();
+        }
+        return ByteBuffer.wrap(target);
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), buffer.arrayOffset(), size(buffer));
+        return (int) checksum.getValue();
+    }
+
+    private static int hash(byte[] bytes, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; ++i) {
+            hash = hash * HASH_BASE + (bytes[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static int index(int hash, int shift) {
+        // Fibonacci hashing spreads the polynomial hash across the table
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private static int power(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; ++i) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private static boolean equals(byte[] source, int sourceOffset, byte[] target, int targetOffset, int length) {
+        for (int i = 0; i < length; ++i) {
+            if (source[sourceOffset + i] != target[targetOffset + i]) return false;
+        }
+        return true;
+    }
+
+    private static void writeCopy(ByteBufferOutputStream output, int sourceOffset, int length) {
+        writeVarInt(output, (length << 1) | COPY);
+        writeVarInt(output, sourceOffset);
+    }
+
+    private static void writeInsert(ByteBufferOutputStream output, byte[] bytes, int offset, int length) {
+        writeVarInt(output, (length << 1) | INSERT);
+        output.write(bytes, offset, length);
+    }
+
+    private static void writeVarInt(ByteBufferOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    private static void writeInt(ByteBufferOutputStream output, int value) {
+        output.write(value >>> 24);
+        output.write(value >>> 16);
+        output.write(value >>> 8);
+        output.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException();
+            }
+            byte b = bytes[position[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static int readInt(byte[] bytes, int[] position) {
+        int result = 0;
+        for (int i = 0; i < Integer.BYTES; ++i) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException();
+            }
+            result = (result << 8) | (bytes[position[0]++] & 0xFF);
+        }
+        return result;
+    }
+
+    private BinaryDelta() {
+        // Hide
+    }
+}
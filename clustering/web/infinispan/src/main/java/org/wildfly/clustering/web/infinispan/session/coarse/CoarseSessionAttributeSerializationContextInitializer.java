@@ -22,10 +22,14 @@
 
 package org.wildfly.clustering.web.infinispan.session.coarse;
 
+import java.nio.ByteBuffer;
+
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.FunctionalScalarMarshaller;
+import org.wildfly.clustering.marshalling.protostream.Scalar;
 import org.wildfly.clustering.web.cache.SessionKeyMarshaller;
 
 /**
@@ -37,5 +41,6 @@ public class CoarseSessionAttributeSerializationContextInitializer extends Abstr
     @Override
     public void registerMarshallers(SerializationContext context) {
         context.registerMarshaller(new SessionKeyMarshaller<>(SessionAttributesKey.class, SessionAttributesKey::new));
+        context.registerMarshaller(new FunctionalScalarMarshaller<>(SessionAttributesDeltaFunction.class, Scalar.BYTE_BUFFER.cast(ByteBuffer.class), SessionAttributesDeltaFunction::getDelta, SessionAttributesDeltaFunction::new));
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * The attributes of a delta granularity session, along with the serialized form of those attributes that was last written to the cache.
+ * The latter is the source against which the next delta is computed.
+ */
+public class DeltaSessionAttributesEntry {
+
+    private final Map<String, Object> attributes;
+    private ByteBuffer replicated;
+
+    public DeltaSessionAttributesEntry(Map<String, Object> attributes, ByteBuffer replicated) {
+        this.attributes = attributes;
+        this.replicated = replicated;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Returns the serialized form of the session attributes that was last written to the cache.
+     * Callers must synchronize on this entry.
+     * @return a buffer, or null if unknown
+     */
+    ByteBuffer getReplicated() {
+        return this.replicated;
+    }
+
+    /**
+     * Records the serialized form of the session attributes that was last written to the cache.
+     * Callers must synchronize on this entry.
+     * @param replicated a buffer
+     */
+    void setReplicated(ByteBuffer replicated) {
+        this.replicated = replicated;
+    }
+}
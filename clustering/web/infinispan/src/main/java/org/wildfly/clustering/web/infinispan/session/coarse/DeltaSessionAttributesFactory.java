@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.CacheEntryMutator;
+import org.wildfly.clustering.infinispan.spi.PredicateKeyFilter;
+import org.wildfly.clustering.infinispan.spi.listener.PostActivateListener;
+import org.wildfly.clustering.infinispan.spi.listener.PrePassivateListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
+import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKeyFilter;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * {@link SessionAttributesFactory} for delta granularity sessions.
+ * Like coarse granularity sessions, all session attributes are stored in a single cache entry.
+ * However, a mutation only replicates a binary delta against the previously replicated state of that entry, unless the delta exceeds a given fraction of the full state.
+ */
+public class DeltaSessionAttributesFactory<S, C, L> implements SessionAttributesFactory<C, DeltaSessionAttributesEntry> {
+
+    // Write the full state if a delta would exceed this fraction of its size
+    private static final float MAX_DELTA_RATIO = 0.5f;
+
+    private final Cache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache;
+    private final ReadWriteMap<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> deltaMap;
+    private final ByteBufferMarshaller marshaller;
+    private final CacheProperties properties;
+    private final Immutability immutability;
+    private final boolean clustered;
+    private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Function<String, SessionAttributeActivationNotifier> notifierFactory;
+    private final Object evictListener;
+    private final Object prePassivateListener;
+    private final Object postActivateListener;
+
+    public DeltaSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Map<String, Object>, ?> configuration, ByteBufferMarshaller marshaller) {
+        this.cache = configuration.getCache();
+        this.marshaller = marshaller;
+        this.immutability = configuration.getImmutability();
+        this.properties = configuration.getCacheProperties();
+        // Deltas only reduce the cost of replication
+        this.clustered = this.cache.getCacheConfiguration().clustering().cacheMode().isClustered();
+        // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+        this.deltaMap = this.clustered ? ReadWriteMapImpl.create(FunctionalMapImpl.create(this.cache.getAdvancedCache().withFlags(Flag.FAIL_SILENTLY))) : null;
+        this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.notifierFactory = configuration.getActivationNotifierFactory();
+        this.prePassivateListener = !this.properties.isPersistent() ? new PrePassivateListener<>(this::prePassivate, configuration.getExecutor()) : null;
+        this.postActivateListener = !this.properties.isPersistent() ? new PostActivateListener<>(this::postActivate, configuration.getExecutor()) : null;
+        if (this.prePassivateListener != null) {
+            this.cache.addListener(this.prePassivateListener, new PredicateKeyFilter<>(SessionAttributesKeyFilter.INSTANCE), null);
+        }
+        if (this.postActivateListener != null) {
+            this.cache.addListener(this.postActivateListener, new PredicateKeyFilter<>(SessionAttributesKeyFilter.INSTANCE), null);
+        }
+        this.evictListener = new PrePassivateListener<>(this::cascadeEvict, configuration.getExecutor());
+        this.cache.addListener(this.evictListener, new PredicateKeyFilter<>(SessionCreationMetaDataKeyFilter.INSTANCE), null);
+    }
+
+    @Override
+    public void close() {
+        this.cache.removeListener(this.evictListener);
+        if (this.prePassivateListener != null) {
+            this.cache.removeListener(this.prePassivateListener);
+        }
+        if (this.postActivateListener != null) {
+            this.cache.removeListener(this.postActivateListener);
+        }
+    }
+
+    @Override
+    public DeltaSessionAttributesEntry createValue(String id, Void context) {
+        Map<String, Object> attributes = this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+        try {
+            ByteBuffer buffer = this.marshaller.write(attributes);
+            // Always store the serialized form, so that deltas can be applied without unmarshalling
+            this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(new SessionAttributesKey(id), new ByteBufferMarshalledValue<>(buffer));
+            return new DeltaSessionAttributesEntry(attributes, buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public DeltaSessionAttributesEntry findValue(String id) {
+        return this.getValue(id, true);
+    }
+
+    @Override
+    public DeltaSessionAttributesEntry tryValue(String id) {
+        return this.getValue(id, false);
+    }
+
+    private DeltaSessionAttributesEntry getValue(String id, boolean purgeIfInvalid) {
+        ByteBufferMarshalledValue<Map<String, Object>> value = this.cache.get(new SessionAttributesKey(id));
+        if (value != null) {
+            try {
+                ByteBuffer buffer = value.getBuffer();
+                if (buffer != null) {
+                    // Read from the buffer directly, since the cached value must retain its serialized form
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> attributes = (Map<String, Object>) this.marshaller.read(buffer);
+                    return new DeltaSessionAttributesEntry(attributes, buffer);
+                }
+            } catch (IOException e) {
+                InfinispanWebLogger.ROOT_LOGGER.failedToActivateSession(e, id);
+                if (purgeIfInvalid) {
+                    this.purge(id);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return this.delete(id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        return this.delete(id, Flag.SKIP_LISTENER_NOTIFICATION);
+    }
+
+    private boolean delete(String id, Flag... flags) {
+        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, DeltaSessionAttributesEntry entry, ImmutableSessionMetaData metaData, C context) {
+        Map<String, Object> attributes = entry.getAttributes();
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        Mutator mutator = this.clustered ? new DeltaSessionAttributesMutator(this.cache, this.deltaMap, key, entry, this.marshaller, MAX_DELTA_RATIO) : new CacheEntryMutator<>(this.cache, key, new ByteBufferMarshalledValue<>(attributes, this.marshaller));
+        SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, entry)), context) : null;
+        return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, DeltaSessionAttributesEntry entry) {
+        return new CoarseImmutableSessionAttributes(entry.getAttributes());
+    }
+
+    private void cascadeEvict(SessionCreationMetaDataKey key, Object value) {
+        this.cache.evict(new SessionAttributesKey(key.getId()));
+    }
+
+    private void prePassivate(SessionAttributesKey key, ByteBufferMarshalledValue<Map<String, Object>> value) {
+        this.notify(key, value, SessionAttributeActivationNotifier.PRE_PASSIVATE);
+    }
+
+    private void postActivate(SessionAttributesKey key, ByteBufferMarshalledValue<Map<String, Object>> value) {
+        this.notify(key, value, SessionAttributeActivationNotifier.POST_ACTIVATE);
+    }
+
+    private void notify(SessionAttributesKey key, ByteBufferMarshalledValue<Map<String, Object>> value, BiConsumer<SessionAttributeActivationNotifier, Object> notification) {
+        String sessionId = key.getId();
+        try (SessionAttributeActivationNotifier notifier = this.notifierFactory.apply(sessionId)) {
+            ByteBuffer buffer = value.getBuffer();
+            if (buffer != null) {
+                Map<?, ?> attributes = (Map<?, ?>) this.marshaller.read(buffer);
+                for (Object attributeValue : attributes.values()) {
+                    notification.accept(notifier, attributeValue);
+                }
+            }
+        } catch (IOException e) {
+            InfinispanWebLogger.ROOT_LOGGER.failedToActivateSession(e, sessionId);
+        }
+    }
+}
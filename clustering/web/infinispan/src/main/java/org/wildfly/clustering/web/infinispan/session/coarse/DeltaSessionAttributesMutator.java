@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Mutates the attributes of a delta granularity session.
+ * Writes a binary delta against the last replicated state of the session attributes if sufficiently small, otherwise writes the full state.
+ * The full state is also written if the delta could not be applied, since its source no longer matches the current state of the cache entry.
+ */
+public class DeltaSessionAttributesMutator implements Mutator {
+
+    private final Cache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache;
+    private final ReadWriteMap<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> map;
+    private final SessionAttributesKey key;
+    private final DeltaSessionAttributesEntry entry;
+    private final ByteBufferMarshaller marshaller;
+    private final float maxDeltaRatio;
+
+    public DeltaSessionAttributesMutator(Cache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache, ReadWriteMap<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> map, SessionAttributesKey key, DeltaSessionAttributesEntry entry, ByteBufferMarshaller marshaller, float maxDeltaRatio) {
+        this.cache = cache;
+        this.map = map;
+        this.key = key;
+        this.entry = entry;
+        this.marshaller = marshaller;
+        this.maxDeltaRatio = maxDeltaRatio;
+    }
+
+    @Override
+    public void mutate() {
+        // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+        AdvancedCache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache = this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY);
+        // Serialize mutations of the same session by concurrent requests, so that each delta is computed against the state written by its predecessor
+        synchronized (this.entry) {
+            try {
+                ByteBuffer target = this.marshaller.write(this.entry.getAttributes());
+                ByteBuffer source = this.entry.getReplicated();
+                ByteBuffer delta = (source != null) ? BinaryDelta.diff(source, target) : null;
+                if ((delta != null) && (BinaryDelta.size(delta) <= BinaryDelta.size(target) * this.maxDeltaRatio)) {
+                    // Only a flag indicating whether the delta was applied is returned, never the resulting value
+                    // A null result indicates that the session was removed concurrently
+                    Boolean applied = this.map.eval(this.key, new SessionAttributesDeltaFunction(delta)).join();
+                    if (Boolean.FALSE.equals(applied)) {
+                        // Delta was discarded, since its source no longer matches the current state of the entry, e.g. following a concurrent write from another member
+                        cache.put(this.key, new ByteBufferMarshalledValue<>(target));
+                    }
+                } else {
+                    cache.put(this.key, new ByteBufferMarshalledValue<>(target));
+                }
+                this.entry.setReplicated(target);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+
+/**
+ * Function that applies a binary delta to the serialized session attributes of a delta granularity session.
+ * This function is sent to the owners of the entry, such that only the delta is transmitted over the network.
+ * Only whether the delta was applied is returned to the caller, rather than the resulting value:
+ * <ul>
+ * <li>{@link Boolean#TRUE} if the delta was applied</li>
+ * <li>{@link Boolean#FALSE} if the delta was discarded, since it was not computed against the current state of the entry</li>
+ * <li>null, if the entry does not exist, e.g. the session was removed concurrently</li>
+ * </ul>
+ */
+public class SessionAttributesDeltaFunction implements Function<ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>>, Boolean> {
+
+    private final ByteBuffer delta;
+
+    public SessionAttributesDeltaFunction(ByteBuffer delta) {
+        this.delta = delta;
+    }
+
+    public ByteBuffer getDelta() {
+        return this.delta;
+    }
+
+    @Override
+    public Boolean apply(ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view) {
+        ByteBufferMarshalledValue<Map<String, Object>> value = view.find().orElse(null);
+        // Session was removed concurrently
+        if (value == null) return null;
+        try {
+            ByteBuffer source = value.getBuffer();
+            if (source != null) {
+                view.set(new ByteBufferMarshalledValue<>(BinaryDelta.apply(source, this.delta)));
+                return Boolean.TRUE;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Delta was not computed from the current state of this entry, e.g. following a concurrent write from another member
+            InfinispanWebLogger.ROOT_LOGGER.debugf(e, "Discarding attributes delta for session %s", view.key().getId());
+        }
+        return Boolean.FALSE;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The attribute names of a fine granularity session, along with any attribute entries prefetched when the session was loaded.
+ */
+public class FineSessionAttributesEntry<V> {
+
+    private final AtomicReference<Map<String, UUID>> names;
+    private final Map<SessionAttributeKey, V> prefetched;
+    private final Map<SessionAttributeKey, String> unread;
+
+    public FineSessionAttributesEntry(AtomicReference<Map<String, UUID>> names, Map<SessionAttributeKey, V> prefetched, Map<SessionAttributeKey, String> unread) {
+        this.names = names;
+        this.prefetched = prefetched;
+        this.unread = unread;
+    }
+
+    public AtomicReference<Map<String, UUID>> getNames() {
+        return this.names;
+    }
+
+    /**
+     * Returns the attribute entries fetched along with the attribute names, which are not yet unmarshalled.
+     * @return a concurrent map of attribute entries
+     */
+    Map<SessionAttributeKey, V> getPrefetched() {
+        return this.prefetched;
+    }
+
+    /**
+     * Returns the names of the attributes that were not yet read, indexed by their cache key.
+     * @return a concurrent map of attribute names
+     */
+    Map<SessionAttributeKey, String> getUnread() {
+        return this.unread;
+    }
+}
@@ -26,8 +26,10 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -49,6 +51,7 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.fine.FineImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributes;
+import org.wildfly.clustering.web.cache.session.fine.SessionAttributeWriteRecorder;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
@@ -61,9 +64,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * {@link SessionAttributesFactory} for fine granularity sessions.
  * A given session's attributes are mapped to N+1 co-located cache entries, where N is the number of session attributes.
  * A separate cache entry stores the activate attribute names for the session.
+ * Attributes are fetched and unmarshalled on demand, except for those attributes frequently read by previously loaded sessions of this factory, which are fetched in bulk along with the attribute names.
  * @author Paul Ferraro
  */
-public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, AtomicReference<Map<String, UUID>>> {
+public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, FineSessionAttributesEntry<V>> {
+
+    // Bounds the number of attribute names whose reads are tracked for prefetching
+    private static final int MAX_PREFETCH_NAMES = 64;
 
     private final Cache<SessionAttributeNamesKey, Map<String, UUID>> namesCache;
     private final Cache<SessionAttributeKey, V> attributeCache;
@@ -77,6 +84,8 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private final Object evictAttributesListener;
     private final Object prePassivateListener;
     private final Object postActivateListener;
+    private final SessionAttributePrefetchPolicy prefetchPolicy = new SessionAttributePrefetchPolicy(MAX_PREFETCH_NAMES);
+    private final SessionAttributeWriteRecorder recorder = new SessionAttributeWriteRecorder();
 
     public FineSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
         this.namesCache = configuration.getCache();
@@ -114,49 +123,52 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public AtomicReference<Map<String, UUID>> createValue(String id, Void context) {
-        return new AtomicReference<>(Collections.emptyMap());
+    public FineSessionAttributesEntry<V> createValue(String id, Void context) {
+        return new FineSessionAttributesEntry<>(new AtomicReference<>(Collections.emptyMap()), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
     }
 
     @Override
-    public AtomicReference<Map<String, UUID>> findValue(String id) {
+    public FineSessionAttributesEntry<V> findValue(String id) {
         return this.getValue(id, true);
     }
 
     @Override
-    public AtomicReference<Map<String, UUID>> tryValue(String id) {
+    public FineSessionAttributesEntry<V> tryValue(String id) {
         return this.getValue(id, false);
     }
 
-    private AtomicReference<Map<String, UUID>> getValue(String id, boolean purgeIfInvalid) {
+    private FineSessionAttributesEntry<V> getValue(String id, boolean purgeIfInvalid) {
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
-        if (names != null) {
-            // Validate all attributes
-            Map<SessionAttributeKey, String> attributes = new TreeMap<>();
-            for (Map.Entry<String, UUID> entry : names.entrySet()) {
-                attributes.put(new SessionAttributeKey(id, entry.getValue()), entry.getKey());
+        if (names == null) {
+            return this.createValue(id, null);
+        }
+        // Prefetch those attributes frequently read by previously loaded sessions, deferring their unmarshalling until read
+        Set<String> prefetchNames = this.prefetchPolicy.loaded(names.keySet());
+        Map<SessionAttributeKey, String> attributes = new TreeMap<>();
+        Map<SessionAttributeKey, String> unread = new ConcurrentHashMap<>();
+        for (Map.Entry<String, UUID> entry : names.entrySet()) {
+            SessionAttributeKey key = new SessionAttributeKey(id, entry.getValue());
+            if (prefetchNames.contains(entry.getKey())) {
+                attributes.put(key, entry.getKey());
             }
+            unread.put(key, entry.getKey());
+        }
+        Map<SessionAttributeKey, V> prefetched = new ConcurrentHashMap<>();
+        if (!attributes.isEmpty()) {
             Map<SessionAttributeKey, V> entries = this.attributeCache.getAdvancedCache().getAll(attributes.keySet());
             for (Map.Entry<SessionAttributeKey, String> attribute : attributes.entrySet()) {
                 V value = entries.get(attribute.getKey());
-                if (value != null) {
-                    try {
-                        this.marshaller.read(value);
-                        continue;
-                    } catch (IOException e) {
-                        InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, attribute.getValue());
-                    }
-                } else {
+                if (value == null) {
                     InfinispanWebLogger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, attribute.getValue());
+                    if (purgeIfInvalid) {
+                        this.purge(id);
+                    }
+                    return null;
                 }
-                if (purgeIfInvalid) {
-                    this.purge(id);
-                }
-                return null;
+                prefetched.put(attribute.getKey(), value);
             }
-            return new AtomicReference<>(names);
         }
-        return new AtomicReference<>(Collections.emptyMap());
+        return new FineSessionAttributesEntry<>(new AtomicReference<>(names), prefetched, unread);
     }
 
     @Override
@@ -182,14 +194,24 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public SessionAttributes createSessionAttributes(String id, AtomicReference<Map<String, UUID>> names, ImmutableSessionMetaData metaData, C context) {
-        SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, names)), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+    public SessionAttributes createSessionAttributes(String id, FineSessionAttributesEntry<V> entry, ImmutableSessionMetaData metaData, C context) {
+        SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, entry)), context);
+        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), entry.getNames(), this.namesCache, getKeyFactory(id), new PrefetchedSessionAttributeMap<>(this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), entry, this.prefetchPolicy::read), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier, this.recorder);
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.recorder.getAppliedAttributeWriteCount();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.recorder.getCoalescedAttributeWriteCount();
     }
 
     @Override
-    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, AtomicReference<Map<String, UUID>> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, FineSessionAttributesEntry<V> entry) {
+        return new FineImmutableSessionAttributes<>(entry.getNames(), getKeyFactory(id), new PrefetchedSessionAttributeMap<>(this.attributeCache, entry, this.prefetchPolicy::read), this.marshaller);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A map of the attribute entries of a fine granularity session, backed by the entries prefetched when the session was loaded.
+ * Entries that were not prefetched are read from the attribute cache on demand.
+ * The name of each attribute read is reported once, so that frequently read attributes can be prefetched for subsequent requests.
+ * Bulk operations, e.g. {@link #entrySet()}, only reflect the prefetched entries, and never traverse the attribute cache.
+ */
+public class PrefetchedSessionAttributeMap<V> extends AbstractMap<SessionAttributeKey, V> {
+
+    private final Map<SessionAttributeKey, V> cache;
+    private final Map<SessionAttributeKey, V> prefetched;
+    private final Map<SessionAttributeKey, String> unread;
+    private final Consumer<String> accessRecorder;
+
+    public PrefetchedSessionAttributeMap(Map<SessionAttributeKey, V> cache, FineSessionAttributesEntry<V> entry, Consumer<String> accessRecorder) {
+        this.cache = cache;
+        this.prefetched = entry.getPrefetched();
+        this.unread = entry.getUnread();
+        this.accessRecorder = accessRecorder;
+    }
+
+    @Override
+    public V get(Object key) {
+        // Record the name of the attribute read, once per session
+        String name = this.unread.remove(key);
+        if (name != null) {
+            this.accessRecorder.accept(name);
+        }
+        V value = this.prefetched.get(key);
+        return (value != null) ? value : this.cache.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.prefetched.containsKey(key) || this.cache.containsKey(key);
+    }
+
+    @Override
+    public V put(SessionAttributeKey key, V value) {
+        this.prefetched.remove(key);
+        this.unread.remove(key);
+        return this.cache.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        this.prefetched.remove(key);
+        this.unread.remove(key);
+        return this.cache.remove(key);
+    }
+
+    @Override
+    public Set<Map.Entry<SessionAttributeKey, V>> entrySet() {
+        return Collections.unmodifiableMap(this.prefetched).entrySet();
+    }
+}
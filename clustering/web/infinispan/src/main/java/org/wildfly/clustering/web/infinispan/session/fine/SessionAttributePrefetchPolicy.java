@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Determines which attributes of a fine granularity session to prefetch when the session is loaded, based on how often each attribute was read by the sessions previously loaded.
+ * An attribute is prefetched only if it was read by at least half of the loaded sessions containing it.
+ * Only a bounded number of attribute names are tracked, discarding the least recently used first, e.g. if attribute names are session specific.
+ */
+class SessionAttributePrefetchPolicy {
+
+    // Minimum ratio of reads to loads of an attribute, above which it is worth prefetching
+    private static final double MIN_HIT_RATE = 0.5;
+    // Statistics of an attribute are halved after this many loads, so that they reflect recent usage
+    private static final int DECAY_THRESHOLD = 256;
+
+    private final Map<String, Usage> usage;
+
+    SessionAttributePrefetchPolicy(int maxNames) {
+        this.usage = new LinkedHashMap<String, Usage>(16, 0.75f, true) {
+            private static final long serialVersionUID = -8402286346232519545L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Usage> eldest) {
+                return this.size() > maxNames;
+            }
+        };
+    }
+
+    /**
+     * Records the loading of a session containing the specified attributes.
+     * @param names the attribute names of the loaded session
+     * @return the subset of attribute names that should be prefetched
+     */
+    synchronized Set<String> loaded(Set<String> names) {
+        Set<String> result = Collections.emptySet();
+        for (String name : names) {
+            Usage usage = this.usage.get(name);
+            if ((usage != null) && usage.loaded()) {
+                if (result.isEmpty()) {
+                    result = new HashSet<>();
+                }
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records the first read of the specified attribute by a loaded session.
+     * @param name an attribute name
+     */
+    synchronized void read(String name) {
+        // An untracked attribute was necessarily read on demand, by a session loaded before it was tracked
+        this.usage.computeIfAbsent(name, key -> new Usage()).read();
+    }
+
+    private static class Usage {
+        private int loads = 1;
+        private int reads = 0;
+
+        boolean loaded() {
+            if (++this.loads > DECAY_THRESHOLD) {
+                this.loads /= 2;
+                this.reads /= 2;
+            }
+            return this.reads >= this.loads * MIN_HIT_RATE;
+        }
+
+        void read() {
+            // A session that was loaded before this attribute was tracked may read it concurrently
+            this.reads = Math.min(this.reads + 1, this.loads);
+        }
+    }
+}
@@ -21,15 +21,21 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
@@ -83,4 +89,72 @@ public class SessionExpirationSchedulerTestCase {
         verify(batch).close();
     }
 
+    @Test
+    public void batch() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ImmutableSessionMetaDataFactory<Object> metaDataFactory = mock(ImmutableSessionMetaDataFactory.class);
+        List<String> sessionIds = Arrays.asList("foo", "bar", "baz");
+
+        when(batcher.createBatch()).thenReturn(batch);
+
+        try (SessionExpirationScheduler<Object> scheduler = new SessionExpirationScheduler<>(batcher, metaDataFactory, remover, Duration.ZERO)) {
+            Collection<String> result = scheduler.apply(sessionIds);
+
+            // Verify that all sessions were removed within a single batch
+            Assert.assertEquals(sessionIds, result);
+            verify(batcher).createBatch();
+            verify(batch).close();
+            for (String sessionId : sessionIds) {
+                verify(remover).remove(sessionId);
+            }
+            Assert.assertEquals(0L, scheduler.getExpirationBacklogCount());
+        }
+    }
+
+    @Test
+    public void failedBatch() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ImmutableSessionMetaDataFactory<Object> metaDataFactory = mock(ImmutableSessionMetaDataFactory.class);
+        List<String> sessionIds = Arrays.asList("foo", "bar", "baz");
+
+        when(batcher.createBatch()).thenReturn(batch);
+        doThrow(new IllegalStateException()).when(remover).remove("bar");
+
+        try (SessionExpirationScheduler<Object> scheduler = new SessionExpirationScheduler<>(batcher, metaDataFactory, remover, Duration.ZERO)) {
+            Collection<String> result = scheduler.apply(sessionIds);
+
+            // Verify that a failure falls back to per-session batches, excluding the session that could not be removed
+            Assert.assertEquals(Arrays.asList("foo", "baz"), result);
+            verify(batch, times(2)).discard();
+            verify(batcher, times(4)).createBatch();
+        }
+    }
+
+    @Test
+    public void failedCommit() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ImmutableSessionMetaDataFactory<Object> metaDataFactory = mock(ImmutableSessionMetaDataFactory.class);
+        List<String> sessionIds = Arrays.asList("foo", "bar", "baz");
+
+        when(batcher.createBatch()).thenReturn(batch);
+        // Only the commit of the shared batch fails
+        doThrow(new IllegalStateException()).doNothing().when(batch).close();
+
+        try (SessionExpirationScheduler<Object> scheduler = new SessionExpirationScheduler<>(batcher, metaDataFactory, remover, Duration.ZERO)) {
+            Collection<String> result = scheduler.apply(sessionIds);
+
+            // Verify that a failed commit falls back to per-session batches
+            Assert.assertEquals(sessionIds, result);
+            verify(batcher, times(4)).createBatch();
+            for (String sessionId : sessionIds) {
+                verify(remover, times(2)).remove(sessionId);
+            }
+        }
+    }
 }
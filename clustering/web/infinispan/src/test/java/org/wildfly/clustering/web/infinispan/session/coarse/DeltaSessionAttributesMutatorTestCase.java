@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.context.Flag;
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.JavaByteBufferMarshaller;
+
+/**
+ * Unit test for {@link DeltaSessionAttributesMutator}.
+ */
+public class DeltaSessionAttributesMutatorTestCase {
+
+    private final ByteBufferMarshaller marshaller = JavaByteBufferMarshaller.INSTANCE;
+    private final AdvancedCache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache = mock(AdvancedCache.class);
+    private final AdvancedCache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> ignoreReturnCache = mock(AdvancedCache.class);
+    private final ReadWriteMap<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> map = mock(ReadWriteMap.class);
+    private final SessionAttributesKey key = new SessionAttributesKey("ABC123");
+
+    public DeltaSessionAttributesMutatorTestCase() {
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(this.ignoreReturnCache);
+    }
+
+    @Test
+    public void delta() throws IOException {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("a", "1");
+        attributes.put("b", "2");
+        ByteBuffer source = this.marshaller.write(attributes);
+        attributes.put("b", "3");
+        DeltaSessionAttributesEntry entry = new DeltaSessionAttributesEntry(attributes, source);
+
+        // Owner applies the delta to the expected source
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view = this.mockEntryView(source);
+
+        Mutator mutator = new DeltaSessionAttributesMutator(this.cache, this.map, this.key, entry, this.marshaller, 1f);
+        mutator.mutate();
+
+        verify(this.map).eval(same(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(view).set(eq(new ByteBufferMarshalledValue<>(this.marshaller.write(attributes))));
+        verify(this.ignoreReturnCache, never()).put(any(), any());
+    }
+
+    @Test
+    public void staleSource() throws IOException {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("a", "1");
+        attributes.put("b", "2");
+        ByteBuffer source = this.marshaller.write(attributes);
+        // The entry was since written by another member
+        attributes.put("a", "0");
+        ByteBuffer current = this.marshaller.write(attributes);
+        attributes.put("a", "1");
+        attributes.put("b", "3");
+        ByteBuffer target = this.marshaller.write(attributes);
+        DeltaSessionAttributesEntry entry = new DeltaSessionAttributesEntry(attributes, source);
+
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view = this.mockEntryView(current);
+
+        Mutator mutator = new DeltaSessionAttributesMutator(this.cache, this.map, this.key, entry, this.marshaller, 1f);
+        mutator.mutate();
+
+        // Discarded delta must fall back to writing the full state
+        verify(view, never()).set(any());
+        verify(this.ignoreReturnCache).put(same(this.key), eq(new ByteBufferMarshalledValue<>(target)));
+    }
+
+    @Test
+    public void removed() throws IOException {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("a", "1");
+        ByteBuffer source = this.marshaller.write(attributes);
+        attributes.put("a", "2");
+        DeltaSessionAttributesEntry entry = new DeltaSessionAttributesEntry(attributes, source);
+
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view = this.mockEntryView(null);
+
+        Mutator mutator = new DeltaSessionAttributesMutator(this.cache, this.map, this.key, entry, this.marshaller, 1f);
+        mutator.mutate();
+
+        // Do not resurrect the attributes of a concurrently removed session
+        verify(view, never()).set(any());
+        verify(this.ignoreReturnCache, never()).put(any(), any());
+    }
+
+    private ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> mockEntryView(ByteBuffer value) {
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view = mock(ReadWriteEntryView.class);
+        when(view.key()).thenReturn(this.key);
+        when(view.find()).thenReturn((value != null) ? Optional.of(new ByteBufferMarshalledValue<>(value.duplicate())) : Optional.empty());
+        when(this.map.eval(same(this.key), any(SessionAttributesDeltaFunction.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.<SessionAttributesDeltaFunction>getArgument(1).apply(view)));
+        return view;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+/**
+ * Unit test for {@link BinaryDelta} and {@link SessionAttributesDeltaFunction}.
+ */
+public class SessionAttributesDeltaFunctionTestCase {
+
+    @Test
+    public void diff() {
+        Random random = new Random(0);
+        byte[] source = new byte[4096];
+        random.nextBytes(source);
+
+        // Modify a few scattered regions, changing the length of one of them
+        byte[] target = new byte[source.length + 8];
+        System.arraycopy(source, 0, target, 0, 1000);
+        for (int i = 1000; i < 1024; ++i) {
+            target[i] = (byte) (source[i] + 1);
+        }
+        System.arraycopy(source, 1024, target, 1032, source.length - 1024);
+        target[3000] = (byte) ~target[3000];
+
+        ByteBuffer delta = BinaryDelta.diff(ByteBuffer.wrap(source), ByteBuffer.wrap(target));
+        assertTrue(BinaryDelta.size(delta) < target.length / 10);
+        assertEquals(ByteBuffer.wrap(target), BinaryDelta.apply(ByteBuffer.wrap(source), delta));
+
+        // Identical and empty buffers
+        assertEquals(ByteBuffer.wrap(source), BinaryDelta.apply(ByteBuffer.wrap(source), BinaryDelta.diff(ByteBuffer.wrap(source), ByteBuffer.wrap(source))));
+        assertEquals(ByteBuffer.wrap(new byte[0]), BinaryDelta.apply(ByteBuffer.wrap(source), BinaryDelta.diff(ByteBuffer.wrap(source), ByteBuffer.wrap(new byte[0]))));
+        assertEquals(ByteBuffer.wrap(source), BinaryDelta.apply(ByteBuffer.wrap(new byte[0]), BinaryDelta.diff(ByteBuffer.wrap(new byte[0]), ByteBuffer.wrap(source))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyToWrongSource() {
+        ByteBuffer delta = BinaryDelta.diff(ByteBuffer.wrap("source".getBytes(StandardCharsets.UTF_8)), ByteBuffer.wrap("target".getBytes(StandardCharsets.UTF_8)));
+        BinaryDelta.apply(ByteBuffer.wrap("sourcf".getBytes(StandardCharsets.UTF_8)), delta);
+    }
+
+    @Test
+    public void apply() {
+        byte[] source = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+        byte[] target = "The quick red fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+        SessionAttributesDeltaFunction function = new SessionAttributesDeltaFunction(BinaryDelta.diff(ByteBuffer.wrap(source), ByteBuffer.wrap(target)));
+        SessionAttributesKey key = new SessionAttributesKey("ABC123");
+
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> view = mock(ReadWriteEntryView.class);
+        when(view.key()).thenReturn(key);
+        when(view.find()).thenReturn(Optional.of(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(source))));
+        assertEquals(Boolean.TRUE, function.apply(view));
+        verify(view).set(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(target)));
+
+        // A delta computed against a different source must leave the entry unchanged
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> other = mock(ReadWriteEntryView.class);
+        when(other.key()).thenReturn(key);
+        when(other.find()).thenReturn(Optional.of(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(target))));
+        assertEquals(Boolean.FALSE, function.apply(other));
+        verify(other, never()).set(any());
+
+        // A missing entry must not be recreated
+        ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> missing = mock(ReadWriteEntryView.class);
+        when(missing.key()).thenReturn(key);
+        when(missing.find()).thenReturn(Optional.empty());
+        assertNull(function.apply(missing));
+        verify(missing, never()).set(any());
+    }
+
+    @Test
+    public void marshalling() throws IOException {
+        ByteBuffer delta = BinaryDelta.diff(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), ByteBuffer.wrap(new byte[] { 1, 3 }));
+        ProtoStreamTesterFactory.INSTANCE.<SessionAttributesDeltaFunction>createTester().test(new SessionAttributesDeltaFunction(delta), (expected, actual) -> assertEquals(expected.getDelta(), actual.getDelta()));
+    }
+}
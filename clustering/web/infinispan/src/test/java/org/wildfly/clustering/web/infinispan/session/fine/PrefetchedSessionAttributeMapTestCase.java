@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PrefetchedSessionAttributeMap}.
+ */
+public class PrefetchedSessionAttributeMapTestCase {
+
+    @Test
+    public void test() {
+        String id = "ABC123";
+        UUID prefetchedId = UUID.randomUUID();
+        UUID fetchedId = UUID.randomUUID();
+        SessionAttributeKey prefetchedKey = new SessionAttributeKey(id, prefetchedId);
+        SessionAttributeKey fetchedKey = new SessionAttributeKey(id, fetchedId);
+        Map<String, UUID> names = new HashMap<>();
+        names.put("prefetched", prefetchedId);
+        names.put("fetched", fetchedId);
+        Map<SessionAttributeKey, String> unread = new ConcurrentHashMap<>();
+        unread.put(prefetchedKey, "prefetched");
+        unread.put(fetchedKey, "fetched");
+
+        Object prefetchedValue = new Object();
+        Object staleValue = new Object();
+        Object fetchedValue = new Object();
+        Map<SessionAttributeKey, Object> cache = new HashMap<>();
+        cache.put(prefetchedKey, staleValue);
+        cache.put(fetchedKey, fetchedValue);
+        // Entry of another session
+        cache.put(new SessionAttributeKey("DEF456", UUID.randomUUID()), new Object());
+        Map<SessionAttributeKey, Object> prefetched = new ConcurrentHashMap<>();
+        prefetched.put(prefetchedKey, prefetchedValue);
+
+        List<String> accessed = new ArrayList<>();
+        Map<SessionAttributeKey, Object> map = new PrefetchedSessionAttributeMap<>(cache, new FineSessionAttributesEntry<>(new AtomicReference<>(names), prefetched, unread), accessed::add);
+
+        // Prefetched entries are read without consulting the cache, and recorded
+        assertSame(prefetchedValue, map.get(prefetchedKey));
+        assertEquals(Collections.singletonList("prefetched"), accessed);
+
+        // Bulk operations only reflect the prefetched entries
+        assertEquals(Collections.singletonMap(prefetchedKey, prefetchedValue), new HashMap<>(map));
+        assertTrue(map.containsKey(fetchedKey));
+
+        // Other entries are read from the cache, and recorded
+        assertSame(fetchedValue, map.get(fetchedKey));
+        assertEquals(Arrays.asList("prefetched", "fetched"), accessed);
+
+        // Subsequent reads of the same attribute are not recorded again
+        assertSame(prefetchedValue, map.get(prefetchedKey));
+        assertSame(fetchedValue, map.get(fetchedKey));
+        assertEquals(Arrays.asList("prefetched", "fetched"), accessed);
+
+        // Writes invalidate prefetched entries
+        Object newValue = new Object();
+        assertSame(staleValue, map.put(prefetchedKey, newValue));
+        assertFalse(prefetched.containsKey(prefetchedKey));
+        assertSame(newValue, map.get(prefetchedKey));
+
+        prefetched.put(prefetchedKey, prefetchedValue);
+        assertSame(newValue, map.remove(prefetchedKey));
+        assertFalse(prefetched.containsKey(prefetchedKey));
+        assertNull(map.get(prefetchedKey));
+    }
+}
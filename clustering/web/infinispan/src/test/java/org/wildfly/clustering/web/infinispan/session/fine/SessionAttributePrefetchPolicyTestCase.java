@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SessionAttributePrefetchPolicy}.
+ */
+public class SessionAttributePrefetchPolicyTestCase {
+
+    @Test
+    public void test() {
+        SessionAttributePrefetchPolicy policy = new SessionAttributePrefetchPolicy(2);
+        Set<String> names = new HashSet<>(Arrays.asList("frequent", "rare"));
+
+        // Attributes that were never read are not prefetched
+        assertEquals(Collections.emptySet(), policy.loaded(names));
+
+        policy.read("frequent");
+        policy.read("rare");
+        assertEquals(names, policy.loaded(names));
+
+        // Only prefetch attributes read by at least half of the loaded sessions
+        policy.read("frequent");
+        for (int i = 0; i < 4; ++i) {
+            policy.loaded(names);
+            policy.read("frequent");
+        }
+        assertEquals(Collections.singleton("frequent"), policy.loaded(names));
+
+        // The least recently used attribute name is no longer tracked
+        policy.read("frequent");
+        policy.read("other");
+        assertEquals(new HashSet<>(Arrays.asList("frequent", "other")), policy.loaded(new HashSet<>(Arrays.asList("frequent", "rare", "other"))));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.session;
+
+/**
+ * Statistics for the writes of session attributes.
+ * Writes of the same attribute within a request are coalesced into a single write when the session is closed.
+ */
+public interface SessionAttributeWriteStatistics {
+
+    /**
+     * @return The number of session attribute writes applied to the cache
+     */
+    long getAppliedAttributeWriteCount();
+
+    /**
+     * @return The number of session attribute writes superseded by a subsequent write of the same attribute within the same request
+     */
+    long getCoalescedAttributeWriteCount();
+}
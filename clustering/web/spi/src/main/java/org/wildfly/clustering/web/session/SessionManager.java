@@ -34,7 +34,7 @@ import org.wildfly.clustering.web.IdentifierFactory;
  * @param <B> the batch type
  * @author Paul Ferraro
  */
-public interface SessionManager<L, B extends Batch> extends IdentifierFactory<String>, ActiveSessionStatistics {
+public interface SessionManager<L, B extends Batch> extends IdentifierFactory<String>, ActiveSessionStatistics, SessionExpirationStatistics, SessionNearCacheStatistics, SessionAttributeWriteStatistics {
 
     /**
      * Returns the session with the specified identifier, or null if none exists.
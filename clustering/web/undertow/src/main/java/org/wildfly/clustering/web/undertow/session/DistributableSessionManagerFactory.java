@@ -103,7 +103,7 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
                 };
             }
         });
-        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager, inactiveSessionStatistics, this.config.getMaxActiveSessions()) : null;
+        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager, inactiveSessionStatistics, manager, manager, manager, this.config.getMaxActiveSessions()) : null;
         io.undertow.server.session.SessionManager result = new DistributableSessionManager(info.getDeploymentName(), manager, this.listeners, statistics);
         result.setDefaultSessionTimeout((int) this.config.getDefaultSessionTimeout().getSeconds());
         return result;
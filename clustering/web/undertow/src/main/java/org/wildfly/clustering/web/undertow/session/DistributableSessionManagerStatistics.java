@@ -24,25 +24,37 @@ package org.wildfly.clustering.web.undertow.session;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.wildfly.clustering.web.container.SessionManagerAttributeWriteStatistics;
+import org.wildfly.clustering.web.container.SessionManagerExpirationStatistics;
+import org.wildfly.clustering.web.container.SessionManagerNearCacheStatistics;
 import org.wildfly.clustering.web.session.ActiveSessionStatistics;
 import org.wildfly.clustering.web.session.InactiveSessionStatistics;
+import org.wildfly.clustering.web.session.SessionAttributeWriteStatistics;
+import org.wildfly.clustering.web.session.SessionExpirationStatistics;
+import org.wildfly.clustering.web.session.SessionNearCacheStatistics;
 
 import io.undertow.server.session.Session;
 
 /**
  * @author Paul Ferraro
  */
-public class DistributableSessionManagerStatistics implements RecordableSessionManagerStatistics {
+public class DistributableSessionManagerStatistics implements RecordableSessionManagerStatistics, SessionManagerNearCacheStatistics, SessionManagerExpirationStatistics, SessionManagerAttributeWriteStatistics {
 
     private final InactiveSessionStatistics inactiveSessionStatistics;
     private final ActiveSessionStatistics activeSessionStatistics;
+    private final SessionNearCacheStatistics nearCacheStatistics;
+    private final SessionExpirationStatistics expirationStatistics;
+    private final SessionAttributeWriteStatistics attributeWriteStatistics;
     private final Integer maxActiveSessions;
     private volatile long startTime = System.currentTimeMillis();
     private final AtomicLong createdSessionCount = new AtomicLong();
 
-    public DistributableSessionManagerStatistics(ActiveSessionStatistics activeSessionStatistics, InactiveSessionStatistics inactiveSessionStatistics, Integer maxActiveSessions) {
+    public DistributableSessionManagerStatistics(ActiveSessionStatistics activeSessionStatistics, InactiveSessionStatistics inactiveSessionStatistics, SessionNearCacheStatistics nearCacheStatistics, SessionExpirationStatistics expirationStatistics, SessionAttributeWriteStatistics attributeWriteStatistics, Integer maxActiveSessions) {
         this.activeSessionStatistics = activeSessionStatistics;
         this.inactiveSessionStatistics = inactiveSessionStatistics;
+        this.nearCacheStatistics = nearCacheStatistics;
+        this.expirationStatistics = expirationStatistics;
+        this.attributeWriteStatistics = attributeWriteStatistics;
         this.maxActiveSessions = maxActiveSessions;
         this.reset();
     }
@@ -98,4 +110,29 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
     public long getStartTime() {
         return this.startTime;
     }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.nearCacheStatistics.getNearCacheHitCount();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.nearCacheStatistics.getNearCacheMissCount();
+    }
+
+    @Override
+    public int getPendingRescanSegmentCount() {
+        return this.expirationStatistics.getPendingRescanSegmentCount();
+    }
+
+    @Override
+    public long getAppliedAttributeWriteCount() {
+        return this.attributeWriteStatistics.getAppliedAttributeWriteCount();
+    }
+
+    @Override
+    public long getCoalescedAttributeWriteCount() {
+        return this.attributeWriteStatistics.getCoalescedAttributeWriteCount();
+    }
 }
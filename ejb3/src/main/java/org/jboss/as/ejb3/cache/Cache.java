@@ -94,6 +94,20 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * Returns the mean number of beans in the group of an accessed bean, if this cache groups beans.
+     */
+    default double getMeanBeanGroupSize() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of beans unmarshalled per accessed bean, if this cache groups beans.
+     */
+    default double getMaterializedBeanRatio() {
+        return 0;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
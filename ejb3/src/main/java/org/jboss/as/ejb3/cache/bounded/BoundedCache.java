@@ -0,0 +1,356 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.ejb.client.Affinity;
+import org.jboss.ejb.client.NodeAffinity;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.StripedLocalScheduler;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Non-distributable {@link Cache} implementation that retains a bounded number of bean instances in memory.
+ * Once the cache size exceeds its bound, the least recently used idle bean instances are passivated to a {@link SegmentedFileStore},
+ * and are activated again upon their next use.
+ * Passivated bean instances that expire are removed without activation, as permitted by the Jakarta Enterprise Beans specification.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class BoundedCache<K, V extends Identifiable<K>> implements Cache<K, V>, Predicate<K> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Idle entries in least recently used order, guarded by itself
+    private final Map<K, Entry<V>> idleEntries = new LinkedHashMap<>();
+    private final BoundedCacheConfiguration<K> configuration;
+    private final StatefulObjectFactory<V> factory;
+    private final PassivationListener<V> passivationListener;
+    private final SegmentedFileStore<K> store;
+    private final ByteBufferMarshaller marshaller;
+    private final int maxSize;
+    private final Duration timeout;
+    private final Scheduler<K, Instant> scheduler = new StripedLocalScheduler<>(LinkedScheduledEntries::new, this, Duration.ZERO);
+
+    public BoundedCache(BoundedCacheConfiguration<K> configuration, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
+        this.configuration = configuration;
+        this.factory = factory;
+        this.passivationListener = passivationListener;
+        this.store = new SegmentedFileStore<>(configuration.getDirectory());
+        this.marshaller = configuration.getMarshaller();
+        this.maxSize = configuration.getMaxSize();
+
+        StatefulTimeoutInfo timeout = configuration.getStatefulTimeout();
+        // A value of -1 means the bean will never be removed due to timeout
+        if (timeout == null || timeout.getValue() < 0) {
+            this.timeout = null;
+        } else {
+            this.timeout = Duration.ofMillis(TimeUnit.MILLISECONDS.convert(timeout.getValue(), timeout.getTimeUnit()));
+        }
+    }
+
+    @Override
+    public void start() {
+        // Do nothing
+    }
+
+    @Override
+    public void stop() {
+        this.scheduler.close();
+        for (Entry<V> entry : this.entries.values()) {
+            V value = entry.invalidate();
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
+        }
+        this.entries.clear();
+        synchronized (this.idleEntries) {
+            this.idleEntries.clear();
+        }
+        // Passivated bean instances are discarded without activation
+        this.store.close();
+    }
+
+    @Override
+    public Affinity getStrictAffinity() {
+        return new NodeAffinity(this.configuration.getEnvironment().getNodeName());
+    }
+
+    @Override
+    public Affinity getWeakAffinity(K key) {
+        return Affinity.NONE;
+    }
+
+    @Override
+    public K createIdentifier() {
+        return this.configuration.getIdentifierFactory().createIdentifier();
+    }
+
+    @Override
+    public V create() {
+        if (CURRENT_GROUP.get() != null) {
+            // An SFSB that uses a distributable cache cannot contain an SFSB that uses a bounded cache
+            throw EjbLogger.ROOT_LOGGER.incompatibleCaches();
+        }
+        V bean = this.factory.createInstance();
+        K id = bean.getId();
+        Entry<V> entry = new Entry<>(bean);
+        this.entries.put(id, entry);
+        this.idle(id, entry);
+        this.evict();
+        return bean;
+    }
+
+    @Override
+    public void discard(V value) {
+        K id = value.getId();
+        Entry<V> entry = this.entries.remove(id);
+        if (entry != null) {
+            entry.invalidate();
+            this.busy(id);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        // Activates a passivated bean instance, so that it can be destroyed
+        V value = this.get(key);
+        if (value != null) {
+            Entry<V> entry = this.entries.remove(key);
+            if (entry != null) {
+                entry.invalidate();
+                this.factory.destroyInstance(value);
+            }
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        while (true) {
+            Entry<V> entry = this.entries.get(key);
+            if (entry == null) {
+                if (!this.store.contains(key)) return null;
+                // Reserve the entry, so that concurrent callers wait for activation
+                entry = new Entry<>();
+                synchronized (entry) {
+                    if (this.entries.putIfAbsent(key, entry) != null) continue;
+                    V value = this.activate(key, entry);
+                    if (value == null) return null;
+                    this.scheduler.cancel(key);
+                    return value;
+                }
+            }
+            V value = entry.use();
+            if (value != null) {
+                this.busy(key);
+                this.scheduler.cancel(key);
+                return value;
+            }
+            // Entry was passivated or removed concurrently, try again
+        }
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return this.entries.containsKey(key) || this.store.contains(key);
+    }
+
+    @Override
+    public void release(V bean) {
+        K id = bean.getId();
+        Entry<V> entry = this.entries.get(id);
+        if ((entry != null) && entry.done()) {
+            if (this.timeout != null) {
+                if (this.timeout.isZero()) {
+                    // The Jakarta Enterprise Beans specification allows a 0 timeout, which means the bean is immediately eligible for removal.
+                    this.remove(id);
+                    return;
+                }
+                this.scheduler.schedule(id, Instant.now().plus(this.timeout));
+            }
+            this.idle(id, entry);
+            this.evict();
+        }
+    }
+
+    @Override
+    public int getCacheSize() {
+        return this.entries.size();
+    }
+
+    @Override
+    public int getPassivatedCount() {
+        return this.store.size();
+    }
+
+    @Override
+    public int getTotalSize() {
+        return this.getCacheSize() + this.getPassivatedCount();
+    }
+
+    @Override
+    public boolean test(K key) {
+        // Passivated bean instances expire without activation
+        if (!this.store.delete(key)) {
+            this.remove(key);
+        }
+        return true;
+    }
+
+    private void idle(K id, Entry<V> entry) {
+        synchronized (this.idleEntries) {
+            this.idleEntries.put(id, entry);
+        }
+    }
+
+    private void busy(K id) {
+        synchronized (this.idleEntries) {
+            this.idleEntries.remove(id);
+        }
+    }
+
+    private Map.Entry<K, Entry<V>> eldest() {
+        synchronized (this.idleEntries) {
+            Iterator<Map.Entry<K, Entry<V>>> entries = this.idleEntries.entrySet().iterator();
+            if (!entries.hasNext()) return null;
+            Map.Entry<K, Entry<V>> eldest = entries.next();
+            entries.remove();
+            return eldest;
+        }
+    }
+
+    private void evict() {
+        while (this.entries.size() > this.maxSize) {
+            Map.Entry<K, Entry<V>> eldest = this.eldest();
+            if (eldest == null) return;
+            this.passivate(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void passivate(K key, Entry<V> entry) {
+        synchronized (entry) {
+            // Skip entries that were used, removed, or passivated since becoming idle
+            V value = entry.idleValue();
+            if (value == null) return;
+            this.passivationListener.prePassivate(value);
+            try {
+                this.store.write(key, this.marshaller.write(value));
+            } catch (IOException | RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(key, e);
+                this.passivationListener.postActivate(value);
+                return;
+            }
+            entry.invalidate();
+            this.entries.remove(key, entry);
+        }
+    }
+
+    // Must be called while holding the monitor of the reserved entry
+    private V activate(K key, Entry<V> entry) {
+        try {
+            ByteBuffer buffer = this.store.remove(key);
+            if (buffer == null) {
+                // Removed concurrently
+                entry.invalidate();
+                this.entries.remove(key, entry);
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            V value = (V) this.marshaller.read(buffer);
+            this.passivationListener.postActivate(value);
+            entry.activate(value);
+            return value;
+        } catch (IOException | RuntimeException e) {
+            entry.invalidate();
+            this.entries.remove(key, entry);
+            throw EjbLogger.ROOT_LOGGER.activationFailed(e, key);
+        }
+    }
+
+    static class Entry<V> {
+        private V value;
+        private int usage = 0;
+        private boolean valid = true;
+
+        Entry() {
+            this(null);
+        }
+
+        Entry(V value) {
+            this.value = value;
+        }
+
+        synchronized void activate(V value) {
+            this.value = value;
+            this.usage = 1;
+        }
+
+        /**
+         * Increments the usage of this entry.
+         * @return the value of this entry, or null, if this entry is no longer valid.
+         */
+        synchronized V use() {
+            if (!this.valid) return null;
+            this.usage += 1;
+            return this.value;
+        }
+
+        /**
+         * Decrements the usage of this entry.
+         * @return true, if this entry is no longer in use, false otherwise
+         */
+        synchronized boolean done() {
+            return this.valid && (--this.usage == 0);
+        }
+
+        /**
+         * Returns the value of this entry, if it is valid and not in use.
+         */
+        synchronized V idleValue() {
+            return (this.valid && (this.usage == 0)) ? this.value : null;
+        }
+
+        synchronized V invalidate() {
+            this.valid = false;
+            return this.value;
+        }
+    }
+}
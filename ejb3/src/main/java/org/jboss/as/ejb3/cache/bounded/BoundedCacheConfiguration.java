@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import java.io.File;
+
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.server.ServerEnvironment;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Configuration of a {@link BoundedCache}.
+ * @param <K> the cache key type
+ */
+public interface BoundedCacheConfiguration<K> {
+
+    IdentifierFactory<K> getIdentifierFactory();
+
+    StatefulTimeoutInfo getStatefulTimeout();
+
+    ServerEnvironment getEnvironment();
+
+    /**
+     * Returns the maximum number of bean instances to retain in memory.
+     * @return a positive number of bean instances
+     */
+    int getMaxSize();
+
+    /**
+     * Returns the directory in which to store passivated bean instances.
+     * @return a directory
+     */
+    File getDirectory();
+
+    /**
+     * Returns the marshaller used to passivate bean instances.
+     * @return a marshaller
+     */
+    ByteBufferMarshaller getMarshaller();
+}
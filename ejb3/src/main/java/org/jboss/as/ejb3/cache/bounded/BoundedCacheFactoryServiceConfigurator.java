@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Consumer;
+
+import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.ee.component.ComponentConfiguration;
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.CacheFactory;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.service.CompositeDependency;
+import org.wildfly.clustering.service.ServiceSupplierDependency;
+import org.wildfly.clustering.service.SimpleServiceNameProvider;
+import org.wildfly.clustering.service.SupplierDependency;
+
+/**
+ * Service that provides a {@link CacheFactory} for {@link BoundedCache} instances.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class BoundedCacheFactoryServiceConfigurator<K, V extends Identifiable<K>> extends SimpleServiceNameProvider implements CapabilityServiceConfigurator, CacheFactory<K, V> {
+
+    private static final String DIRECTORY_NAME = "ejb3-bounded-cache";
+
+    private final StatefulComponentDescription componentDescription;
+    private final ComponentConfiguration componentConfiguration;
+    private final int maxSize;
+    private final SupplierDependency<ServerEnvironment> environment = new ServiceSupplierDependency<>(ServerEnvironmentService.SERVICE_NAME);
+    private final SupplierDependency<MarshallingConfigurationRepository> repository;
+
+    public BoundedCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration, int maxSize) {
+        super(name);
+        this.componentDescription = description;
+        this.componentConfiguration = configuration;
+        this.maxSize = maxSize;
+        this.repository = new ServiceSupplierDependency<>(description.getDeploymentUnitServiceName().append("marshalling"));
+    }
+
+    @Override
+    public ServiceBuilder<?> build(ServiceTarget target) {
+        ServiceName name = this.getServiceName();
+        ServiceBuilder<?> builder = target.addService(name);
+        Consumer<CacheFactory<K, V>> factory = new CompositeDependency(this.environment, this.repository).register(builder).provides(name);
+        Service service = Service.newInstance(factory, this);
+        return builder.setInstance(service);
+    }
+
+    @Override
+    public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
+        ServerEnvironment environment = this.environment.get();
+        File parent = new File(environment.getServerTempDir(), DIRECTORY_NAME);
+        File directory;
+        try {
+            Files.createDirectories(parent.toPath());
+            directory = Files.createTempDirectory(parent.toPath(), this.componentConfiguration.getComponentName()).toFile();
+        } catch (IOException e) {
+            throw EjbLogger.ROOT_LOGGER.passivationDirectoryCreationFailed(parent.getPath());
+        }
+        ByteBufferMarshaller marshaller = new JBossByteBufferMarshaller(this.repository.get(), this.componentConfiguration.getModuleClassLoader());
+        StatefulTimeoutInfo timeout = this.componentDescription.getStatefulTimeout();
+        int maxSize = this.maxSize;
+        BoundedCacheConfiguration<K> configuration = new BoundedCacheConfiguration<K>() {
+            @Override
+            public IdentifierFactory<K> getIdentifierFactory() {
+                return identifierFactory;
+            }
+
+            @Override
+            public StatefulTimeoutInfo getStatefulTimeout() {
+                return timeout;
+            }
+
+            @Override
+            public ServerEnvironment getEnvironment() {
+                return environment;
+            }
+
+            @Override
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            @Override
+            public File getDirectory() {
+                return directory;
+            }
+
+            @Override
+            public ByteBufferMarshaller getMarshaller() {
+                return marshaller;
+            }
+        };
+        return new BoundedCache<>(configuration, factory, passivationListener);
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A local store of serialized values, appended to a sequence of segment files.
+ * Once a segment is full, it is sealed, and no more values are appended to it.
+ * A sealed segment whose live values occupy less than a quarter of its capacity is compacted, i.e. its live values are copied to the current segment.
+ * A segment file is deleted and its channel closed once all of its values were removed.
+ * The contents of a store do not survive a restart.
+ *
+ * @param <K> the key type
+ */
+public class SegmentedFileStore<K> implements AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 16 << 20;
+    // A sealed segment is compacted once its live values occupy less than this fraction of its capacity
+    private static final int COMPACTION_RATIO = 4;
+
+    private final Map<K, Location<K>> locations = new ConcurrentHashMap<>();
+    private final Set<Segment<K>> segments = ConcurrentHashMap.newKeySet();
+    private final Queue<Segment<K>> compactions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private final File directory;
+    private final int segmentSize;
+    private int nextSegment = 0;
+    // Segment to which values are currently appended, guarded by this
+    private Segment<K> current;
+    private boolean closed = false;
+
+    public SegmentedFileStore(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    SegmentedFileStore(File directory, int segmentSize) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw EjbLogger.ROOT_LOGGER.passivationDirectoryCreationFailed(directory.getPath());
+        }
+        if (!directory.isDirectory()) {
+            throw EjbLogger.ROOT_LOGGER.passivationPathNotADirectory(directory.getPath());
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Stores the remaining bytes of the specified buffer, replacing any value previously stored for the specified key.
+     * @param key a key
+     * @param buffer a serialized value
+     * @throws IOException if the value could not be written
+     */
+    public void write(K key, ByteBuffer buffer) throws IOException {
+        Location<K> location = this.append(key, buffer);
+        Location<K> previous = this.locations.put(key, location);
+        if (previous != null) {
+            this.release(previous);
+        }
+        this.compact();
+    }
+
+    /**
+     * Removes the value stored for the specified key.
+     * @param key a key
+     * @return a buffer containing the serialized value, or null, if no value was stored for the specified key.
+     * @throws IOException if the value could not be read
+     */
+    public ByteBuffer remove(K key) throws IOException {
+        Location<K> location = this.locations.remove(key);
+        if (location == null) return null;
+        try {
+            return location.read();
+        } finally {
+            this.release(location);
+            this.compact();
+        }
+    }
+
+    /**
+     * Discards the value stored for the specified key.
+     * @param key a key
+     * @return true, if a value was stored for the specified key, false otherwise.
+     */
+    public boolean delete(K key) {
+        Location<K> location = this.locations.remove(key);
+        if (location == null) return false;
+        this.release(location);
+        this.compact();
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return this.locations.containsKey(key);
+    }
+
+    public int size() {
+        return this.locations.size();
+    }
+
+    /**
+     * Returns the number of segment files of this store.
+     * @return the number of segment files
+     */
+    int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            this.closed = true;
+            this.current = null;
+        }
+        this.locations.clear();
+        for (Segment<K> segment : this.segments) {
+            segment.delete();
+        }
+        this.segments.clear();
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                delete(file);
+            }
+        }
+        delete(this.directory);
+    }
+
+    private Location<K> append(K key, ByteBuffer buffer) throws IOException {
+        Segment<K> sealed = null;
+        Location<K> location;
+        synchronized (this) {
+            if (this.closed) throw new IOException(this.directory.getPath());
+            int length = buffer.remaining();
+            if ((this.current == null) || (this.current.remaining() < length)) {
+                Segment<K> segment = this.createSegment(Math.max(this.segmentSize, length));
+                sealed = this.current;
+                this.current = segment;
+            }
+            location = this.current.append(key, buffer);
+        }
+        if (sealed != null) {
+            this.seal(sealed);
+        }
+        return location;
+    }
+
+    private Segment<K> createSegment(int capacity) throws IOException {
+        File file = new File(this.directory, String.format("%08x.seg", this.nextSegment++));
+        Segment<K> segment = new Segment<>(file, FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE), capacity);
+        this.segments.add(segment);
+        return segment;
+    }
+
+    private void seal(Segment<K> segment) {
+        segment.seal();
+        if (segment.isEmpty()) {
+            this.delete(segment);
+        } else if (segment.isSparse()) {
+            this.scheduleCompaction(segment);
+        }
+    }
+
+    private void release(Location<K> location) {
+        Segment<K> segment = location.getSegment();
+        if (segment.release(location) && segment.isSealed()) {
+            if (segment.isEmpty()) {
+                this.delete(segment);
+            } else if (segment.isSparse()) {
+                this.scheduleCompaction(segment);
+            }
+        }
+    }
+
+    private void delete(Segment<K> segment) {
+        if (this.segments.remove(segment)) {
+            segment.delete();
+        }
+    }
+
+    private void scheduleCompaction(Segment<K> segment) {
+        if (segment.compacting.compareAndSet(false, true)) {
+            this.compactions.add(segment);
+        }
+    }
+
+    // Copies the live values of scheduled segments to the current segment, via at most one thread at a time
+    private void compact() {
+        while (!this.compactions.isEmpty() && this.compacting.compareAndSet(false, true)) {
+            try {
+                Segment<K> segment = this.compactions.poll();
+                while (segment != null) {
+                    this.compact(segment);
+                    segment = this.compactions.poll();
+                }
+            } finally {
+                this.compacting.set(false);
+            }
+        }
+    }
+
+    private void compact(Segment<K> segment) {
+        for (Location<K> location : segment.getLocations()) {
+            K key = location.getKey();
+            // Skip values that were removed or replaced concurrently
+            if (this.locations.get(key) != location) continue;
+            Location<K> relocated;
+            try {
+                relocated = this.append(key, location.read());
+            } catch (IOException e) {
+                // Value was removed concurrently, or the store was closed
+                continue;
+            }
+            if (this.locations.replace(key, location, relocated)) {
+                this.release(location);
+            } else {
+                this.release(relocated);
+            }
+        }
+    }
+
+    static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.failedToDeletePassivationFile(file);
+        }
+    }
+
+    static class Segment<K> {
+        private final File file;
+        private final FileChannel channel;
+        private final int capacity;
+        // Live values of this segment, i.e. those that were not yet removed
+        private final Set<Location<K>> locations = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger values = new AtomicInteger();
+        private final AtomicLong liveBytes = new AtomicLong();
+        private final AtomicBoolean compacting = new AtomicBoolean(false);
+        private final AtomicBoolean deleted = new AtomicBoolean(false);
+        private volatile boolean sealed = false;
+        // Guarded by the store
+        private int position = 0;
+
+        Segment(File file, FileChannel channel, int capacity) {
+            this.file = file;
+            this.channel = channel;
+            this.capacity = capacity;
+        }
+
+        int remaining() {
+            return this.capacity - this.position;
+        }
+
+        Location<K> append(K key, ByteBuffer source) throws IOException {
+            int offset = this.position;
+            int length = source.remaining();
+            ByteBuffer buffer = source.duplicate();
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += this.channel.write(buffer, position);
+            }
+            this.position += length;
+            Location<K> location = new Location<>(key, this, offset, length);
+            this.values.incrementAndGet();
+            this.liveBytes.addAndGet(length);
+            this.locations.add(location);
+            return location;
+        }
+
+        ByteBuffer read(int offset, int length) throws IOException {
+            ByteBuffer result = ByteBuffer.allocate(length);
+            long position = offset;
+            while (result.hasRemaining()) {
+                int read = this.channel.read(result, position);
+                if (read < 0) throw new EOFException(this.file.getPath());
+                position += read;
+            }
+            result.flip();
+            return result;
+        }
+
+        Set<Location<K>> getLocations() {
+            return this.locations;
+        }
+
+        boolean isSealed() {
+            return this.sealed;
+        }
+
+        boolean isEmpty() {
+            return this.values.get() == 0;
+        }
+
+        boolean isSparse() {
+            return this.liveBytes.get() * COMPACTION_RATIO < this.capacity;
+        }
+
+        void seal() {
+            this.sealed = true;
+        }
+
+        /**
+         * Releases the specified value of this segment.
+         * @return true, if the value was live, false if it was already released
+         */
+        boolean release(Location<K> location) {
+            if (!this.locations.remove(location)) return false;
+            this.liveBytes.addAndGet(-location.getLength());
+            this.values.decrementAndGet();
+            return true;
+        }
+
+        void delete() {
+            if (this.deleted.compareAndSet(false, true)) {
+                try {
+                    this.channel.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+                SegmentedFileStore.delete(this.file);
+            }
+        }
+    }
+
+    static class Location<K> {
+        private final K key;
+        private final Segment<K> segment;
+        private final int offset;
+        private final int length;
+
+        Location(K key, Segment<K> segment, int offset, int length) {
+            this.key = key;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        K getKey() {
+            return this.key;
+        }
+
+        Segment<K> getSegment() {
+            return this.segment;
+        }
+
+        int getLength() {
+            return this.length;
+        }
+
+        ByteBuffer read() throws IOException {
+            return this.segment.read(this.offset, this.length);
+        }
+    }
+}
@@ -220,6 +220,16 @@ public class DistributableCache<K, V extends Identifiable<K> & Contextual<Batch>
         return this.manager.getActiveCount() + this.manager.getPassiveCount();
     }
 
+    @Override
+    public double getMeanBeanGroupSize() {
+        return this.manager.getMeanBeanGroupSize();
+    }
+
+    @Override
+    public double getMaterializedBeanRatio() {
+        return this.manager.getMaterializedBeanRatio();
+    }
+
     @Override
     public boolean isRemotable(Throwable throwable) {
         return this.manager.isRemotable(throwable);
@@ -25,6 +25,7 @@ import static org.jboss.as.ejb3.subsystem.IdentityResourceDefinition.IDENTITY_CA
 import static org.jboss.as.server.deployment.Attachments.CAPABILITY_SERVICE_SUPPORT;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.rmi.Remote;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -397,7 +398,12 @@ public abstract class EJBComponentDescription extends ComponentDescription {
                     });
                 }
 
-                configuration.addComponentInterceptor(ExecutionTimeInterceptor.FACTORY, InterceptorOrder.Component.EJB_EXECUTION_TIME_INTERCEPTOR, true);
+                // Use a distinct interceptor per public method, so that its invocation metrics are resolved once
+                for (Method method : configuration.getDefinedComponentMethods()) {
+                    if (Modifier.isPublic(method.getModifiers())) {
+                        configuration.addComponentInterceptor(method, ExecutionTimeInterceptor.factory(method), InterceptorOrder.Component.EJB_EXECUTION_TIME_INTERCEPTOR);
+                    }
+                }
                 configuration.getCreateDependencies().add(new DependencyConfigurator<EJBComponentCreateService>() {
                     @Override
                     public void configureDependency(ServiceBuilder<?> serviceBuilder, EJBComponentCreateService service) throws DeploymentUnitProcessingException {
@@ -21,19 +21,41 @@
  */
 package org.jboss.as.ejb3.component.invocationmetrics;
 
+import java.lang.reflect.Method;
+
+import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentInterceptorFactory;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.AbstractEJBInterceptor;
-import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class ExecutionTimeInterceptor extends AbstractEJBInterceptor {
-    public static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(new ExecutionTimeInterceptor());
 
-    private ExecutionTimeInterceptor() {
+    /**
+     * Creates a factory for the interceptor of the specified component method.
+     * The invocation counters of the method are resolved once, when the interceptor is created.
+     * @param method a component method
+     * @return an interceptor factory
+     */
+    public static InterceptorFactory factory(final Method method) {
+        return new ComponentInterceptorFactory() {
+            @Override
+            protected Interceptor create(final Component component, final InterceptorFactoryContext context) {
+                return new ExecutionTimeInterceptor(((EJBComponent) component).getInvocationMetrics().getMethodCounters(method.getName()));
+            }
+        };
+    }
+
+    private final InvocationMetrics.Counters methodCounters;
+
+    private ExecutionTimeInterceptor(final InvocationMetrics.Counters methodCounters) {
+        this.methodCounters = methodCounters;
     }
 
     @Override
@@ -42,14 +64,15 @@ public class ExecutionTimeInterceptor extends AbstractEJBInterceptor {
         if (!component.isStatisticsEnabled())
             return context.proceed();
         final Long startWaitTime = (Long) context.getPrivateData(WaitTimeInterceptor.START_WAIT_TIME);
-        final long waitTime = startWaitTime != null && startWaitTime != 0L ? System.currentTimeMillis() - startWaitTime : 0L;
-        component.getInvocationMetrics().startInvocation();
-        final long start = System.currentTimeMillis();
+        final InvocationMetrics metrics = component.getInvocationMetrics();
+        metrics.startInvocation();
+        final long start = System.nanoTime();
+        final long waitTime = startWaitTime != null ? start - startWaitTime : 0L;
         try {
             return context.proceed();
         } finally {
-            final long executionTime = System.currentTimeMillis() - start;
-            component.getInvocationMetrics().finishInvocation(context.getMethod(), waitTime, executionTime);
+            final long executionTime = System.nanoTime() - start;
+            metrics.finishInvocation(methodCounters, waitTime, executionTime);
         }
     }
 }
@@ -21,18 +21,18 @@
  */
 package org.jboss.as.ejb3.component.invocationmetrics;
 
-import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation metrics of a component.
+ * Counters are striped, so that recording an invocation neither allocates nor contends with concurrent invocations.
+ * The number of concurrent invocations is the exception, since tracking its peak requires its exact value on every invocation.
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -60,38 +60,58 @@ public class InvocationMetrics {
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    /**
+     * Invocation counters of a component, or of one of its methods.
+     */
+    static class Counters {
+        private final LongAdder invocations = new LongAdder();
+        // In nanoseconds
+        private final LongAdder waitTime = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+        }
+
+        long getInvocations() {
+            return invocations.sum();
+        }
+
+        Values getValues() {
+            return new Values(invocations.sum(), TimeUnit.NANOSECONDS.toMillis(waitTime.sum()), TimeUnit.NANOSECONDS.toMillis(executionTime.sum()));
+        }
+    }
+
+    private final Counters counters = new Counters();
+    private final LatencyHistogram executionTimes = new LatencyHistogram();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    private final ConcurrentMap<String, Counters> methods = new ConcurrentHashMap<String, Counters>();
 
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
-        concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
-        }
+    /**
+     * Resolves the counters of the method with the specified name.
+     * This is intended to be called once per method, when its interceptor chain is created, rather than per invocation.
+     * @param methodName a method name
+     * @return the counters of the specified method
+     */
+    Counters getMethodCounters(final String methodName) {
+        return methods.computeIfAbsent(methodName, name -> new Counters());
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
-        }
-        return ref;
+    /**
+     * Records a completed invocation.
+     * @param method the counters of the invoked method
+     * @param invocationWaitTime the wait time of the invocation, in nanoseconds
+     * @param invocationExecutionTime the execution time of the invocation, in nanoseconds
+     */
+    void finishInvocation(final Counters method, final long invocationWaitTime, final long invocationExecutionTime) {
+        concurrent.decrementAndGet();
+        counters.record(invocationWaitTime, invocationExecutionTime);
+        method.record(invocationWaitTime, invocationExecutionTime);
+        executionTimes.record(invocationExecutionTime);
     }
 
     public long getConcurrent() {
@@ -99,62 +119,32 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return counters.getValues().getExecutionTime();
+    }
+
+    /**
+     * Returns an estimate of the specified percentile of the execution time of invocations of this component.
+     * @param percentile a percentile between 0 and 100
+     * @return an execution time in milliseconds
+     */
+    public double getExecutionTimePercentile(final double percentile) {
+        return executionTimes.getPercentile(percentile);
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return counters.getInvocations();
     }
 
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
+        final Map<String, Values> result = new HashMap<String, Values>();
+        for (final Map.Entry<String, Counters> entry : methods.entrySet()) {
+            final Counters method = entry.getValue();
+            // Method counters are resolved eagerly, so only report methods that were invoked
+            if (method.getInvocations() > 0) {
+                result.put(entry.getKey(), method.getValues());
             }
-        };
+        }
+        return result;
     }
 
     public long getPeakConcurrent() {
@@ -162,13 +152,18 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return counters.getValues().getWaitTime();
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
         // concurrent might decrement here, but we take that missing peak for granted.
-        if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+        // The peak only changes while concurrency is rising, so this is usually a single volatile read.
+        long peak = peakConcurrent.get();
+        while (peak < v) {
+            if (peakConcurrent.compareAndSet(peak, v))
+                break;
+            peak = peakConcurrent.get();
+        }
     }
 }
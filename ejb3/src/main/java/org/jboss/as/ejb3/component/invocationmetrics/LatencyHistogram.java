@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies using log-linear buckets, similar to an HDR histogram.
+ * Latencies are recorded in microseconds, with a relative error of at most 1/{@value #SUB_BUCKETS}.
+ * Recording a latency does not allocate, and contended buckets are striped.
+ */
+class LatencyHistogram {
+    // Each power of 2 is divided into 2^SUB_BUCKET_BITS linear sub-buckets
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies of 2^MAX_EXPONENT us (~12 days) or more are recorded in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified latency.
+     * @param nanos a latency in nanoseconds
+     */
+    void record(long nanos) {
+        this.buckets[index(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0L)))].increment();
+    }
+
+    /**
+     * Returns an estimate of the specified percentile of the recorded latencies, i.e. the upper bound of its bucket.
+     * @param percentile a percentile between 0 and 100
+     * @return a latency in milliseconds, or 0 if no latencies were recorded
+     */
+    double getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) return 0d;
+        long rank = Math.max((long) Math.ceil(total * percentile / 100d), 1L);
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += counts[i];
+            if (count >= rank) {
+                return upperBound(i) / 1000d;
+            }
+        }
+        return upperBound(BUCKETS - 1) / 1000d;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT) return BUCKETS - 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS) + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = (index / SUB_BUCKETS) + SUB_BUCKET_BITS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = ((long) (SUB_BUCKETS + (index % SUB_BUCKETS))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
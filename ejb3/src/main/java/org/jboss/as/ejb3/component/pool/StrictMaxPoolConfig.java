@@ -24,6 +24,7 @@ package org.jboss.as.ejb3.component.pool;
 
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.strictmax.AdaptivePoolSizer;
 import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
 
 import java.util.concurrent.TimeUnit;
@@ -46,6 +47,10 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     private volatile long timeout;
 
+    private volatile boolean adaptive;
+
+    private final AdaptivePoolSizer adaptivePoolSizer = new AdaptivePoolSizer();
+
     public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit) {
         super(poolName);
         this.maxPoolSize = maxSize;
@@ -55,7 +60,7 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
-        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit, this.adaptive ? this.adaptivePoolSizer : null);
     }
 
     public int getMaxPoolSize() {
@@ -82,6 +87,24 @@ public class StrictMaxPoolConfig extends PoolConfig {
         this.timeout = timeout;
     }
 
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Sets whether the pools created from this configuration adapt their size to the load, using the max pool size as
+     * an upper bound.
+     *
+     * @param adaptive true, if the created pools are adaptive
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public AdaptivePoolSizer getAdaptivePoolSizer() {
+        return adaptivePoolSizer;
+    }
+
     @Override
     public String toString() {
         return "StrictMaxPoolConfig{" +
@@ -89,6 +112,7 @@ public class StrictMaxPoolConfig extends PoolConfig {
                 ", maxPoolSize=" + maxPoolSize +
                 ", timeoutUnit=" + timeoutUnit +
                 ", timeout=" + timeout +
+                ", adaptive=" + adaptive +
                 '}';
     }
 }
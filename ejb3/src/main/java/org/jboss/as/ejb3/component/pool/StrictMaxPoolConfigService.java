@@ -49,9 +49,13 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
 
 
     public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit) {
-        this.declaredMaxSize = declaredMaxSize;
+        this(new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit), derive);
+    }
+
+    public StrictMaxPoolConfigService(final StrictMaxPoolConfig poolConfig, Derive derive) {
+        this.declaredMaxSize = poolConfig.getMaxPoolSize();
         this.derive = derive;
-        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit);
+        this.poolConfig = poolConfig;
     }
 
     @Override
@@ -106,6 +110,10 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
         poolConfig.setTimeoutUnit(timeUnit);
     }
 
+    public void setAdaptive(boolean adaptive) {
+        poolConfig.setAdaptive(adaptive);
+    }
+
     @Override
     public void stop(StopContext context) {
 
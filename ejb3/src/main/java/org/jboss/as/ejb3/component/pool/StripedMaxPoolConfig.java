@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.striped.StripedMaxPool;
+
+/**
+ * Configuration of a {@link StripedMaxPool}, which shares the sizing and timeout semantics of a strict max pool.
+ */
+public class StripedMaxPoolConfig extends StrictMaxPoolConfig {
+
+    public StripedMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit) {
+        super(poolName, maxSize, timeout, timeUnit);
+    }
+
+    @Override
+    public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
+        return new StripedMaxPool<T>(statelessObjectFactory, this.getMaxPoolSize(), this.getTimeout(), this.getTimeoutUnit());
+    }
+
+    @Override
+    public String toString() {
+        return "StripedMaxPoolConfig{" +
+                "name=" + this.poolName +
+                ", maxPoolSize=" + this.getMaxPoolSize() +
+                ", timeoutUnit=" + this.getTimeoutUnit() +
+                ", timeout=" + this.getTimeout() +
+                '}';
+    }
+}
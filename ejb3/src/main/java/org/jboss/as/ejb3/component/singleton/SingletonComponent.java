@@ -43,6 +43,7 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
@@ -73,10 +74,15 @@ public class SingletonComponent extends SessionBeanComponent {
      */
     private final Object creationLock = new Object();
 
+    /**
+     * Enables a {@link StripedEJBReadWriteLock}, whose read lock scales better for read-mostly singletons.
+     */
+    private static final boolean STRIPED_LOCK = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.singleton.striped-lock", "false"));
+
     /**
      * A spec compliant {@link EJBReadWriteLock}
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock = STRIPED_LOCK ? new StripedEJBReadWriteLock() : new EJBReadWriteLock();
 
     /**
      * Construct a new instance.
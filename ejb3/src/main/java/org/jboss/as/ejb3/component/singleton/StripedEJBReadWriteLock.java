@@ -0,0 +1,286 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} for read-mostly singletons whose read lock scales with the number of concurrent readers.
+ * Unlike {@link EJBReadWriteLock}, readers do not update any shared state. Each reader instead increments a counter
+ * of a stripe, determined by its thread, while writers wait for the counters of all stripes to drain.
+ * <p>
+ * Locking semantics are otherwise the same as {@link EJBReadWriteLock}:
+ * <ul>
+ * <li>Both read and write locks are reentrant.</li>
+ * <li>A thread holding the write lock may acquire the read lock.</li>
+ * <li>A thread holding a read lock that requests the write lock fails with an {@link javax.ejb.IllegalLoopbackException}.</li>
+ * </ul>
+ * A waiting writer prevents new readers from acquiring the read lock, except for reentrant readers.
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    // Spread the counter of each stripe across its own cache line, assuming 8 byte longs and 128 byte lines (i.e. adjacent line prefetch)
+    private static final int PADDING = 16;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    private static int stripes(int processors) {
+        // Next power of 2, at least twice the number of processors
+        return Integer.highestOneBit(Math.max(processors, 1) * 4 - 1);
+    }
+
+    /**
+     * Tracks the read and write locks held by a given thread.
+     */
+    static class Holds {
+        int reads = 0;
+        int writes = 0;
+    }
+
+    private final ThreadLocal<Holds> holds = ThreadLocal.withInitial(Holds::new);
+    private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+    // Serializes writers, and readers waiting for a writer
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private volatile boolean writing = false;
+    private volatile Thread waitingWriter;
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        // Thread identifiers are sequential, so mix their bits
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & (STRIPES - 1)) * PADDING;
+    }
+
+    private boolean readersDrained() {
+        for (int i = 0; i < STRIPES; ++i) {
+            if (this.readers.get(i * PADDING) != 0L) return false;
+        }
+        return true;
+    }
+
+    boolean tryAcquireRead(long nanos) throws InterruptedException {
+        Holds holds = this.holds.get();
+        int stripe = stripe();
+        // Reentrant readers and the writer never wait, otherwise we could deadlock with a waiting writer
+        if ((holds.reads > 0) || (holds.writes > 0)) {
+            this.readers.incrementAndGet(stripe);
+            holds.reads += 1;
+            return true;
+        }
+        // Fast path
+        this.readers.incrementAndGet(stripe);
+        if (!this.writing) {
+            holds.reads += 1;
+            return true;
+        }
+        this.releaseReader(stripe);
+        // Slow path: wait for the current writer to release its lock
+        if (!((nanos == Long.MAX_VALUE) ? this.lockInterruptibly(this.writerLock) : this.writerLock.tryLock(nanos, TimeUnit.NANOSECONDS))) {
+            return false;
+        }
+        try {
+            // Writers only set this flag while holding the writer lock
+            this.readers.incrementAndGet(stripe);
+            holds.reads += 1;
+            return true;
+        } finally {
+            this.writerLock.unlock();
+        }
+    }
+
+    void releaseRead() {
+        Holds holds = this.holds.get();
+        if (holds.reads == 0) {
+            throw new IllegalMonitorStateException();
+        }
+        holds.reads -= 1;
+        this.releaseReader(stripe());
+    }
+
+    private void releaseReader(int stripe) {
+        if ((this.readers.decrementAndGet(stripe) == 0L) && this.writing) {
+            Thread writer = this.waitingWriter;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    boolean tryAcquireWrite(long nanos) throws InterruptedException {
+        Holds holds = this.holds.get();
+        if (holds.reads > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+        if (holds.writes > 0) {
+            holds.writes += 1;
+            return true;
+        }
+        long deadline = System.nanoTime() + nanos;
+        if (!((nanos == Long.MAX_VALUE) ? this.lockInterruptibly(this.writerLock) : this.writerLock.tryLock(nanos, TimeUnit.NANOSECONDS))) {
+            return false;
+        }
+        Thread current = Thread.currentThread();
+        this.waitingWriter = current;
+        this.writing = true;
+        try {
+            // Wait for any active readers to release their locks
+            while (!this.readersDrained()) {
+                long remaining = (nanos == Long.MAX_VALUE) ? Long.MAX_VALUE : deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    this.abortWrite();
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    this.abortWrite();
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            this.waitingWriter = null;
+        }
+        holds.writes = 1;
+        return true;
+    }
+
+    private void abortWrite() {
+        this.writing = false;
+        this.writerLock.unlock();
+    }
+
+    void releaseWrite() {
+        Holds holds = this.holds.get();
+        if (holds.writes == 0) {
+            throw new IllegalMonitorStateException();
+        }
+        holds.writes -= 1;
+        if (holds.writes == 0) {
+            this.writing = false;
+            this.writerLock.unlock();
+        }
+    }
+
+    private boolean lockInterruptibly(Lock lock) throws InterruptedException {
+        lock.lockInterruptibly();
+        return true;
+    }
+
+    private abstract static class AbstractLock implements Lock {
+
+        abstract boolean tryAcquire(long nanos) throws InterruptedException;
+
+        @Override
+        public void lock() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        this.tryAcquire(Long.MAX_VALUE);
+                        return;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            this.tryAcquire(Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return this.tryAcquire(0L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return this.tryAcquire(Math.max(unit.toNanos(time), 0L));
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class ReadLock extends AbstractLock {
+        @Override
+        boolean tryAcquire(long nanos) throws InterruptedException {
+            return StripedEJBReadWriteLock.this.tryAcquireRead(nanos);
+        }
+
+        @Override
+        public void unlock() {
+            StripedEJBReadWriteLock.this.releaseRead();
+        }
+    }
+
+    private class WriteLock extends AbstractLock {
+        @Override
+        boolean tryAcquire(long nanos) throws InterruptedException {
+            return StripedEJBReadWriteLock.this.tryAcquireWrite(nanos);
+        }
+
+        @Override
+        public void unlock() {
+            StripedEJBReadWriteLock.this.releaseWrite();
+        }
+    }
+}
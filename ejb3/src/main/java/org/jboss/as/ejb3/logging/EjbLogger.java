@@ -3244,4 +3244,32 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 527, value = "Remoting connector (address %s, port %s) is not correctly configured for EJB client invocations, the connector must be listed in <remote/> 'connectors' attribute to receive EJB client invocations")
     void connectorNotConfiguredForEJBClientInvocations(String address, int port);
+
+    @LogMessage(level = WARN)
+    @Message(id = 528, value = "The timer table has no LAST_MODIFIED column, incremental refresh of the database timer store is disabled. The column can be added using the following statement: %s")
+    void incrementalTimerRefreshDisabled(String statement, @Cause Exception e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 529, value = "Discarded %d bytes of incomplete or corrupt timer records from %s")
+    void discardedTimerJournalRecords(long bytes, File file);
+
+    @LogMessage(level = WARN)
+    @Message(id = 530, value = "Failed to delete timer journal file %s")
+    void failToDeleteTimerJournalSegment(File file);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 531, value = "Failed to execute scheduled timer task %s")
+    void timerTaskFailed(Runnable task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 532, value = "Failed to passivate %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 533, value = "Failed to delete passivation file %s")
+    void failedToDeletePassivationFile(File file);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 534, value = "Failed to execute remote invocation task %s")
+    void remoteInvocationTaskFailed(Runnable task, @Cause Throwable cause);
 }
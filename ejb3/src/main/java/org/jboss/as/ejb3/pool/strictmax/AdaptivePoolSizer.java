@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Decides how the permits of the adaptive {@link StrictMaxPool}s created from the same pool configuration grow and shrink.
+ * <p/>
+ * Each pool samples how many acquisitions had to wait for a permit and the peak number of instances in use, and
+ * periodically asks the sizer for its new size, which always lies between a floor and the configured max size:
+ * <ul>
+ * <li>if at least 1% of the acquisitions had to wait, the size grows by half of its current value</li>
+ * <li>if no acquisition waited and fewer than half of the permits were in use, the size shrinks by an eighth</li>
+ * </ul>
+ * Growing fast and shrinking slowly avoids acquisition timeouts under load spikes without oscillating.
+ * Pools are evaluated when they release a permit, when an acquisition times out, and periodically while started,
+ * so that a pool which is no longer used still shrinks.
+ */
+public class AdaptivePoolSizer {
+
+    /**
+     * The minimum time between two evaluations of the size of a pool.
+     */
+    static final long EVALUATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Set<StrictMaxPool<?>> pools = ConcurrentHashMap.newKeySet();
+    private final LongAdder growCount = new LongAdder();
+    private final LongAdder shrinkCount = new LongAdder();
+    // Periodically evaluates the started pools, guarded by this
+    private Timer timer;
+
+    synchronized void register(StrictMaxPool<?> pool) {
+        if (pools.add(pool) && (timer == null)) {
+            timer = createTimer();
+            final long interval = TimeUnit.NANOSECONDS.toMillis(EVALUATION_INTERVAL_NANOS);
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    final long now = System.nanoTime();
+                    for (StrictMaxPool<?> pool : pools) {
+                        try {
+                            pool.evaluate(now);
+                        } catch (RuntimeException e) {
+                            // Do not cancel the evaluation of the other pools
+                            ROOT_LOGGER.debugf(e, "Failed to resize pool %s", pool);
+                        }
+                    }
+                }
+            }, interval, interval);
+        }
+    }
+
+    synchronized void unregister(StrictMaxPool<?> pool) {
+        if (pools.remove(pool) && pools.isEmpty() && (timer != null)) {
+            timer.cancel();
+            timer = null;
+        }
+    }
+
+    private static Timer createTimer() {
+        // Pools are started by deployments, whose class loader must not be retained by the timer thread
+        final ClassLoader loader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(AdaptivePoolSizer.class);
+        try {
+            return new Timer("EJB strict max pool sizer", true);
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+    }
+
+    /**
+     * Computes the new size of a pool from what was observed since the previous evaluation.
+     *
+     * @param pool the pool
+     * @param currentSize the current max size of the pool
+     * @param ceiling the configured max size of the pool
+     * @param acquisitions the number of instance acquisitions
+     * @param waits the number of acquisitions that had to wait for a permit
+     * @param peakInUse the peak number of instances in use
+     * @return the new max size of the pool
+     */
+    int evaluate(StrictMaxPool<?> pool, int currentSize, int ceiling, long acquisitions, long waits, int peakInUse) {
+        if (waits > 0 && waits * 100 >= acquisitions && currentSize < ceiling) {
+            final int newSize = (int) Math.min(ceiling, (long) currentSize + Math.max(1, currentSize / 2));
+            growCount.increment();
+            ROOT_LOGGER.debugf("Growing pool %s from %d to %d, %d of %d acquisitions waited", pool, currentSize, newSize, waits, acquisitions);
+            return newSize;
+        }
+        final int floor = floor(ceiling);
+        if (waits == 0 && peakInUse * 2 < currentSize && currentSize > floor) {
+            final int newSize = Math.max(floor, currentSize - Math.max(1, currentSize / 8));
+            shrinkCount.increment();
+            ROOT_LOGGER.debugf("Shrinking pool %s from %d to %d, at most %d instances were in use", pool, currentSize, newSize, peakInUse);
+            return newSize;
+        }
+        return currentSize;
+    }
+
+    /**
+     * Returns the number of times a pool was grown.
+     *
+     * @return a grow count
+     */
+    public long getGrowCount() {
+        return growCount.sum();
+    }
+
+    /**
+     * Returns the number of times a pool was shrunk.
+     *
+     * @return a shrink count
+     */
+    public long getShrinkCount() {
+        return shrinkCount.sum();
+    }
+
+    /**
+     * Returns the sum of the current max sizes of the started pools.
+     *
+     * @return a number of permits
+     */
+    public int getCurrentSize() {
+        int size = 0;
+        for (StrictMaxPool<?> pool : pools) {
+            size += pool.getMaxSize();
+        }
+        return size;
+    }
+
+    private static int floor(int ceiling) {
+        return Math.min(ceiling, Runtime.getRuntime().availableProcessors());
+    }
+}
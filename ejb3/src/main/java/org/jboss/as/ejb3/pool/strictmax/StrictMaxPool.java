@@ -31,6 +31,9 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A pool with a maximum size.
@@ -45,11 +48,15 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * When set, only maxSize instances may be active and any attempt to get an
      * instance will block until an instance is freed.
      */
-    private final Semaphore semaphore;
+    private final ResizableSemaphore semaphore;
     /**
      * The maximum number of instances allowed in the pool
      */
-    private final int maxSize;
+    private volatile int maxSize;
+    /**
+     * The upper bound of maxSize, for a pool that is resized by an {@link AdaptivePoolSizer}.
+     */
+    private final int ceiling;
     /**
      * The time to wait for the semaphore.
      */
@@ -61,12 +68,39 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      */
     private final Queue<T> pool = new ConcurrentLinkedQueue<T>();
 
+    /**
+     * The sizer of an adaptive pool, {@code null} if the size of the pool is fixed.
+     */
+    private final AdaptivePoolSizer sizer;
+    // What an adaptive pool observed since its last evaluation
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicLong nextEvaluation = new AtomicLong();
+
     public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, null);
+    }
+
+    /**
+     * Creates a pool whose max size is adapted to the load by the given sizer. The pool starts with its maximum
+     * number of permits and never grows beyond it.
+     *
+     * @param factory the factory of the pooled instances
+     * @param maxSize the maximum number of instances allowed in the pool
+     * @param timeout the time to wait for an instance
+     * @param timeUnit the unit of the timeout
+     * @param sizer the sizer of the pool, or {@code null} for a fixed size pool
+     */
+    public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, AdaptivePoolSizer sizer) {
         super(factory);
         this.maxSize = maxSize;
-        this.semaphore = new Semaphore(maxSize, false);
+        this.ceiling = maxSize;
+        this.semaphore = new ResizableSemaphore(maxSize);
         this.timeout = timeout;
         this.timeUnit = timeUnit;
+        this.sizer = sizer;
     }
 
     public void discard(T ctx) {
@@ -76,6 +110,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
 
         // If we block when maxSize instances are in use, invoke release on strictMaxSize
         semaphore.release();
+        released();
 
         // Let the super do any other remove stuff
         super.doRemove(ctx);
@@ -93,8 +128,30 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         return maxSize;
     }
 
-    public void setMaxSize(int maxSize) {
-        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    /**
+     * Changes the maximum number of instances allowed in the pool. Shrinking the pool destroys up to as many idle
+     * instances as permits were removed.
+     *
+     * @param maxSize the new maximum size
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(Integer.toString(maxSize));
+        }
+        final int delta = maxSize - this.maxSize;
+        this.maxSize = maxSize;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reducePermits(-delta);
+            for (int i = 0; i < -delta; i++) {
+                final T obj = pool.poll();
+                if (obj == null) {
+                    break;
+                }
+                destroy(obj);
+            }
+        }
     }
 
     /**
@@ -104,12 +161,19 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * @return Context /w instance
      */
     public T get() {
-        try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
-            if (!acquired)
-                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
-        } catch (InterruptedException e) {
-            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        if (sizer == null) {
+            acquire();
+        } else {
+            if (!semaphore.tryAcquire()) {
+                waits.increment();
+                acquire();
+            }
+            acquisitions.increment();
+            final int current = inUse.incrementAndGet();
+            int peak = peakInUse.get();
+            while (current > peak && !peakInUse.compareAndSet(peak, current)) {
+                peak = peakInUse.get();
+            }
         }
 
         T bean = pool.poll();
@@ -125,11 +189,62 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         } finally {
             if (bean == null) {
                 semaphore.release();
+                released();
             }
         }
         return bean;
     }
 
+    private void acquire() {
+        try {
+            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+            if (!acquired) {
+                // An exhausted adaptive pool may grow, in which case the permit of this acquisition is immediately available
+                if (sizer != null) {
+                    evaluate(System.nanoTime());
+                    if (semaphore.tryAcquire()) {
+                        return;
+                    }
+                }
+                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+    }
+
+    /**
+     * Tracks the release of a permit by an adaptive pool, and resizes the pool once its evaluation interval elapsed.
+     */
+    private void released() {
+        if (sizer == null) {
+            return;
+        }
+        inUse.decrementAndGet();
+        evaluate(System.nanoTime());
+    }
+
+    /**
+     * Resizes an adaptive pool if its evaluation interval elapsed.
+     * Besides on release of a permit, this is triggered by acquisition timeouts and periodically by the {@link AdaptivePoolSizer},
+     * so that an exhausted pool grows and an idle pool shrinks.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void evaluate(long now) {
+        final long next = nextEvaluation.get();
+        if (now - next >= 0 && nextEvaluation.compareAndSet(next, now + AdaptivePoolSizer.EVALUATION_INTERVAL_NANOS)) {
+            final long acquisitions = this.acquisitions.sumThenReset();
+            final long waits = this.waits.sumThenReset();
+            final int peakInUse = this.peakInUse.getAndSet(inUse.get());
+            final int currentSize = this.maxSize;
+            final int newSize = sizer.evaluate(this, currentSize, ceiling, acquisitions, waits, peakInUse);
+            if (newSize != currentSize) {
+                setMaxSize(newSize);
+            }
+        }
+    }
+
     /**
      * Return an instance after invocation.
      * <p/>
@@ -147,6 +262,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         pool.add(obj);
 
         semaphore.release();
+        released();
     }
 
     @Override
@@ -157,18 +273,40 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         }
 
         semaphore.release();
+        released();
         // let the super do the other remove stuff
         super.doRemove(ctx);
     }
 
     public void start() {
-        // TODO Auto-generated method stub
-
+        if (sizer != null) {
+            nextEvaluation.set(System.nanoTime() + AdaptivePoolSizer.EVALUATION_INTERVAL_NANOS);
+            sizer.register(this);
+        }
     }
 
     public void stop() {
+        if (sizer != null) {
+            sizer.unregister(this);
+        }
         for (T obj = pool.poll(); obj != null; obj = pool.poll()) {
             destroy(obj);
         }
     }
+
+    /**
+     * A semaphore whose permits can be reduced, in order to shrink the pool.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 4413458853573727312L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
 }
@@ -0,0 +1,359 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose permits and idle instances are spread over several stripes.
+ * <p/>
+ * Each thread has a home stripe from which it acquires a permit and an idle instance, and to which it returns them.
+ * If its home stripe is exhausted, a thread steals permits and instances from the other stripes without locking.
+ * Only when the whole pool is exhausted does a thread block, up to the configured timeout, as with
+ * {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}.
+ */
+public class StripedMaxPool<T> extends AbstractPool<T> {
+
+    // Space the permit counters of adjacent stripes a cache line apart, to avoid false sharing
+    private static final int PADDING = 16;
+
+    private final Deque<T>[] stripes;
+    private final int mask;
+    /**
+     * The number of available permits of each stripe, spaced by {@link #PADDING}.
+     */
+    private final AtomicIntegerArray permits;
+    /**
+     * The number of permits, removed by reducing the max size, that must be repaid by released permits.
+     */
+    private final AtomicInteger debt = new AtomicInteger();
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private volatile int maxSize;
+    /**
+     * The number of instances created by this pool that were not yet removed.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    // Only used when the pool is exhausted
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // Use a power of 2 so that the home stripe of a thread can be computed with a mask
+        int stripeCount = (concurrency > 1) ? Integer.highestOneBit(concurrency - 1) << 1 : 1;
+        this.stripes = new Deque[stripeCount];
+        this.mask = stripeCount - 1;
+        this.permits = new AtomicIntegerArray(stripeCount * PADDING);
+        for (int i = 0; i < stripeCount; ++i) {
+            this.stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.addPermits(maxSize);
+    }
+
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.size.decrementAndGet();
+        this.releasePermit();
+
+        // Let the super do any other remove stuff
+        super.doRemove(ctx);
+    }
+
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    public int getAvailableCount() {
+        int available = 0;
+        for (int i = 0; i < this.stripes.length; ++i) {
+            available += this.permits.get(i * PADDING);
+        }
+        return Math.max(available - this.debt.get(), 0);
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Changes the maximum number of instances allowed in the pool. Shrinking the pool destroys up to as many idle
+     * instances as permits were removed, while any surplus instances in use are destroyed once released.
+     *
+     * @param maxSize the new maximum size
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(Integer.toString(maxSize));
+        }
+        final int delta = maxSize - this.maxSize;
+        this.maxSize = maxSize;
+        if (delta > 0) {
+            // Repay any outstanding debt first
+            int remaining = delta;
+            for (int debt = this.debt.get(); (debt > 0) && (remaining > 0); debt = this.debt.get()) {
+                int repayment = Math.min(debt, remaining);
+                if (this.debt.compareAndSet(debt, debt - repayment)) {
+                    remaining -= repayment;
+                }
+            }
+            this.addPermits(remaining);
+            this.lock.lock();
+            try {
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        } else if (delta < 0) {
+            // Remove available permits, and owe any remainder until the corresponding permits are released
+            int remaining = -delta;
+            for (int i = 0; (i < this.stripes.length) && (remaining > 0); ++i) {
+                int index = i * PADDING;
+                int current = this.permits.get(index);
+                while (current > 0) {
+                    int reduction = Math.min(current, remaining);
+                    if (this.permits.compareAndSet(index, current, current - reduction)) {
+                        remaining -= reduction;
+                        break;
+                    }
+                    current = this.permits.get(index);
+                }
+            }
+            this.debt.addAndGet(remaining);
+            for (int i = 0; i < -delta; i++) {
+                final T obj = this.poll(this.home());
+                if (obj == null) {
+                    break;
+                }
+                this.size.decrementAndGet();
+                destroy(obj);
+            }
+        }
+    }
+
+    /**
+     * Get an instance without identity.
+     * Can be used by finders,create-methods, and activation
+     *
+     * @return Context /w instance
+     */
+    public T get() {
+        this.acquirePermit();
+
+        try {
+            T bean = this.poll(this.home());
+            if (bean != null) {
+                //we found a bean instance in the pool, return it
+                return bean;
+            }
+            // Pool is empty, so create an instance.
+            // If the pool has already reached its maximum size, an idle instance was moved between stripes by concurrent threads while we were looking for it.
+            // Rather than scanning again, create a surplus instance, which is destroyed once released.
+            this.size.incrementAndGet();
+            try {
+                bean = create();
+            } finally {
+                if (bean == null) {
+                    this.size.decrementAndGet();
+                }
+            }
+            return bean;
+        } catch (RuntimeException | Error e) {
+            this.releasePermit();
+            throw e;
+        }
+    }
+
+    /**
+     * Return an instance after invocation.
+     * <p/>
+     * Called in 2 cases:
+     * a) Done with finder method
+     * b) Just removed
+     *
+     * @param obj
+     */
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.size.get(), this.maxSize, this);
+        }
+
+        // Destroy any surplus instance
+        int current = this.size.get();
+        if ((current > this.maxSize) && this.size.compareAndSet(current, current - 1)) {
+            destroy(obj);
+        } else {
+            this.stripes[this.home()].offerFirst(obj);
+        }
+
+        this.releasePermit();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.size.decrementAndGet();
+        this.releasePermit();
+        // let the super do the other remove stuff
+        super.doRemove(ctx);
+    }
+
+    public void start() {
+    }
+
+    public void stop() {
+        for (Deque<T> stripe : this.stripes) {
+            for (T obj = stripe.pollFirst(); obj != null; obj = stripe.pollFirst()) {
+                this.size.decrementAndGet();
+                destroy(obj);
+            }
+        }
+    }
+
+    private int home() {
+        return (int) Thread.currentThread().getId() & this.mask;
+    }
+
+    /**
+     * Polls an idle instance, starting with the specified home stripe.
+     */
+    private T poll(int home) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            T bean = this.stripes[(home + i) & this.mask].pollFirst();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Distributes the specified number of permits as evenly as possible over the stripes.
+     */
+    private void addPermits(int permits) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            int stripePermits = (permits / this.stripes.length) + ((i < permits % this.stripes.length) ? 1 : 0);
+            if (stripePermits > 0) {
+                this.permits.addAndGet(i * PADDING, stripePermits);
+            }
+        }
+    }
+
+    private void acquirePermit() {
+        if (this.tryAcquirePermit()) return;
+
+        // Pool is exhausted, wait for a permit to be released
+        long nanos = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        try {
+            // Register as waiter before retrying, so that a concurrent release will signal us
+            this.waiters.incrementAndGet();
+            try {
+                while (!this.tryAcquirePermit()) {
+                    if (nanos <= 0) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    nanos = this.available.awaitNanos(nanos);
+                }
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a permit from the home stripe of the current thread, or otherwise from any other stripe.
+     * Each stripe is visited at most once, so this completes in a bounded number of steps, barring CAS contention on a given stripe.
+     */
+    private boolean tryAcquirePermit() {
+        int home = this.home();
+        for (int i = 0; i < this.stripes.length; ++i) {
+            int index = ((home + i) & this.mask) * PADDING;
+            int current = this.permits.get(index);
+            while (current > 0) {
+                if (this.permits.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+                current = this.permits.get(index);
+            }
+        }
+        return false;
+    }
+
+    private void releasePermit() {
+        // Repay any permits owed following a reduction of the max size
+        for (int debt = this.debt.get(); debt > 0; debt = this.debt.get()) {
+            if (this.debt.compareAndSet(debt, debt - 1)) return;
+        }
+        this.permits.incrementAndGet(this.home() * PADDING);
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
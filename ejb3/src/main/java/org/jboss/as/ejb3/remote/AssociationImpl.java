@@ -88,6 +88,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -96,6 +97,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 final class AssociationImpl implements Association, AutoCloseable {
 
     private static final String RETURNED_CONTEXT_DATA_KEY = "jboss.returned.keys";
+    // Maximum number of consecutive invocation responses on a connection written by a single executor task, a value of 1 disables batching
+    private static final int INVOCATION_BATCH_SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.remote.invocation-batch-size", "1"));
+    // Maximum number of executor tasks concurrently writing the batched invocation responses of a connection
+    private static final int INVOCATION_BATCH_PARALLELISM = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.remote.invocation-batch-parallelism", Integer.toString(Runtime.getRuntime().availableProcessors())));
     private static final ListenerHandle NOOP_LISTENER_HANDLE = new ListenerHandle() {
         @Override
         public void close() {
@@ -104,6 +109,7 @@ final class AssociationImpl implements Association, AutoCloseable {
     };
     private final DeploymentRepository deploymentRepository;
     private final Map<Integer, ClusterTopologyRegistrar> clusterTopologyRegistrars;
+    private final BatchingExecutor<Connection> invocationBatcher = (INVOCATION_BATCH_SIZE > 1) ? new BatchingExecutor<>(INVOCATION_BATCH_SIZE, Math.max(INVOCATION_BATCH_PARALLELISM, 1)) : null;
     private volatile Executor executor;
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final List<Map.Entry<ProtocolSocketBinding, Registry<String, List<ClientMapping>>>> clientMappingRegistries) {
@@ -280,24 +286,42 @@ final class AssociationImpl implements Association, AutoCloseable {
                 } else {
                     exceptionToWrite = exception;
                 }
-                invocationRequest.writeException(exceptionToWrite);
+                writeResponse(invocationRequest, () -> invocationRequest.writeException(exceptionToWrite));
                 return;
             } finally {
                 SecurityActions.remotingContextClear();
             }
             // invocation was successful
-            if (! oneWay) try {
-                updateAffinities(invocationRequest, attachments, actualLocator, componentView);
-                requestContent.writeInvocationResult(result);
-            } catch (Throwable ioe) {
-                EjbLogger.REMOTE_LOGGER.couldNotWriteMethodInvocation(ioe, invokedMethod, beanName, appName, moduleName, distinctName);
-            }
+            if (! oneWay) writeResponse(invocationRequest, () -> {
+                try {
+                    updateAffinities(invocationRequest, attachments, actualLocator, componentView);
+                    requestContent.writeInvocationResult(result);
+                } catch (Throwable ioe) {
+                    EjbLogger.REMOTE_LOGGER.couldNotWriteMethodInvocation(ioe, invokedMethod, beanName, appName, moduleName, distinctName);
+                }
+            });
         };
         // invoke the method and write out the response, possibly on a separate thread
         execute(invocationRequest, runnable, isAsync, false);
         return cancellationFlag::cancel;
     }
 
+    // Writes the response of an invocation.
+    // If enabled, the responses of consecutive invocations on the same connection are written in batches by fewer executor tasks,
+    // while the invocations themselves still run on the invocation executor, so that a blocking invocation never delays the responses of others.
+    private void writeResponse(InvocationRequest invocationRequest, Runnable response) {
+        Connection connection = (this.invocationBatcher != null) ? invocationRequest.getProviderInterface(Connection.class) : null;
+        if (connection != null) {
+            try {
+                this.invocationBatcher.execute(connection, response, invocationRequest.getRequestExecutor());
+                return;
+            } catch (RejectedExecutionException e) {
+                // Write the response via the current thread
+            }
+        }
+        response.run();
+    }
+
     private void updateAffinities(InvocationRequest invocationRequest, Map<String, Object> attachments, EJBLocator<?> ejbLocator, ComponentView componentView) {
         Affinity legacyAffinity = null;
         Affinity weakAffinity = null;
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * Dispatches tasks submitted for the same key (e.g. a remoting connection) in batches.
+ * Rather than dispatching each task to the executor individually, pending tasks for a given key are drained by at most a fixed number of executor tasks,
+ * each of which runs up to a fixed number of consecutive tasks before yielding its thread.
+ * Once all pending tasks for a key are drained, its queue is discarded.
+ * Tasks are enqueued, and drained queues discarded, while holding the map entry of their key, so that a key never has more than one queue.
+ *
+ * @param <K> the key type
+ */
+final class BatchingExecutor<K> {
+
+    private final Map<K, Batch> batches = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final int parallelism;
+
+    /**
+     * Creates a new batching executor.
+     * @param batchSize the maximum number of tasks run by an executor task before yielding its thread
+     * @param parallelism the maximum number of executor tasks concurrently draining the tasks of a given key
+     */
+    BatchingExecutor(int batchSize, int parallelism) {
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Submits the specified task for execution via the specified executor.
+     * @param key the key with which consecutive tasks are batched
+     * @param task a task
+     * @param executor the executor used to drain pending tasks
+     * @throws RejectedExecutionException if the task could not be dispatched
+     */
+    void execute(K key, Runnable task, Executor executor) {
+        this.batches.compute(key, (k, batch) -> {
+            Batch result = (batch != null) ? batch : new Batch(k);
+            result.enqueue(task, executor);
+            return result;
+        }).dispatch(task);
+    }
+
+    /**
+     * Returns the number of keys with pending or running tasks.
+     * @return the number of keys with pending or running tasks.
+     */
+    int getBatches() {
+        return this.batches.size();
+    }
+
+    private class Batch implements Runnable {
+        private final K key;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger drainers = new AtomicInteger();
+        private volatile Executor executor;
+
+        Batch(K key) {
+            this.key = key;
+        }
+
+        // Must be called while holding the map entry of our key, so that we cannot be discarded concurrently
+        void enqueue(Runnable task, Executor executor) {
+            this.executor = executor;
+            this.tasks.add(task);
+        }
+
+        void dispatch(Runnable task) {
+            if (this.acquire()) {
+                try {
+                    this.executor.execute(this);
+                } catch (RuntimeException | Error e) {
+                    this.drainers.decrementAndGet();
+                    // Only propagate if our task was not already picked up by an existing drainer
+                    if (this.tasks.remove(task)) {
+                        this.discardIfIdle();
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private void discardIfIdle() {
+            BatchingExecutor.this.batches.computeIfPresent(this.key, (key, batch) -> ((batch == this) && (this.drainers.get() == 0) && this.tasks.isEmpty()) ? null : batch);
+        }
+
+        private boolean acquire() {
+            int current = this.drainers.get();
+            while (current < BatchingExecutor.this.parallelism) {
+                if (this.drainers.compareAndSet(current, current + 1)) return true;
+                current = this.drainers.get();
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                this.drain();
+                if (this.tasks.isEmpty()) {
+                    this.drainers.decrementAndGet();
+                    // Recheck, in case a task was added after our last poll, but before we released
+                    if (this.tasks.isEmpty() || !this.acquire()) break;
+                } else if (this.resubmit()) {
+                    return;
+                }
+            }
+            if ((this.drainers.get() == 0) && this.tasks.isEmpty()) {
+                this.discardIfIdle();
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < BatchingExecutor.this.batchSize; ++i) {
+                Runnable task = this.tasks.poll();
+                if (task == null) return;
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    EjbLogger.REMOTE_LOGGER.remoteInvocationTaskFailed(task, e);
+                }
+            }
+        }
+
+        // Yields the current thread, while retaining our drainer slot
+        private boolean resubmit() {
+            try {
+                this.executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                // Continue draining via the current thread
+                return false;
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.ejb3.cache.CacheFactoryBuilderServiceNameProvider;
+import org.jboss.as.ejb3.cache.bounded.BoundedCacheFactoryBuilderServiceConfigurator;
 import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilderServiceNameProvider;
 import org.jboss.as.ejb3.cache.simple.SimpleCacheFactoryBuilderServiceConfigurator;
 import org.jboss.dmr.ModelNode;
@@ -59,13 +60,14 @@ public class CacheFactoryAdd extends AbstractAddStepHandler {
 
         ModelNode passivationStoreModel = CacheFactoryResourceDefinition.PASSIVATION_STORE.resolveModelAttribute(context,model);
         String passivationStore = passivationStoreModel.isDefined() ? passivationStoreModel.asString() : null;
+        ModelNode maxSizeModel = CacheFactoryResourceDefinition.MAX_SIZE.resolveModelAttribute(context, model);
 
         final Collection<String> unwrappedAliasValues = CacheFactoryResourceDefinition.ALIASES.unwrap(context,model);
         final Set<String> aliases = unwrappedAliasValues != null ? new HashSet<>(unwrappedAliasValues) : Collections.<String>emptySet();
         ServiceTarget target = context.getServiceTarget();
         // set up the CacheFactoryBuilder service
         ServiceConfigurator configurator = (passivationStore != null) ? new IdentityServiceConfigurator<>(new CacheFactoryBuilderServiceNameProvider(name).getServiceName(),
-                new DistributableCacheFactoryBuilderServiceNameProvider(passivationStore).getServiceName()) : new SimpleCacheFactoryBuilderServiceConfigurator<>(name);
+                new DistributableCacheFactoryBuilderServiceNameProvider(passivationStore).getServiceName()) : maxSizeModel.isDefined() ? new BoundedCacheFactoryBuilderServiceConfigurator<>(name, maxSizeModel.asInt()) : new SimpleCacheFactoryBuilderServiceConfigurator<>(name);
         ServiceBuilder<?> builder = configurator.build(target);
         // set up aliases to the CacheFactoryBuilder service
         for (String alias: aliases) {
@@ -30,6 +30,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelType;
 
@@ -38,6 +39,7 @@ import org.jboss.dmr.ModelType;
  * The CacheFactory resource instances defined here produce bean caches which are either:
  * - distributed and have passivation-enabled
  * - non distributed and do not have passivation-enabled
+ * - non distributed, bounded by a max-size, and spill excess idle beans to a local file store
  * For passivation enabled CacheFactoryBuilders, the PassivationStoreResourceDefinition must define a supporting passivation store.
  *
  * @author Paul Ferraro
@@ -55,10 +57,20 @@ public class CacheFactoryResourceDefinition extends SimpleResourceDefinition {
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.PASSIVATION_STORE, ModelType.STRING, true)
                     .setXmlName(EJB3SubsystemXMLAttribute.PASSIVATION_STORE_REF.getLocalName())
                     .setAllowExpression(true)
+                    .setAlternatives(EJB3SubsystemModel.MAX_SIZE)
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE };
+    public static final SimpleAttributeDefinition MAX_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SIZE, ModelType.INT, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.MAX_SIZE.getLocalName())
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setAlternatives(EJB3SubsystemModel.PASSIVATION_STORE)
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE, MAX_SIZE };
     private static final CacheFactoryAdd ADD_HANDLER = new CacheFactoryAdd(ATTRIBUTES);
     private static final CacheFactoryRemove REMOVE_HANDLER = new CacheFactoryRemove(ADD_HANDLER);
 
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the refresh metrics of a running {@link DatabaseTimerPersistence}.
+ */
+public class DatabaseDataStoreMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String storeName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+
+        final ServiceName serviceName = context.getCapabilityServiceName(DatabaseDataStoreResourceDefinition.TIMER_PERSISTENCE_CAPABILITY_NAME, storeName, TimerPersistence.class);
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // the metric takes its undefined value until the store is started
+            return;
+        }
+        final DatabaseTimerPersistence persistence = (DatabaseTimerPersistence) controller.getValue();
+        if (EJB3SubsystemModel.REFRESH_ROWS_READ.equals(attributeName)) {
+            context.getResult().set(persistence.getRefreshRowsRead());
+        } else if (EJB3SubsystemModel.REFRESH_ROWS_WRITTEN.equals(attributeName)) {
+            context.getResult().set(persistence.getRefreshRowsWritten());
+        }
+    }
+}
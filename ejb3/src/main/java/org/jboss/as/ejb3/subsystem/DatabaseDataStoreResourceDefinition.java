@@ -86,7 +86,26 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                     .setDefaultValue(ModelNode.TRUE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION };
+    public static final SimpleAttributeDefinition INCREMENTAL_REFRESH =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.INCREMENTAL_REFRESH, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
+    static final SimpleAttributeDefinition REFRESH_ROWS_READ =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_ROWS_READ, ModelType.LONG)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition REFRESH_ROWS_WRITTEN =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_ROWS_WRITTEN, ModelType.LONG)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION, INCREMENTAL_REFRESH };
     private static final DatabaseDataStoreAdd ADD_HANDLER = new DatabaseDataStoreAdd(ATTRIBUTES);
     public static final DatabaseDataStoreResourceDefinition INSTANCE = new DatabaseDataStoreResourceDefinition();
 
@@ -102,6 +121,9 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        final DatabaseDataStoreMetricsHandler metricsHandler = new DatabaseDataStoreMetricsHandler();
+        resourceRegistration.registerMetric(REFRESH_ROWS_READ, metricsHandler);
+        resourceRegistration.registerMetric(REFRESH_ROWS_WRITTEN, metricsHandler);
     }
 
 }
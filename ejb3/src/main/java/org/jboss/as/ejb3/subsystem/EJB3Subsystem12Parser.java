@@ -409,7 +409,7 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         }
     }
 
-    private void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+    protected void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         // no attributes expected
         requireNoAttributes(reader);
 
@@ -487,7 +487,8 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         for (int i = 0; i < reader.getAttributeCount(); i++) {
             requireNoNamespaceAttribute(reader, i);
             final String value = reader.getAttributeValue(i);
-            switch (EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i))) {
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
                 case NAME: {
                     name = value;
                     break;
@@ -501,7 +502,7 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
                     break;
                 }
                 default: {
-                    throw unexpectedAttribute(reader, i);
+                    this.parseCacheAttribute(reader, i, attribute, operation);
                 }
             }
         }
@@ -514,6 +515,13 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         operations.add(operation);
     }
 
+    /**
+     * Parses a cache attribute introduced by a later schema version.
+     */
+    void parseCacheAttribute(final XMLExtendedStreamReader reader, int index, EJB3SubsystemXMLAttribute attribute, ModelNode operation) throws XMLStreamException {
+        throw unexpectedAttribute(reader, index);
+    }
+
     @SuppressWarnings("deprecation")
     protected void parsePassivationStores(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         // no attributes expected
@@ -74,14 +74,20 @@ public interface EJB3SubsystemModel {
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
+    String ADAPTIVE_SIZING = "adaptive-sizing";
+    String ADAPTIVE_GROW_COUNT = "adaptive-grow-count";
+    String ADAPTIVE_SHRINK_COUNT = "adaptive-shrink-count";
+    String ADAPTIVE_CURRENT_SIZE = "adaptive-current-size";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
+    String STRIPED_MAX_BEAN_INSTANCE_POOL = "striped-max-bean-instance-pool";
 
     String MAX_THREADS = "max-threads";
     String KEEPALIVE_TIME = "keepalive-time";
 
     String RELATIVE_TO = "relative-to";
     String PATH = "path";
+    String JOURNAL = "journal";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
@@ -104,6 +110,11 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String SCHEDULER = "scheduler";
+    String PENDING_TIMEOUTS = "pending-timeouts";
+    String TIMEOUT_LAG_50TH_PERCENTILE = "timeout-lag-50th-percentile";
+    String TIMEOUT_LAG_95TH_PERCENTILE = "timeout-lag-95th-percentile";
+    String TIMEOUT_LAG_99TH_PERCENTILE = "timeout-lag-99th-percentile";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -138,6 +149,9 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String INCREMENTAL_REFRESH = "incremental-refresh";
+    String REFRESH_ROWS_READ = "refresh-rows-read";
+    String REFRESH_ROWS_WRITTEN = "refresh-rows-written";
 
     String STATIC_URLS = "static-urls";
 
@@ -151,6 +165,7 @@ public interface EJB3SubsystemModel {
     PathElement DATABASE_DATA_STORE_PATH = PathElement.pathElement(DATABASE_DATA_STORE);
     PathElement MDB_DELIVERY_GROUP_PATH = PathElement.pathElement(MDB_DELIVERY_GROUP);
     PathElement STRICT_MAX_BEAN_INSTANCE_POOL_PATH = PathElement.pathElement(STRICT_MAX_BEAN_INSTANCE_POOL);
+    PathElement STRIPED_MAX_BEAN_INSTANCE_POOL_PATH = PathElement.pathElement(STRIPED_MAX_BEAN_INSTANCE_POOL);
     PathElement REMOTING_PROFILE_PATH = PathElement.pathElement(REMOTING_PROFILE);
 
     String BASE_EJB_THREAD_POOL_NAME = "ejb3";
@@ -393,6 +393,9 @@ public class EJB3SubsystemRootResourceDefinition extends SimpleResourceDefinitio
         // subsystem=ejb3/strict-max-bean-instance-pool=*
         subsystemRegistration.registerSubModel(StrictMaxPoolResourceDefinition.INSTANCE);
 
+        // subsystem=ejb3/striped-max-bean-instance-pool=*
+        subsystemRegistration.registerSubModel(StrictMaxPoolResourceDefinition.STRIPED_INSTANCE);
+
         subsystemRegistration.registerSubModel(CacheFactoryResourceDefinition.INSTANCE);
         subsystemRegistration.registerSubModel(PassivationStoreResourceDefinition.INSTANCE);
         subsystemRegistration.registerSubModel(FilePassivationStoreResourceDefinition.INSTANCE);
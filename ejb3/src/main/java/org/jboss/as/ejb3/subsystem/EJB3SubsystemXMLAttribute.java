@@ -31,6 +31,7 @@ import java.util.Map;
 public enum EJB3SubsystemXMLAttribute {
     UNKNOWN(null),
 
+    ADAPTIVE_SIZING("adaptive-sizing"),
     ALIAS("alias"),
     ALIASES("aliases"),
     ALLOW_EXECUTION("allow-execution"),
@@ -61,9 +62,12 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
+    INCREMENTAL_REFRESH("incremental-refresh"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
 
+    JOURNAL("journal"),
+
     KEEPALIVE_TIME("keepalive-time"),
 
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
@@ -89,6 +93,7 @@ public enum EJB3SubsystemXMLAttribute {
     RELATIVE_TO("relative-to"),
     RESOURCE_ADAPTER_NAME("resource-adapter-name"),
 
+    SCHEDULER("scheduler"),
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
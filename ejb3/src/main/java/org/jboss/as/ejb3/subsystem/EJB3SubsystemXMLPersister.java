@@ -78,7 +78,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
     @Override
     public void writeContent(final XMLExtendedStreamWriter writer, final SubsystemMarshallingContext context) throws XMLStreamException {
 
-        context.startSubsystemElement(EJB3SubsystemNamespace.EJB3_9_0.getUriString(), false);
+        context.startSubsystemElement(EJB3SubsystemNamespace.EJB3_10_0.getUriString(), false);
         writeElements(writer, context);
         // write the subsystem end element
         writer.writeEndElement();
@@ -147,7 +147,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
             writer.writeEndElement();
         }
         // write the pools element
-        if (model.hasDefined(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL)) {
+        if (model.hasDefined(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL) || model.hasDefined(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL)) {
             // <pools>
             writer.writeStartElement(EJB3SubsystemXMLElement.POOLS.getLocalName());
             // <bean-instance-pools>
@@ -498,6 +498,17 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 writer.writeEndElement();
             }
         }
+        if (beanInstancePoolModelNode.hasDefined(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL)) {
+            final List<Property> stripedMaxPools = beanInstancePoolModelNode.get(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL).asPropertyList();
+            for (Property property : stripedMaxPools) {
+                // <striped-max-pool>
+                writer.writeStartElement(EJB3SubsystemXMLElement.STRIPED_MAX_POOL.getLocalName());
+                // contents of striped-max-pool are the same as strict-max-pool
+                this.writeStrictMaxPoolConfig(writer, property);
+                // </striped-max-pool>
+                writer.writeEndElement();
+            }
+        }
     }
 
     private void writeStrictMaxPoolConfig(final XMLExtendedStreamWriter writer, final Property strictMaxPoolModel) throws XMLStreamException {
@@ -510,6 +521,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         StrictMaxPoolResourceDefinition.DERIVE_SIZE.marshallAsAttribute(strictMaxPoolModelNode, writer);
         StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.marshallAsAttribute(strictMaxPoolModelNode, writer);
         StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.marshallAsAttribute(strictMaxPoolModelNode, writer);
+        StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING.marshallAsAttribute(strictMaxPoolModelNode, writer);
     }
 
     private void writeCaches(XMLExtendedStreamWriter writer, ModelNode model) throws XMLStreamException {
@@ -519,6 +531,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
             ModelNode cache = property.getValue();
             writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), property.getName());
             CacheFactoryResourceDefinition.PASSIVATION_STORE.marshallAsAttribute(cache, writer);
+            CacheFactoryResourceDefinition.MAX_SIZE.marshallAsAttribute(cache, writer);
             writeAttribute(writer, cache, CacheFactoryResourceDefinition.ALIASES);
             writer.writeEndElement();
         }
@@ -589,6 +602,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
 
         TimerServiceResourceDefinition.THREAD_POOL_NAME.marshallAsAttribute(timerServiceModel, writer);
         TimerServiceResourceDefinition.DEFAULT_DATA_STORE.marshallAsAttribute(timerServiceModel, writer);
+        TimerServiceResourceDefinition.SCHEDULER.marshallAsAttribute(timerServiceModel, writer);
 
         writer.writeStartElement(EJB3SubsystemXMLElement.DATA_STORES.getLocalName());
         writeFileDataStores(writer, timerServiceModel);
@@ -609,6 +623,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 DatabaseDataStoreResourceDefinition.PARTITION.marshallAsAttribute(store, writer);
                 DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL.marshallAsAttribute(store, writer);
                 DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.marshallAsAttribute(store, writer);
+                DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH.marshallAsAttribute(store, writer);
                 writer.writeEndElement();
             }
         }
@@ -623,6 +638,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), property.getName());
                 FileDataStoreResourceDefinition.PATH.marshallAsAttribute(store, writer);
                 FileDataStoreResourceDefinition.RELATIVE_TO.marshallAsAttribute(store, writer);
+                FileDataStoreResourceDefinition.JOURNAL.marshallAsAttribute(store, writer);
                 writer.writeEndElement();
             }
         }
@@ -36,6 +36,7 @@ import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_5_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_6_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_7_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_8_0_0;
+import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_9_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.ALLOW_EXECUTION;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.CLIENT_MAPPINGS_CLUSTER_NAME;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.DEFAULT_SFSB_CACHE;
@@ -96,7 +97,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         ModelVersion currentModel = subsystemRegistration.getCurrentSubsystemVersion();
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(currentModel);
 
-        registerTransformers_8_0_0(chainedBuilder.createBuilder(currentModel, VERSION_8_0_0.getVersion()));
+        registerTransformers_9_0_0(chainedBuilder.createBuilder(currentModel, VERSION_9_0_0.getVersion()));
+        registerTransformers_8_0_0(chainedBuilder.createBuilder(VERSION_9_0_0.getVersion(), VERSION_8_0_0.getVersion()));
         registerTransformers_7_0_0(chainedBuilder.createBuilder(VERSION_8_0_0.getVersion(), VERSION_7_0_0.getVersion()));
         registerTransformers_6_0_0(chainedBuilder.createBuilder(VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion()));
         registerTransformers_5_0_0(chainedBuilder.createBuilder(VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion()));
@@ -106,7 +108,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         registerTransformers_1_2_1(chainedBuilder.createBuilder(VERSION_1_3_0.getVersion(), VERSION_1_2_1.getVersion()));
 
         chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[] {
-                VERSION_8_0_0.getVersion(), VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion(),
+                VERSION_9_0_0.getVersion(), VERSION_8_0_0.getVersion(), VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion(),
                 VERSION_4_0_0.getVersion(), VERSION_3_0_0.getVersion(), VERSION_1_3_0.getVersion(), VERSION_1_2_1.getVersion()});
     }
 
@@ -308,6 +310,46 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
     /*
      * Transformers for changes in model version 9.0.0
      */
+    private static void registerTransformers_9_0_0(ResourceTransformationDescriptionBuilder subsystemBuilder) {
+        // Reject ejb3/striped-max-bean-instance-pool
+        subsystemBuilder.rejectChildResource(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL_PATH);
+
+        // Reject strict-max-bean-instance-pool adaptive-sizing, unless it has its default value
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING)
+                .end();
+
+        // Reject cache max-size
+        subsystemBuilder.addChildResource(PathElement.pathElement(EJB3SubsystemModel.CACHE))
+                .getAttributeBuilder()
+                .addRejectCheck(RejectAttributeChecker.DEFINED, CacheFactoryResourceDefinition.MAX_SIZE)
+                .end();
+
+        ResourceTransformationDescriptionBuilder timerService = subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+
+        // Reject timer-service scheduler, unless it has its default value
+        timerService.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, TimerServiceResourceDefinition.SCHEDULER)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.SCHEDULER)
+                .end();
+
+        // Reject file-data-store journal, unless it has its default value
+        timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, FileDataStoreResourceDefinition.JOURNAL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.JOURNAL)
+                .end();
+
+        // Reject database-data-store incremental-refresh, unless it has its default value
+        timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH)
+                .end();
+    }
+
     private static void registerTransformers_8_0_0(ResourceTransformationDescriptionBuilder subsystemBuilder) {
         // Replaced <remote connector-ref="<connector>"/> with <remote connectors="<list of connectors>"/>
         // Both cannot be present. If connectors list > 1, reject; if connectors == 1, convert.
@@ -57,7 +57,9 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final ModelNode relativeToNode = FileDataStoreResourceDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
 
-        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo);
+        final boolean journal = FileDataStoreResourceDefinition.JOURNAL.resolveModelAttribute(context, model).asBoolean();
+
+        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo, journal);
 
         // add the TimerPersistence instance
         final CapabilityServiceTarget serviceTarget = context.getCapabilityServiceTarget();
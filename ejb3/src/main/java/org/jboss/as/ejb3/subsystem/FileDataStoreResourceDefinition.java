@@ -37,6 +37,7 @@ import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.controller.services.path.ResolvePathHandler;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -64,9 +65,16 @@ public class FileDataStoreResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
                     .build();
 
+    public static final SimpleAttributeDefinition JOURNAL =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.JOURNAL, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
     private final PathManager pathManager;
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { PATH, RELATIVE_TO };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { PATH, RELATIVE_TO, JOURNAL };
     private static final FileDataStoreAdd ADD_HANDLER = new FileDataStoreAdd(ATTRIBUTES);
 
     public FileDataStoreResourceDefinition(final PathManager pathManager) {
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.as.ejb3.pool.strictmax.AdaptivePoolSizer;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the decisions of the {@link AdaptivePoolSizer} of a strict-max-bean-instance-pool.
+ */
+public class StrictMaxPoolAdaptiveSizingReadHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+
+        final ServiceName serviceName = context.getCapabilityServiceName(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName, StrictMaxPoolConfigService.class);
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // the attribute is undefined until the pool configuration is installed
+            return;
+        }
+        final AdaptivePoolSizer sizer = ((StrictMaxPoolConfigService) controller.getService()).getValue().getAdaptivePoolSizer();
+        if (EJB3SubsystemModel.ADAPTIVE_GROW_COUNT.equals(attributeName)) {
+            context.getResult().set(sizer.getGrowCount());
+        } else if (EJB3SubsystemModel.ADAPTIVE_SHRINK_COUNT.equals(attributeName)) {
+            context.getResult().set(sizer.getShrinkCount());
+        } else if (EJB3SubsystemModel.ADAPTIVE_CURRENT_SIZE.equals(attributeName)) {
+            context.getResult().set(sizer.getCurrentSize());
+        }
+    }
+}
@@ -39,7 +39,7 @@ import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
 import org.jboss.dmr.ModelNode;
 
 /**
- * Adds a strict-max-pool to the EJB3 subsystem's bean-instance-pools. The {#performRuntime runtime action}
+ * Adds a strict-max-pool or a striped-max-pool to the EJB3 subsystem's bean-instance-pools. The {#performRuntime runtime action}
  * will create and install a {@link org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService}
  * <p/>
  * User: Jaikiran Pai
@@ -48,8 +48,18 @@ public class StrictMaxPoolAdd extends AbstractAddStepHandler {
 
     static final String IO_MAX_THREADS_RUNTIME_CAPABILITY_NAME = "org.wildfly.io.max-threads";
 
-    StrictMaxPoolAdd(AttributeDefinition... attributes) {
+    /**
+     * Creates the configuration of the pools created by the added resource.
+     */
+    interface PoolConfigFactory {
+        StrictMaxPoolConfig create(String poolName, int maxSize, long timeout, TimeUnit timeUnit);
+    }
+
+    private final PoolConfigFactory factory;
+
+    StrictMaxPoolAdd(PoolConfigFactory factory, AttributeDefinition... attributes) {
         super(attributes);
+        this.factory = factory;
     }
 
     @Override
@@ -60,9 +70,12 @@ public class StrictMaxPoolAdd extends AbstractAddStepHandler {
         final Derive derive = StrictMaxPoolResourceDefinition.parseDeriveSize(context, strictMaxPoolModel);
         final long timeout = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.resolveModelAttribute(context, strictMaxPoolModel).asLong();
         final String unit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, strictMaxPoolModel).asString();
+        final boolean adaptive = StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING.resolveModelAttribute(context, strictMaxPoolModel).asBoolean();
 
         // create and install the service
-        final StrictMaxPoolConfigService poolConfigService = new StrictMaxPoolConfigService(poolName, maxPoolSize, derive, timeout, TimeUnit.valueOf(unit));
+        final StrictMaxPoolConfig poolConfig = this.factory.create(poolName, maxPoolSize, timeout, TimeUnit.valueOf(unit));
+        poolConfig.setAdaptive(adaptive);
+        final StrictMaxPoolConfigService poolConfigService = new StrictMaxPoolConfigService(poolConfig, derive);
 
         CapabilityServiceTarget capabilityServiceTarget = context.getCapabilityServiceTarget();
         CapabilityServiceBuilder<StrictMaxPoolConfig> capabilityServiceBuilder = capabilityServiceTarget.addCapability(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY, poolConfigService);
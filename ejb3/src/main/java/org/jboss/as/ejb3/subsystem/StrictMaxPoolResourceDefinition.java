@@ -30,6 +30,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -44,6 +45,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.component.pool.StripedMaxPoolConfig;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -93,14 +95,37 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .setAllowExpression(true)
                     .build();
+    public static final SimpleAttributeDefinition ADAPTIVE_SIZING =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ADAPTIVE_SIZING, ModelType.BOOLEAN, true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
     public static final SimpleAttributeDefinition DERIVED_SIZE =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DERIVED_SIZE, ModelType.INT, true)
                     .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
                     .build();
+    public static final SimpleAttributeDefinition ADAPTIVE_GROW_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ADAPTIVE_GROW_COUNT, ModelType.LONG, true)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+    public static final SimpleAttributeDefinition ADAPTIVE_SHRINK_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ADAPTIVE_SHRINK_COUNT, ModelType.LONG, true)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+    public static final SimpleAttributeDefinition ADAPTIVE_CURRENT_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ADAPTIVE_CURRENT_SIZE, ModelType.INT, true)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
 
     private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
-    private static final StrictMaxPoolAdd ADD_HANDLER = new StrictMaxPoolAdd(ATTRIBUTES);
-    public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition();
+    private static final AttributeDefinition[] STRICT_ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT, ADAPTIVE_SIZING };
+    private static final AttributeDefinition[] ADAPTIVE_SIZING_RUNTIME_ATTRIBUTES = new AttributeDefinition[] { ADAPTIVE_GROW_COUNT, ADAPTIVE_SHRINK_COUNT, ADAPTIVE_CURRENT_SIZE };
+    public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH, StrictMaxPoolConfig::new, STRICT_ATTRIBUTES);
+    /**
+     * A strict max pool whose permits and instances are striped to reduce contention between concurrent invocations.
+     */
+    public static final StrictMaxPoolResourceDefinition STRIPED_INSTANCE = new StrictMaxPoolResourceDefinition(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL_PATH, StripedMaxPoolConfig::new, ATTRIBUTES);
 
     private static final String NONE_VALUE = "none";
     private static final String FROM_WORKER_POOLS_VALUE = "from-worker-pools";
@@ -148,22 +173,35 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
         return Derive.NONE;
     }
 
-    private StrictMaxPoolResourceDefinition() {
-        super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL))
-                .setAddHandler(ADD_HANDLER)
-                .setRemoveHandler(new ServiceRemoveStepHandler(null, ADD_HANDLER, STRICT_MAX_POOL_CONFIG_CAPABILITY))
+    private final AttributeDefinition[] attributes;
+
+    private StrictMaxPoolResourceDefinition(PathElement path, StrictMaxPoolAdd.PoolConfigFactory factory, AttributeDefinition[] attributes) {
+        this(path, new StrictMaxPoolAdd(factory, attributes), attributes);
+    }
+
+    private StrictMaxPoolResourceDefinition(PathElement path, StrictMaxPoolAdd addHandler, AttributeDefinition[] attributes) {
+        super(new SimpleResourceDefinition.Parameters(path, EJB3Extension.getResourceDescriptionResolver(path.getKey()))
+                .setAddHandler(addHandler)
+                .setRemoveHandler(new ServiceRemoveStepHandler(null, addHandler, STRICT_MAX_POOL_CONFIG_CAPABILITY))
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_NONE)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_RESOURCE_SERVICES)
                 .setCapabilities(STRICT_MAX_POOL_CONFIG_CAPABILITY));
+        this.attributes = attributes;
     }
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
-        OperationStepHandler osh = new StrictMaxPoolWriteHandler(ATTRIBUTES);
-        for (AttributeDefinition attr : ATTRIBUTES) {
+        OperationStepHandler osh = new StrictMaxPoolWriteHandler(this.attributes);
+        for (AttributeDefinition attr : this.attributes) {
             resourceRegistration.registerReadWriteAttribute(attr, null, osh);
         }
         resourceRegistration.registerReadOnlyAttribute(DERIVED_SIZE, new StrictMaxPoolDerivedSizeReadHandler());
+        if (this.attributes == STRICT_ATTRIBUTES) {
+            OperationStepHandler adaptiveSizingHandler = new StrictMaxPoolAdaptiveSizingReadHandler();
+            for (AttributeDefinition attr : ADAPTIVE_SIZING_RUNTIME_ATTRIBUTES) {
+                resourceRegistration.registerReadOnlyAttribute(attr, adaptiveSizingHandler);
+            }
+        }
     }
 
 }
@@ -79,6 +79,9 @@ class StrictMaxPoolWriteHandler extends AbstractWriteAttributeHandler<Void> {
                 } else if (StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.getName().equals(attributeName)) {
                     String timeoutUnit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, model).asString();
                     smpc.setTimeoutUnit(TimeUnit.valueOf(timeoutUnit));
+                } else if (StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING.getName().equals(attributeName)) {
+                    boolean adaptive = StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING.resolveModelAttribute(context, model).asBoolean();
+                    smpc.setAdaptive(adaptive);
                 }
             }
         }
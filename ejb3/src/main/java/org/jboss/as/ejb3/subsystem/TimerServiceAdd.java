@@ -30,10 +30,15 @@ import java.util.concurrent.Executor;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.capability.CapabilityServiceBuilder;
 import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingProcessor;
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
+import org.jboss.as.ejb3.subsystem.TimerServiceResourceDefinition.SchedulerType;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.UtilTimerScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -43,6 +48,7 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
 
 /**
  * Adds the timer service
@@ -53,6 +59,11 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
     public static final TimerServiceAdd INSTANCE = new TimerServiceAdd();
 
+    /**
+     * The duration of a tick of the timing wheel, which bounds how late a timeout may be executed
+     */
+    private static final long TIMING_WHEEL_TICK_MILLIS = 10;
+
     private TimerServiceAdd() {
         super(TimerServiceResourceDefinition.ATTRIBUTES);
     }
@@ -62,6 +73,7 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
         final String defaultDataStore = TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asString();
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
+        final SchedulerType schedulerType = SchedulerType.fromValue(TimerServiceResourceDefinition.SCHEDULER.resolveModelAttribute(context, model).asString());
 
         final ServiceName threadPoolServiceName = context.getCapabilityServiceName(TimerServiceResourceDefinition.THREAD_POOL_CAPABILITY_NAME, threadPoolName, Executor.class);
 
@@ -77,6 +89,13 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
         }, OperationContext.Stage.RUNTIME);
 
         context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService()).install();
+
+        final TimerSchedulerService schedulerService = new TimerSchedulerService(schedulerType);
+        final CapabilityServiceBuilder<TimerScheduler> schedulerBuilder = context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SCHEDULER_CAPABILITY, schedulerService);
+        if (schedulerType == SchedulerType.TIMER) {
+            schedulerBuilder.addCapabilityRequirement(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY_NAME, Timer.class, schedulerService.timer);
+        }
+        schedulerBuilder.install();
     }
 
     private static final class TimerValueService implements Service<Timer> {
@@ -99,4 +118,39 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             return timer;
         }
     }
+
+    private static final class TimerSchedulerService implements Service<TimerScheduler> {
+
+        private final SchedulerType type;
+        private final InjectedValue<Timer> timer = new InjectedValue<>();
+        private TimerScheduler scheduler;
+
+        TimerSchedulerService(final SchedulerType type) {
+            this.type = type;
+        }
+
+        @Override
+        public synchronized void start(final StartContext context) throws StartException {
+            if (type == SchedulerType.TIMING_WHEEL) {
+                final TimingWheelScheduler wheel = new TimingWheelScheduler("EJB timer service timing wheel", TIMING_WHEEL_TICK_MILLIS);
+                wheel.start();
+                scheduler = wheel;
+            } else {
+                scheduler = new UtilTimerScheduler(timer.getValue());
+            }
+        }
+
+        @Override
+        public synchronized void stop(final StopContext context) {
+            if (scheduler instanceof TimingWheelScheduler) {
+                ((TimingWheelScheduler) scheduler).stop();
+            }
+            scheduler = null;
+        }
+
+        @Override
+        public synchronized TimerScheduler getValue() throws IllegalStateException, IllegalArgumentException {
+            return scheduler;
+        }
+    }
 }
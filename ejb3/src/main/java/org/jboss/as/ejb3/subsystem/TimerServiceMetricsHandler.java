@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the scheduling metrics of the running {@link TimerScheduler}.
+ */
+public class TimerServiceMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+
+        final ServiceName serviceName = context.getCapabilityServiceName(TimerServiceResourceDefinition.TIMER_SCHEDULER_CAPABILITY_NAME, TimerScheduler.class);
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // the metric takes its undefined value until the scheduler is started
+            return;
+        }
+        final TimerScheduler scheduler = (TimerScheduler) controller.getValue();
+        if (EJB3SubsystemModel.PENDING_TIMEOUTS.equals(attributeName)) {
+            context.getResult().set(scheduler.getPendingTimeouts());
+        } else if (EJB3SubsystemModel.TIMEOUT_LAG_50TH_PERCENTILE.equals(attributeName)) {
+            context.getResult().set(scheduler.getTimeoutLag(50));
+        } else if (EJB3SubsystemModel.TIMEOUT_LAG_95TH_PERCENTILE.equals(attributeName)) {
+            context.getResult().set(scheduler.getTimeoutLag(95));
+        } else if (EJB3SubsystemModel.TIMEOUT_LAG_99TH_PERCENTILE.equals(attributeName)) {
+            context.getResult().set(scheduler.getTimeoutLag(99));
+        }
+    }
+}
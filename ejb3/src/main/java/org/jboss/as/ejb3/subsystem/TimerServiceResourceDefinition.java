@@ -29,11 +29,15 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
 import org.jboss.as.threads.ThreadsServices;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 import java.util.concurrent.ExecutorService;
@@ -54,6 +58,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
     public static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY =
             RuntimeCapability.Builder.of(TIMER_SERVICE_CAPABILITY_NAME, java.util.Timer.class).build();
 
+    public static final String TIMER_SCHEDULER_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service.scheduler";
+    public static final RuntimeCapability<Void> TIMER_SCHEDULER_CAPABILITY =
+            RuntimeCapability.Builder.of(TIMER_SCHEDULER_CAPABILITY_NAME, TimerScheduler.class).build();
+
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING, false)
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
@@ -68,7 +76,26 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     .setCapabilityReference(DATASTORE_CAPABILITY_NAME, TIMER_SERVICE_CAPABILITY)
                     .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE };
+    static final SimpleAttributeDefinition SCHEDULER =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.SCHEDULER, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setValidator(EnumValidator.create(SchedulerType.class, true, true))
+                    .setDefaultValue(new ModelNode(SchedulerType.TIMER.toString()))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition PENDING_TIMEOUTS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.PENDING_TIMEOUTS, ModelType.LONG)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition TIMEOUT_LAG_50TH_PERCENTILE = createTimeoutLagMetric(EJB3SubsystemModel.TIMEOUT_LAG_50TH_PERCENTILE);
+    static final SimpleAttributeDefinition TIMEOUT_LAG_95TH_PERCENTILE = createTimeoutLagMetric(EJB3SubsystemModel.TIMEOUT_LAG_95TH_PERCENTILE);
+    static final SimpleAttributeDefinition TIMEOUT_LAG_99TH_PERCENTILE = createTimeoutLagMetric(EJB3SubsystemModel.TIMEOUT_LAG_99TH_PERCENTILE);
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, SCHEDULER };
+    static final AttributeDefinition[] METRICS = new AttributeDefinition[] { PENDING_TIMEOUTS, TIMEOUT_LAG_50TH_PERCENTILE, TIMEOUT_LAG_95TH_PERCENTILE, TIMEOUT_LAG_99TH_PERCENTILE };
 
     private final PathManager pathManager;
 
@@ -78,7 +105,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
-                .setCapabilities(TIMER_SERVICE_CAPABILITY));
+                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMER_SCHEDULER_CAPABILITY));
         this.pathManager = pathManager;
     }
 
@@ -87,6 +114,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        final TimerServiceMetricsHandler metricsHandler = new TimerServiceMetricsHandler();
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, metricsHandler);
+        }
     }
 
     @Override
@@ -95,4 +126,46 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
     }
 
+    private static SimpleAttributeDefinition createTimeoutLagMetric(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    /**
+     * The implementations of {@link TimerScheduler} that schedule the timeouts of the timer services.
+     */
+    enum SchedulerType {
+        /**
+         * The tasks are scheduled on the shared {@link java.util.Timer}
+         */
+        TIMER("timer"),
+        /**
+         * The tasks are scheduled on a {@link org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler}
+         */
+        TIMING_WHEEL("timing-wheel");
+
+        private final String value;
+
+        SchedulerType(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        static SchedulerType fromValue(String value) {
+            for (SchedulerType type : values()) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            return valueOf(value);
+        }
+    }
+
 }
@@ -34,6 +34,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -85,6 +86,10 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
+    private static final AttributeDefinition EXECUTION_TIME_P50 = createExecutionTimePercentile(50);
+    private static final AttributeDefinition EXECUTION_TIME_P95 = createExecutionTimePercentile(95);
+    private static final AttributeDefinition EXECUTION_TIME_P99 = createExecutionTimePercentile(99);
+
     private static final AttributeDefinition INVOCATIONS = new SimpleAttributeDefinitionBuilder("invocations", ModelType.LONG)
             .setUndefinedMetricValue(ModelNode.ZERO)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
@@ -139,6 +144,16 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition MEAN_BEAN_GROUP_SIZE = new SimpleAttributeDefinitionBuilder("mean-bean-group-size", ModelType.DOUBLE)
+            .setUndefinedMetricValue(new ModelNode(0d))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition MATERIALIZED_BEAN_RATIO = new SimpleAttributeDefinitionBuilder("materialized-bean-ratio", ModelType.DOUBLE)
+            .setUndefinedMetricValue(new ModelNode(0d))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -212,6 +227,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     context.getResult().set(((StatefulSessionComponent) component).getCache().getTotalSize());
                 }
             });
+            resourceRegistration.registerMetric(MEAN_BEAN_GROUP_SIZE, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getMeanBeanGroupSize());
+                }
+            });
+            resourceRegistration.registerMetric(MATERIALIZED_BEAN_RATIO, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getMaterializedBeanRatio());
+                }
+            });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
@@ -220,6 +247,9 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getExecutionTime());
             }
         });
+        registerExecutionTimePercentile(resourceRegistration, EXECUTION_TIME_P50, 50);
+        registerExecutionTimePercentile(resourceRegistration, EXECUTION_TIME_P95, 95);
+        registerExecutionTimePercentile(resourceRegistration, EXECUTION_TIME_P99, 99);
         resourceRegistration.registerMetric(INVOCATIONS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
@@ -254,6 +284,23 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         });
     }
 
+    private static AttributeDefinition createExecutionTimePercentile(final int percentile) {
+        return new SimpleAttributeDefinitionBuilder("execution-time-p" + percentile, ModelType.DOUBLE)
+                .setUndefinedMetricValue(new ModelNode(0D))
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    private static void registerExecutionTimePercentile(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition attribute, final double percentile) {
+        resourceRegistration.registerMetric(attribute, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(component.getInvocationMetrics().getExecutionTimePercentile(percentile));
+            }
+        });
+    }
+
     /* (non-Javadoc)
      * @see org.jboss.as.controller.SimpleResourceDefinition#registerChildren(org.jboss.as.controller.registry.ManagementResourceRegistration)
      */
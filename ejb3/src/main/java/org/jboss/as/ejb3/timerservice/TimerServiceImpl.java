@@ -38,6 +38,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -63,6 +64,7 @@ import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.subsystem.deployment.TimerServiceResource;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
 import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
 import org.jboss.as.ejb3.timerservice.spi.ScheduleTimer;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 import org.jboss.invocation.InterceptorContext;
@@ -106,7 +108,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimerScheduler> timerSchedulerInjectedValue = new InjectedValue<TimerScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -123,12 +125,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * All timers which were created by this {@link TimerService}
      */
-    private final Map<String, TimerImpl> timers = new HashMap<String, TimerImpl>();
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds the task of each of the timers that have been scheduled
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final Map<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -216,7 +218,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         started = false;
         IoUtils.safeClose(listenerHandle);
         listenerHandle = null;
-        timerInjectedValue.getValue().purge(); //WFLY-3823
+        timerSchedulerInjectedValue.getValue().purge(); //WFLY-3823
     }
 
 
@@ -405,13 +407,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         Object pk = currentPrimaryKey();
         final Set<Timer> activeTimers = new HashSet<Timer>();
         // get all active timers for this timerservice
-        synchronized (this.timers) {
-            for (final TimerImpl timer : this.timers.values()) {
-                // Less disruptive way to get WFLY-8457 fixed.
-                if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
-                    if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
-                        activeTimers.add(timer);
-                    }
+        for (final TimerImpl timer : this.timers.values()) {
+            // Less disruptive way to get WFLY-8457 fixed.
+            if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
+                if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
+                    activeTimers.add(timer);
                 }
             }
         }
@@ -571,9 +571,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     }
 
     public TimerImpl getTimer(final String timerId) {
-        synchronized (this.timers) {
-            return this.timers.get(timerId);
-        }
+        return this.timers.get(timerId);
     }
 
     /**
@@ -592,10 +590,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      */
     public TimerImpl getTimer(TimerHandle handle) {
         TimerHandleImpl timerHandle = (TimerHandleImpl) handle;
-        TimerImpl timer = null;
-        synchronized (this.timers) {
-            timer = this.timers.get(timerHandle.getId());
-        }
+        TimerImpl timer = this.timers.get(timerHandle.getId());
         if (timer != null) {
             return timer;
         }
@@ -912,64 +907,56 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
     protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
-                //this timer has been cancelled by another thread. We just return
-                return;
-            }
-
-            Date nextExpiration = timer.getNextExpiration();
-            if (nextExpiration == null) {
+        Date nextExpiration = timer.getNextExpiration();
+        if (nextExpiration == null) {
+            if (newTimer || scheduledTimerFutures.containsKey(timer.getId())) {
                 EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
-            }
-            // create the timer task
-            final TimerTask<?> timerTask = timer.getTimerTask();
-            // find out how long is it away from now
-            long delay = nextExpiration.getTime() - System.currentTimeMillis();
-            // if in past, then trigger immediately
-            if (delay < 0) {
-                delay = 0;
-            }
-            long intervalDuration = timer.getInterval();
-            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
-            if (intervalDuration > 0) {
-                EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
-                        timer, delay, intervalDuration);
-                // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-            } else {
-                EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
-                // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-
             }
+            return;
+        }
+        // create the timer task
+        final TimerTask<?> timerTask = timer.getTimerTask();
+        final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
+        if (newTimer) {
+            this.scheduledTimerFutures.put(timer.getId(), task);
+        } else if (this.scheduledTimerFutures.replace(timer.getId(), task) == null) {
+            //this timer has been cancelled by another thread. We just return
+            return;
+        }
+        // find out how long is it away from now
+        long delay = nextExpiration.getTime() - System.currentTimeMillis();
+        // if in past, then trigger immediately
+        if (delay < 0) {
+            delay = 0;
+        }
+        long intervalDuration = timer.getInterval();
+        if (intervalDuration > 0) {
+            EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
+                    timer, delay, intervalDuration);
+            // schedule the task
+            task.setTimeout(this.timerSchedulerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration));
+        } else {
+            EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
+            // schedule the task
+            task.setTimeout(this.timerSchedulerInjectedValue.getValue().schedule(task, delay));
         }
     }
 
     /**
-     * Cancels any scheduled {@link java.util.concurrent.Future} corresponding to the passed <code>timer</code>
+     * Cancels any scheduled task corresponding to the passed <code>timer</code>
      *
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        final Task task = this.scheduledTimerFutures.remove(timer.getId());
+        if (task != null) {
+            task.cancel();
         }
     }
 
 
     public boolean isScheduled(final String tid) {
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
     }
 
     /**
@@ -1137,8 +1124,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
-        return timerInjectedValue;
+    public InjectedValue<TimerScheduler> getTimerSchedulerInjectedValue() {
+        return timerSchedulerInjectedValue;
     }
 
     public InjectedValue<TimerPersistence> getTimerPersistence() {
@@ -1162,21 +1149,16 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     }
 
     private boolean registerTimerResource(final TimerImpl timer) {
-        synchronized (this.timers) {
-            if (this.timers.containsKey(timer.getId())) {
-                return false;
-            }
-            this.timers.put(timer.getId(), timer);
-            this.resource.timerCreated(timer.getId());
-            return true;
+        if (this.timers.putIfAbsent(timer.getId(), timer) != null) {
+            return false;
         }
+        this.resource.timerCreated(timer.getId());
+        return true;
     }
 
     private void unregisterTimerResource(final String timerId) {
-        synchronized (this.timers) {
-            this.timers.remove(timerId);
-            this.resource.timerRemoved(timerId);
-        }
+        this.timers.remove(timerId);
+        this.resource.timerRemoved(timerId);
     }
 
     /**
@@ -1266,7 +1248,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements Runnable {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
@@ -1308,7 +1290,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                     if (delta == 0L) {
                         delta = nextExpirationDelay / (1L + MAX_RETRY.longValue());
                     }
-                    timerInjectedValue
+                    timerSchedulerInjectedValue
                             .getValue()
                             .schedule(new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
                 } else {
@@ -1318,10 +1300,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        private volatile TimerScheduler.Timeout timeout;
+        private volatile boolean cancelled;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
@@ -1333,8 +1317,19 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             this.controlPoint = controlPoint;
         }
 
+        void setTimeout(final TimerScheduler.Timeout timeout) {
+            this.timeout = timeout;
+            // the timer may have been cancelled by another thread while it was being scheduled
+            if (cancelled) {
+                timeout.cancel();
+            }
+        }
+
         @Override
         public void run() {
+            if (cancelled) {
+                return;
+            }
             final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
             if (executor != null) {
                 if (controlPoint == null) {
@@ -1354,10 +1349,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
-        public boolean cancel() {
+        void cancel() {
+            cancelled = true;
             delegate.cancel();
-            return super.cancel();
+            final TimerScheduler.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
         }
     }
 
@@ -52,7 +52,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import javax.sql.DataSource;
@@ -60,6 +62,8 @@ import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
 import javax.transaction.NotSupportedException;
 import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
 
@@ -87,6 +91,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.wildfly.transaction.client.ContextTransactionManager;
+import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
 
 /**
  * <p>
@@ -119,6 +124,16 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether a refresh only loads the timers changed since the previous refresh*/
+    private volatile boolean incrementalRefresh;
+    /** Flag whether the timer table has the LAST_MODIFIED column, which is then stamped by every write, whether or not this node refreshes incrementally*/
+    private volatile boolean lastModifiedColumn;
+    /** Number of timer rows written since the last refresh*/
+    private final AtomicLong rowsWritten = new AtomicLong();
+    /** Number of timer rows read by the last refresh*/
+    private volatile long refreshRowsRead;
+    /** Number of timer rows written between the last two refreshes*/
+    private volatile long refreshRowsWritten;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
@@ -134,17 +149,31 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String UPDATE_TIMER_INCREMENTAL = "update-timer-incremental";
+    private static final String UPDATE_RUNNING_INCREMENTAL = "update-running-incremental";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
+    private static final String ADD_LAST_MODIFIED = "add-last-modified";
+    /** Minimum time in millis an incremental refresh looks back beyond the latest modification seen by the previous refresh, covering the precision of the database clock*/
+    private static final long MINIMUM_REFRESH_OVERLAP = 1000;
+    /** Number of incremental refreshes after which the timer ids are read to detect removed timers*/
+    private static final int RECONCILIATION_INTERVAL = 10;
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
     private static final Pattern MSSQL_PATTERN = Pattern.compile("(sqlserver|microsoft|mssql)");
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, false);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, boolean incrementalRefresh) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
     }
 
     @Override
@@ -168,6 +197,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
+        lastModifiedColumn = checkLastModifiedColumn();
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
             timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
@@ -314,6 +344,40 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Checks whether the timer table has the LAST_MODIFIED column needed by incremental refreshes.
+     * A table created by an older version is not altered; instead incremental refresh is disabled, and the statement
+     * adding the column is logged, so that it can be applied as a migration step.
+     * If the column exists, all writes stamp it, so that nodes sharing the table can refresh incrementally even if this one does not.
+     *
+     * @return true, if the timer table has the LAST_MODIFIED column
+     */
+    private boolean checkLastModifiedColumn() {
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            preparedStatement = connection.prepareStatement(sql(LOAD_CHANGED_TIMERS));
+            preparedStatement.setString(1, "NON-EXISTENT");
+            preparedStatement.setString(2, "NON-EXISTENT");
+            preparedStatement.setTimestamp(3, new Timestamp(0L));
+            resultSet = preparedStatement.executeQuery();
+            return true;
+        } catch (SQLException e) {
+            //the query failed, assume it is because the column does not exist
+            if (incrementalRefresh) {
+                EjbLogger.EJB3_TIMER_LOGGER.incrementalTimerRefreshDisabled(sql(ADD_LAST_MODIFIED), e);
+                incrementalRefresh = false;
+            }
+            return false;
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(connection);
+        }
+    }
+
     private String sql(final String key) {
         if (database != null) {
             String result = sql.getProperty(key + "." + database);
@@ -333,39 +397,27 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             }
         }
 
-        String createTimer = sql(CREATE_TIMER);
-        Connection connection = null;
-        PreparedStatement statement = null;
         try {
             synchronized (this) {
                 knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
             }
-            connection = dataSource.getConnection();
-            statement = connection.prepareStatement(createTimer);
-            statementParameters(timerEntity, statement);
-            statement.execute();
+            // the LAST_MODIFIED column defaults to the current time of the database
+            executeUpdate(sql(CREATE_TIMER), statement -> statementParameters(timerEntity, statement));
         } catch (SQLException e) {
             throw new RuntimeException(e);
-        } finally {
-            safeClose(statement);
-            safeClose(connection);
         }
     }
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
-        Connection connection = null;
-        PreparedStatement statement = null;
         try {
-            connection = dataSource.getConnection();
             if (timerEntity.getState() == TimerState.CANCELED ||
                     timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
-                statement.execute();
+                executeUpdate(sql(DELETE_TIMER), statement -> {
+                    statement.setString(1, timerEntity.getTimedObjectId());
+                    statement.setString(2, timerEntity.getId());
+                    statement.setString(3, partition);
+                });
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
                 }
@@ -373,27 +425,63 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
                 }
-                String updateTimer = sql(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
+                executeUpdate(sql(lastModifiedColumn ? UPDATE_TIMER_INCREMENTAL : UPDATE_TIMER), statement -> {
+                    statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+                    statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+                    statement.setString(3, timerEntity.getState().name());
+                    setNodeName(timerEntity.getState(), statement, 4);
+                    int index = 5;
+                    // WHERE CLAUSE
+                    statement.setString(index++, timerEntity.getTimedObjectId());
+                    statement.setString(index++, timerEntity.getId());
+                    statement.setString(index++, partition);
+                    statement.setString(index, nodeName);   // only persist if this node or empty
+                });
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Executes a statement writing a timer row. In incremental refresh mode the statements issued by an active
+     * transaction are collected into JDBC batches which are executed before the transaction completes, so that the
+     * modification time set by the database is close to the commit time.
+     */
+    private void executeUpdate(final String sql, final StatementBinder binder) throws SQLException {
+        final TransactionBatch batch = incrementalRefresh ? getTransactionBatch() : null;
+        if (batch != null) {
+            binder.bind(batch.prepareStatement(sql));
+            batch.addBatch();
+            return;
+        }
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(sql);
+            binder.bind(statement);
+            rowsWritten.addAndGet(statement.executeUpdate());
         } finally {
             safeClose(statement);
             safeClose(connection);
         }
     }
 
+    private TransactionBatch getTransactionBatch() {
+        final ContextTransactionSynchronizationRegistry registry = ContextTransactionSynchronizationRegistry.getInstance();
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return null;
+        }
+        TransactionBatch batch = (TransactionBatch) registry.getResource(this);
+        if (batch == null) {
+            batch = new TransactionBatch();
+            registry.registerInterposedSynchronization(batch);
+            registry.putResource(this, batch);
+        }
+        return batch;
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -401,7 +489,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             //timers never execute on this node
             return false;
         }
-        String loadTimer = sql(UPDATE_RUNNING);
+        String loadTimer = sql(lastModifiedColumn ? UPDATE_RUNNING_INCREMENTAL : UPDATE_RUNNING);
         Connection connection = null;
         PreparedStatement statement = null;
         try {
@@ -411,13 +499,14 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 statement = connection.prepareStatement(loadTimer);
                 statement.setString(1, TimerState.IN_TIMEOUT.name());
                 setNodeName(TimerState.IN_TIMEOUT, statement, 2);
-                statement.setString(3, timer.getId());
-                statement.setString(4, TimerState.IN_TIMEOUT.name());
-                statement.setString(5, TimerState.RETRY_TIMEOUT.name());
+                int index = 3;
+                statement.setString(index++, timer.getId());
+                statement.setString(index++, TimerState.IN_TIMEOUT.name());
+                statement.setString(index++, TimerState.RETRY_TIMEOUT.name());
                 if (timer.getNextExpiration() == null) {
-                    statement.setTimestamp(6, null);
+                    statement.setTimestamp(index, null);
                 } else {
-                    statement.setTimestamp(6, timestamp(timer.getNextExpiration()));
+                    statement.setTimestamp(index, timestamp(timer.getNextExpiration()));
                 }
             } catch (SQLException e) {
                 try {
@@ -432,6 +521,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
             int affected = statement.executeUpdate();
             tm.commit();
+            rowsWritten.addAndGet(affected);
             return affected == 1;
         } catch (SQLException | SystemException | SecurityException | IllegalStateException | RollbackException | HeuristicMixedException | HeuristicRollbackException e) {
             // failed to update the DB
@@ -553,6 +643,20 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         refreshTask.run();
     }
 
+    /**
+     * @return the number of timer rows read from the database by the last refresh
+     */
+    public long getRefreshRowsRead() {
+        return refreshRowsRead;
+    }
+
+    /**
+     * @return the number of timer rows written to the database by this node between the last two refreshes
+     */
+    public long getRefreshRowsWritten() {
+        return refreshRowsWritten;
+    }
+
     private Holder timerFromResult(final ResultSet resultSet, final TimerServiceImpl timerService) throws SQLException {
         boolean calendarTimer = resultSet.getBoolean(24);
         final String nodeName = resultSet.getString(25);
@@ -817,6 +921,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        /** State of the incremental refresh of each timed object, only accessed by the running refresh*/
+        private final Map<String, RefreshState> refreshStates = new HashMap<>();
 
         @Override
         public void run() {
@@ -826,87 +932,292 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     synchronized (DatabaseTimerPersistence.this) {
                         timedObjects = new HashSet<>(knownTimerIds.keySet());
                     }
+                    refreshStates.keySet().retainAll(timedObjects);
+                    long rowsRead = 0;
                     for (String timedObjectId : timedObjects) {
                         TimerChangeListener listener = changeListeners.get(timedObjectId);
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
                         try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
-                            }
-
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
+                            if (incrementalRefresh) {
+                                RefreshState state = refreshStates.get(timedObjectId);
+                                if (state == null) {
+                                    state = new RefreshState();
+                                    refreshStates.put(timedObjectId, state);
                                 }
+                                rowsRead += refreshChanged(timedObjectId, listener, state);
+                            } else {
+                                rowsRead += refreshAll(timedObjectId, listener);
                             }
                         } catch (SQLException e) {
+                            // start over with a complete refresh
+                            refreshStates.remove(timedObjectId);
                             EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
+                    refreshRowsRead = rowsRead;
+                    refreshRowsWritten = rowsWritten.getAndSet(0);
                 } finally {
                     running.set(false);
                 }
             }
 
         }
+
+        /**
+         * Loads all timers of the timed object and synchronizes them with the timers in memory.
+         *
+         * @return the number of timer rows read
+         */
+        private long refreshAll(final String timedObjectId, final TimerChangeListener listener) throws SQLException {
+            final Set<String> existing = knownTimers(timedObjectId);
+            String loadTimer = sql(LOAD_ALL_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                long rows = 0;
+                while (resultSet.next()) {
+                    rows++;
+                    refreshTimer(resultSet, timedObjectId, listener, existing);
+                }
+                removeTimers(timedObjectId, listener, existing);
+                return rows;
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Loads the timers of the timed object modified since the latest modification seen by the previous refresh,
+         * less an overlap, and synchronizes them with the timers in memory. The modification times are set by the
+         * database when the rows are written, so they do not depend on the clocks of the nodes. A row only becomes
+         * visible once its transaction commits, which may be up to the maximum transaction duration after it was
+         * written, so the overlap is the default transaction timeout.
+         * The first refresh and every tenth refresh thereafter also read the identifiers of all
+         * timers to detect the timers which have been removed. If a timer unknown to this node has not been returned
+         * as modified, e.g. because it was written without a modification time, all timers are loaded instead.
+         *
+         * @return the number of timer rows read
+         */
+        private long refreshChanged(final String timedObjectId, final TimerChangeListener listener, final RefreshState state) throws SQLException {
+            final Set<String> existing = knownTimers(timedObjectId);
+            final boolean reconcile = state.reconcile();
+            final Set<String> ids = new HashSet<>();
+            final Set<String> unknown = new HashSet<>();
+            long rows = 0;
+            Timestamp lastModified = state.lastModified;
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                if (reconcile) {
+                    statement = connection.prepareStatement(sql(LOAD_TIMER_IDS));
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getString(1));
+                    }
+                    safeClose(resultSet);
+                    safeClose(statement);
+                    unknown.addAll(ids);
+                    unknown.removeAll(existing);
+                }
+
+                statement = connection.prepareStatement(sql(LOAD_CHANGED_TIMERS));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                // look back beyond the latest modification seen to pick up transactions which were committing at that time
+                statement.setTimestamp(3, new Timestamp((lastModified != null) ? lastModified.getTime() - refreshOverlap() : 0L));
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    rows++;
+                    unknown.remove(resultSet.getString(1));
+                    Timestamp modified = resultSet.getTimestamp(26);
+                    if (modified != null && (lastModified == null || modified.after(lastModified))) {
+                        lastModified = modified;
+                    }
+                    refreshTimer(resultSet, timedObjectId, listener, existing);
+                }
+                if (reconcile && unknown.isEmpty()) {
+                    existing.removeAll(ids);
+                    removeTimers(timedObjectId, listener, existing);
+                }
+                state.lastModified = lastModified;
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            return unknown.isEmpty() ? rows : rows + refreshAll(timedObjectId, listener);
+        }
+
+        // The duration a transaction writing a timer row may take to commit, as configured via the default timeout of the transaction subsystem
+        private long refreshOverlap() {
+            return Math.max(TimeUnit.SECONDS.toMillis(ContextTransactionManager.getGlobalDefaultTransactionTimeout()), MINIMUM_REFRESH_OVERLAP);
+        }
+
+        private Set<String> knownTimers(final String timedObjectId) {
+            synchronized (DatabaseTimerPersistence.this) {
+                return new HashSet<>(knownTimerIds.get(timedObjectId));
+            }
+        }
+
+        /**
+         * Adds the timer of the current row if it is not known yet, or synchronizes the timer in memory with it.
+         * The identifier of the timer is removed from the given set of existing timers.
+         */
+        private void refreshTimer(final ResultSet resultSet, final String timedObjectId, final TimerChangeListener listener, final Set<String> existing) throws SQLException {
+            try {
+                String id = resultSet.getString(1);
+                if (!existing.remove(id)) {
+                    final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                    if(holder != null) {
+                        synchronized (DatabaseTimerPersistence.this) {
+                            knownTimerIds.get(timedObjectId).add(id);
+                            listener.timerAdded(holder.timer);
+                        }
+                    }
+                } else {
+                    final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                    if (holder != null) {
+                        TimerImpl oldTimer = listener.getTimerService().getTimer(id);
+                        // if it is already in memory but it is not in sync we have a problem
+                        // remove and add -> the probable cause is db glitch
+                        EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
+                        boolean validDBTimer = valid.contains(holder.timer.getState());
+                        boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
+                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                        if (validMemoryTimer && validDBTimer) {
+                            synchronized (DatabaseTimerPersistence.this) {
+                                knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                                listener.timerSync(oldTimer, holder.timer);
+                            }
+
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+            }
+        }
+
+        /**
+         * Removes the given timers, which no longer exist in the database, from memory.
+         */
+        private void removeTimers(final String timedObjectId, final TimerChangeListener listener, final Set<String> removed) {
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                for (String timer : removed) {
+                    TimerImpl timer1 = listener.getTimerService().getTimer(timer);
+                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                        timers.remove(timer);
+                        listener.timerRemoved(timer);
+                    }
+                }
+            }
+        }
     }
 
+    /**
+     * The state of the incremental refresh of a timed object.
+     */
+    private static class RefreshState {
+        /** Latest modification time of the timer rows read, or null if none were read yet*/
+        Timestamp lastModified;
+        private int refreshes;
+
+        /**
+         * Indicates whether the next refresh must also detect the removed timers.
+         */
+        boolean reconcile() {
+            return (refreshes++ % RECONCILIATION_INTERVAL) == 0;
+        }
+    }
+
+    /**
+     * Binds the parameters of a statement writing a timer row.
+     */
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * The timer rows written by a transaction. Consecutive statements with the same SQL are added to one JDBC batch.
+     * The batches are executed in order before the transaction completes.
+     */
+    private class TransactionBatch implements Synchronization {
+
+        private final List<PreparedStatement> statements = new ArrayList<>();
+        private Connection connection;
+        private PreparedStatement statement;
+        private String sql;
+
+        PreparedStatement prepareStatement(final String sql) throws SQLException {
+            if (statement != null && sql.equals(this.sql)) {
+                return statement;
+            }
+            if (connection == null) {
+                connection = dataSource.getConnection();
+            }
+            statement = connection.prepareStatement(sql);
+            statements.add(statement);
+            this.sql = sql;
+            return statement;
+        }
+
+        void addBatch() throws SQLException {
+            statement.addBatch();
+        }
+
+        @Override
+        public void beforeCompletion() {
+            try {
+                long rows = 0;
+                for (PreparedStatement statement : statements) {
+                    for (int count : statement.executeBatch()) {
+                        if (count > 0) {
+                            rows += count;
+                        } else if (count == Statement.SUCCESS_NO_INFO) {
+                            rows++;
+                        }
+                    }
+                }
+                rowsWritten.addAndGet(rows);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            // release the resources if the transaction was rolled back before the batches were executed
+            close();
+        }
+
+        private void close() {
+            for (PreparedStatement statement : statements) {
+                safeClose(statement);
+            }
+            statements.clear();
+            statement = null;
+            sql = null;
+            safeClose(connection);
+            connection = null;
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
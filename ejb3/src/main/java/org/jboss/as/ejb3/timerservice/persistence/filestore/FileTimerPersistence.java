@@ -75,6 +75,9 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default every timer is stored in its own XML file. In journal mode the timers of a timed object are appended to a
+ * {@link TimerJournal} instead, existing XML timers are migrated into the journal when they are first loaded.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -92,13 +95,19 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
     private final String path;
     private final String pathRelativeTo;
+    private final boolean journal;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, TimerJournal> journals = new ConcurrentHashMap<String, TimerJournal>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, false);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean journal) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +115,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journal = journal;
     }
 
     @Override
@@ -150,6 +160,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     @Override
     public void stop(final StopContext context) {
+        for (TimerJournal timerJournal : journals.values()) {
+            safeClose(timerJournal);
+        }
+        journals.clear();
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -213,6 +227,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
+                if (journal) {
+                    writeJournal(timer, newTimer);
+                    return;
+                }
                 Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
@@ -253,6 +271,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            safeClose(journals.remove(timedObjectId));
         } finally {
             lock.unlock();
         }
@@ -272,7 +291,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         final Lock lock = getLock(timedObjectId);
         try {
             lock.lock();
-            final Map<String, TimerImpl> timers = getTimers(timedObjectId, timerService);
+            final Map<String, TimerImpl> timers = journal ? loadTimersFromJournal(timedObjectId, timerService) : getTimers(timedObjectId, timerService);
 
             final List<TimerImpl> entities = new ArrayList<TimerImpl>();
             for (Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
@@ -395,6 +414,64 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         return timers;
     }
 
+    /**
+     * Loads the timers from the journal of the timed object. Should be called under lock
+     */
+    private Map<String, TimerImpl> loadTimersFromJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        try {
+            return getJournal(timedObjectId, timerService).load(timerService);
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(new File(getDirectory(timedObjectId)), e);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Gets the journal of a timed object, migrating the timers stored as XML files into a new journal. Should be
+     * called under lock
+     */
+    private TimerJournal getJournal(final String timedObjectId, final TimerServiceImpl timerService) throws IOException {
+        TimerJournal timerJournal = journals.get(timedObjectId);
+        if (timerJournal == null) {
+            final File directory = new File(getDirectory(timedObjectId));
+            final boolean migrate = !TimerJournal.exists(directory);
+            timerJournal = new TimerJournal(directory, factory, configuration);
+            if (migrate) {
+                final Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+                for (TimerImpl timer : timers.values()) {
+                    timerJournal.write(timer);
+                }
+                timerJournal.force();
+                //the XML files are only removed once the journal is safely on disk
+                final File[] files = directory.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        if (file.getName().endsWith(".xml")) {
+                            file.delete();
+                        }
+                    }
+                }
+            }
+            journals.put(timedObjectId, timerJournal);
+        }
+        return timerJournal;
+    }
+
+    /**
+     * Appends the timer to the journal of its timed object. Should be called under lock
+     */
+    private void writeJournal(final TimerImpl timer, final boolean newTimer) {
+        try {
+            final TimerJournal timerJournal = getJournal(timer.getTimedObjectId(), timer.getTimerService());
+            //if it is not a new timer and is not in the journal then it has been removed by another thread
+            if (newTimer || timerJournal.contains(timer.getId())) {
+                timerJournal.write(timer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private XMLMapper createMapper(TimerServiceImpl timerService) {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(new QName(EjbTimerXmlParser_1_0.NAMESPACE, EjbTimerXmlPersister.TIMERS), new EjbTimerXmlParser_1_0(timerService, factory, configuration, timerService.getTimedObjectInvoker().getValue().getClassLoader()));
@@ -459,7 +536,9 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     }
                     try {
                         lock.lock();
-                        if (status == Status.STATUS_COMMITTED) {
+                        if (status == Status.STATUS_COMMITTED && journal) {
+                            writeJournal(timer, newTimer);
+                        } else if (status == Status.STATUS_COMMITTED) {
                             final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
@@ -0,0 +1,737 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Segmented, append only journal holding the persistent timers of a single timed object.
+ * <p/>
+ * Every change of a timer appends a checksummed record to the active segment, either the complete state of the timer
+ * or its removal, so a state change costs a single sequential write instead of rewriting a file. Once a segment grows
+ * beyond the segment size a new one is started, and once the obsolete records outweigh the live ones the journal
+ * is compacted into a single snapshot segment that holds the latest record of every live timer. Segments are memory
+ * mapped when the journal is replayed, and a torn or corrupt record ends the replay of its segment. Records are written
+ * at explicit positions, and a failed append is truncated, so that a later record never follows a torn one.
+ * <p/>
+ * This class is not thread safe, callers are expected to hold the lock of the timed object.
+ */
+final class TimerJournal implements Closeable {
+
+    static final String SEGMENT_PREFIX = "timers-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final long DEFAULT_SEGMENT_SIZE = 4L * 1024 * 1024;
+    private static final int MAGIC = 0x454A4254;
+    private static final byte VERSION = 1;
+    private static final byte APPENDED = 0;
+    private static final byte SNAPSHOT = 1;
+    // magic, version, segment type and two reserved bytes
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    // body length and checksum
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte INTERVAL_TIMER = 1;
+    private static final byte CALENDAR_TIMER = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final File directory;
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+    private final long segmentSize;
+
+    /**
+     * The segments in replay order, records are appended to the last one
+     */
+    private final List<Segment> segments = new ArrayList<>();
+    /**
+     * The location of the latest record of every live timer
+     */
+    private final Map<String, Location> timers = new HashMap<>();
+    private FileChannel channel;
+    private long totalBytes;
+    private long liveBytes;
+
+    TimerJournal(final File directory, final MarshallerFactory factory, final MarshallingConfiguration configuration) {
+        this(directory, factory, configuration, DEFAULT_SEGMENT_SIZE);
+    }
+
+    TimerJournal(final File directory, final MarshallerFactory factory, final MarshallingConfiguration configuration, final long segmentSize) {
+        this.directory = directory;
+        this.factory = factory;
+        this.configuration = configuration;
+        this.segmentSize = segmentSize;
+    }
+
+    static boolean isJournalFile(final String name) {
+        return name.startsWith(SEGMENT_PREFIX) && (name.endsWith(SEGMENT_SUFFIX) || name.endsWith(SEGMENT_SUFFIX + TEMPORARY_SUFFIX));
+    }
+
+    /**
+     * @return <code>true</code> if the directory holds a journal
+     */
+    static boolean exists(final File directory) {
+        final String[] names = directory.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes all the segments of the journal in the given directory.
+     */
+    static void delete(final File directory) {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (isJournalFile(file.getName()) && !file.delete()) {
+                    EJB3_TIMER_LOGGER.failToDeleteTimerJournalSegment(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the journal and returns the live timers. Timers whose timeout method no longer exists are removed from
+     * the journal.
+     *
+     * @param timerService The timer service of the timed object
+     * @return The timers keyed by id
+     */
+    Map<String, TimerImpl> load(final TimerServiceImpl timerService) throws IOException {
+        final Map<String, ByteBuffer> records = new HashMap<>();
+        replay(records);
+        final TimedObjectInvoker invoker = timerService.getTimedObjectInvoker().getValue();
+        final Map<String, TimerImpl> result = new HashMap<>();
+        final List<String> deleted = new ArrayList<>();
+        for (Map.Entry<String, ByteBuffer> entry : records.entrySet()) {
+            try {
+                final TimerImpl timer = decode(entry.getKey(), entry.getValue(), timerService, invoker.getClassLoader());
+                if (timer == null) {
+                    deleted.add(entry.getKey());
+                } else {
+                    result.put(timer.getId(), timer);
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(invoker.getTimedObjectId(), entry.getKey(), e);
+            }
+        }
+        for (String id : deleted) {
+            remove(id);
+        }
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> if the journal holds a live record for the timer
+     */
+    boolean contains(final String id) throws IOException {
+        open();
+        return timers.containsKey(id);
+    }
+
+    /**
+     * Appends the state of the timer, or its removal if it is cancelled or expired.
+     */
+    void write(final TimerImpl timer) throws IOException {
+        open();
+        if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+            if (timers.containsKey(timer.getId())) {
+                remove(timer.getId());
+            }
+        } else {
+            append(timer.getId(), encode(timer), true);
+        }
+    }
+
+    /**
+     * Forces the appended records to the storage device.
+     */
+    void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        if (channel == null) {
+            replay(null);
+        }
+    }
+
+    private void remove(final String id) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(id.length() + 8);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(REMOVE);
+        writeString(out, id);
+        out.flush();
+        append(id, bytes.toByteArray(), false);
+    }
+
+    /**
+     * Rebuilds the index from the segments on disk and opens the last one for appending.
+     *
+     * @param records If not null, receives the body of the latest record of every live timer, positioned after the id
+     */
+    private void replay(final Map<String, ByteBuffer> records) throws IOException {
+        close();
+        segments.clear();
+        timers.clear();
+        totalBytes = 0;
+        liveBytes = 0;
+        final List<Segment> found = listSegments();
+        // a snapshot supersedes every segment before it
+        int first = 0;
+        for (int i = found.size() - 1; i > 0; i--) {
+            if (found.get(i).snapshot) {
+                first = i;
+                break;
+            }
+        }
+        for (Segment obsolete : found.subList(0, first)) {
+            if (!obsolete.file.delete()) {
+                EJB3_TIMER_LOGGER.failToDeleteTimerJournalSegment(obsolete.file);
+            }
+        }
+        for (Segment segment : found.subList(first, found.size())) {
+            read(segment, records);
+            segments.add(segment);
+            totalBytes += segment.length;
+        }
+        if (segments.isEmpty()) {
+            createSegment(0, APPENDED);
+        } else {
+            final Segment last = segments.get(segments.size() - 1);
+            channel = FileChannel.open(last.file.toPath(), StandardOpenOption.WRITE);
+            if (last.length < SEGMENT_HEADER_SIZE) {
+                channel.truncate(0);
+                writeFully(channel, header(APPENDED), 0);
+                totalBytes += SEGMENT_HEADER_SIZE - last.length;
+                last.length = SEGMENT_HEADER_SIZE;
+            } else if (channel.size() > last.length) {
+                // drop the torn tail so that new records directly follow the last valid one
+                channel.truncate(last.length);
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a segment, stopping at the first incomplete or corrupt one.
+     */
+    private void read(final Segment segment, final Map<String, ByteBuffer> records) throws IOException {
+        try (FileChannel in = FileChannel.open(segment.file.toPath(), StandardOpenOption.READ)) {
+            final long size = in.size();
+            segment.length = 0;
+            if (size >= SEGMENT_HEADER_SIZE) {
+                final MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (buffer.getInt() == MAGIC && buffer.get() == VERSION) {
+                    segment.length = SEGMENT_HEADER_SIZE;
+                    buffer.position(SEGMENT_HEADER_SIZE);
+                    final CRC32 crc = new CRC32();
+                    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                        final int position = buffer.position();
+                        final int length = buffer.getInt();
+                        final int checksum = buffer.getInt();
+                        if (length <= 0 || length > buffer.remaining()) {
+                            break;
+                        }
+                        final ByteBuffer body = buffer.slice();
+                        body.limit(length);
+                        crc.reset();
+                        crc.update(body.duplicate());
+                        if ((int) crc.getValue() != checksum) {
+                            break;
+                        }
+                        buffer.position(position + RECORD_HEADER_SIZE + length);
+                        segment.length = buffer.position();
+                        apply(segment, position, RECORD_HEADER_SIZE + length, body, records);
+                    }
+                }
+            }
+            if (segment.length < size) {
+                EJB3_TIMER_LOGGER.discardedTimerJournalRecords(size - segment.length, segment.file);
+            }
+        }
+    }
+
+    private void apply(final Segment segment, final int position, final int length, final ByteBuffer body, final Map<String, ByteBuffer> records) {
+        final byte type = body.get();
+        final String id = readString(body);
+        final Location previous = timers.remove(id);
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        if (type == PUT) {
+            timers.put(id, new Location(segment, position, length));
+            liveBytes += length;
+            if (records != null) {
+                records.put(id, body);
+            }
+        } else if (records != null) {
+            records.remove(id);
+        }
+    }
+
+    private void append(final String id, final byte[] body, final boolean live) throws IOException {
+        Segment segment = segments.get(segments.size() - 1);
+        if (segment.length >= segmentSize) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+            segment = createSegment(segment.sequence + 1, APPENDED);
+        }
+        final int length = RECORD_HEADER_SIZE + body.length;
+        final CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(body.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(body);
+        buffer.flip();
+        final long position = segment.length;
+        try {
+            writeFully(channel, buffer, position);
+        } catch (IOException | RuntimeException e) {
+            discardTail(segment);
+            throw e;
+        }
+        segment.length += length;
+        totalBytes += length;
+
+        final Location previous = timers.remove(id);
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        if (live) {
+            timers.put(id, new Location(segment, position, length));
+            liveBytes += length;
+        }
+        if (segments.size() > 1 && totalBytes - liveBytes > Math.max(liveBytes, segmentSize)) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops whatever part of a failed append reached the segment, so that the next record directly follows the last
+     * complete one. If the segment cannot be truncated, the channel is closed so that the next access replays the
+     * journal, which drops the torn tail.
+     */
+    private void discardTail(final Segment segment) {
+        try {
+            channel.truncate(segment.length);
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the channel is discarded anyway
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Copies the latest record of every live timer into a new snapshot segment and deletes the older segments. The
+     * snapshot is only renamed into place once it is complete, and it supersedes any older segment that could not be
+     * deleted.
+     */
+    private void compact() throws IOException {
+        final long sequence = segments.get(segments.size() - 1).sequence + 1;
+        final Segment snapshot = new Segment(sequence, new File(directory, segmentName(sequence)), true);
+        final File temporary = new File(directory, snapshot.file.getName() + TEMPORARY_SUFFIX);
+        final Map<String, Location> compacted = new HashMap<>();
+        final Map<Segment, FileChannel> sources = new IdentityHashMap<>();
+        long position = SEGMENT_HEADER_SIZE;
+        try (FileChannel out = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, header(SNAPSHOT), 0);
+            for (Map.Entry<String, Location> entry : timers.entrySet()) {
+                final Location location = entry.getValue();
+                FileChannel source = sources.get(location.segment);
+                if (source == null) {
+                    source = FileChannel.open(location.segment.file.toPath(), StandardOpenOption.READ);
+                    sources.put(location.segment, source);
+                }
+                final ByteBuffer record = ByteBuffer.allocate(location.length);
+                while (record.hasRemaining()) {
+                    if (source.read(record, location.position + record.position()) < 0) {
+                        throw new IOException(location.segment.file.getPath());
+                    }
+                }
+                record.flip();
+                writeFully(out, record, position);
+                compacted.put(entry.getKey(), new Location(snapshot, position, location.length));
+                position += location.length;
+            }
+            out.force(true);
+        } finally {
+            for (FileChannel source : sources.values()) {
+                source.close();
+            }
+        }
+        close();
+        try {
+            Files.move(temporary.toPath(), snapshot.file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), snapshot.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        for (Segment obsolete : segments) {
+            if (!obsolete.file.delete()) {
+                EJB3_TIMER_LOGGER.failToDeleteTimerJournalSegment(obsolete.file);
+            }
+        }
+        snapshot.length = position;
+        segments.clear();
+        segments.add(snapshot);
+        timers.clear();
+        timers.putAll(compacted);
+        totalBytes = position;
+        liveBytes = position - SEGMENT_HEADER_SIZE;
+        channel = FileChannel.open(snapshot.file.toPath(), StandardOpenOption.WRITE);
+    }
+
+    private Segment createSegment(final long sequence, final byte type) throws IOException {
+        final Segment segment = new Segment(sequence, new File(directory, segmentName(sequence)), type == SNAPSHOT);
+        channel = FileChannel.open(segment.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(channel, header(type), 0);
+        } catch (IOException | RuntimeException e) {
+            // the next access replays the journal, which completes or discards the header
+            channel.close();
+            channel = null;
+            throw e;
+        }
+        segment.length = SEGMENT_HEADER_SIZE;
+        segments.add(segment);
+        totalBytes += SEGMENT_HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * Lists the segments of the journal ordered by sequence, removing any snapshot left over by an interrupted
+     * compaction.
+     */
+    private List<Segment> listSegments() throws IOException {
+        final List<Segment> result = new ArrayList<>();
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return result;
+        }
+        for (File file : files) {
+            final String name = file.getName();
+            if (!isJournalFile(name)) {
+                continue;
+            }
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                if (!file.delete()) {
+                    EJB3_TIMER_LOGGER.failToDeleteTimerJournalSegment(file);
+                }
+                continue;
+            }
+            final long sequence;
+            try {
+                sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            result.add(new Segment(sequence, file, isSnapshot(file)));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static boolean isSnapshot(final File file) throws IOException {
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (in.read(header) < 0) {
+                    return false;
+                }
+            }
+            header.flip();
+            return header.getInt() == MAGIC && header.get() == VERSION && header.get() == SNAPSHOT;
+        }
+    }
+
+    private static String segmentName(final long sequence) {
+        return SEGMENT_PREFIX + String.format("%019d", sequence) + SEGMENT_SUFFIX;
+    }
+
+    private static ByteBuffer header(final byte type) {
+        final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put(type);
+        header.putShort((short) 0);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Writes the buffer at the given position, independently of the position of the channel.
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        final int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position() - start);
+        }
+    }
+
+    private byte[] encode(final TimerImpl timer) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(PUT);
+        writeString(out, timer.getId());
+        out.writeByte(timer instanceof CalendarTimer ? CALENDAR_TIMER : INTERVAL_TIMER);
+        writeString(out, timer.getTimedObjectId());
+        writeDate(out, timer.getInitialExpiration());
+        out.writeLong(timer.getInterval());
+        writeDate(out, timer.getNextExpiration());
+        writeDate(out, timer.getPreviousRun());
+        writeString(out, timer.getState().name());
+        writeBytes(out, serialize(timer.getTimerInfo()));
+        writeBytes(out, serialize(timer.getPrimaryKey()));
+        if (timer instanceof CalendarTimer) {
+            final CalendarTimer calendarTimer = (CalendarTimer) timer;
+            final ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            writeString(out, schedule.getSecond());
+            writeString(out, schedule.getMinute());
+            writeString(out, schedule.getHour());
+            writeString(out, schedule.getDayOfWeek());
+            writeString(out, schedule.getDayOfMonth());
+            writeString(out, schedule.getMonth());
+            writeString(out, schedule.getYear());
+            writeDate(out, schedule.getStart());
+            writeDate(out, schedule.getEnd());
+            writeString(out, schedule.getTimezone());
+            out.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                final Method timeoutMethod = calendarTimer.getTimeoutMethod();
+                writeString(out, timeoutMethod.getDeclaringClass().getName());
+                writeString(out, timeoutMethod.getName());
+                final Class<?>[] parameterTypes = timeoutMethod.getParameterTypes();
+                out.writeInt(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    writeString(out, parameterType.getName());
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return The timer, or <code>null</code> if the timeout method of an auto timer no longer exists
+     */
+    private TimerImpl decode(final String id, final ByteBuffer body, final TimerServiceImpl timerService, final ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        final boolean calendar = body.get() == CALENDAR_TIMER;
+        final CalendarTimer.Builder calendarBuilder = calendar ? CalendarTimer.builder() : null;
+        final TimerImpl.Builder builder = calendar ? calendarBuilder : TimerImpl.builder();
+        builder.setId(id);
+        builder.setTimedObjectId(readString(body));
+        builder.setInitialDate(readDate(body));
+        builder.setRepeatInterval(body.getLong());
+        builder.setNextDate(readDate(body));
+        builder.setPreviousRun(readDate(body));
+        builder.setTimerState(TimerState.valueOf(readString(body)));
+        builder.setInfo((Serializable) deserialize(readBytes(body)));
+        builder.setPrimaryKey(deserialize(readBytes(body)));
+        builder.setPersistent(true);
+        if (calendar) {
+            calendarBuilder.setScheduleExprSecond(readString(body));
+            calendarBuilder.setScheduleExprMinute(readString(body));
+            calendarBuilder.setScheduleExprHour(readString(body));
+            calendarBuilder.setScheduleExprDayOfWeek(readString(body));
+            calendarBuilder.setScheduleExprDayOfMonth(readString(body));
+            calendarBuilder.setScheduleExprMonth(readString(body));
+            calendarBuilder.setScheduleExprYear(readString(body));
+            calendarBuilder.setScheduleExprStartDate(readDate(body));
+            calendarBuilder.setScheduleExprEndDate(readDate(body));
+            calendarBuilder.setScheduleExprTimezone(readString(body));
+            final boolean autoTimer = body.get() != 0;
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                final String declaringClass = readString(body);
+                final String methodName = readString(body);
+                final String[] params = new String[body.getInt()];
+                for (int i = 0; i < params.length; i++) {
+                    params[i] = readString(body);
+                }
+                final Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, methodName, params), classLoader);
+                if (timeoutMethod == null) {
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+        }
+        return builder.build(timerService);
+    }
+
+    private byte[] serialize(final Object object) throws IOException {
+        if (object == null) {
+            return null;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Marshaller marshaller = factory.createMarshaller(configuration);
+        marshaller.start(new OutputStreamByteOutput(out));
+        marshaller.writeObject(object);
+        marshaller.finish();
+        return out.toByteArray();
+    }
+
+    private Object deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        if (data == null) {
+            return null;
+        }
+        final Unmarshaller unmarshaller = factory.createUnmarshaller(configuration);
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(data)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = readBytes(buffer);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeDate(final DataOutputStream out, final Date value) throws IOException {
+        out.writeLong(value == null ? NO_DATE : value.getTime());
+    }
+
+    private static Date readDate(final ByteBuffer buffer) {
+        final long value = buffer.getLong();
+        return value == NO_DATE ? null : new Date(value);
+    }
+
+    private static final class Segment implements Comparable<Segment> {
+        final long sequence;
+        final File file;
+        final boolean snapshot;
+        long length;
+
+        Segment(final long sequence, final File file, final boolean snapshot) {
+            this.sequence = sequence;
+            this.file = file;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public int compareTo(final Segment other) {
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class Location {
+        final Segment segment;
+        final long position;
+        final int length;
+
+        Location(final Segment segment, final long position, final int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
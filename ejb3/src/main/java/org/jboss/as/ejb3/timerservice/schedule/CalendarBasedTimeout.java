@@ -23,8 +23,11 @@ package org.jboss.as.ejb3.timerservice.schedule;
 
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.TimeZone;
 
 import javax.ejb.ScheduleExpression;
@@ -49,6 +52,15 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
  */
 public class CalendarBasedTimeout {
 
+    /**
+     * The timezone ids available in the system, looked up once instead of for each created timer
+     */
+    private static final Set<String> AVAILABLE_TIMEZONE_IDS;
+
+    static {
+        final String[] ids = TimeZone.getAvailableIDs();
+        AVAILABLE_TIMEZONE_IDS = ids == null ? Collections.<String>emptySet() : new HashSet<String>(Arrays.asList(ids));
+    }
 
     /**
      * The {@link javax.ejb.ScheduleExpression} from which this {@link CalendarBasedTimeout}
@@ -56,6 +68,12 @@ public class CalendarBasedTimeout {
      */
     private ScheduleExpression scheduleExpression;
 
+    /**
+     * The parsed calendar attributes of the {@link #scheduleExpression}, shared with the other
+     * {@link CalendarBasedTimeout}s using the same expression
+     */
+    private final CompiledScheduleExpression compiledExpression;
+
     /**
      * The {@link Second} created out of the {@link javax.ejb.ScheduleExpression#getSecond()} value
      */
@@ -125,14 +143,15 @@ public class CalendarBasedTimeout {
         // do not affect this internal schedule expression.
         this.scheduleExpression = this.clone(schedule);
 
-        // Start parsing the values in the ScheduleExpression
-        this.second = new Second(schedule.getSecond());
-        this.minute = new Minute(schedule.getMinute());
-        this.hour = new Hour(schedule.getHour());
-        this.dayOfWeek = new DayOfWeek(schedule.getDayOfWeek());
-        this.dayOfMonth = new DayOfMonth(schedule.getDayOfMonth());
-        this.month = new Month(schedule.getMonth());
-        this.year = new Year(schedule.getYear());
+        // Parse the values in the ScheduleExpression, or reuse them if another timer already did
+        this.compiledExpression = CompiledScheduleExpression.compile(schedule);
+        this.second = this.compiledExpression.second;
+        this.minute = this.compiledExpression.minute;
+        this.hour = this.compiledExpression.hour;
+        this.dayOfWeek = this.compiledExpression.dayOfWeek;
+        this.dayOfMonth = this.compiledExpression.dayOfMonth;
+        this.month = this.compiledExpression.month;
+        this.year = this.compiledExpression.year;
         String timezoneId = schedule.getTimezone();
         if (timezoneId != null && !(timezoneId = timezoneId.trim()).isEmpty()) {
             // If the timezone ID wasn't valid, then Timezone.getTimeZone returns
@@ -140,8 +159,7 @@ public class CalendarBasedTimeout {
             // So we first check to see if the timezone id specified is available in
             // timezone ids in the system. If it's available then we log a WARN message
             // and fallback on the server's timezone.
-            String[] availableTimeZoneIDs = TimeZone.getAvailableIDs();
-            if (availableTimeZoneIDs != null && Arrays.asList(availableTimeZoneIDs).contains(timezoneId)) {
+            if (AVAILABLE_TIMEZONE_IDS.contains(timezoneId)) {
                 this.timezone = TimeZone.getTimeZone(timezoneId);
             } else {
                 // use server's timezone
@@ -519,11 +537,11 @@ public class CalendarBasedTimeout {
     }
 
     private boolean isDayOfWeekWildcard() {
-        return this.scheduleExpression.getDayOfWeek().equals("*");
+        return this.compiledExpression.dayOfWeekWildcard;
     }
 
     private boolean isDayOfMonthWildcard() {
-        return this.scheduleExpression.getDayOfMonth().equals("*");
+        return this.compiledExpression.dayOfMonthWildcard;
     }
 
     private void nullCheckScheduleAttributes(ScheduleExpression schedule) {
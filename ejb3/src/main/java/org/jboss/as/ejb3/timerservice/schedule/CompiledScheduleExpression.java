@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+
+/**
+ * The parsed form of the calendar attributes of a {@link ScheduleExpression}.
+ * <p>
+ * The attributes are immutable once parsed, so a single instance is shared by all the {@link CalendarBasedTimeout}s
+ * created from schedules with the same second, minute, hour, day-of-month, month, day-of-week and year values.
+ * Typically many <code>@Schedule</code> timers use a handful of distinct expressions.
+ * </p>
+ */
+final class CompiledScheduleExpression {
+
+    /**
+     * Upper bound of the number of cached expressions. Once reached, expressions are parsed for each timer,
+     * so that an application creating timers with ever changing expressions can't grow the cache without limit.
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 1024;
+
+    private static final ConcurrentMap<List<String>, CompiledScheduleExpression> CACHE = new ConcurrentHashMap<>();
+
+    final Second second;
+    final Minute minute;
+    final Hour hour;
+    final DayOfWeek dayOfWeek;
+    final DayOfMonth dayOfMonth;
+    final Month month;
+    final Year year;
+    final boolean dayOfWeekWildcard;
+    final boolean dayOfMonthWildcard;
+
+    private CompiledScheduleExpression(ScheduleExpression schedule) {
+        this.second = new Second(schedule.getSecond());
+        this.minute = new Minute(schedule.getMinute());
+        this.hour = new Hour(schedule.getHour());
+        this.dayOfWeek = new DayOfWeek(schedule.getDayOfWeek());
+        this.dayOfMonth = new DayOfMonth(schedule.getDayOfMonth());
+        this.month = new Month(schedule.getMonth());
+        this.year = new Year(schedule.getYear());
+        this.dayOfWeekWildcard = schedule.getDayOfWeek().equals("*");
+        this.dayOfMonthWildcard = schedule.getDayOfMonth().equals("*");
+    }
+
+    /**
+     * Returns the parsed calendar attributes of the passed <code>schedule</code>, whose attributes must not be null.
+     *
+     * @param schedule The schedule
+     * @return The shared, parsed form of the schedule
+     * @throws IllegalArgumentException If any of the attributes isn't valid
+     */
+    static CompiledScheduleExpression compile(ScheduleExpression schedule) {
+        final List<String> key = Arrays.asList(schedule.getSecond(), schedule.getMinute(), schedule.getHour(),
+                schedule.getDayOfWeek(), schedule.getDayOfMonth(), schedule.getMonth(), schedule.getYear());
+        CompiledScheduleExpression compiled = CACHE.get(key);
+        if (compiled == null) {
+            compiled = new CompiledScheduleExpression(schedule);
+            if (CACHE.size() < MAX_CACHED_EXPRESSIONS) {
+                final CompiledScheduleExpression existing = CACHE.putIfAbsent(key, compiled);
+                if (existing != null) {
+                    compiled = existing;
+                }
+            }
+        }
+        return compiled;
+    }
+}
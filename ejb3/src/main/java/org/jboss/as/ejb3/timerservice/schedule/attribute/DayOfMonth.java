@@ -124,6 +124,15 @@ public class DayOfMonth extends IntegerBasedExpression {
 
     }
 
+    // one or more spaces (which includes tabs and other forms of space)
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * The eligible days of month as a bit set, if they don't depend on the month, i.e. there are no relative
+     * values. Zero otherwise.
+     */
+    private final long eligibleDaysOfMonth;
+
 
     /**
      * Creates a {@link DayOfMonth} by parsing the passed {@link String} <code>value</code>
@@ -139,6 +148,11 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     public DayOfMonth(String value) {
         super(value);
+        if (this.relativeValues.isEmpty() && !this.absoluteValues.isEmpty() && this.absoluteValues.first() > 0) {
+            this.eligibleDaysOfMonth = toBitSet(this.absoluteValues);
+        } else {
+            this.eligibleDaysOfMonth = 0;
+        }
     }
 
     /**
@@ -166,6 +180,9 @@ public class DayOfMonth extends IntegerBasedExpression {
             return currentCal.get(Calendar.DAY_OF_MONTH);
         }
         int currentDayOfMonth = currentCal.get(Calendar.DAY_OF_MONTH);
+        if (this.eligibleDaysOfMonth != 0) {
+            return getNextMatch(this.eligibleDaysOfMonth, currentDayOfMonth);
+        }
         SortedSet<Integer> eligibleDaysOfMonth = this.getEligibleDaysOfMonth(currentCal);
         if (eligibleDaysOfMonth.isEmpty()) {
             return null;
@@ -315,9 +332,7 @@ public class DayOfMonth extends IntegerBasedExpression {
 
     private boolean isDayOfWeekBased(String relativeVal) {
         String trimmedVal = relativeVal.trim();
-        // one or more spaces (which includes tabs and other forms of space)
-        Pattern p = Pattern.compile("\\s+");
-        String[] relativeParts = p.split(trimmedVal);
+        String[] relativeParts = WHITESPACE.split(trimmedVal);
         if (relativeParts == null) {
             return false;
         }
@@ -376,6 +391,9 @@ public class DayOfMonth extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return Calendar.SUNDAY;
         }
+        if (this.eligibleDaysOfMonth != 0) {
+            return Long.numberOfTrailingZeros(this.eligibleDaysOfMonth);
+        }
         SortedSet<Integer> eligibleDaysOfMonth = this.getEligibleDaysOfMonth(cal);
         if (eligibleDaysOfMonth.isEmpty()) {
             return null;
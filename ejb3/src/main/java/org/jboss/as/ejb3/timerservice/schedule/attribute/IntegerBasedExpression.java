@@ -213,4 +213,31 @@ public abstract class IntegerBasedExpression {
 
     public abstract boolean isRelativeValue(String value);
 
+    /**
+     * Returns a bit set in which the bit of each of the passed <code>values</code> is set.
+     *
+     * @param values The values, each of which must be between 0 and 63 (both inclusive)
+     * @return The bit set
+     */
+    protected static long toBitSet(Iterable<Integer> values) {
+        long bits = 0;
+        for (Integer value : values) {
+            bits |= 1L << value;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the first value of the passed, non-empty, bit set which is equal to or greater than
+     * <code>current</code>. If there's no such value, then the first value of the bit set is returned.
+     *
+     * @param bits    The bit set
+     * @param current The current value
+     * @return The next matching value
+     */
+    protected static Integer getNextMatch(long bits, int current) {
+        final long candidates = current < Long.SIZE ? bits & (-1L << current) : 0;
+        return Long.numberOfTrailingZeros(candidates != 0 ? candidates : bits);
+    }
+
 }
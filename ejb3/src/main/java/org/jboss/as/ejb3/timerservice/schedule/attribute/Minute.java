@@ -57,6 +57,11 @@ public class Minute extends IntegerBasedExpression {
      */
     public static final Integer MIN_MINUTE = 0;
 
+    /**
+     * The eligible values as a bit set, in which bit <i>n</i> is set if <i>n</i> is a valid minute
+     */
+    private final long eligibleMinutes;
+
     /**
      * Creates a {@link Minute} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -72,6 +77,7 @@ public class Minute extends IntegerBasedExpression {
      */
     public Minute(String value) {
         super(value);
+        this.eligibleMinutes = toBitSet(this.absoluteValues);
     }
 
     public int getFirst() {
@@ -134,19 +140,10 @@ public class Minute extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentMinute;
         }
-        if (this.absoluteValues.isEmpty()) {
+        if (this.eligibleMinutes == 0) {
             return null;
         }
-
-        for (Integer minute : this.absoluteValues) {
-            if (currentMinute == minute) {
-                return currentMinute;
-            }
-            if (minute > currentMinute) {
-                return minute;
-            }
-        }
-        return this.absoluteValues.first();
+        return getNextMatch(this.eligibleMinutes, currentMinute);
     }
 
 }
@@ -55,6 +55,11 @@ public class Second extends IntegerBasedExpression {
      */
     public static final Integer MIN_SECOND = 0;
 
+    /**
+     * The eligible values as a bit set, in which bit <i>n</i> is set if <i>n</i> is a valid second
+     */
+    private final long eligibleSeconds;
+
     /**
      * Creates a {@link Second} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -70,24 +75,17 @@ public class Second extends IntegerBasedExpression {
      */
     public Second(String value) {
         super(value);
+        this.eligibleSeconds = toBitSet(this.absoluteValues);
     }
 
     public Integer getNextMatch(int currentSecond) {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentSecond;
         }
-        if (this.absoluteValues.isEmpty()) {
+        if (this.eligibleSeconds == 0) {
             return null;
         }
-        for (Integer second : this.absoluteValues) {
-            if (currentSecond == second) {
-                return currentSecond;
-            }
-            if (second > currentSecond) {
-                return second;
-            }
-        }
-        return this.absoluteValues.first();
+        return getNextMatch(this.eligibleSeconds, currentSecond);
     }
 
     public int getFirst() {
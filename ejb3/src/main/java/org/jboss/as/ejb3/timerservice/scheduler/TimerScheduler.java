@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeout tasks of the Jakarta Enterprise Beans timer services.
+ */
+public interface TimerScheduler {
+
+    /**
+     * Schedules a task for a single execution after the given delay.
+     *
+     * @param task  The task to execute
+     * @param delay The delay in milliseconds
+     * @return A handle to cancel the execution
+     */
+    Timeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules a task for repeated fixed-rate execution, beginning after the given delay.
+     *
+     * @param task   The task to execute
+     * @param delay  The delay in milliseconds before the first execution
+     * @param period The time in milliseconds between the scheduled starts of successive executions
+     * @return A handle to cancel all further executions
+     */
+    Timeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Removes cancelled tasks that are still retained by the scheduler, if any.
+     */
+    default void purge() {
+    }
+
+    /**
+     * @return The number of tasks which are scheduled and were neither executed nor cancelled yet
+     */
+    long getPendingTimeouts();
+
+    /**
+     * Returns the delay between the scheduled and the actual start of the executions at the given percentile.
+     *
+     * @param percentile A percentile between 0 and 100
+     * @return The approximate delay in milliseconds
+     */
+    long getTimeoutLag(double percentile);
+
+    /**
+     * A scheduled task.
+     */
+    interface Timeout {
+
+        /**
+         * Cancels the task.
+         *
+         * @return <code>true</code> if this prevented one or more executions
+         */
+        boolean cancel();
+    }
+}
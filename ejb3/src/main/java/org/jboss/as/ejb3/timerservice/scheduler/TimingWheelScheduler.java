@@ -0,0 +1,324 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TimerScheduler} based on a hierarchical timing wheel.
+ * <p/>
+ * Time advances in ticks of a fixed duration. Tasks due within the next 256 ticks are kept in the slot of the first
+ * wheel matching their tick, tasks due later are kept in the coarser slots of the higher wheels and cascade down one
+ * wheel whenever the lower wheel completes a revolution. Scheduling and cancelling only enqueue the task for the wheel
+ * thread, so neither takes a lock and both are O(1), at the price of executing tasks up to one tick late. Like
+ * {@link java.util.Timer} tasks are executed by the wheel thread itself and are expected to hand off any real work.
+ */
+public class TimingWheelScheduler implements TimerScheduler {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private static final int SCHEDULED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<Entry> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final TimeoutLagHistogram lag = new TimeoutLagHistogram();
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    // only accessed by the wheel thread
+    private long tick;
+    private long size;
+
+    /**
+     * @param name      The name of the wheel thread
+     * @param tickMillis The duration of a tick in milliseconds
+     */
+    public TimingWheelScheduler(final String name, final long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException(Long.toString(tickMillis));
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public Timeout schedule(final Runnable task, final long delay) {
+        return schedule(task, delay, 0);
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(final Runnable task, final long delay, final long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return schedule(task, delay, TimeUnit.MILLISECONDS.toNanos(period));
+    }
+
+    @Override
+    public long getPendingTimeouts() {
+        return pending.get();
+    }
+
+    @Override
+    public long getTimeoutLag(final double percentile) {
+        return lag.getPercentile(percentile);
+    }
+
+    private Timeout schedule(final Runnable task, final long delay, final long period) {
+        if (delay < 0) {
+            throw new IllegalArgumentException(Long.toString(delay));
+        }
+        final Entry entry = new Entry(task, elapsed() + TimeUnit.MILLISECONDS.toNanos(delay), period);
+        pending.incrementAndGet();
+        scheduled.add(entry);
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+        return entry;
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - origin;
+    }
+
+    private void run() {
+        while (running) {
+            removeCancelled();
+            if (size == 0 && scheduled.isEmpty()) {
+                idle = true;
+                if (scheduled.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // the wheels are empty, so they can skip straight to the current time
+                tick = Math.max(tick, elapsed() / tickNanos - 1);
+                continue;
+            }
+            final long next = tick + 1;
+            final long wait = next * tickNanos - elapsed();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            tick = next;
+            for (Entry entry = scheduled.poll(); entry != null; entry = scheduled.poll()) {
+                if (entry.state.get() == SCHEDULED) {
+                    place(entry, tick);
+                    size++;
+                }
+            }
+            cascade();
+            expire();
+        }
+    }
+
+    /**
+     * Moves the tasks of the higher wheel slots, whose revolution starts with the current tick, down to the lower wheels.
+     */
+    private void cascade() {
+        if ((tick & WHEEL_MASK) != 0) {
+            return;
+        }
+        int level = 1;
+        while (level < LEVELS - 1 && ((tick >>> (level * WHEEL_BITS)) & WHEEL_MASK) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            Entry entry = wheels[level][(int) (tick >>> (level * WHEEL_BITS)) & WHEEL_MASK].detach();
+            while (entry != null) {
+                final Entry next = entry.unlink();
+                if (entry.state.get() == SCHEDULED) {
+                    place(entry, tick);
+                } else {
+                    size--;
+                }
+                entry = next;
+            }
+        }
+    }
+
+    private void expire() {
+        Entry entry = wheels[0][(int) tick & WHEEL_MASK].detach();
+        while (entry != null) {
+            final Entry next = entry.unlink();
+            size--;
+            if (entry.period == 0) {
+                if (entry.state.compareAndSet(SCHEDULED, EXPIRED)) {
+                    pending.decrementAndGet();
+                    execute(entry);
+                }
+            } else if (entry.state.get() == SCHEDULED) {
+                execute(entry);
+                if (entry.state.get() == SCHEDULED) {
+                    entry.deadline += entry.period;
+                    // the current slot was already detached, so an overdue task is executed on the next tick
+                    place(entry, tick + 1);
+                    size++;
+                }
+            }
+            entry = next;
+        }
+    }
+
+    private void execute(final Entry entry) {
+        lag.record(TimeUnit.NANOSECONDS.toMillis(elapsed() - entry.deadline));
+        try {
+            entry.task.run();
+        } catch (Throwable e) {
+            EJB3_TIMER_LOGGER.timerTaskFailed(entry.task, e);
+        }
+    }
+
+    private void removeCancelled() {
+        for (Entry entry = cancelled.poll(); entry != null; entry = cancelled.poll()) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Adds the entry to the slot of the lowest wheel whose revolution, starting at the given tick, covers its deadline.
+     */
+    private void place(final Entry entry, final long current) {
+        final long due = Math.max((entry.deadline + tickNanos - 1) / tickNanos, current);
+        final long delta = due - current;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << ((level + 1) * WHEEL_BITS)) {
+                wheels[level][(int) (due >>> (level * WHEEL_BITS)) & WHEEL_MASK].add(entry);
+                return;
+            }
+        }
+        // beyond the range of the highest wheel, park the task in the slot that is visited last and re-place it from there
+        final int top = (LEVELS - 1) * WHEEL_BITS;
+        wheels[LEVELS - 1][(int) ((current >>> top) + WHEEL_MASK) & WHEEL_MASK].add(entry);
+    }
+
+    private final class Entry implements Timeout {
+        final Runnable task;
+        final long period;
+        final AtomicInteger state = new AtomicInteger(SCHEDULED);
+        // nanoseconds since the origin, only updated by the wheel thread
+        long deadline;
+        Bucket bucket;
+        Entry previous;
+        Entry next;
+
+        Entry(final Runnable task, final long deadline, final long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(SCHEDULED, CANCELLED)) {
+                pending.decrementAndGet();
+                cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Detaches this entry from the list it was taken from.
+         *
+         * @return The next entry of that list
+         */
+        Entry unlink() {
+            final Entry result = next;
+            bucket = null;
+            previous = null;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * Doubly linked list of the entries in a wheel slot.
+     */
+    private static final class Bucket {
+        private Entry head;
+
+        void add(final Entry entry) {
+            entry.bucket = this;
+            entry.previous = null;
+            entry.next = head;
+            if (head != null) {
+                head.previous = entry;
+            }
+            head = entry;
+        }
+
+        void remove(final Entry entry) {
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+            entry.unlink();
+        }
+
+        Entry detach() {
+            final Entry result = head;
+            head = null;
+            return result;
+        }
+    }
+}
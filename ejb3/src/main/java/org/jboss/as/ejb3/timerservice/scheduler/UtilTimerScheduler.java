@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TimerScheduler} backed by a {@link Timer}, which keeps its tasks in a binary heap guarded by a single monitor.
+ */
+public class UtilTimerScheduler implements TimerScheduler {
+
+    private final Timer timer;
+    private final AtomicLong pending = new AtomicLong();
+    private final TimeoutLagHistogram lag = new TimeoutLagHistogram();
+
+    public UtilTimerScheduler(final Timer timer) {
+        this.timer = timer;
+    }
+
+    @Override
+    public Timeout schedule(final Runnable task, final long delay) {
+        final ScheduledTask scheduledTask = new ScheduledTask(task, false);
+        pending.incrementAndGet();
+        timer.schedule(scheduledTask, delay);
+        return scheduledTask;
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(final Runnable task, final long delay, final long period) {
+        final ScheduledTask scheduledTask = new ScheduledTask(task, true);
+        pending.incrementAndGet();
+        timer.scheduleAtFixedRate(scheduledTask, delay, period);
+        return scheduledTask;
+    }
+
+    @Override
+    public void purge() {
+        timer.purge();
+    }
+
+    @Override
+    public long getPendingTimeouts() {
+        return pending.get();
+    }
+
+    @Override
+    public long getTimeoutLag(final double percentile) {
+        return lag.getPercentile(percentile);
+    }
+
+    private final class ScheduledTask extends TimerTask implements Timeout {
+
+        private final Runnable task;
+        private final boolean periodic;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        ScheduledTask(final Runnable task, final boolean periodic) {
+            this.task = task;
+            this.periodic = periodic;
+        }
+
+        @Override
+        public void run() {
+            lag.record(System.currentTimeMillis() - scheduledExecutionTime());
+            if (!periodic && done.compareAndSet(false, true)) {
+                pending.decrementAndGet();
+            }
+            task.run();
+        }
+
+        @Override
+        public boolean cancel() {
+            final boolean cancelled = super.cancel();
+            if (done.compareAndSet(false, true)) {
+                pending.decrementAndGet();
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.server.ServerEnvironment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Unit test for {@link BoundedCache}.
+ */
+public class BoundedCacheTestCase {
+
+    private final AtomicInteger identifiers = new AtomicInteger();
+    private final BeanFactory factory = new BeanFactory();
+    private final BeanPassivationListener listener = new BeanPassivationListener();
+    private File directory;
+    private BoundedCache<Integer, Bean> cache;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("bounded-cache").toFile();
+        BoundedCacheConfiguration<Integer> configuration = new BoundedCacheConfiguration<Integer>() {
+            @Override
+            public IdentifierFactory<Integer> getIdentifierFactory() {
+                return BoundedCacheTestCase.this.identifiers::incrementAndGet;
+            }
+
+            @Override
+            public StatefulTimeoutInfo getStatefulTimeout() {
+                return new StatefulTimeoutInfo(1, TimeUnit.HOURS);
+            }
+
+            @Override
+            public ServerEnvironment getEnvironment() {
+                return null;
+            }
+
+            @Override
+            public int getMaxSize() {
+                return 2;
+            }
+
+            @Override
+            public File getDirectory() {
+                return BoundedCacheTestCase.this.directory;
+            }
+
+            @Override
+            public ByteBufferMarshaller getMarshaller() {
+                return new SerializationMarshaller();
+            }
+        };
+        this.cache = new BoundedCache<>(configuration, this.factory, this.listener);
+        this.cache.start();
+    }
+
+    @After
+    public void destroy() {
+        this.cache.stop();
+        assertFalse(this.directory.exists());
+    }
+
+    @Test
+    public void eviction() {
+        Bean bean1 = this.createAndRelease();
+        Bean bean2 = this.createAndRelease();
+
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(0, this.cache.getPassivatedCount());
+
+        // Creating a third bean passivates the least recently used bean
+        Bean bean3 = this.createAndRelease();
+
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(3, this.cache.getTotalSize());
+        assertEquals(1, this.listener.passivated.get());
+        assertTrue(this.cache.contains(bean1.getId()));
+
+        // Using the passivated bean activates it, and passivates the least recently used idle bean
+        Bean activated = this.cache.get(bean1.getId());
+        assertNotNull(activated);
+        assertNotSame(bean1, activated);
+        assertEquals(bean1.getId(), activated.getId());
+        assertEquals(1, this.listener.activated.get());
+        this.cache.release(activated);
+
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(2, this.listener.passivated.get());
+
+        // bean2 is now passivated, while bean3 remains in memory
+        Bean retained = this.cache.get(bean3.getId());
+        assertSame(bean3, retained);
+        this.cache.release(retained);
+
+        // Removing a passivated bean activates it, so that it can be destroyed
+        this.cache.remove(bean2.getId());
+        assertFalse(this.cache.contains(bean2.getId()));
+        assertEquals(2, this.listener.activated.get());
+        assertEquals(1, this.factory.destroyed.get());
+        assertNull(this.cache.get(bean2.getId()));
+    }
+
+    @Test
+    public void beansInUseAreNotEvicted() {
+        Bean bean1 = this.cache.create();
+        Bean bean2 = this.cache.create();
+        assertSame(bean1, this.cache.get(bean1.getId()));
+        assertSame(bean2, this.cache.get(bean2.getId()));
+
+        // Only idle beans are eligible for eviction, i.e. the new bean
+        Bean bean3 = this.cache.create();
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertTrue(this.cache.contains(bean3.getId()));
+
+        // Beans in use remain in memory, even if the cache exceeds its max size
+        Bean activated = this.cache.get(bean3.getId());
+        assertNotSame(bean3, activated);
+        assertEquals(3, this.cache.getCacheSize());
+        assertEquals(0, this.cache.getPassivatedCount());
+
+        this.cache.release(bean1);
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertTrue(this.cache.contains(bean1.getId()));
+
+        this.cache.release(bean2);
+        this.cache.release(activated);
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+    }
+
+    @Test
+    public void expiration() {
+        Bean bean1 = this.createAndRelease();
+        this.createAndRelease();
+        this.createAndRelease();
+        assertEquals(1, this.cache.getPassivatedCount());
+
+        // Passivated beans expire without activation
+        this.cache.test(bean1.getId());
+        assertFalse(this.cache.contains(bean1.getId()));
+        assertEquals(0, this.cache.getPassivatedCount());
+        assertEquals(0, this.listener.activated.get());
+        assertEquals(0, this.factory.destroyed.get());
+    }
+
+    @Test
+    public void discard() {
+        Bean bean = this.cache.create();
+        this.cache.discard(bean);
+        assertFalse(this.cache.contains(bean.getId()));
+        assertEquals(0, this.factory.destroyed.get());
+    }
+
+    private Bean createAndRelease() {
+        Bean bean = this.cache.create();
+        Bean result = this.cache.get(bean.getId());
+        assertSame(bean, result);
+        this.cache.release(result);
+        return bean;
+    }
+
+    static class Bean implements Identifiable<Integer>, Serializable {
+        private static final long serialVersionUID = -7367829461862394751L;
+
+        private final Integer id;
+
+        Bean(Integer id) {
+            this.id = id;
+        }
+
+        @Override
+        public Integer getId() {
+            return this.id;
+        }
+    }
+
+    class BeanFactory implements StatefulObjectFactory<Bean> {
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Bean createInstance() {
+            return new Bean(BoundedCacheTestCase.this.cache.createIdentifier());
+        }
+
+        @Override
+        public void destroyInstance(Bean instance) {
+            this.destroyed.incrementAndGet();
+        }
+    }
+
+    static class BeanPassivationListener implements PassivationListener<Bean> {
+        final AtomicInteger passivated = new AtomicInteger();
+        final AtomicInteger activated = new AtomicInteger();
+
+        @Override
+        public void prePassivate(Bean bean) {
+            this.passivated.incrementAndGet();
+        }
+
+        @Override
+        public void postActivate(Bean bean) {
+            this.activated.incrementAndGet();
+        }
+    }
+
+    static class SerializationMarshaller implements ByteBufferMarshaller {
+        @Override
+        public Object readFrom(InputStream input) throws IOException {
+            try (ObjectInputStream stream = new ObjectInputStream(input)) {
+                return stream.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream output, Object object) throws IOException {
+            try (ObjectOutputStream stream = new ObjectOutputStream(output)) {
+                stream.writeObject(object);
+            }
+        }
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return object instanceof Serializable;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.bounded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SegmentedFileStore}.
+ */
+public class SegmentedFileStoreTestCase {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int VALUE_SIZE = 100;
+
+    private File directory;
+    private SegmentedFileStore<Integer> store;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("segmented-file-store").toFile();
+        this.store = new SegmentedFileStore<>(this.directory, SEGMENT_SIZE);
+    }
+
+    @After
+    public void destroy() {
+        this.store.close();
+    }
+
+    @Test
+    public void writeRemove() throws IOException {
+        this.store.write(1, value(1));
+
+        assertTrue(this.store.contains(1));
+        assertEquals(1, this.store.size());
+
+        assertEquals(value(1), this.store.remove(1));
+
+        assertFalse(this.store.contains(1));
+        assertNull(this.store.remove(1));
+        assertFalse(this.store.delete(1));
+    }
+
+    @Test
+    public void replace() throws IOException {
+        this.store.write(1, value(1));
+        this.store.write(1, value(2));
+
+        assertEquals(1, this.store.size());
+        assertEquals(value(2), this.store.remove(1));
+    }
+
+    @Test
+    public void releaseSealedSegment() throws IOException {
+        // Fill the first segment, and seal it by appending to a second segment
+        for (int i = 0; i < 11; ++i) {
+            this.store.write(i, value(i));
+        }
+        assertEquals(2, this.store.getSegmentCount());
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(value(i), this.store.remove(i));
+        }
+        assertEquals(1, this.store.getSegmentCount());
+        assertEquals(value(10), this.store.remove(10));
+    }
+
+    @Test
+    public void compactSparseSegment() throws IOException {
+        for (int i = 0; i < 11; ++i) {
+            this.store.write(i, value(i));
+        }
+        assertEquals(2, this.store.getSegmentCount());
+        File[] files = this.directory.listFiles();
+        assertEquals(2, files.length);
+
+        // A sealed segment with mostly live values is retained as is
+        for (int i = 0; i < 7; ++i) {
+            assertTrue(this.store.delete(i));
+        }
+        assertEquals(2, this.store.getSegmentCount());
+
+        // Once less than a quarter of a sealed segment is live, its live values are relocated and the segment is deleted
+        assertTrue(this.store.delete(7));
+        assertEquals(1, this.store.getSegmentCount());
+        assertEquals(1, this.directory.listFiles().length);
+
+        assertEquals(3, this.store.size());
+        for (int i = 8; i < 11; ++i) {
+            assertEquals(value(i), this.store.remove(i));
+        }
+        assertEquals(0, this.store.size());
+    }
+
+    @Test
+    public void compactLongLivedValue() throws IOException {
+        // A single long-lived value must not retain the segments of short-lived values
+        this.store.write(0, value(0));
+        for (int i = 1; i < 100; ++i) {
+            this.store.write(i, value(i));
+            assertTrue(this.store.delete(i));
+        }
+        assertTrue(this.store.getSegmentCount() <= 2);
+        assertEquals(value(0), this.store.remove(0));
+    }
+
+    @Test
+    public void close() throws IOException {
+        for (int i = 0; i < 20; ++i) {
+            this.store.write(i, value(i));
+        }
+        this.store.close();
+
+        assertEquals(0, this.store.size());
+        assertEquals(0, this.store.getSegmentCount());
+        assertFalse(this.directory.exists());
+    }
+
+    private static ByteBuffer value(int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(VALUE_SIZE);
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) value);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void test() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        InvocationMetrics.Counters foo = metrics.getMethodCounters("foo");
+        InvocationMetrics.Counters bar = metrics.getMethodCounters("bar");
+
+        // Resolved, but not yet invoked
+        assertTrue(metrics.getMethods().isEmpty());
+        assertEquals(0d, metrics.getExecutionTimePercentile(99), 0d);
+
+        metrics.startInvocation();
+        metrics.startInvocation();
+        assertEquals(2L, metrics.getConcurrent());
+        metrics.finishInvocation(foo, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.finishInvocation(foo, TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.startInvocation();
+        metrics.finishInvocation(bar, 0L, TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(2L, metrics.getPeakConcurrent());
+        assertEquals(3L, metrics.getInvocations());
+        assertEquals(3L, metrics.getWaitTime());
+        assertEquals(1030L, metrics.getExecutionTime());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(2, methods.size());
+        assertEquals(2L, methods.get("foo").getInvocations());
+        assertEquals(3L, methods.get("foo").getWaitTime());
+        assertEquals(30L, methods.get("foo").getExecutionTime());
+        assertEquals(1L, methods.get("bar").getInvocations());
+        assertEquals(1000L, methods.get("bar").getExecutionTime());
+
+        // Percentiles are estimated to within 12.5%
+        assertEquals(20d, metrics.getExecutionTimePercentile(50), 20d * 0.125);
+        assertEquals(1000d, metrics.getExecutionTimePercentile(99), 1000d * 0.125);
+        assertTrue(metrics.getExecutionTimePercentile(50) >= 20d);
+    }
+
+    @Test
+    public void buckets() {
+        for (long value = 0; value < (1L << 20); value = (value * 3 / 2) + 1) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.upperBound(index - 1) < value);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Measures the throughput of read-mostly invocations of a singleton by a number of concurrent threads,
+ * guarded by an {@link EJBReadWriteLock} versus a {@link StripedEJBReadWriteLock}, for a range of write ratios.
+ * It is not run as part of the test suite, run its main method to compare lock implementations.
+ */
+public class StripedEJBReadWriteLockBenchmark {
+
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int ITERATIONS = 5;
+    // Number of writes per 10,000 operations, i.e. 0%, 0.1% and 1%
+    private static final int[] WRITES = { 0, 10, 100 };
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        for (int writes : WRITES) {
+            benchmark("ejb", threads, writes, EJBReadWriteLock::new);
+            benchmark("striped", threads, writes, StripedEJBReadWriteLock::new);
+        }
+    }
+
+    private static void benchmark(String name, int threads, int writes, Supplier<ReadWriteLock> factory) throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; ++i) {
+            best = Math.min(best, run(factory.get(), threads, writes));
+        }
+        long operations = (long) threads * OPERATIONS_PER_THREAD;
+        System.out.printf("%-8s %2d threads, %5.2f%% writes: %,12d operations/s%n", name, threads, writes / 100d, operations * 1_000_000_000L / best);
+    }
+
+    private static long run(ReadWriteLock lock, int threads, int writes) throws InterruptedException {
+        Lock readLock = lock.readLock();
+        Lock writeLock = lock.writeLock();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; ++j) {
+                        Lock invocationLock = (random.nextInt(10_000) < writes) ? writeLock : readLock;
+                        invocationLock.lock();
+                        try {
+                            // Emulate a short business method
+                            random.nextInt();
+                        } finally {
+                            invocationLock.unlock();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
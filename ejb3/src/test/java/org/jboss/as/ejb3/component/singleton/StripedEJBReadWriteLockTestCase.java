@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedEJBReadWriteLock}.
+ */
+public class StripedEJBReadWriteLockTestCase {
+
+    private final ReadWriteLock lock = new StripedEJBReadWriteLock();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void reentrantRead() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            assertTrue(readLock.tryLock());
+            readLock.unlock();
+            // Other readers are not blocked
+            assertTrue(this.executor.submit(() -> tryLock(readLock)).get());
+            // Writers are blocked
+            assertFalse(this.executor.submit(() -> tryLock(this.lock.writeLock())).get());
+        } finally {
+            readLock.unlock();
+        }
+        assertTrue(this.executor.submit(() -> tryLock(this.lock.writeLock())).get());
+    }
+
+    @Test
+    public void reentrantWrite() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            assertTrue(writeLock.tryLock());
+            writeLock.unlock();
+            // Writer may acquire read lock
+            assertTrue(this.lock.readLock().tryLock());
+            this.lock.readLock().unlock();
+            // Other readers and writers are blocked
+            assertFalse(this.executor.submit(() -> tryLock(this.lock.readLock())).get());
+            assertFalse(this.executor.submit(() -> tryLock(writeLock)).get());
+        } finally {
+            writeLock.unlock();
+        }
+        assertTrue(this.executor.submit(() -> tryLock(this.lock.readLock())).get());
+        assertTrue(this.executor.submit(() -> tryLock(writeLock)).get());
+    }
+
+    @Test
+    public void upgrade() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            fail("Expected IllegalLoopbackException");
+        } catch (IllegalLoopbackException e) {
+            // Expected
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Test
+    public void writerWaitsForReaders() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        Future<Boolean> writer;
+        try {
+            writer = this.executor.submit(() -> {
+                Lock writeLock = this.lock.writeLock();
+                if (writeLock.tryLock(10, TimeUnit.SECONDS)) {
+                    writeLock.unlock();
+                    return true;
+                }
+                return false;
+            });
+            Thread.sleep(100);
+            assertFalse(writer.isDone());
+            // Reentrant readers are never blocked by a waiting writer
+            assertTrue(readLock.tryLock());
+            readLock.unlock();
+        } finally {
+            readLock.unlock();
+        }
+        assertTrue(writer.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void readerWaitsForWriter() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        Future<Boolean> reader;
+        try {
+            reader = this.executor.submit(() -> {
+                Lock readLock = this.lock.readLock();
+                if (readLock.tryLock(10, TimeUnit.SECONDS)) {
+                    readLock.unlock();
+                    return true;
+                }
+                return false;
+            });
+            Thread.sleep(100);
+            assertFalse(reader.isDone());
+        } finally {
+            writeLock.unlock();
+        }
+        assertTrue(reader.get(10, TimeUnit.SECONDS));
+    }
+
+    private static boolean tryLock(Lock lock) {
+        if (lock.tryLock()) {
+            lock.unlock();
+            return true;
+        }
+        return false;
+    }
+}
@@ -157,4 +157,63 @@ public class StrictMaxUnitTestCase {
         assertEquals(10, MockBean.getPostConstructs());
         assertEquals(10, MockBean.getPreDestroys());
     }
+
+    @Test
+    public void testSetMaxSize() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StrictMaxPool<MockBean> pool = new StrictMaxPool<MockBean>(factory, 2, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[4];
+        beans[0] = pool.get();
+        beans[1] = pool.get();
+        assertEquals(0, pool.getAvailableCount());
+
+        // growing the pool makes new permits available immediately
+        pool.setMaxSize(4);
+        assertEquals(4, pool.getMaxSize());
+        beans[2] = pool.get();
+        beans[3] = pool.get();
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(4, pool.getAvailableCount());
+
+        // shrinking the pool removes permits and destroys idle instances
+        pool.setMaxSize(1);
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(3, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(4, MockBean.getPostConstructs());
+        assertEquals(4, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testIdleAdaptivePoolShrinks() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+        int ceiling = Runtime.getRuntime().availableProcessors() + 16;
+        StrictMaxPool<MockBean> pool = new StrictMaxPool<MockBean>(factory, ceiling, 1, TimeUnit.SECONDS, sizer);
+        pool.start();
+        try {
+            pool.release(pool.get());
+
+            // an evaluation before the interval elapsed does not resize the pool
+            pool.evaluate(System.nanoTime());
+            assertEquals(ceiling, pool.getMaxSize());
+
+            // an idle pool shrinks once the interval elapsed, without any further release
+            pool.evaluate(System.nanoTime() + AdaptivePoolSizer.EVALUATION_INTERVAL_NANOS);
+            assertEquals(ceiling - Math.max(1, ceiling / 8), pool.getMaxSize());
+            assertEquals(1, sizer.getShrinkCount());
+        } finally {
+            pool.stop();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.pool.striped;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+
+/**
+ * Measures the throughput of acquiring and releasing pooled instances by a number of concurrent threads,
+ * using a {@link StrictMaxPool} versus a {@link StripedMaxPool}, both with and without contention for instances.
+ * It is not run as part of the test suite, run its main method to compare pool implementations.
+ */
+public class StripedMaxPoolBenchmark {
+
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int ITERATIONS = 5;
+
+    private static final StatelessObjectFactory<Object> FACTORY = new StatelessObjectFactory<Object>() {
+        @Override
+        public Object create() {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object obj) {
+        }
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        // A pool large enough for all threads, and an exhausted pool, whose threads must wait for instances
+        for (int maxSize : new int[] { threads, Math.max(threads / 2, 1) }) {
+            benchmark("strict-max", threads, maxSize, size -> new StrictMaxPool<>(FACTORY, size, 1, TimeUnit.MINUTES));
+            benchmark("striped-max", threads, maxSize, size -> new StripedMaxPool<>(FACTORY, size, 1, TimeUnit.MINUTES, threads));
+        }
+    }
+
+    private static void benchmark(String name, int threads, int maxSize, IntFunction<Pool<Object>> factory) throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; ++i) {
+            Pool<Object> pool = factory.apply(maxSize);
+            pool.start();
+            try {
+                best = Math.min(best, run(pool, threads));
+            } finally {
+                pool.stop();
+            }
+        }
+        long operations = (long) threads * OPERATIONS_PER_THREAD;
+        System.out.printf("%-12s %2d threads, max-size %2d: %,12d operations/s%n", name, threads, maxSize, operations * 1_000_000_000L / best);
+    }
+
+    private static long run(Pool<Object> pool, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; ++j) {
+                        pool.release(pool.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the dispatch throughput of small tasks, e.g. invocation responses, submitted concurrently for a number of connections,
+ * when dispatched to the executor individually, versus via a {@link BatchingExecutor}.
+ * It is not run as part of the test suite, run its main method to compare dispatch strategies.
+ */
+public class BatchingExecutorBenchmark {
+
+    private static final int CONNECTIONS = 4;
+    private static final int INVOCATIONS_PER_CONNECTION = 500_000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        benchmark("direct", threads, 1);
+        for (int batchSize : new int[] { 8, 32, 128 }) {
+            benchmark("batch-" + batchSize, threads, batchSize);
+        }
+    }
+
+    private static void benchmark(String name, int threads, int batchSize) throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; ++i) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                best = Math.min(best, run(executor, (batchSize > 1) ? new BatchingExecutor<>(batchSize, threads) : null));
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+        long invocations = (long) CONNECTIONS * INVOCATIONS_PER_CONNECTION;
+        System.out.printf("%-10s %2d threads: %,12d invocations/s%n", name, threads, invocations * 1_000_000_000L / best);
+    }
+
+    private static long run(ExecutorService executor, BatchingExecutor<Integer> batcher) throws InterruptedException {
+        LongAdder results = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONNECTIONS * INVOCATIONS_PER_CONNECTION);
+        Runnable invocation = () -> {
+            // A small-payload invocation, whose result is written back to the client
+            results.increment();
+            done.countDown();
+        };
+        // Each connection receives its invocations via a single thread
+        for (int i = 0; i < CONNECTIONS; ++i) {
+            Integer connection = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < INVOCATIONS_PER_CONNECTION; ++j) {
+                        if (batcher != null) {
+                            batcher.execute(connection, invocation, executor);
+                        } else {
+                            executor.execute(invocation);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BatchingExecutor}.
+ */
+public class BatchingExecutorTestCase {
+
+    @Test
+    public void batch() throws InterruptedException {
+        int tasks = 100;
+        AtomicInteger dispatched = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            BatchingExecutor<Object> executor = new BatchingExecutor<>(10, 1);
+            Object key = new Object();
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(tasks);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            // Block the first task, so that subsequent tasks queue up behind it
+            executor.execute(key, () -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }, task -> {
+                dispatched.incrementAndGet();
+                pool.execute(task);
+            });
+            for (int i = 1; i < tasks; ++i) {
+                executor.execute(key, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                    done.countDown();
+                }, task -> {
+                    dispatched.incrementAndGet();
+                    pool.execute(task);
+                });
+            }
+            blocked.countDown();
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            Assert.assertEquals(1, maxRunning.get());
+            // One dispatch per batch
+            Assert.assertEquals(tasks / 10, dispatched.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        int threads = 8;
+        int tasksPerThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        try {
+            BatchingExecutor<Integer> executor = new BatchingExecutor<>(16, 2);
+            CountDownLatch done = new CountDownLatch(threads * tasksPerThread);
+            for (int i = 0; i < threads; ++i) {
+                clients.execute(() -> {
+                    for (int j = 0; j < tasksPerThread; ++j) {
+                        executor.execute(j % 4, done::countDown, pool);
+                    }
+                });
+            }
+            Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+            // Queues are discarded once drained
+            pool.shutdown();
+            Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, executor.getBatches());
+        } finally {
+            clients.shutdown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void serial() throws InterruptedException {
+        int threads = 8;
+        int tasksPerThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        try {
+            // Drain each task individually, so that queues are frequently discarded and recreated
+            BatchingExecutor<Object> executor = new BatchingExecutor<>(1, 1);
+            Object key = new Object();
+            CountDownLatch done = new CountDownLatch(threads * tasksPerThread);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            for (int i = 0; i < threads; ++i) {
+                clients.execute(() -> {
+                    for (int j = 0; j < tasksPerThread; ++j) {
+                        executor.execute(key, () -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            running.decrementAndGet();
+                            done.countDown();
+                        }, pool);
+                    }
+                });
+            }
+            Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+            // A key must never be drained by more than one queue
+            Assert.assertEquals(1, maxRunning.get());
+        } finally {
+            clients.shutdown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejected() {
+        BatchingExecutor<Object> executor = new BatchingExecutor<>(10, 1);
+        Object key = new Object();
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            executor.execute(key, executed::incrementAndGet, task -> {
+                throw new RejectedExecutionException();
+            });
+            Assert.fail();
+        } catch (RejectedExecutionException e) {
+            // Expected
+        }
+        // A subsequent task can still be dispatched
+        executor.execute(key, executed::incrementAndGet, Runnable::run);
+        Assert.assertEquals(1, executed.get());
+        Assert.assertEquals(0, executor.getBatches());
+    }
+}
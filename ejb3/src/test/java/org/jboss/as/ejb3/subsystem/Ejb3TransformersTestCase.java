@@ -89,7 +89,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_9_0.xsd";
+        return "schema/wildfly-ejb3_10_0.xsd";
     }
 
     /*
@@ -322,6 +322,24 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
+        // reject /subsystem=ejb3/striped-max-bean-instance-pool, which is new in 10.0.0
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL, "slsb-striped-max-pool"),
+                FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+        // reject the attribute max-size from resource /subsystem=ejb3/cache=*, which is new in 10.0.0
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.CACHE, "bounded"),
+                new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
+
+        // reject the attribute adaptive-sizing from resource /subsystem=ejb3/strict-max-bean-instance-pool=*, which is new in 10.0.0
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "slsb-strict-max-pool"),
+                new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.ADAPTIVE_SIZING));
+
+        // reject the attribute incremental-refresh from resource /subsystem=ejb3/service=timer-service/database-data-store=*, which is new in 10.0.0
+        if (!EJB3Model.VERSION_1_2_1.matches(version) && !EJB3Model.VERSION_1_3_0.matches(version)) {
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+        }
+
         // EAP 6.4.0
         if (EJB3Model.VERSION_1_2_1.matches(version)) {
 
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timer.schedule;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+
+/**
+ * Measures the creation of {@link CalendarBasedTimeout}s and the computation of their next timeouts for common
+ * <code>@Schedule</code> patterns. It is not run as part of the test suite, run its main method to compare the
+ * numbers before and after a change to the calendar timeout computation.
+ */
+public class CalendarBasedTimeoutBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final int TIMERS = 1000;
+    private static final int TIMEOUTS_PER_TIMER = 100;
+
+    public static void main(String[] args) {
+        benchmark("every 10 seconds", new ScheduleExpression().second("*/10").minute("*").hour("*"));
+        benchmark("every 15 minutes", new ScheduleExpression().minute("0/15").hour("*"));
+        benchmark("hourly", new ScheduleExpression().minute("0").hour("*"));
+        benchmark("weekdays at 8:15", new ScheduleExpression().minute("15").hour("8").dayOfWeek("Mon-Fri"));
+        benchmark("1st and 15th at midnight", new ScheduleExpression().dayOfMonth("1, 15"));
+        benchmark("last friday of the month", new ScheduleExpression().hour("18").dayOfMonth("Last Fri"));
+    }
+
+    private static void benchmark(String name, ScheduleExpression expression) {
+        expression.timezone("Europe/Berlin");
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            run(expression);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            best = Math.min(best, run(expression));
+        }
+        System.out.printf("%-28s %8d ns/timeout%n", name, best / ((long) TIMERS * TIMEOUTS_PER_TIMER));
+    }
+
+    private static long run(ScheduleExpression expression) {
+        final Calendar start = new GregorianCalendar(TimeZone.getTimeZone("Europe/Berlin"));
+        start.clear();
+        start.set(2017, Calendar.JANUARY, 1);
+        final long begin = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < TIMERS; i++) {
+            final CalendarBasedTimeout timeout = new CalendarBasedTimeout(expression);
+            Calendar next = timeout.getNextTimeout(start);
+            for (int j = 0; j < TIMEOUTS_PER_TIMER && next != null; j++) {
+                checksum += next.getTimeInMillis();
+                next = timeout.getNextTimeout(next);
+            }
+        }
+        final long elapsed = System.nanoTime() - begin;
+        if (checksum == 0) {
+            throw new IllegalStateException();
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.value.InjectedValue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final String TIMED_OBJECT_ID = "timed-object";
+    private static final long SEGMENT_SIZE = 1024;
+
+    private final TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private final RiverMarshallerFactory factory = new RiverMarshallerFactory();
+    private final MarshallingConfiguration configuration = new MarshallingConfiguration();
+    private File directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+        this.configuration.setVersion(3);
+        InjectedValue<TimedObjectInvoker> value = new InjectedValue<>();
+        value.inject(this.invoker);
+        when(this.invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(this.invoker.getClassLoader()).thenReturn(this.getClass().getClassLoader());
+        when(this.timerService.getInvoker()).thenReturn(this.invoker);
+        when(this.timerService.getTimedObjectInvoker()).thenReturn(value);
+    }
+
+    @Test
+    public void appendReplay() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.write(this.timer("a", TimerState.ACTIVE, 1));
+            journal.write(this.timer("b", TimerState.ACTIVE, 1));
+            journal.write(this.timer("c", TimerState.ACTIVE, 1));
+            journal.write(this.timer("b", TimerState.ACTIVE, 2));
+            journal.write(this.timer("c", TimerState.CANCELED, 2));
+            assertTrue(journal.contains("a"));
+            assertFalse(journal.contains("c"));
+        }
+
+        Map<String, TimerImpl> timers = this.load();
+        assertEquals(2, timers.size());
+        assertTimer(timers.get("a"), "a", 1);
+        assertTimer(timers.get("b"), "b", 2);
+    }
+
+    @Test
+    public void tornTail() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.write(this.timer("a", TimerState.ACTIVE, 1));
+            journal.write(this.timer("b", TimerState.ACTIVE, 1));
+        }
+        File segment = this.segments()[0];
+        long length = segment.length();
+
+        // Simulate a record whose write was interrupted
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer torn = ByteBuffer.allocate(20);
+            torn.putInt(100);
+            torn.putInt(0);
+            torn.flip();
+            channel.write(torn);
+        }
+
+        // Records appended after recovery must directly follow the last complete record, and must survive a replay
+        try (TimerJournal journal = this.createJournal()) {
+            assertEquals(2, journal.load(this.timerService).size());
+            journal.write(this.timer("c", TimerState.ACTIVE, 1));
+        }
+        assertTrue(segment.length() > length);
+
+        Map<String, TimerImpl> timers = this.load();
+        assertEquals(3, timers.size());
+        assertTimer(timers.get("a"), "a", 1);
+        assertTimer(timers.get("b"), "b", 1);
+        assertTimer(timers.get("c"), "c", 1);
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.write(this.timer("a", TimerState.ACTIVE, 0));
+            // Repeatedly updating the same timer spans many segments, which are compacted once mostly obsolete
+            for (int i = 1; i <= 100; ++i) {
+                journal.write(this.timer("b", TimerState.ACTIVE, i));
+                assertTrue(this.segments().length <= 3);
+            }
+        }
+
+        Map<String, TimerImpl> timers = this.load();
+        assertEquals(2, timers.size());
+        assertTimer(timers.get("a"), "a", 0);
+        assertTimer(timers.get("b"), "b", 100);
+    }
+
+    @Test
+    public void migration() throws IOException {
+        // Timers persisted as XML files by a file store without a journal
+        FileTimerPersistence persistence = this.createPersistence(false);
+        persistence.addTimer(this.timer("a", TimerState.ACTIVE, 1));
+        persistence.addTimer(this.timer("b", TimerState.ACTIVE, 2));
+        persistence.stop(null);
+
+        File timerDirectory = new File(this.directory, TIMED_OBJECT_ID);
+        assertEquals(2, timerDirectory.listFiles((dir, name) -> name.endsWith(".xml")).length);
+        assertFalse(TimerJournal.exists(timerDirectory));
+
+        // Are migrated into the journal once loaded by a file store with a journal
+        persistence = this.createPersistence(true);
+        List<TimerImpl> timers = persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService);
+        persistence.stop(null);
+
+        assertEquals(2, timers.size());
+        assertTrue(TimerJournal.exists(timerDirectory));
+        assertEquals(0, timerDirectory.listFiles((dir, name) -> name.endsWith(".xml")).length);
+
+        Map<String, TimerImpl> journalTimers = new TimerJournal(timerDirectory, this.factory, this.configuration).load(this.timerService);
+        assertEquals(2, journalTimers.size());
+        assertTimer(journalTimers.get("a"), "a", 1);
+        assertTimer(journalTimers.get("b"), "b", 2);
+    }
+
+    private TimerJournal createJournal() {
+        return new TimerJournal(this.directory, this.factory, this.configuration, SEGMENT_SIZE);
+    }
+
+    private Map<String, TimerImpl> load() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            return journal.load(this.timerService);
+        }
+    }
+
+    private File[] segments() {
+        File[] segments = this.directory.listFiles((dir, name) -> name.startsWith(TimerJournal.SEGMENT_PREFIX) && name.endsWith(TimerJournal.SEGMENT_SUFFIX));
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    private FileTimerPersistence createPersistence(boolean journal) {
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry(this.directory.getPath(), null)).thenReturn(this.directory.getPath());
+        FileTimerPersistence persistence = new FileTimerPersistence(true, this.directory.getPath(), null, journal);
+        persistence.getPathManager().inject(pathManager);
+        persistence.getModuleLoader().inject(mock(ModuleLoader.class));
+        persistence.start(null);
+        return persistence;
+    }
+
+    private TimerImpl timer(String id, TimerState state, long next) {
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(new Date(0))
+                .setRepeatInterval(1000)
+                .setNextDate(new Date(next * 1000))
+                .setTimerState(state)
+                .setInfo("info-" + id)
+                .setPersistent(true)
+                .build(this.timerService);
+    }
+
+    private static void assertTimer(TimerImpl timer, String id, long next) {
+        assertEquals(id, timer.getId());
+        assertEquals(TIMED_OBJECT_ID, timer.getTimedObjectId());
+        assertEquals(new Date(0), timer.getInitialExpiration());
+        assertEquals(1000, timer.getInterval());
+        assertEquals(new Date(next * 1000), timer.getNextExpiration());
+        assertEquals("info-" + id, timer.getTimerInfo());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimingWheelScheduler}.
+ */
+public class TimingWheelSchedulerTestCase {
+
+    private TimingWheelScheduler scheduler;
+
+    @Before
+    public void before() {
+        scheduler = new TimingWheelScheduler("timing-wheel-test", 5);
+        scheduler.start();
+    }
+
+    @After
+    public void after() {
+        scheduler.stop();
+    }
+
+    @Test
+    public void testTimeoutNeverFiresEarly() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong fired = new AtomicLong();
+        final long start = System.currentTimeMillis();
+        scheduler.schedule(() -> {
+            fired.set(System.currentTimeMillis());
+            latch.countDown();
+        }, 100);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(fired.get() - start >= 100);
+        Assert.assertEquals(0, scheduler.getPendingTimeouts());
+    }
+
+    @Test
+    public void testLongDelayIsCascaded() throws Exception {
+        // beyond the 256 ticks of the first level of the wheel
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.currentTimeMillis();
+        scheduler.schedule(latch::countDown, 2000);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 2000);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final TimerScheduler.Timeout timeout = scheduler.schedule(count::incrementAndGet, 50);
+        Assert.assertTrue(timeout.cancel());
+        Assert.assertFalse(timeout.cancel());
+        Thread.sleep(200);
+        Assert.assertEquals(0, count.get());
+        Assert.assertEquals(0, scheduler.getPendingTimeouts());
+    }
+
+    @Test
+    public void testFixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final TimerScheduler.Timeout timeout = scheduler.scheduleAtFixedRate(latch::countDown, 10, 20);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(timeout.cancel());
+    }
+}
@@ -51,10 +51,20 @@ import org.jboss.dmr.ModelType;
 public class MetricCollector {
     private final LocalModelControllerClient modelControllerClient;
     private final ProcessStateNotifier processStateNotifier;
+    private final long snapshotTTL;
 
     public MetricCollector(LocalModelControllerClient modelControllerClient, ProcessStateNotifier processStateNotifier) {
+        this(modelControllerClient, processStateNotifier, 0);
+    }
+
+    /**
+     * @param snapshotTTL the duration (in milliseconds) during which the values of all the metrics of a resource
+     *                    are read in a single operation and reused. If it is not positive, each metric is read individually.
+     */
+    public MetricCollector(LocalModelControllerClient modelControllerClient, ProcessStateNotifier processStateNotifier, long snapshotTTL) {
         this.modelControllerClient = modelControllerClient;
         this.processStateNotifier = processStateNotifier;
+        this.snapshotTTL = snapshotTTL;
     }
 
     // collect metrics from the resources
@@ -104,6 +114,7 @@ public class MetricCollector {
         }
 
         ModelNode resourceDescription = null;
+        WildFlyResourceMetrics resourceMetrics = null;
         for (Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
             String attributeName = entry.getKey();
 
@@ -116,12 +127,15 @@ public class MetricCollector {
                 DescriptionProvider modelDescription = managementResourceRegistration.getModelDescription(address);
                 resourceDescription = modelDescription.getModelDescription(Locale.getDefault());
             }
-            PathAddress resourceAddress = resourceAddressResolver.apply(address);
+            if (resourceMetrics == null) {
+                resourceMetrics = new WildFlyResourceMetrics(modelControllerClient, resourceAddressResolver.apply(address), snapshotTTL);
+            }
+            PathAddress resourceAddress = resourceMetrics.getAddress();
             MeasurementUnit unit = attributeAccess.getAttributeDefinition().getMeasurementUnit();
             boolean isCounter = attributeAccess.getFlags().contains(AttributeAccess.Flag.COUNTER_METRIC);
             String attributeDescription = resourceDescription.get(ATTRIBUTES, attributeName, DESCRIPTION).asStringOrNull();
 
-            WildFlyMetric metric = new WildFlyMetric(modelControllerClient, resourceAddress, attributeName);
+            WildFlyMetric metric = resourceMetrics.createMetric(attributeName);
             WildFlyMetricMetadata metadata = new WildFlyMetricMetadata(attributeName, resourceAddress, prefix, attributeDescription, unit, isCounter ? COUNTER : GAUGE);
 
             registration.addRegistrationTask(() -> registration.registerMetric(metric, metadata));
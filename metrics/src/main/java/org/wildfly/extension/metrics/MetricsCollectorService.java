@@ -38,12 +38,20 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service to create a metric collector
  */
 public class MetricsCollectorService implements Service<MetricCollector> {
 
+    /**
+     * System property to configure the duration (in milliseconds) during which a snapshot of all the metrics of a management
+     * resource is reused. A value of 0 (or less) reads every metric with its own management operation.
+     */
+    static final String SNAPSHOT_TTL_PROPERTY = "wildfly.metrics.snapshot-ttl";
+    private static final long DEFAULT_SNAPSHOT_TTL = 1000;
+
     private final Supplier<ModelControllerClientFactory> modelControllerClientFactory;
     private final Supplier<Executor> managementExecutor;
     private final Supplier<ProcessStateNotifier> processStateNotifier;
@@ -76,7 +84,8 @@ public class MetricsCollectorService implements Service<MetricCollector> {
         // [WFLY-11933] if RBAC is enabled, the local client does not have enough priviledges to read metrics
         modelControllerClient = modelControllerClientFactory.get().createClient(managementExecutor.get());
 
-        metricCollector = new MetricCollector(modelControllerClient, processStateNotifier.get());
+        long snapshotTTL = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(SNAPSHOT_TTL_PROPERTY, Long.toString(DEFAULT_SNAPSHOT_TTL)));
+        metricCollector = new MetricCollector(modelControllerClient, processStateNotifier.get(), snapshotTTL);
 
         metricCollectorConsumer.accept(metricCollector);
     }
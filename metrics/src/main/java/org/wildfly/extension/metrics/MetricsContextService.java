@@ -93,14 +93,22 @@ public class MetricsContextService implements Service {
                     return;
                 }
 
+                // reading the metrics requires management operations, do not block the IO thread
+                if (exchange.isInIoThread()) {
+                    exchange.dispatch(this);
+                    return;
+                }
+
                 WildFlyMetricRegistry metricRegistry = wildflyMetricRegistry.get();
+                String wildFlyMetrics;
+                // only hold the registry lock while reading the metrics, not while the client consumes the response
                 metricRegistry.readLock();
                 try {
-                    String wildFlyMetrics = prometheusExporter.export(metricRegistry);
-                    exchange.getResponseSender().send(wildFlyMetrics);
+                    wildFlyMetrics = prometheusExporter.export(metricRegistry);
                 } finally {
                     metricRegistry.unlock();
                 }
+                exchange.getResponseSender().send(wildFlyMetrics);
             }
         });
         consumer.accept(this);
@@ -21,6 +21,8 @@
  */
 package org.wildfly.extension.metrics;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.OptionalDouble;
@@ -34,9 +36,23 @@ public class PrometheusExporter {
     private static final String LF = "\n";
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
-
         StringBuilder out = new StringBuilder();
+        try {
+            export(registry, out);
+        } catch (IOException e) {
+            // can not happen with a StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the metrics of the registry in the Prometheus text format.
+     *
+     * Each metric is appended as soon as its value is read.
+     */
+    public void export(WildFlyMetricRegistry registry, Appendable out) throws IOException {
+        Set<String> alreadyExportedMetrics = new HashSet<String>();
 
         for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
             MetricID metricID = entry.getKey();
@@ -49,9 +65,9 @@ public class PrometheusExporter {
                 continue;
             }
             if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
+                out.append("# HELP ").append(prometheusMetricName).append(" ").append(metadata.getDescription());
                 out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
+                out.append("# TYPE ").append(prometheusMetricName).append(" ").append(metadata.getType().toString());
                 out.append(LF);
                 alreadyExportedMetrics.add(metricName);
             }
@@ -60,11 +76,9 @@ public class PrometheusExporter {
             if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
                 prometheusMetricName += "_" + metadata.getBaseMetricUnit();
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
+            out.append(prometheusMetricName).append(getTagsAsAString(metricID)).append(" ").append(Double.toString(scaledValue));
             out.append(LF);
         }
-
-        return out.toString();
     }
 
     private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
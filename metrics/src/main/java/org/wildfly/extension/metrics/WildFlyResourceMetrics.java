@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the metric attributes of a single management resource.
+ *
+ * If the snapshot TTL is positive, all the metric attributes of the resource are read with a single composite operation
+ * and the resulting snapshot is shared by all the metrics of the resource until it expires.
+ * Otherwise, each attribute is read individually with its own {@code read-attribute} operation.
+ *
+ * Attributes that could not be read are undefined in the snapshot, so a failing resource costs a single operation per TTL
+ * rather than an additional operation per metric.
+ */
+public class WildFlyResourceMetrics {
+
+    private static final ModelNode UNDEFINED = new ModelNode();
+
+    static {
+        UNDEFINED.protect();
+    }
+
+    private final LocalModelControllerClient modelControllerClient;
+    private final PathAddress address;
+    private final long snapshotTTL;
+    private final CopyOnWriteArrayList<String> attributeNames = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param modelControllerClient the client used to read the attributes
+     * @param address the address of the management resource
+     * @param snapshotTTL the duration (in milliseconds) during which a snapshot of the resource metrics is reused.
+     *                    If it is not positive, the attributes are read individually every time.
+     */
+    public WildFlyResourceMetrics(LocalModelControllerClient modelControllerClient, PathAddress address, long snapshotTTL) {
+        this.modelControllerClient = modelControllerClient;
+        this.address = address;
+        this.snapshotTTL = TimeUnit.MILLISECONDS.toNanos(snapshotTTL);
+    }
+
+    public PathAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Creates a metric for the given attribute of this resource.
+     * The attribute is then included in the snapshots of the resource.
+     */
+    public WildFlyMetric createMetric(String attributeName) {
+        if (attributeNames.addIfAbsent(attributeName)) {
+            // force a new snapshot that will include this attribute
+            snapshot = null;
+        }
+        return new WildFlyMetric(this, attributeName);
+    }
+
+    ModelNode readAttribute(String attributeName) {
+        if (snapshotTTL <= 0) {
+            return readAttributeValue(attributeName);
+        }
+        long now = System.nanoTime();
+        Snapshot current = snapshot;
+        if (current == null || now - current.timestamp >= snapshotTTL) {
+            current = readSnapshot(now);
+            snapshot = current;
+        }
+        ModelNode value = current.values.get(attributeName);
+        // the attribute was created after the snapshot was taken
+        return (value != null) ? value : readAttributeValue(attributeName);
+    }
+
+    private Snapshot readSnapshot(long timestamp) {
+        List<String> names = attributeNames;
+        final ModelNode compositeOp = new ModelNode();
+        compositeOp.get(OP).set(COMPOSITE);
+        compositeOp.get(OP_ADDR).setEmptyList();
+        compositeOp.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        ModelNode steps = compositeOp.get(STEPS);
+        for (String attributeName : names) {
+            steps.add(createReadAttributeOperation(attributeName));
+        }
+        ModelNode response = modelControllerClient.execute(compositeOp);
+        ModelNode result = response.get(RESULT);
+        Map<String, ModelNode> values = new HashMap<>();
+        int i = 1;
+        for (String attributeName : names) {
+            ModelNode stepResponse = result.get("step-" + i++);
+            // if the composite operation itself failed, report its failure for every attribute of the resource
+            String error = stepResponse.isDefined() ? getFailureDescription(stepResponse) : getFailureDescription(response);
+            if (error != null) {
+                logFailure(attributeName, error);
+            }
+            values.put(attributeName, (error == null && stepResponse.isDefined()) ? stepResponse.get(RESULT) : UNDEFINED);
+        }
+        return new Snapshot(timestamp, values);
+    }
+
+    private ModelNode readAttributeValue(String attributeName) {
+        ModelNode response = modelControllerClient.execute(createReadAttributeOperation(attributeName));
+        String error = getFailureDescription(response);
+        if (error != null) {
+            logFailure(attributeName, error);
+            return UNDEFINED;
+        }
+        return  response.get(RESULT);
+    }
+
+    private void logFailure(String attributeName, String error) {
+        // [WFLY-11933] if the value can not be read if the management resource is not accessible due to RBAC,
+        // it is logged it at a lower level.
+        if (error.contains("WFLYCTL0216")) {
+            LOGGER.debugf("Unable to read attribute %s: %s.", attributeName, error);
+        } else{
+            LOGGER.unableToReadAttribute(attributeName, address, error);
+        }
+    }
+
+    private ModelNode createReadAttributeOperation(String attributeName) {
+        final ModelNode readAttributeOp = new ModelNode();
+        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
+        readAttributeOp.get(NAME).set(attributeName);
+        return readAttributeOp;
+    }
+
+    private static String getFailureDescription(ModelNode result) {
+        if (result.hasDefined(FAILURE_DESCRIPTION)) {
+            return result.get(FAILURE_DESCRIPTION).toString();
+        }
+        return null;
+    }
+
+    private static class Snapshot {
+        final long timestamp;
+        final Map<String, ModelNode> values;
+
+        Snapshot(long timestamp, Map<String, ModelNode> values) {
+            this.timestamp = timestamp;
+            this.values = values;
+        }
+    }
+}
@@ -22,13 +22,11 @@
 
 package org.jboss.as.naming;
 
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.as.naming.logging.NamingLogger;
-import org.jboss.as.naming.util.FastCopyHashMap;
+import org.jboss.as.naming.util.PersistentHashMap;
 
 /**
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
@@ -47,7 +45,7 @@ final class AtomicMapFieldUpdater<C, K, V> {
     }
 
     public void clear(C instance) {
-        updater.set(instance, Collections.<K, V>emptyMap());
+        updater.set(instance, PersistentHashMap.<K, V>empty());
     }
 
     public V get(C instance, Object key) {
@@ -60,28 +58,9 @@ final class AtomicMapFieldUpdater<C, K, V> {
         }
         for (;;) {
             final Map<K, V> oldMap = updater.get(instance);
-            final Map<K, V> newMap;
-            final V oldValue;
-            final int oldSize = oldMap.size();
-            if (oldSize == 0) {
-                oldValue = null;
-                newMap = Collections.singletonMap(key, value);
-            } else if (oldSize == 1) {
-                final Map.Entry<K, V> entry = oldMap.entrySet().iterator().next();
-                final K oldKey = entry.getKey();
-                if (oldKey.equals(key)) {
-                    newMap = Collections.singletonMap(key, value);
-                    oldValue = entry.getValue();
-                } else {
-                    newMap = new FastCopyHashMap<K, V>(oldMap);
-                    oldValue = newMap.put(key, value);
-                }
-            } else {
-                newMap = new FastCopyHashMap<K, V>(oldMap);
-                oldValue = newMap.put(key, value);
-            }
-            final boolean result = updater.compareAndSet(instance, oldMap, newMap);
-            if (result) {
+            final PersistentHashMap<K, V> snapshot = PersistentHashMap.of(oldMap);
+            final V oldValue = snapshot.get(key);
+            if (updater.compareAndSet(instance, oldMap, snapshot.with(key, value))) {
                 return oldValue;
             }
         }
@@ -100,24 +79,12 @@ final class AtomicMapFieldUpdater<C, K, V> {
         if (key == null) {
             throw NamingLogger.ROOT_LOGGER.nullVar("key");
         }
-        final Map<K, V> newMap;
-        final int oldSize = snapshot.size();
-        if (oldSize == 0) {
-            newMap = Collections.singletonMap(key, value);
-        } else if (oldSize == 1) {
-            final Map.Entry<K, V> entry = snapshot.entrySet().iterator().next();
-            final K oldKey = entry.getKey();
-            if (oldKey.equals(key)) {
-                return entry.getValue();
-            } else {
-                newMap = new FastCopyHashMap<K, V>(snapshot);
-                newMap.put(key, value);
-            }
-        } else {
-            newMap = new FastCopyHashMap<K, V>(snapshot);
-            newMap.put(key, value);
+        final PersistentHashMap<K, V> map = PersistentHashMap.of(snapshot);
+        final V existing = map.get(key);
+        if (existing != null) {
+            return existing;
         }
-        if (updater.compareAndSet(instance, snapshot, newMap)) {
+        if (updater.compareAndSet(instance, snapshot, map.with(key, value))) {
             return null;
         } else {
             return value;
@@ -130,25 +97,37 @@ final class AtomicMapFieldUpdater<C, K, V> {
         }
         for (;;) {
             final Map<K, V> oldMap = updater.get(instance);
-            final Map<K, V> newMap;
-            final int oldSize = oldMap.size();
-            if (oldSize == 0) {
-                newMap = Collections.singletonMap(key, value);
-            } else if (oldSize == 1) {
-                final Map.Entry<K, V> entry = oldMap.entrySet().iterator().next();
-                final K oldKey = entry.getKey();
-                if (oldKey.equals(key)) {
-                    return entry.getValue();
-                } else {
-                    newMap = new FastCopyHashMap<K, V>(oldMap);
-                    newMap.put(key, value);
+            final PersistentHashMap<K, V> snapshot = PersistentHashMap.of(oldMap);
+            final V existing = snapshot.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (updater.compareAndSet(instance, oldMap, snapshot.with(key, value))) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Put all the given values in a single update, if and only if none of their keys is present.
+     *
+     * @param instance the instance with the map field
+     * @param values the values to put
+     * @return {@code null} if it succeeded, otherwise a key that is already present, in which case nothing was put
+     */
+    public K putAllIfAbsent(C instance, Map<K, V> values) {
+        for (;;) {
+            final Map<K, V> oldMap = updater.get(instance);
+            PersistentHashMap<K, V> newMap = PersistentHashMap.of(oldMap);
+            for (Map.Entry<K, V> entry : values.entrySet()) {
+                final K key = entry.getKey();
+                if (key == null) {
+                    throw NamingLogger.ROOT_LOGGER.nullVar("key");
                 }
-            } else {
-                if (oldMap.containsKey(key)) {
-                    return oldMap.get(key);
+                if (newMap.containsKey(key)) {
+                    return key;
                 }
-                newMap = new FastCopyHashMap<K, V>(oldMap);
-                newMap.put(key, value);
+                newMap = newMap.with(key, entry.getValue());
             }
             if (updater.compareAndSet(instance, oldMap, newMap)) {
                 return null;
@@ -162,51 +141,48 @@ final class AtomicMapFieldUpdater<C, K, V> {
         }
         for (;;) {
             final Map<K, V> oldMap = updater.get(instance);
-            final Map<K, V> newMap;
-            final V oldValue;
-            final int oldSize = oldMap.size();
-            if (oldSize == 0) {
+            final PersistentHashMap<K, V> snapshot = PersistentHashMap.of(oldMap);
+            final V oldValue = snapshot.get(key);
+            if (oldValue == null) {
                 return null;
-            } else if (oldSize == 1) {
-                final Map.Entry<K, V> entry = oldMap.entrySet().iterator().next();
-                if (entry.getKey().equals(key)) {
-                    newMap = Collections.emptyMap();
-                    oldValue = entry.getValue();
-                } else {
-                    return null;
-                }
-            } else if (oldSize == 2) {
-                final Iterator<Map.Entry<K,V>> i = oldMap.entrySet().iterator();
-                final Map.Entry<K, V> entry = i.next();
-                final Map.Entry<K, V> next = i.next();
-                if (entry.getKey().equals(key)) {
-                    newMap = Collections.singletonMap(next.getKey(), next.getValue());
-                    oldValue = entry.getValue();
-                } else if (next.getKey().equals(key)) {
-                    newMap = Collections.singletonMap(entry.getKey(), entry.getValue());
-                    oldValue = next.getValue();
-                } else {
-                    return null;
-                }
-            } else {
-                if (! oldMap.containsKey(key)) {
-                    return null;
-                }
-                newMap = new FastCopyHashMap<K, V>(oldMap);
-                oldValue = newMap.remove(key);
             }
-            if (updater.compareAndSet(instance, oldMap, newMap)) {
+            if (updater.compareAndSet(instance, oldMap, snapshot.without(key))) {
                 return oldValue;
             }
         }
     }
 
+    /**
+     * Removes the entry for the given key, if and only if it is mapped to the given value instance.
+     *
+     * @param instance the instance with the map field
+     * @param key the key to remove
+     * @param value the value instance expected for the key
+     * @return {@code true} if the entry was removed, {@code false} otherwise
+     */
+    public boolean remove(C instance, K key, V value) {
+        if (key == null) {
+            return false;
+        }
+        for (;;) {
+            final Map<K, V> oldMap = updater.get(instance);
+            final PersistentHashMap<K, V> snapshot = PersistentHashMap.of(oldMap);
+            if (snapshot.get(key) != value) {
+                return false;
+            }
+            if (updater.compareAndSet(instance, oldMap, snapshot.without(key))) {
+                return true;
+            }
+        }
+    }
+
     public Map<K, V> get(final C subregistry) {
         return updater.get(subregistry);
     }
 
     public Map<K, V> getReadOnly(final C subregistry) {
         final Map<K, V> snapshot = updater.get(subregistry);
-        return snapshot instanceof FastCopyHashMap ? Collections.unmodifiableMap(snapshot) : snapshot;
+        // persistent maps are immutable
+        return snapshot;
     }
 }
@@ -32,8 +32,8 @@ import static org.jboss.as.naming.util.NamingUtils.nameNotFoundException;
 import static org.jboss.as.naming.util.NamingUtils.notAContextException;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -53,11 +53,13 @@ import javax.naming.event.NamingEvent;
 import javax.naming.event.NamingListener;
 import javax.naming.spi.ResolveResult;
 import org.jboss.as.naming.logging.NamingLogger;
+import org.jboss.as.naming.util.PersistentHashMap;
 
 /**
  * In-memory implementation of the NamingStore.  The backing for the entries is a basic tree structure with either context
  * nodes or binding nodes.  The context nodes are allowed to have children and can be represented by a NamingContext.  A
- * binding node is only allowed to have a normal object binding.
+ * binding node is only allowed to have a normal object binding.  The children of a context node are kept in a
+ * {@link PersistentHashMap}, so adding or removing a child does not copy the other children.
  *
  * @author John E. Bailey
  */
@@ -136,6 +138,80 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
+    /**
+     * Bind a batch of objects, updating the children of each parent context only once.  If any of the objects cannot be
+     * bound, e.g. because its name is already bound, then the bindings already applied are rolled back, and any parent
+     * context created for the batch is removed again.  Events are only fired once all objects are bound.
+     * Lookups do not acquire the write lock, so they may observe part of the batch while it is being bound, or before it
+     * is rolled back.
+     *
+     * @param bindings The entry objects, keyed by entry name
+     * @throws NamingException
+     */
+    @Override
+    public void bindAll(final Map<Name, Object> bindings) throws NamingException {
+        for (Name name : bindings.keySet()) {
+            if (isLastComponentEmpty(name)) {
+                throw emptyNameException();
+            }
+        }
+
+        writeLock.lock();
+        try {
+            final List<ContextNode> createdNodes = new ArrayList<ContextNode>();
+            final Map<ContextNode, Map<String, TreeNode>> batches = new LinkedHashMap<ContextNode, Map<String, TreeNode>>();
+            final List<ContextNode> boundNodes = new ArrayList<ContextNode>(bindings.size());
+            try {
+                // Resolve all parent contexts first, as resolving may create contexts that clash with other bindings
+                final Map<Name, ContextNode> contextNodes = new LinkedHashMap<Name, ContextNode>();
+                for (Name name : bindings.keySet()) {
+                    contextNodes.put(name, root.accept(new BindContextVisitor(name, createdNodes)));
+                }
+                for (Map.Entry<Name, ContextNode> entry : contextNodes.entrySet()) {
+                    final Name name = entry.getKey();
+                    final ContextNode contextNode = entry.getValue();
+                    final String childName = getLastComponent(name);
+                    Map<String, TreeNode> batch = batches.get(contextNode);
+                    if (batch == null) {
+                        batch = new LinkedHashMap<String, TreeNode>();
+                        batches.put(contextNode, batch);
+                    }
+                    if (contextNode.children.containsKey(childName) || batch.containsKey(childName)) {
+                        throw nameAlreadyBoundException(name);
+                    }
+                    final Object object = bindings.get(name);
+                    batch.put(childName, new BindingNode(name, new Binding(childName, object.getClass().getName(), object, true)));
+                }
+                for (Map.Entry<ContextNode, Map<String, TreeNode>> batch : batches.entrySet()) {
+                    batch.getKey().addChildren(batch.getValue());
+                    boundNodes.add(batch.getKey());
+                }
+            } catch (NamingException | RuntimeException e) {
+                // Undo the batches bound so far, then remove the contexts created for this batch, innermost first
+                for (ContextNode contextNode : boundNodes) {
+                    for (Map.Entry<String, TreeNode> child : batches.get(contextNode).entrySet()) {
+                        childrenUpdater.remove(contextNode, child.getKey(), child.getValue());
+                    }
+                }
+                for (int i = createdNodes.size() - 1; i >= 0; --i) {
+                    final ContextNode contextNode = createdNodes.get(i);
+                    if (contextNode.children.isEmpty()) {
+                        childrenUpdater.remove(contextNode.parentNode, contextNode.name, contextNode);
+                    }
+                }
+                throw e;
+            }
+            for (Map.Entry<ContextNode, Map<String, TreeNode>> batch : batches.entrySet()) {
+                final ContextNode contextNode = batch.getKey();
+                for (TreeNode node : batch.getValue().values()) {
+                    fireEvent(contextNode, node.fullName, null, node.binding, NamingEvent.OBJECT_ADDED, "bind");
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     public void rebind(Name name, Object object) throws NamingException {
         rebind(name, object, object.getClass());
@@ -299,7 +375,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
     private static final AtomicMapFieldUpdater<ContextNode, String, TreeNode> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ContextNode.class, Map.class, "children"));
 
     private class ContextNode extends TreeNode {
-        volatile Map<String, TreeNode> children = Collections.emptyMap();
+        volatile Map<String, TreeNode> children = PersistentHashMap.empty();
         protected final String name;
         protected final ContextNode parentNode;
 
@@ -315,6 +391,13 @@ public class InMemoryNamingStore implements WritableNamingStore {
             }
         }
 
+        private void addChildren(final Map<String, TreeNode> childNodes) throws NamingException {
+            final String existing = childrenUpdater.putAllIfAbsent(this, childNodes);
+            if (existing != null) {
+                throw nameAlreadyBoundException(((Name) fullName.clone()).add(existing));
+            }
+        }
+
         private TreeNode replaceChild(final String childName, final TreeNode childNode) throws NamingException {
             return childrenUpdater.put(this, childName, childNode);
         }
@@ -394,7 +477,12 @@ public class InMemoryNamingStore implements WritableNamingStore {
             if (node == null) {
                 if (createIfMissing) {
                     final NamingContext subContext = new NamingContext((Name)traversedName.clone(), InMemoryNamingStore.this, new Hashtable<String, Object>());
-                    return contextNode.addOrGetChild(childName, new ContextNode(contextNode, childName, (Name)traversedName.clone(), subContext)).accept(this);
+                    final ContextNode subContextNode = new ContextNode(contextNode, childName, (Name)traversedName.clone(), subContext);
+                    final TreeNode child = contextNode.addOrGetChild(childName, subContextNode);
+                    if (child == subContextNode) {
+                        created(subContextNode);
+                    }
+                    return child.accept(this);
                 } else {
                     throw nameNotFoundException(childName, contextNode.fullName);
                 }
@@ -406,6 +494,12 @@ public class InMemoryNamingStore implements WritableNamingStore {
 
         protected abstract T found(BindingNode bindingNode) throws NamingException;
 
+        /**
+         * Invoked when a missing context was created while traversing the tree.
+         */
+        protected void created(ContextNode contextNode) {
+        }
+
         protected T foundReferenceInsteadOfContext(BindingNode bindingNode) throws NamingException {
             final Object object = bindingNode.binding.getObject();
             checkReferenceForContinuation(currentName, object);
@@ -457,6 +551,24 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
+    private final class BindContextVisitor extends BindingContextVisitor<ContextNode> {
+        private final List<ContextNode> createdNodes;
+
+        private BindContextVisitor(final Name name, final List<ContextNode> createdNodes) {
+            super(true, name);
+            this.createdNodes = createdNodes;
+        }
+
+        protected ContextNode foundBindContext(final ContextNode contextNode) throws NamingException {
+            return contextNode;
+        }
+
+        @Override
+        protected void created(final ContextNode contextNode) {
+            createdNodes.add(contextNode);
+        }
+    }
+
     private final class RebindVisitor extends BindingContextVisitor<Void> {
         private final Object object;
         private final String className;
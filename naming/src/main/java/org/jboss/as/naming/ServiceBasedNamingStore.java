@@ -28,9 +28,13 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -65,6 +69,12 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    // Resolved bindings keyed by JNDI name, only valid while their generation matches the current one
+    private final Map<String, CachedLookup> lookupCache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder lookupCacheHitCount = new LongAdder();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -79,8 +89,20 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        this.lookupCount.increment();
+        final String key = name.toString();
+        final long generation = this.generation.get();
+        final CachedLookup cached = this.lookupCache.get(key);
+        if (cached != null && cached.generation == generation) {
+            this.lookupCacheHitCount.increment();
+            return dereference ? dereference(key, cached.factory) : cached.factory;
+        }
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final Object value = getBoundValue(key, lookupName);
+        if (value instanceof ManagedReferenceFactory) {
+            this.lookupCache.put(key, new CachedLookup(generation, (ManagedReferenceFactory) value));
+        }
+        Object obj = dereference ? dereference(key, value) : value;
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -125,29 +147,42 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        final Object object = getBoundValue(name, lookupName);
+        return dereference ? dereference(name, object) : object;
+    }
+
+    private Object getBoundValue(final String name, final ServiceName lookupName) throws NamingException {
         try {
             final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
+            return (controller != null) ? controller.getValue() : null;
+        } catch (IllegalStateException e) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(e);
+            throw n;
+        } catch (SecurityException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+        }
+    }
+
+    private static Object dereference(final String name, final Object object) throws NamingException {
+        if (!(object instanceof ManagedReferenceFactory)) {
+            return object;
+        }
+        try {
+            if(WildFlySecurityManager.isChecking()) {
+                //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                    @Override
+                    public Object run() {
                         final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
                         return managedReference != null ? managedReference.getInstance() : null;
                     }
-                } else {
-                    return object;
-                }
+                });
             } else {
-                return null;
+                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                return managedReference != null ? managedReference.getInstance() : null;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -257,6 +292,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidateLookupCache();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +307,38 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidateLookupCache();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidateLookupCache();
+    }
+
+    /**
+     * Discards all cached lookup results. Must be called whenever the {@link ManagedReferenceFactory} bound to a name
+     * changes without the binding being removed, e.g. on rebind.
+     */
+    protected void invalidateLookupCache() {
+        // Bump the generation first, so that a concurrent lookup cannot publish a factory it resolved before the change
+        generation.incrementAndGet();
+        lookupCache.clear();
+    }
+
+    /**
+     * Returns the number of non-empty name lookups performed against this store.
+     * @return a lookup count
+     */
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that were served from the lookup cache.
+     * @return a cache hit count
+     */
+    public long getLookupCacheHitCount() {
+        return lookupCacheHitCount.sum();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -367,4 +431,14 @@ public class ServiceBasedNamingStore implements NamingStore {
         }
         return new CompositeName();
     }
+
+    private static class CachedLookup {
+        final long generation;
+        final ManagedReferenceFactory factory;
+
+        CachedLookup(final long generation, final ManagedReferenceFactory factory) {
+            this.generation = generation;
+            this.factory = factory;
+        }
+    }
 }
@@ -92,6 +92,7 @@ public class NamingExtension implements Extension {
 
         if (context.isRuntimeOnlyRegistrationValid()) {
             registration.registerOperationHandler(NamingSubsystemRootResourceDefinition.JNDI_VIEW, JndiViewOperation.INSTANCE, false);
+            registration.registerMetric(NamingSubsystemRootResourceDefinition.LOOKUP_STATISTICS, new NamingStoreLookupMetricsHandler());
         }
 
         subsystem.registerXMLElementWriter(NamingSubsystemXMLPersister.INSTANCE);
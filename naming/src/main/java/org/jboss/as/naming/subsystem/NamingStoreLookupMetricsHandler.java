@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.naming.subsystem;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.naming.ServiceBasedNamingStore;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the lookup metrics of the server level naming stores.
+ */
+public class NamingStoreLookupMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    private static final Map<String, ServiceName> NAMING_STORES = new LinkedHashMap<>();
+    static {
+        NAMING_STORES.put("java:", ContextNames.JAVA_CONTEXT_SERVICE_NAME);
+        NAMING_STORES.put("java:jboss", ContextNames.JBOSS_CONTEXT_SERVICE_NAME);
+        NAMING_STORES.put("java:jboss/exported", ContextNames.EXPORTED_CONTEXT_SERVICE_NAME);
+        NAMING_STORES.put("java:global", ContextNames.GLOBAL_CONTEXT_SERVICE_NAME);
+    }
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final ModelNode result = context.getResult().setEmptyObject();
+        for (Map.Entry<String, ServiceName> entry : NAMING_STORES.entrySet()) {
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(entry.getValue());
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                continue;
+            }
+            final ServiceBasedNamingStore store = (ServiceBasedNamingStore) controller.getValue();
+            final ModelNode storeNode = new ModelNode();
+            storeNode.get(NamingSubsystemModel.LOOKUP_COUNT).set(store.getLookupCount());
+            storeNode.get(NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT).set(store.getLookupCacheHitCount());
+            result.get(entry.getKey()).set(storeNode);
+        }
+    }
+}
@@ -38,6 +38,9 @@ public interface NamingSubsystemModel {
     String EXTERNAL_CONTEXT = "external-context";
 
     String LOOKUP = "lookup";
+    String LOOKUP_CACHE_HIT_COUNT = "lookup-cache-hit-count";
+    String LOOKUP_COUNT = "lookup-count";
+    String LOOKUP_STATISTICS = "lookup-statistics";
 
     String OBJECT_FACTORY = "object-factory";
     String ENVIRONMENT = "environment";
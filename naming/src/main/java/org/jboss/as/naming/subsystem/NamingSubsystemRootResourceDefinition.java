@@ -24,16 +24,22 @@ package org.jboss.as.naming.subsystem;
 
 import java.util.EnumSet;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectMapAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.naming.NamingStore;
 import org.jboss.as.naming.management.JndiViewOperation;
 import org.jboss.as.naming.service.NamingService;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -65,6 +71,21 @@ public class NamingSubsystemRootResourceDefinition extends SimpleResourceDefinit
             .setReplyValueType(ModelType.STRING)
             .build();
 
+    static final AttributeDefinition LOOKUP_STATISTICS = ObjectMapAttributeDefinition.Builder.of(NamingSubsystemModel.LOOKUP_STATISTICS,
+            ObjectTypeAttributeDefinition.Builder.of("complex",
+                    new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_COUNT, ModelType.LONG)
+                            .setUndefinedMetricValue(ModelNode.ZERO)
+                            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+                            .build(),
+                    new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT, ModelType.LONG)
+                            .setUndefinedMetricValue(ModelNode.ZERO)
+                            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+                            .build())
+                    .build())
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     NamingSubsystemRootResourceDefinition() {
         super(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, NamingExtension.SUBSYSTEM_NAME),
                 NamingExtension.getResourceDescriptionResolver(NamingExtension.SUBSYSTEM_NAME),
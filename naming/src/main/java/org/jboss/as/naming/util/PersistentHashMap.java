@@ -0,0 +1,420 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash map backed by a hash array mapped trie. Updates return a new map which shares all but the modified
+ * path of the trie with the original one, so a single {@link #with(Object, Object)} or {@link #without(Object)} costs
+ * O(log<sub>32</sub> n) instead of the full copy required by a copy-on-write {@link FastCopyHashMap}.
+ * <p/>
+ * Null keys are not supported. The mutating methods of the {@link Map} interface throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // 32 bit hashes are consumed 5 bits at a time, a trie is thus at most 7 bitmap nodes deep plus a collision node
+    private static final int MAX_DEPTH = 8;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a map with the same mappings as the given map.
+     *
+     * @param map the map to copy
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the given map if it already is a {@code PersistentHashMap}, otherwise a copy of it
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+        PersistentHashMap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map with the given mapping added to, or replaced in, this map.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the resulting map, which is this map if it already contained the mapping
+     */
+    public PersistentHashMap<K, V> with(final K key, final V value) {
+        Objects.requireNonNull(key, "key");
+        final int hash = hash(key);
+        final Change change = new Change();
+        final Node newRoot = (root == null) ? new BitmapNode(0, new Object[0]).with(hash, 0, key, value, change) : root.with(hash, 0, key, value, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the mapping for the given key.
+     *
+     * @param key the key
+     * @return the resulting map, which is this map if it did not contain the key
+     */
+    public PersistentHashMap<K, V> without(final Object key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        final Node newRoot = root.without(hash(key), 0, key);
+        if (newRoot == root) {
+            return this;
+        }
+        return (newRoot == null) ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+        final Map.Entry<K, V> entry = root.find(hash(key), 0, key);
+        return (entry != null) ? entry.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && root != null && root.find(hash(key), 0, key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Change {
+        boolean added;
+    }
+
+    private abstract static class Node {
+        // Both node types keep their children in an array of entries and/or sub-nodes
+        final Object[] array;
+
+        Node(final Object[] array) {
+            this.array = array;
+        }
+
+        abstract <K, V> Map.Entry<K, V> find(int hash, int shift, Object key);
+
+        abstract <K, V> Node with(int hash, int shift, K key, V value, Change change);
+
+        abstract Node without(int hash, int shift, Object key);
+    }
+
+    private static final class BitmapNode extends Node {
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K, V> Map.Entry<K, V> find(final int hash, final int shift, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final Object slot = array[index(bit)];
+            if (slot instanceof Node) {
+                return ((Node) slot).find(hash, shift + BITS, key);
+            }
+            final Map.Entry<K, V> entry = (Map.Entry<K, V>) slot;
+            return key.equals(entry.getKey()) ? entry : null;
+        }
+
+        @Override
+        <K, V> Node with(final int hash, final int shift, final K key, final V value, final Change change) {
+            final int bit = bit(hash, shift);
+            final int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                change.added = true;
+                final Object[] newArray = new Object[array.length + 1];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = new SimpleImmutableEntry<>(key, value);
+                System.arraycopy(array, index, newArray, index + 1, array.length - index);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            final Object slot = array[index];
+            final Object newSlot;
+            if (slot instanceof Node) {
+                final Node node = (Node) slot;
+                final Node newNode = node.with(hash, shift + BITS, key, value, change);
+                if (newNode == node) {
+                    return this;
+                }
+                newSlot = newNode;
+            } else {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) slot;
+                if (key.equals(entry.getKey())) {
+                    if (entry.getValue() == value) {
+                        return this;
+                    }
+                    newSlot = new SimpleImmutableEntry<>(key, value);
+                } else {
+                    change.added = true;
+                    newSlot = merge(entry, hash(entry.getKey()), new SimpleImmutableEntry<>(key, value), hash, shift + BITS);
+                }
+            }
+            final Object[] newArray = array.clone();
+            newArray[index] = newSlot;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        Node without(final int hash, final int shift, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int index = index(bit);
+            final Object slot = array[index];
+            if (slot instanceof Node) {
+                final Node node = (Node) slot;
+                final Node newNode = node.without(hash, shift + BITS, key);
+                if (newNode == node) {
+                    return this;
+                }
+                if (newNode != null) {
+                    final Object[] newArray = array.clone();
+                    // Pull a sole remaining entry up, so that removals do not leave chains of single entry nodes
+                    newArray[index] = (newNode.array.length == 1 && !(newNode.array[0] instanceof Node)) ? newNode.array[0] : newNode;
+                    return new BitmapNode(bitmap, newArray);
+                }
+            } else if (!key.equals(((Map.Entry<?, ?>) slot).getKey())) {
+                return this;
+            }
+            if (array.length == 1) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private static Node merge(final Map.Entry<?, ?> entry1, final int hash1, final Map.Entry<?, ?> entry2, final int hash2, final int shift) {
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] { entry1, entry2 });
+            }
+            final int bit1 = bit(hash1, shift);
+            final int bit2 = bit(hash2, shift);
+            if (bit1 == bit2) {
+                return new BitmapNode(bit1, new Object[] { merge(entry1, hash1, entry2, hash2, shift + BITS) });
+            }
+            return new BitmapNode(bit1 | bit2, (Integer.compareUnsigned(bit1, bit2) < 0) ? new Object[] { entry1, entry2 } : new Object[] { entry2, entry1 });
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] entries) {
+            super(entries);
+            this.hash = hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K, V> Map.Entry<K, V> find(final int hash, final int shift, final Object key) {
+            final int index = (hash == this.hash) ? indexOf(key) : -1;
+            return (index >= 0) ? (Map.Entry<K, V>) array[index] : null;
+        }
+
+        @Override
+        <K, V> Node with(final int hash, final int shift, final K key, final V value, final Change change) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node at the current level, which can then tell both hashes apart
+                return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] { this }).with(hash, shift, key, value, change);
+            }
+            final int index = indexOf(key);
+            if (index >= 0) {
+                if (((Map.Entry<?, ?>) array[index]).getValue() == value) {
+                    return this;
+                }
+                final Object[] newArray = array.clone();
+                newArray[index] = new SimpleImmutableEntry<>(key, value);
+                return new CollisionNode(hash, newArray);
+            }
+            change.added = true;
+            final Object[] newArray = new Object[array.length + 1];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = new SimpleImmutableEntry<>(key, value);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(final int hash, final int shift, final Object key) {
+            final int index = (hash == this.hash) ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 1) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < array.length; i++) {
+                if (key.equals(((Map.Entry<?, ?>) array[i]).getKey())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Object[][] arrays = new Object[MAX_DEPTH + 1][];
+        private final int[] indexes = new int[MAX_DEPTH + 1];
+        private int depth = -1;
+        private Map.Entry<K, V> next;
+
+        EntryIterator() {
+            if (root != null) {
+                arrays[0] = root.array;
+                depth = 0;
+                advance();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int index = indexes[depth];
+                if (index == array.length) {
+                    depth--;
+                    continue;
+                }
+                indexes[depth] = index + 1;
+                final Object slot = array[index];
+                if (slot instanceof Node) {
+                    depth++;
+                    arrays[depth] = ((Node) slot).array;
+                    indexes[depth] = 0;
+                } else {
+                    next = (Map.Entry<K, V>) slot;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            final Map.Entry<K, V> result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return result;
+        }
+    }
+}
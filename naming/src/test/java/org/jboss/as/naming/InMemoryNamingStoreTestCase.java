@@ -31,13 +31,17 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.InvalidNameException;
 import javax.naming.Name;
+import javax.naming.NameAlreadyBoundException;
 import javax.naming.NameClassPair;
 import javax.naming.NameNotFoundException;
+import javax.naming.NotContextException;
 import javax.naming.Reference;
 import javax.naming.spi.ResolveResult;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -78,6 +82,62 @@ public class InMemoryNamingStoreTestCase {
         assertEquals(object, result);
     }
 
+    @Test
+    public void testBindAllAndLookup() throws Exception {
+        final Map<Name, Object> bindings = new LinkedHashMap<Name, Object>();
+        for (int i = 0; i < 100; i++) {
+            bindings.put(new CompositeName("test/ctx" + (i % 3) + "/binding" + i), new Object());
+        }
+        nameStore.bindAll(bindings);
+        for (Map.Entry<Name, Object> binding : bindings.entrySet()) {
+            assertEquals(binding.getValue(), nameStore.lookup(binding.getKey()));
+        }
+        assertEquals(34, nameStore.list(new CompositeName("test/ctx0")).size());
+    }
+
+    @Test
+    public void testBindAllAlreadyBound() throws Exception {
+        nameStore.bind(new CompositeName("test/bound"), new Object());
+        final Map<Name, Object> bindings = new LinkedHashMap<Name, Object>();
+        bindings.put(new CompositeName("test/other"), new Object());
+        bindings.put(new CompositeName("test/bound"), new Object());
+        try {
+            nameStore.bindAll(bindings);
+            fail("Should have thrown and NameAlreadyBoundException");
+        } catch (NameAlreadyBoundException expected) {
+        }
+        // none of the batch is bound
+        try {
+            nameStore.lookup(new CompositeName("test/other"));
+            fail("Should have thrown and NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+    }
+
+    @Test
+    public void testBindAllPartialFailure() throws Exception {
+        nameStore.bind(new CompositeName("test/bound"), new Object());
+        final Map<Name, Object> bindings = new LinkedHashMap<Name, Object>();
+        bindings.put(new CompositeName("test/other"), new Object());
+        bindings.put(new CompositeName("created/nested/binding"), new Object());
+        // cannot be bound, since its parent is not a context
+        bindings.put(new CompositeName("test/bound/binding"), new Object());
+        try {
+            nameStore.bindAll(bindings);
+            fail("Should have thrown and NotContextException");
+        } catch (NotContextException expected) {
+        }
+        // contexts created for the batch are removed again
+        try {
+            nameStore.lookup(new CompositeName("created"));
+            fail("Should have thrown and NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+        // existing contexts and bindings are retained
+        assertEquals(1, nameStore.list(new CompositeName("test")).size());
+        assertNotNull(nameStore.lookup(new CompositeName("test/bound")));
+    }
+
     @Test
     public void testLookupNameNotFound() throws Exception {
         try {
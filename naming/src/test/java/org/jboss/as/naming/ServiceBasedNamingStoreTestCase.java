@@ -31,12 +31,14 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -386,6 +388,35 @@ public class ServiceBasedNamingStoreTestCase {
         }
     }
 
+    @Test
+    public void testLookupCache() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertEquals(2, store.getLookupCount());
+        assertEquals(1, store.getLookupCacheHitCount());
+
+        // Any change to the bindings invalidates the cached factories
+        store.add(ServiceName.JBOSS.append("other"));
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertEquals(3, store.getLookupCount());
+        assertEquals(1, store.getLookupCacheHitCount());
+
+        // Unresolved names are never cached
+        store.remove(bindingName);
+        container.getRequiredService(bindingName).setMode(ServiceController.Mode.REMOVE);
+        container.awaitStability();
+        try {
+            store.lookup(new CompositeName("foo/bar"));
+            fail("Should have thrown name not found");
+        } catch (NameNotFoundException expected) {
+        }
+        assertEquals(1, store.getLookupCacheHitCount());
+    }
+
     private void assertContains(final List<? extends NameClassPair> list, String name, Class<?> type) {
         for (NameClassPair value : list) {
             if (value instanceof Binding) {
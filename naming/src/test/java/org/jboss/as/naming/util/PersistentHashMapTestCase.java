@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PersistentHashMap}.
+ */
+public class PersistentHashMapTestCase {
+
+    @Test
+    public void testWithAndWithout() {
+        final PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        final PersistentHashMap<String, Integer> one = empty.with("a", 1);
+        final PersistentHashMap<String, Integer> two = one.with("b", 2);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertNull(one.get("b"));
+        assertEquals(Integer.valueOf(2), two.get("b"));
+
+        assertSame(two, two.without("c"));
+        final PersistentHashMap<String, Integer> removed = two.without("a");
+        assertEquals(1, removed.size());
+        assertFalse(removed.containsKey("a"));
+        // the original map is unchanged
+        assertEquals(Integer.valueOf(1), two.get("a"));
+        assertTrue(removed.without("b").isEmpty());
+    }
+
+    @Test
+    public void testCollisions() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10; i++) {
+            map = map.with(new Key(42, i), i);
+        }
+        map = map.with(new Key(43, 0), -1);
+        assertEquals(11, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), map.get(new Key(42, i)));
+        }
+        for (int i = 0; i < 10; i++) {
+            map = map.without(new Key(42, i));
+        }
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(-1), map.get(new Key(43, 0)));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final Random random = new Random(1);
+        final Map<Object, Integer> expected = new HashMap<>();
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10000; i++) {
+            final Object key = random.nextBoolean() ? Integer.valueOf(random.nextInt(2000)) : new Key(random.nextInt(16) << 16, random.nextInt(100));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                final Integer value = random.nextInt();
+                expected.put(key, value);
+                map = map.with(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+    }
+
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(final int hash, final int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) object;
+            return hash == key.hash && id == key.id;
+        }
+    }
+}
@@ -57,6 +57,9 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.clustering.web.container.SessionManagerAttributeWriteStatistics;
+import org.wildfly.clustering.web.container.SessionManagerExpirationStatistics;
+import org.wildfly.clustering.web.container.SessionManagerNearCacheStatistics;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 
@@ -365,6 +368,41 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
                             result.set((int) sms.getHighestSessionCount());
                         }
                         break;
+                    case NEAR_CACHE_HITS:
+                        if (sms instanceof SessionManagerNearCacheStatistics) {
+                            result.set(((SessionManagerNearCacheStatistics) sms).getNearCacheHitCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case NEAR_CACHE_MISSES:
+                        if (sms instanceof SessionManagerNearCacheStatistics) {
+                            result.set(((SessionManagerNearCacheStatistics) sms).getNearCacheMissCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case PENDING_RESCAN_SEGMENTS:
+                        if (sms instanceof SessionManagerExpirationStatistics) {
+                            result.set(((SessionManagerExpirationStatistics) sms).getPendingRescanSegmentCount());
+                        } else {
+                            result.set(0);
+                        }
+                        break;
+                    case APPLIED_ATTRIBUTE_WRITES:
+                        if (sms instanceof SessionManagerAttributeWriteStatistics) {
+                            result.set(((SessionManagerAttributeWriteStatistics) sms).getAppliedAttributeWriteCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case COALESCED_ATTRIBUTE_WRITES:
+                        if (sms instanceof SessionManagerAttributeWriteStatistics) {
+                            result.set(((SessionManagerAttributeWriteStatistics) sms).getCoalescedAttributeWriteCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
                     default:
                         throw new IllegalStateException(UndertowLogger.ROOT_LOGGER.unknownMetric(stat));
                 }
@@ -427,7 +465,31 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         MAX_ACTIVE_SESSIONS(new SimpleAttributeDefinitionBuilder("max-active-sessions", ModelType.INT)
                 .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
         HIGHEST_SESSION_COUNT(new SimpleAttributeDefinitionBuilder("highest-session-count", ModelType.INT)
-                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build());
+                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
+        NEAR_CACHE_HITS(new SimpleAttributeDefinitionBuilder("near-cache-hits", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build()),
+        NEAR_CACHE_MISSES(new SimpleAttributeDefinitionBuilder("near-cache-misses", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build()),
+        PENDING_RESCAN_SEGMENTS(new SimpleAttributeDefinitionBuilder("pending-rescan-segments", ModelType.INT)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setStorageRuntime()
+                .build()),
+        APPLIED_ATTRIBUTE_WRITES(new SimpleAttributeDefinitionBuilder("applied-attribute-writes", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build()),
+        COALESCED_ATTRIBUTE_WRITES(new SimpleAttributeDefinitionBuilder("coalesced-attribute-writes", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build());
 
         private static final Map<String, SessionStat> MAP = new HashMap<>();
 